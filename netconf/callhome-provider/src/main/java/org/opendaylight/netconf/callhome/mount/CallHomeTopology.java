@@ -36,6 +36,11 @@ public class CallHomeTopology extends BaseCallHomeTopology {
 
     @Override
     protected RemoteDeviceHandler<NetconfSessionPreferences> createSalFacade(final RemoteDeviceId id) {
-        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker);
+        return new NetconfDeviceSalFacade(id, mountPointService, topologyUpdateBatcher);
+    }
+
+    public void close() {
+        topologyUpdateBatcher.close();
+        netconfTimer.close();
     }
 }
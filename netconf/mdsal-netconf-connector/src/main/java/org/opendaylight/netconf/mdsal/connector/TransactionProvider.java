@@ -10,14 +10,19 @@ package org.opendaylight.netconf.mdsal.connector;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType;
-import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.slf4j.Logger;
@@ -69,28 +74,61 @@ public class TransactionProvider implements AutoCloseable {
         return candidateTransaction;
     }
 
-    public synchronized boolean commitTransaction() throws DocumentedException {
+    /**
+     * Commit the candidate transaction and wait for the commit to complete.
+     *
+     * @return true
+     * @throws DocumentedException if the commit fails
+     */
+    public boolean commitTransaction() throws DocumentedException {
+        try {
+            Uninterruptibles.getUninterruptibly(commitTransactionAsync());
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof DocumentedException) {
+                throw (DocumentedException) e.getCause();
+            }
+            throw new IllegalStateException("Unexpected commit failure", e.getCause());
+        }
+
+        return true;
+    }
+
+    /**
+     * Submit the candidate transaction without waiting for the commit to complete. A new candidate transaction is
+     * created by the next {@link #getOrCreateTransaction()}.
+     *
+     * @return future completing once the transaction is committed, failing with {@link DocumentedException}
+     */
+    public synchronized ListenableFuture<Void> commitTransactionAsync() {
         if (!getCandidateTransaction().isPresent()) {
             //making empty commit without prior opened transaction, just return true
             LOG.debug("Making commit without open candidate transaction for session {}", netconfSessionIdForReporting);
-            return true;
+            return Futures.immediateFuture(null);
         }
 
-        final CheckedFuture<Void, TransactionCommitFailedException> future = candidateTransaction.submit();
-        try {
-            future.checkedGet();
-        } catch (final TransactionCommitFailedException e) {
-            LOG.debug("Transaction {} failed on", candidateTransaction, e);
-            final String cause = e.getCause() != null ? (" Cause: " + e.getCause().getMessage()) : "";
-            throw new DocumentedException(
-                    "Transaction commit failed on " + e.getMessage() + " " + netconfSessionIdForReporting + cause,
-                    ErrorType.APPLICATION, ErrorTag.OPERATION_FAILED, ErrorSeverity.ERROR);
-        } finally {
-            allOpenReadWriteTransactions.remove(candidateTransaction);
-            candidateTransaction = null;
-        }
+        final DOMDataReadWriteTransaction transaction = candidateTransaction;
+        allOpenReadWriteTransactions.remove(transaction);
+        candidateTransaction = null;
 
-        return true;
+        final SettableFuture<Void> result = SettableFuture.create();
+        Futures.addCallback(transaction.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void success) {
+                result.set(null);
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.debug("Transaction {} failed on", transaction, throwable);
+                final String cause = throwable.getCause() != null
+                        ? (" Cause: " + throwable.getCause().getMessage()) : "";
+                result.setException(new DocumentedException(
+                        "Transaction commit failed on " + throwable.getMessage() + " " + netconfSessionIdForReporting
+                                + cause,
+                        ErrorType.APPLICATION, ErrorTag.OPERATION_FAILED, ErrorSeverity.ERROR));
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
     }
 
     public synchronized void abortTransaction() {
@@ -8,13 +8,16 @@
 
 package org.opendaylight.netconf.mdsal.connector.ops;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
-import org.opendaylight.controller.config.util.xml.DocumentedException;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
-import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
+import org.opendaylight.netconf.util.mapping.AbstractAsyncSingletonNetconfOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -22,7 +25,7 @@ import org.w3c.dom.Element;
 
 // FIXME duplicated code
 // netconf/netconf/config-netconf-connector/src/main/java/org/opendaylight/netconf/confignetconfconnector/Commit.java
-public class Commit extends AbstractSingletonNetconfOperation {
+public class Commit extends AbstractAsyncSingletonNetconfOperation {
 
     private static final Logger LOG = LoggerFactory.getLogger(Commit.class);
 
@@ -36,13 +39,13 @@ public class Commit extends AbstractSingletonNetconfOperation {
     }
 
     @Override
-    protected Element handleWithNoSubsequentOperations(final Document document, final XmlElement operationElement)
-            throws DocumentedException {
-
-        boolean commitStatus = transactionProvider.commitTransaction();
-        LOG.trace("Commit completed successfully {}", commitStatus);
-
-        return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.absent());
+    protected ListenableFuture<Element> handleWithNoSubsequentOperationsAsync(final Document document,
+                                                                             final XmlElement operationElement) {
+        // Do not wait for the commit, the reply is sent once it completes
+        return Futures.transform(transactionProvider.commitTransactionAsync(), (Function<Void, Element>) result -> {
+            LOG.trace("Commit completed successfully");
+            return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.absent());
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
@@ -13,12 +13,20 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.CheckedFuture;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
@@ -38,10 +46,12 @@ import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.codec.xml.XmlParserStream;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
@@ -50,6 +60,7 @@ import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
 import org.slf4j.Logger;
@@ -69,6 +80,10 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
     private final CurrentSchemaContext schemaContext;
     private final TransactionProvider transactionProvider;
 
+    // Parent list schema nodes looked up by mergeParentMixin, valid for schemaNodeCacheContext only
+    private final Map<List<QName>, SchemaNode> schemaNodeCache = new HashMap<>();
+    private SchemaContext schemaNodeCacheContext;
+
     public EditConfig(final String netconfSessionIdForReporting, final CurrentSchemaContext schemaContext,
             final TransactionProvider transactionProvider) {
         super(netconfSessionIdForReporting);
@@ -107,47 +122,115 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
     private void executeOperations(final DataTreeChangeTracker changeTracker) throws DocumentedException {
         final DOMDataReadWriteTransaction rwTx = transactionProvider.getOrCreateTransaction();
         final List<DataTreeChange> aa = changeTracker.getDataTreeChanges();
+        final Map<DataTreeChange, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> existenceChecks =
+                startExistenceChecks(rwTx, aa);
+        final Set<YangInstanceIdentifier> mergedParents = new HashSet<>();
         final ListIterator<DataTreeChange> iterator = aa.listIterator(aa.size());
 
         while (iterator.hasPrevious()) {
             final DataTreeChange dtc = iterator.previous();
-            executeChange(rwTx, dtc);
+            executeChange(rwTx, dtc, existenceChecks.get(dtc), mergedParents);
         }
     }
 
-    private void executeChange(final DOMDataReadWriteTransaction rwtx, final DataTreeChange change)
-            throws DocumentedException {
+    /**
+     * Issue reads for CREATE and DELETE changes up front, so they are served concurrently instead of one blocking read
+     * per change. Changes are executed in reverse order, a path is read ahead only if no change executed before its
+     * check can affect it, otherwise it is checked while executing its change. If less than two paths can be read
+     * ahead, an empty map is returned.
+     */
+    @VisibleForTesting
+    static Map<DataTreeChange, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>>
+            startExistenceChecks(final DOMDataReadWriteTransaction rwtx, final List<DataTreeChange> changes) {
+        final Map<DataTreeChange, YangInstanceIdentifier> checkedPaths = new IdentityHashMap<>();
+        final List<DataTreeChange> precedingChanges = new ArrayList<>(changes.size());
+        final ListIterator<DataTreeChange> iterator = changes.listIterator(changes.size());
+        while (iterator.hasPrevious()) {
+            final DataTreeChange change = iterator.previous();
+            switch (change.getAction()) {
+                case NONE:
+                    continue;
+                case CREATE:
+                case DELETE:
+                    final YangInstanceIdentifier path = YangInstanceIdentifier.create(change.getPath());
+                    if (!isAffected(path, precedingChanges)) {
+                        checkedPaths.put(change, path);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            precedingChanges.add(change);
+        }
+
+        if (checkedPaths.size() < 2) {
+            return Collections.emptyMap();
+        }
+
+        LOG.debug("Checking existence of {} nodes concurrently", checkedPaths.size());
+        final Map<DataTreeChange, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> result =
+                new IdentityHashMap<>(checkedPaths.size());
+        for (final Map.Entry<DataTreeChange, YangInstanceIdentifier> entry : checkedPaths.entrySet()) {
+            result.put(entry.getKey(), rwtx.read(LogicalDatastoreType.CONFIGURATION, entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Check whether existence of data at path can be changed by any of changes. Changes of the path, its descendants
+     * and ancestors written as a whole affect it, while a merge into an ancestor affects it only if the merged data
+     * contain the path. Children with a different operation are not part of the data of their parent's change.
+     */
+    private static boolean isAffected(final YangInstanceIdentifier path, final List<DataTreeChange> changes) {
+        final List<PathArgument> pathArguments = path.getPathArguments();
+        for (final DataTreeChange change : changes) {
+            final List<PathArgument> target = change.getPath();
+            if (target.size() >= pathArguments.size()) {
+                if (target.subList(0, pathArguments.size()).equals(pathArguments)) {
+                    return true;
+                }
+            } else if (pathArguments.subList(0, target.size()).equals(target)) {
+                if (change.getAction() != ModifyAction.MERGE || NormalizedNodes.findNode(change.getChangeRoot(),
+                        pathArguments.subList(target.size(), pathArguments.size())).isPresent()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void executeChange(final DOMDataReadWriteTransaction rwtx, final DataTreeChange change,
+            @Nullable final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> existenceCheck,
+            final Set<YangInstanceIdentifier> mergedParents) throws DocumentedException {
         final YangInstanceIdentifier path = YangInstanceIdentifier.create(change.getPath());
         final NormalizedNode<?, ?> changeData = change.getChangeRoot();
         switch (change.getAction()) {
             case NONE:
                 return;
             case MERGE:
-                mergeParentMixin(rwtx, path, changeData);
+                mergeParentMixin(rwtx, path, changeData, mergedParents);
                 rwtx.merge(LogicalDatastoreType.CONFIGURATION, path, changeData);
                 break;
             case CREATE:
                 try {
-                    final Optional<NormalizedNode<?, ?>> readResult =
-                            rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet();
+                    final Optional<NormalizedNode<?, ?>> readResult = readExisting(rwtx, path, existenceCheck);
                     if (readResult.isPresent()) {
                         throw new DocumentedException("Data already exists, cannot execute CREATE operation",
                             ErrorType.PROTOCOL, ErrorTag.DATA_EXISTS, ErrorSeverity.ERROR);
                     }
-                    mergeParentMixin(rwtx, path, changeData);
+                    mergeParentMixin(rwtx, path, changeData, mergedParents);
                     rwtx.put(LogicalDatastoreType.CONFIGURATION, path, changeData);
                 } catch (final ReadFailedException e) {
                     LOG.warn("Read from datastore failed when trying to read data for create operation", change, e);
                 }
                 break;
             case REPLACE:
-                mergeParentMixin(rwtx, path, changeData);
+                mergeParentMixin(rwtx, path, changeData, mergedParents);
                 rwtx.put(LogicalDatastoreType.CONFIGURATION, path, changeData);
                 break;
             case DELETE:
                 try {
-                    final Optional<NormalizedNode<?, ?>> readResult =
-                            rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet();
+                    final Optional<NormalizedNode<?, ?>> readResult = readExisting(rwtx, path, existenceCheck);
                     if (!readResult.isPresent()) {
                         throw new DocumentedException("Data is missing, cannot execute DELETE operation",
                             ErrorType.PROTOCOL, ErrorTag.DATA_MISSING, ErrorSeverity.ERROR);
@@ -165,17 +248,26 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
         }
     }
 
+    private static Optional<NormalizedNode<?, ?>> readExisting(final DOMDataReadWriteTransaction rwtx,
+            final YangInstanceIdentifier path,
+            @Nullable final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> existenceCheck)
+            throws ReadFailedException {
+        if (existenceCheck != null) {
+            return existenceCheck.checkedGet();
+        }
+        return rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet();
+    }
+
     private void mergeParentMixin(final DOMDataReadWriteTransaction rwtx, final YangInstanceIdentifier path,
-                                final NormalizedNode change) {
+                                final NormalizedNode change, final Set<YangInstanceIdentifier> mergedParents) {
         final YangInstanceIdentifier parentNodeYid = path.getParent();
         if (change instanceof MapEntryNode) {
-            final SchemaNode schemaNode = SchemaContextUtil.findNodeInSchemaContext(
-                    schemaContext.getCurrentContext(),
-                    parentNodeYid.getPathArguments().stream()
-                            // filter out identifiers not present in the schema tree
-                            .filter(arg -> !(arg instanceof YangInstanceIdentifier.NodeIdentifierWithPredicates))
-                            .filter(arg -> !(arg instanceof YangInstanceIdentifier.AugmentationIdentifier))
-                            .map(YangInstanceIdentifier.PathArgument::getNodeType).collect(Collectors.toList()));
+            if (!mergedParents.add(parentNodeYid)) {
+                // sibling entry has already created the parent list in this transaction
+                return;
+            }
+
+            final SchemaNode schemaNode = findParentListSchemaNode(parentNodeYid);
 
             // we should have the schema node that points to the parent list now, enforce it
             Preconditions.checkState(schemaNode instanceof ListSchemaNode, "Schema node is not pointing to a list.");
@@ -198,6 +290,10 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
                     .build();
             rwtx.merge(LogicalDatastoreType.CONFIGURATION, parentNodeYid, mixinNode);
         } else if (parentNodeYid.getLastPathArgument() instanceof YangInstanceIdentifier.AugmentationIdentifier) {
+            if (!mergedParents.add(parentNodeYid)) {
+                return;
+            }
+
             // merge empty augmentation node
             final YangInstanceIdentifier.AugmentationIdentifier augmentationYid =
                 (YangInstanceIdentifier.AugmentationIdentifier) parentNodeYid.getLastPathArgument();
@@ -207,6 +303,30 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
         }
     }
 
+    private SchemaNode findParentListSchemaNode(final YangInstanceIdentifier parentNodeYid) {
+        final List<QName> schemaPath = parentNodeYid.getPathArguments().stream()
+                // filter out identifiers not present in the schema tree
+                .filter(arg -> !(arg instanceof YangInstanceIdentifier.NodeIdentifierWithPredicates))
+                .filter(arg -> !(arg instanceof YangInstanceIdentifier.AugmentationIdentifier))
+                .map(YangInstanceIdentifier.PathArgument::getNodeType).collect(Collectors.toList());
+
+        // lookups are only valid for the schema context they were made in, start over once it changes
+        final SchemaContext currentContext = schemaContext.getCurrentContext();
+        if (currentContext != schemaNodeCacheContext) {
+            schemaNodeCache.clear();
+            schemaNodeCacheContext = currentContext;
+        }
+
+        SchemaNode schemaNode = schemaNodeCache.get(schemaPath);
+        if (schemaNode == null) {
+            schemaNode = SchemaContextUtil.findNodeInSchemaContext(currentContext, schemaPath);
+            if (schemaNode != null) {
+                schemaNodeCache.put(schemaPath, schemaNode);
+            }
+        }
+        return schemaNode;
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     private NormalizedNode<?, ?> parseIntoNormalizedNode(final DataSchemaNode schemaNode, final XmlElement element,
             final DataTreeChangeTracker changeTracker) throws DocumentedException {
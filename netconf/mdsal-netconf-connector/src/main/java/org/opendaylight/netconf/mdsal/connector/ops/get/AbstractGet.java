@@ -12,7 +12,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.CheckedFuture;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -22,19 +30,34 @@ import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeve
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType;
 import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.ops.Datastore;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
 import org.opendaylight.yangtools.yang.data.codec.xml.XMLStreamNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.w3c.dom.Document;
@@ -116,25 +139,161 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
     }
 
     /**
-     * Obtain data root according to filter from operation element.
+     * Obtain data roots according to filter from operation element. Each root element of the filter is compiled into
+     * identifiers of the data it selects, so that only that data is read from the datastore.
      *
      * @param operationElement operation element
-     * @return if filter is present and not empty returns Optional of the InstanceIdentifier to the read location
+     * @return if filter is present and not empty returns Optional of the InstanceIdentifiers to the read locations
      *      in datastore. Empty filter returns Optional.absent() which should equal an empty &lt;data/&gt;
      *      container in the response. If filter is not present we want to read the entire datastore - return ROOT.
-     * @throws DocumentedException if not possible to get identifier from filter
+     * @throws DocumentedException if not possible to get identifiers from filter
      */
-    protected Optional<YangInstanceIdentifier> getDataRootFromFilter(final XmlElement operationElement)
+    protected Optional<Collection<YangInstanceIdentifier>> getDataRootsFromFilter(final XmlElement operationElement)
             throws DocumentedException {
         final Optional<XmlElement> filterElement = operationElement.getOnlyChildElementOptionally(FILTER);
-        if (filterElement.isPresent()) {
-            if (filterElement.get().getChildElements().size() == 0) {
-                return Optional.absent();
+        if (!filterElement.isPresent()) {
+            return Optional.of(Collections.singletonList(ROOT));
+        }
+
+        final List<XmlElement> filterRoots = filterElement.get().getChildElements();
+        if (filterRoots.isEmpty()) {
+            return Optional.absent();
+        }
+
+        final List<YangInstanceIdentifier> dataRoots = new ArrayList<>();
+        for (final XmlElement filterRoot : filterRoots) {
+            dataRoots.addAll(validator.validateDataRoots(filterRoot));
+        }
+        return Optional.of(removeNestedDataRoots(dataRoots));
+    }
+
+    private static Collection<YangInstanceIdentifier> removeNestedDataRoots(final List<YangInstanceIdentifier> roots) {
+        final List<YangInstanceIdentifier> result = new ArrayList<>(roots.size());
+        for (final YangInstanceIdentifier root : roots) {
+            boolean nested = false;
+            for (final YangInstanceIdentifier other : roots) {
+                // Keep the first of equal identifiers
+                if (other != root && other.contains(root)
+                        && (!other.equals(root) || roots.indexOf(other) < roots.indexOf(root))) {
+                    nested = true;
+                    break;
+                }
+            }
+            if (!nested) {
+                result.add(root);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read data selected by a filter. All reads are submitted before waiting for any of them, so they are served by
+     * the datastore concurrently. Results are merged and serialized into a single data element.
+     *
+     * @param document document to create the data element in
+     * @param readTx transaction to read from
+     * @param datastoreType datastore to read from
+     * @param dataRoots identifiers of the data to read
+     * @return data element with the read data
+     * @throws ReadFailedException if any of the reads failed
+     */
+    protected Element readDataRoots(final Document document, final DOMDataReadTransaction readTx,
+                                    final LogicalDatastoreType datastoreType,
+                                    final Collection<YangInstanceIdentifier> dataRoots) throws ReadFailedException {
+        final Map<YangInstanceIdentifier, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> reads =
+                new LinkedHashMap<>();
+        for (final YangInstanceIdentifier dataRoot : dataRoots) {
+            reads.put(dataRoot, readTx.read(datastoreType, dataRoot));
+        }
+
+        if (reads.size() == 1) {
+            final Entry<YangInstanceIdentifier, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>>
+                    read = reads.entrySet().iterator().next();
+            final Optional<NormalizedNode<?, ?>> data = read.getValue().checkedGet();
+            return data.isPresent() ? serializeNodeWithParentStructure(document, read.getKey(), data.get())
+                    : XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
+        }
+
+        final SchemaContext currentContext = schemaContext.getCurrentContext();
+        final Map<PathArgument, NormalizedNode<?, ?>> topLevelNodes = new LinkedHashMap<>();
+        for (final Entry<YangInstanceIdentifier, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>>
+                read : reads.entrySet()) {
+            final Optional<NormalizedNode<?, ?>> data = read.getValue().checkedGet();
+            if (data.isPresent()) {
+                final NormalizedNode<?, ?> topLevelNode =
+                        ImmutableNodes.fromInstanceId(currentContext, read.getKey(), data.get());
+                topLevelNodes.merge(topLevelNode.getIdentifier(), topLevelNode, AbstractGet::mergeNodes);
             }
-            return Optional.of(getInstanceIdentifierFromFilter(filterElement.get()));
         }
 
-        return Optional.of(ROOT);
+        if (topLevelNodes.isEmpty()) {
+            return XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
+        }
+
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> rootBuilder =
+                Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME));
+        for (final NormalizedNode<?, ?> topLevelNode : topLevelNodes.values()) {
+            rootBuilder.withChild((DataContainerChild<?, ?>) topLevelNode);
+        }
+        return (Element) transformNormalizedNode(document, rootBuilder.build(), ROOT);
+    }
+
+    /**
+     * Merge two nodes read from different, not nested data roots. Only nodes on the way to the data roots can be
+     * present in both, data under a data root is read whole, so either copy of it is complete.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static NormalizedNode<?, ?> mergeNodes(final NormalizedNode<?, ?> first,
+                                                   final NormalizedNode<?, ?> second) {
+        if (first instanceof DataContainerNode && second instanceof DataContainerNode) {
+            final DataContainerNodeBuilder builder = dataContainerBuilder((DataContainerNode<?>) first);
+            if (builder == null) {
+                return second;
+            }
+            final DataContainerNode<?> firstContainer = (DataContainerNode<?>) first;
+            for (final DataContainerChild<? extends PathArgument, ?> child : firstContainer.getValue()) {
+                builder.withChild(child);
+            }
+            for (final DataContainerChild<? extends PathArgument, ?> child
+                    : ((DataContainerNode<?>) second).getValue()) {
+                final Optional<DataContainerChild<? extends PathArgument, ?>> existing =
+                        firstContainer.getChild(child.getIdentifier());
+                builder.withChild(existing.isPresent()
+                        ? (DataContainerChild) mergeNodes(existing.get(), child) : child);
+            }
+            return builder.build();
+        }
+
+        if (first instanceof MapNode && second instanceof MapNode) {
+            final NodeIdentifier identifier = ((MapNode) first).getIdentifier();
+            final CollectionNodeBuilder builder = first instanceof OrderedMapNode
+                    ? Builders.orderedMapBuilder().withNodeIdentifier(identifier)
+                    : Builders.mapBuilder().withNodeIdentifier(identifier);
+            for (final MapEntryNode entry : ((MapNode) first).getValue()) {
+                builder.withChild(entry);
+            }
+            for (final MapEntryNode entry : ((MapNode) second).getValue()) {
+                final Optional<MapEntryNode> existing = ((MapNode) first).getChild(entry.getIdentifier());
+                builder.withChild(existing.isPresent() ? mergeNodes(existing.get(), entry) : entry);
+            }
+            return builder.build();
+        }
+
+        return second;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static DataContainerNodeBuilder dataContainerBuilder(final DataContainerNode<?> node) {
+        if (node instanceof ContainerNode) {
+            return Builders.containerBuilder().withNodeIdentifier(((ContainerNode) node).getIdentifier());
+        } else if (node instanceof MapEntryNode) {
+            return Builders.mapEntryBuilder().withNodeIdentifier(((MapEntryNode) node).getIdentifier());
+        } else if (node instanceof ChoiceNode) {
+            return Builders.choiceBuilder().withNodeIdentifier(((ChoiceNode) node).getIdentifier());
+        } else if (node instanceof AugmentationNode) {
+            return Builders.augmentationBuilder().withNodeIdentifier(((AugmentationNode) node).getIdentifier());
+        }
+        return null;
     }
 
     @VisibleForTesting
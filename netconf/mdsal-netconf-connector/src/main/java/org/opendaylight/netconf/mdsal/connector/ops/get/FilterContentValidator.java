@@ -63,13 +63,35 @@ public class FilterContentValidator {
      * @throws DocumentedException if filter content validation failed
      */
     public YangInstanceIdentifier validate(final XmlElement filterContent) throws DocumentedException {
+        final FilterTree filterTree = validateFilterTree(filterContent);
+        return getFilterDataRoot(filterTree, filterContent, YangInstanceIdentifier.builder());
+    }
+
+    /**
+     * Validates filter content against this validator schema context. If the filter is valid, method returns
+     * {@link YangInstanceIdentifier}s of nodes which together contain all data selected by the filter. Unlike
+     * {@link #validate(XmlElement)}, containers with multiple children in the filter are not read whole, each of
+     * the children is selected separately instead.
+     *
+     * @param filterContent filter content
+     * @return YangInstanceIdentifiers of data selected by the filter
+     * @throws DocumentedException if filter content validation failed
+     */
+    public Collection<YangInstanceIdentifier> validateDataRoots(final XmlElement filterContent)
+            throws DocumentedException {
+        final FilterTree filterTree = validateFilterTree(filterContent);
+        final Collection<YangInstanceIdentifier> dataRoots = new ArrayList<>();
+        collectFilterDataRoots(filterTree, filterContent, new ArrayList<>(),
+                YangInstanceIdentifier.builder().node(filterTree.getName()), dataRoots);
+        return dataRoots;
+    }
+
+    private FilterTree validateFilterTree(final XmlElement filterContent) throws DocumentedException {
         try {
             final URI namespace = new URI(filterContent.getNamespace());
             final Module module = schemaContext.getCurrentContext().findModuleByNamespaceAndRevision(namespace, null);
             final DataSchemaNode schema = getRootDataSchemaNode(module, namespace, filterContent.getName());
-            final FilterTree filterTree = validateNode(
-                    filterContent, schema, new FilterTree(schema.getQName(), Type.OTHER, schema));
-            return getFilterDataRoot(filterTree, filterContent, YangInstanceIdentifier.builder());
+            return validateNode(filterContent, schema, new FilterTree(schema.getQName(), Type.OTHER, schema));
         } catch (final URISyntaxException e) {
             throw new RuntimeException("Wrong namespace in element + " + filterContent.toString());
         } catch (final ValidationException e) {
@@ -129,6 +151,9 @@ public class FilterContentValidator {
                 for (final DataSchemaNode dataSchemaNode : path) {
                     subtree = subtree.addChild(dataSchemaNode);
                 }
+                if (isContentMatchNode(childElement)) {
+                    subtree.setContentMatch();
+                }
                 final DataSchemaNode childSchema = path.getLast();
                 validateNode(childElement, childSchema, subtree);
             } catch (URISyntaxException | MissingNameSpaceException e) {
@@ -168,6 +193,79 @@ public class FilterContentValidator {
         return builder.build();
     }
 
+    /**
+     * Collects YangInstanceIdentifiers of nodes, which together contain all data selected by the filter. It goes
+     * the same way as {@link #getFilterDataRoot(FilterTree, XmlElement, InstanceIdentifierBuilder)}, but continues
+     * into each child of a container with multiple children. The container is read whole if any of its children is
+     * a content match node, since such filter can select all children of the container, or if the children are
+     * cases or augmentations.
+     *
+     * @param tree          QName tree
+     * @param filterContent filter element
+     * @param path          local names of elements from filter element to the current node
+     * @param builder       builder with identifier of the current node
+     * @param dataRoots     collected identifiers
+     */
+    private void collectFilterDataRoots(FilterTree tree, final XmlElement filterContent, final List<String> path,
+                                        final InstanceIdentifierBuilder builder,
+                                        final Collection<YangInstanceIdentifier> dataRoots) {
+        while (tree.getChildren().size() == 1) {
+            final FilterTree child = tree.getChildren().iterator().next();
+            if (child.getType() == Type.CHOICE_CASE) {
+                tree = child;
+                continue;
+            }
+            if (child.isContentMatch()) {
+                break;
+            }
+            builder.node(child.getName());
+            path.add(child.getName().getLocalName());
+            if (child.getType() == Type.LIST) {
+                appendKeyIfPresent(child, filterContent, path, builder);
+                dataRoots.add(builder.build());
+                return;
+            }
+            tree = child;
+        }
+
+        final YangInstanceIdentifier current = builder.build();
+        if (tree.getChildren().isEmpty() || !canSelectChildrenSeparately(tree)) {
+            dataRoots.add(current);
+            return;
+        }
+
+        for (final FilterTree child : tree.getChildren()) {
+            final List<String> childPath = new ArrayList<>(path);
+            childPath.add(child.getName().getLocalName());
+            final InstanceIdentifierBuilder childBuilder = YangInstanceIdentifier.builder(current).node(
+                    child.getName());
+            if (child.getType() == Type.LIST) {
+                appendKeyIfPresent(child, filterContent, childPath, childBuilder);
+                dataRoots.add(childBuilder.build());
+            } else {
+                collectFilterDataRoots(child, filterContent, childPath, childBuilder, dataRoots);
+            }
+        }
+    }
+
+    private static boolean canSelectChildrenSeparately(final FilterTree tree) {
+        for (final FilterTree child : tree.getChildren()) {
+            if (child.isContentMatch() || child.getType() == Type.CHOICE_CASE
+                    || child.getSchemaNode().isAugmenting()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isContentMatchNode(final XmlElement element) {
+        if (!element.getChildElements().isEmpty()) {
+            return false;
+        }
+        final Optional<String> content = element.getOnlyTextContentOptionally();
+        return content.isPresent() && !content.get().trim().isEmpty();
+    }
+
     private void appendKeyIfPresent(final FilterTree tree, final XmlElement filterContent,
                                     final List<String> pathToList,
                                     final InstanceIdentifierBuilder builder) {
@@ -240,6 +338,7 @@ public class FilterContentValidator {
         private final Type type;
         private final DataSchemaNode schemaNode;
         private final Map<QName, FilterTree> children;
+        private boolean contentMatch;
 
         FilterTree(final QName name, final Type type, final DataSchemaNode schemaNode) {
             this.name = name;
@@ -281,6 +380,14 @@ public class FilterContentValidator {
         DataSchemaNode getSchemaNode() {
             return schemaNode;
         }
+
+        boolean isContentMatch() {
+            return contentMatch;
+        }
+
+        void setContentMatch() {
+            contentMatch = true;
+        }
     }
 
     private static class ValidationException extends Exception {
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.netconf.mdsal.connector.ops.DataTreeChangeTracker.DataTreeChange;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+public class EditConfigTest {
+
+    private static final NodeIdentifier TOP = new NodeIdentifier(QName.create("ns", "2018-01-01", "top"));
+    private static final NodeIdentifier A = new NodeIdentifier(QName.create("ns", "2018-01-01", "a"));
+    private static final NodeIdentifier B = new NodeIdentifier(QName.create("ns", "2018-01-01", "b"));
+    private static final NodeIdentifier C = new NodeIdentifier(QName.create("ns", "2018-01-01", "c"));
+
+    @Mock
+    private DOMDataReadWriteTransaction rwTx;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent())).when(rwTx)
+                .read(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+    }
+
+    @Test
+    public void testSiblingsReadAhead() {
+        // parent merge is executed first, its data do not contain the created children
+        final DataTreeChange createA = change(container(A), ModifyAction.CREATE, TOP, A);
+        final DataTreeChange deleteB = change(container(B), ModifyAction.DELETE, TOP, B);
+        final DataTreeChange mergeTop = change(container(TOP), ModifyAction.MERGE, TOP);
+
+        final Map<DataTreeChange, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> checks =
+                EditConfig.startExistenceChecks(rwTx, Arrays.asList(createA, deleteB, mergeTop));
+        assertEquals(2, checks.size());
+        assertTrue(checks.containsKey(createA));
+        assertTrue(checks.containsKey(deleteB));
+        verify(rwTx).read(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.create(TOP, A));
+        verify(rwTx).read(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.create(TOP, B));
+    }
+
+    @Test
+    public void testReplacedAncestorNotReadAhead() {
+        final DataTreeChange createA = change(container(A), ModifyAction.CREATE, TOP, A);
+        final DataTreeChange createB = change(container(B), ModifyAction.CREATE, TOP, B);
+        final DataTreeChange replaceTop = change(container(TOP), ModifyAction.REPLACE, TOP);
+
+        assertTrue(EditConfig.startExistenceChecks(rwTx, Arrays.asList(createA, createB, replaceTop)).isEmpty());
+        verify(rwTx, never()).read(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+    }
+
+    @Test
+    public void testAffectedPathsNotReadAhead() {
+        // merged data of parent contain a, which is then written before its check
+        final DataTreeChange createA = change(container(A), ModifyAction.CREATE, TOP, A);
+        final DataTreeChange createB = change(container(B), ModifyAction.CREATE, TOP, B);
+        final DataTreeChange createC = change(container(C), ModifyAction.CREATE, TOP, C);
+        // b is checked twice, the delete is executed after the create
+        final DataTreeChange deleteB = change(container(B), ModifyAction.DELETE, TOP, B);
+        final DataTreeChange mergeTop = change(Builders.containerBuilder().withNodeIdentifier(TOP)
+                .withChild(container(A)).build(), ModifyAction.MERGE, TOP);
+
+        final Map<DataTreeChange, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> checks =
+                EditConfig.startExistenceChecks(rwTx, Arrays.asList(deleteB, createA, createB, createC, mergeTop));
+        assertEquals(2, checks.size());
+        assertTrue(checks.containsKey(createB));
+        assertTrue(checks.containsKey(createC));
+        assertFalse(checks.containsKey(createA));
+        assertFalse(checks.containsKey(deleteB));
+    }
+
+    private static ContainerNode container(final NodeIdentifier identifier) {
+        return Builders.containerBuilder().withNodeIdentifier(identifier).build();
+    }
+
+    private static DataTreeChange change(final NormalizedNode<?, ?> data, final ModifyAction action,
+                                         final PathArgument... path) {
+        // tracker passes the path starting with the innermost argument
+        return new DataTreeChange(data, action, new ArrayList<>(Lists.reverse(Arrays.asList(path))));
+    }
+}
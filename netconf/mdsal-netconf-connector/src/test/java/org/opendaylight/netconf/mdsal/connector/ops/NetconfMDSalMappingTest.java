@@ -21,9 +21,12 @@ import java.io.InputStream;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
@@ -233,6 +236,20 @@ public class NetconfMDSalMappingTest {
         deleteDatastore();
     }
 
+    @Test
+    public void testEditWithAsyncCommit() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_n1.xml"), RPC_REPLY_OK);
+
+        final Commit commit = new Commit(SESSION_ID_FOR_REPORTING, transactionProvider);
+        final Document reply = commit.handleAsync(XmlFileLoader.xmlFileToDocument("messages/mapping/commit.xml"),
+                NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT).get(5, TimeUnit.SECONDS);
+        verifyResponse(reply, RPC_REPLY_OK);
+        verifyResponse(getConfigRunning(), XmlFileLoader.xmlFileToDocument(
+                "messages/mapping/editConfigs/editConfig_merge_n1_control.xml"));
+
+        deleteDatastore();
+    }
+
     @Test
     public void testKeyOrder() throws Exception {
         verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_multiple_keys_1.xml"), RPC_REPLY_OK);
@@ -420,6 +437,29 @@ public class NetconfMDSalMappingTest {
         verifyResponse(discardChanges(), RPC_REPLY_OK);
     }
 
+    @Test
+    public void testEditWithCreateAndDeleteMultipleEntries() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_create_entries.xml"), RPC_REPLY_OK);
+
+        try {
+            edit("messages/mapping/editConfigs/editConfig_create_entries.xml");
+            fail("Create should have failed - data already exists");
+        } catch (final DocumentedException e) {
+            assertTrue(e.getErrorTag() == ErrorTag.DATA_EXISTS);
+        }
+
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_delete_entries.xml"), RPC_REPLY_OK);
+
+        try {
+            edit("messages/mapping/editConfigs/editConfig_delete_entries.xml");
+            fail("Delete should have failed - data is missing");
+        } catch (final DocumentedException e) {
+            assertTrue(e.getErrorTag() == ErrorTag.DATA_MISSING);
+        }
+
+        verifyResponse(discardChanges(), RPC_REPLY_OK);
+    }
+
     @Test
     public void testDeleteNonExisting() throws Exception {
         assertEmptyDatastore(getConfigCandidate());
@@ -638,6 +678,16 @@ public class NetconfMDSalMappingTest {
                 YangInstanceIdentifier.builder().node(TOP).node(USERS).node(USER).build());
         verifyFilterIdentifier("messages/mapping/filters/get-filter-modules-and-admin.xml",
                 YangInstanceIdentifier.builder().node(TOP).build());
+        verifyFilterDataRoots("messages/mapping/filters/get-filter-modules-and-admin.xml",
+                YangInstanceIdentifier.builder().node(TOP).node(USERS).node(USER)
+                        .nodeWithKey(USER, QName.create(USER, "name"), "admin").build(),
+                YangInstanceIdentifier.builder().node(TOP).node(MODULES).build());
+
+        // Only the selected user and the modules are read
+        final Document modulesAndAdmin =
+                getConfigWithFilter("messages/mapping/filters/get-filter-modules-and-admin.xml");
+        assertEquals(1, modulesAndAdmin.getElementsByTagNameNS(TOP.getNamespace().toString(), "user").getLength());
+        assertEquals(3, modulesAndAdmin.getElementsByTagNameNS(TOP.getNamespace().toString(), "module").getLength());
         verifyFilterIdentifier("messages/mapping/filters/get-filter-only-names-types.xml",
                 YangInstanceIdentifier.builder().node(TOP).node(USERS).node(USER).build());
         verifyFilterIdentifier("messages/mapping/filters/get-filter-specific-module-type-and-user.xml",
@@ -700,6 +750,15 @@ public class NetconfMDSalMappingTest {
         assertEquals(identifier, iid);
     }
 
+    private void verifyFilterDataRoots(final String resource, final YangInstanceIdentifier... identifiers)
+            throws Exception {
+        final TestingGetConfig getConfig = new TestingGetConfig(SESSION_ID_FOR_REPORTING, currentSchemaContext,
+                transactionProvider);
+        final Document request = XmlFileLoader.xmlFileToDocument(resource);
+        assertEquals(new HashSet<>(Arrays.asList(identifiers)),
+                new HashSet<>(getConfig.getDataRootsFromDocument(request)));
+    }
+
     private class TestingGetConfig extends GetConfig {
         TestingGetConfig(final String sessionId, final CurrentSchemaContext schemaContext,
                          final TransactionProvider transactionProvider) {
@@ -711,6 +770,11 @@ public class NetconfMDSalMappingTest {
                     .getOnlyChildElement(FILTER_NODE);
             return getInstanceIdentifierFromFilter(filterElement);
         }
+
+        Collection<YangInstanceIdentifier> getDataRootsFromDocument(final Document request)
+                throws DocumentedException {
+            return getDataRootsFromFilter(XmlElement.fromDomDocument(request).getOnlyChildElement(GET_CONFIG)).get();
+        }
     }
 
     private void deleteDatastore() throws Exception {
@@ -54,6 +54,16 @@ public class NetconfMessage {
         return this.doc;
     }
 
+    /**
+     * Check whether this message is sent unchanged to multiple sessions. Encoders may keep the encoded form of such
+     * message and reuse it for all sessions, so its document must not be modified once it was sent.
+     *
+     * @return true if the message is shared by multiple sessions
+     */
+    public boolean isShared() {
+        return false;
+    }
+
     @Override
     public String toString() {
         final StreamResult result = new StreamResult(new StringWriter());
@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.api;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.local.LocalAddress;
 import java.net.InetSocketAddress;
@@ -17,4 +18,13 @@ public interface NetconfServerDispatcher {
     ChannelFuture createServer(InetSocketAddress address);
 
     ChannelFuture createLocalServer(LocalAddress address);
+
+    /**
+     * Set up the NETCONF server pipeline on a channel accepted by another transport. This allows transports such as
+     * SSH to feed the NETCONF server directly, instead of forwarding traffic to a local server. The channel does not
+     * need to be registered yet, the pipeline is initialized once it is.
+     *
+     * @param channel an already connected channel, which has not been initialized yet
+     */
+    void initializeChannel(Channel channel);
 }
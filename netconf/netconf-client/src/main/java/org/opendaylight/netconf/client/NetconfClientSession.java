@@ -9,10 +9,12 @@
 package org.opendaylight.netconf.client;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.Collection;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSession;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
@@ -22,6 +24,9 @@ import org.slf4j.LoggerFactory;
 public class NetconfClientSession extends AbstractNetconfSession<NetconfClientSession, NetconfClientSessionListener> {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfClientSession.class);
+    private static final String INBOUND_TRAFFIC_HANDLER = "inboundTraffic";
+    private static final String FRAMED_MESSAGE_HANDLER = "framedMessage";
+
     private final Collection<String> capabilities;
 
     /**
@@ -43,6 +48,27 @@ public class NetconfClientSession extends AbstractNetconfSession<NetconfClientSe
         return capabilities;
     }
 
+    /**
+     * Add a handler which observes raw data received from the server before it is framed into messages. The handler
+     * has to pass all data on unchanged.
+     *
+     * @param handler inbound traffic handler
+     */
+    public void addInboundTrafficHandler(final ChannelHandler handler) {
+        addChannelHandlerBefore(AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR, INBOUND_TRAFFIC_HANDLER,
+                handler);
+    }
+
+    /**
+     * Add a handler which observes every message received from the server once it is framed, before it is decoded.
+     * The handler has to pass all messages on unchanged.
+     *
+     * @param handler framed message handler
+     */
+    public void addFramedMessageHandler(final ChannelHandler handler) {
+        addChannelHandlerBefore(AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, FRAMED_MESSAGE_HANDLER, handler);
+    }
+
     @Override
     protected NetconfClientSession thisInstance() {
         return this;
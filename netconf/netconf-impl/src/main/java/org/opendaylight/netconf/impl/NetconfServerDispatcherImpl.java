@@ -15,6 +15,7 @@ import io.netty.channel.local.LocalAddress;
 import io.netty.channel.local.LocalChannel;
 import io.netty.channel.local.LocalServerChannel;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.concurrent.Promise;
 import java.net.InetSocketAddress;
 import org.opendaylight.netconf.api.NetconfServerDispatcher;
@@ -54,6 +55,11 @@ public class NetconfServerDispatcherImpl extends AbstractDispatcher<NetconfServe
         });
     }
 
+    @Override
+    public void initializeChannel(final Channel channel) {
+        initializer.initialize(channel, GlobalEventExecutor.INSTANCE.newPromise());
+    }
+
     public static class ServerChannelInitializer extends AbstractChannelInitializer<NetconfServerSession> {
 
         public static final String DESERIALIZER_EX_HANDLER_KEY = "deserializerExHandler";
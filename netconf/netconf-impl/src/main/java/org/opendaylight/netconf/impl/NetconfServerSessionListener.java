@@ -10,8 +10,19 @@ package org.opendaylight.netconf.impl;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.netty.channel.ChannelFuture;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
-import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
@@ -29,19 +40,60 @@ import org.w3c.dom.Document;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+/**
+ * Listener handling rpcs received on a server session.
+ *
+ * <p>
+ * Operations are executed either directly on the thread delivering the message, or, when an operation executor is
+ * provided, on that executor so that long running operations do not block the event loop. Messages of a single
+ * session are still processed one by one in order of arrival, so replies are sent in the order of the requests and
+ * a client can pipeline requests without waiting for each reply. Operations completing asynchronously, e.g. a commit
+ * waiting for the datastore, do not occupy the executor. Further messages of the session are processed only once such
+ * an operation completes, so they observe its effects.
+ */
 public class NetconfServerSessionListener implements NetconfSessionListener<NetconfServerSession> {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfServerSessionListener.class);
+
+    // Maximum number of messages processed in one executor task, so busy sessions do not starve others
+    private static final int MAX_MESSAGES_PER_TASK = 64;
+
     private final SessionListener monitoringSessionListener;
     private final NetconfOperationRouter operationRouter;
     private final AutoCloseable onSessionDownCloseable;
+    private final Executor operationExecutor;
+
+    @GuardedBy("this")
+    private final Queue<NetconfMessage> pendingMessages = new ArrayDeque<>();
+    @GuardedBy("this")
+    private boolean processing;
+    @GuardedBy("this")
+    private boolean down;
+
+    // Accessed only by the task processing messages
+    private ChannelFuture lastReply;
+    private ListenableFuture<Document> pendingOperation;
+    private NetconfMessage pendingOperationMessage;
 
     public NetconfServerSessionListener(final NetconfOperationRouter operationRouter,
                                         final NetconfMonitoringService monitoringService,
                                         final AutoCloseable onSessionDownCloseable) {
+        this(operationRouter, monitoringService, onSessionDownCloseable, null);
+    }
+
+    /**
+     * Create a listener executing operations on the provided executor.
+     *
+     * @param operationExecutor executor running the operations, operations run on the calling thread if null
+     */
+    public NetconfServerSessionListener(final NetconfOperationRouter operationRouter,
+                                        final NetconfMonitoringService monitoringService,
+                                        final AutoCloseable onSessionDownCloseable,
+                                        @Nullable final Executor operationExecutor) {
         this.operationRouter = operationRouter;
         this.monitoringSessionListener = monitoringService.getSessionListener();
         this.onSessionDownCloseable = onSessionDownCloseable;
+        this.operationExecutor = operationExecutor;
     }
 
     @Override
@@ -57,6 +109,14 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     public void onDown(final NetconfServerSession netconfNetconfServerSession) {
+        synchronized (this) {
+            down = true;
+            if (!pendingMessages.isEmpty()) {
+                LOG.debug("Session {} down, dropping {} unprocessed messages", netconfNetconfServerSession,
+                        pendingMessages.size());
+                pendingMessages.clear();
+            }
+        }
         monitoringSessionListener.onSessionDown(netconfNetconfServerSession);
 
         try {
@@ -79,57 +139,161 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         onDown(netconfNetconfServerSession);
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public void onMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
+        if (operationExecutor == null) {
+            processMessage(session, netconfMessage);
+            return;
+        }
+
+        synchronized (this) {
+            if (down) {
+                LOG.debug("Session {} already down, ignoring message {}", session, netconfMessage);
+                return;
+            }
+            pendingMessages.add(netconfMessage);
+            if (processing) {
+                // Picked up by the task already processing messages of this session
+                return;
+            }
+            processing = true;
+        }
+        scheduleProcessing(session);
+    }
+
+    private void scheduleProcessing(final NetconfServerSession session) {
+        try {
+            operationExecutor.execute(() -> processPendingMessages(session));
+        } catch (final RejectedExecutionException e) {
+            LOG.debug("Operation executor rejected processing for session {}, processing directly", session, e);
+            processPendingMessages(session);
+        }
+    }
+
+    private void processPendingMessages(final NetconfServerSession session) {
+        if (pendingOperation != null) {
+            // Resumed after an asynchronous operation completed, its reply goes first
+            final ListenableFuture<Document> operation = pendingOperation;
+            final NetconfMessage message = pendingOperationMessage;
+            pendingOperation = null;
+            pendingOperationMessage = null;
+            completeMessage(session, message, operation);
+        }
+
+        for (int i = 0; i < MAX_MESSAGES_PER_TASK; i++) {
+            if (lastReply != null && !lastReply.isDone() && !session.isWritable()) {
+                // The client does not keep up with the replies, do not produce another one until the last is written
+                LOG.trace("Session {} not writable, deferring processing of further messages", session);
+                lastReply.addListener(future -> scheduleProcessing(session));
+                return;
+            }
+
+            final NetconfMessage message;
+            synchronized (this) {
+                message = pendingMessages.poll();
+                if (message == null) {
+                    processing = false;
+                    return;
+                }
+            }
+
+            final ListenableFuture<Document> operation = startMessage(session, message);
+            if (!operation.isDone()) {
+                // Subsequent messages must observe the effects of this operation, wait for it without blocking
+                LOG.trace("Session {} waiting for operation invoked by {}", session, message);
+                pendingOperation = operation;
+                pendingOperationMessage = message;
+                operation.addListener(() -> scheduleProcessing(session), MoreExecutors.directExecutor());
+                return;
+            }
+            completeMessage(session, message, operation);
+        }
+
+        // More messages are queued, let other sessions use the executor in the meantime
+        scheduleProcessing(session);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private ListenableFuture<Document> startMessage(final NetconfServerSession session,
+                                                    final NetconfMessage netconfMessage) {
+        try {
+            Preconditions.checkState(operationRouter != null, "Cannot handle message, session up was not yet received");
+            return operationRouter.onNetconfMessageAsync(checkRpc(netconfMessage), session);
+        } catch (final DocumentedException | RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void completeMessage(final NetconfServerSession session, final NetconfMessage netconfMessage,
+                                 final ListenableFuture<Document> operation) {
+        try {
+            lastReply = sendReply(session, netconfMessage, Uninterruptibles.getUninterruptibly(operation));
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof DocumentedException) {
+                rpcError(session, netconfMessage, (DocumentedException) e.getCause());
+            } else {
+                rpcFailed(session, netconfMessage, e.getCause());
+            }
+        } catch (final DocumentedException e) {
+            rpcError(session, netconfMessage, e);
+        } catch (final RuntimeException e) {
+            rpcFailed(session, netconfMessage, e);
+        }
+    }
+
+    private void rpcFailed(final NetconfServerSession session, final NetconfMessage netconfMessage,
+                           final Throwable cause) {
+        onRpcFailure(session, netconfMessage, cause);
+        // Nobody to propagate to, report the failure to the client instead
+        SendErrorExceptionUtil.sendErrorMessage(session, new DocumentedException(
+                "Unable to process incoming message: " + cause.getMessage(),
+                DocumentedException.ErrorType.APPLICATION, DocumentedException.ErrorTag.OPERATION_FAILED,
+                DocumentedException.ErrorSeverity.ERROR), netconfMessage);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void processMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
         try {
 
             Preconditions.checkState(operationRouter != null, "Cannot handle message, session up was not yet received");
             // there is no validation since the document may contain yang schemas
-            final NetconfMessage message = processDocument(netconfMessage,
-                    session);
-            LOG.debug("Responding with message {}", message);
-            session.sendMessage(message);
-            monitoringSessionListener.onSessionEvent(SessionEvent.inRpcSuccess(session));
+            sendReply(session, netconfMessage, operationRouter.onNetconfMessage(checkRpc(netconfMessage), session));
         } catch (final RuntimeException e) {
             // TODO: should send generic error or close session?
-            LOG.error("Unexpected exception", e);
-            session.onIncommingRpcFail();
-            monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
-            throw new IllegalStateException("Unable to process incoming message " + netconfMessage, e);
+            throw onRpcFailure(session, netconfMessage, e);
         } catch (final DocumentedException e) {
-            LOG.trace("Error occurred while processing message", e);
-            session.onOutgoingRpcError();
-            session.onIncommingRpcFail();
-            monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
-            monitoringSessionListener.onSessionEvent(SessionEvent.outRpcError(session));
-            SendErrorExceptionUtil.sendErrorMessage(session, e, netconfMessage);
+            rpcError(session, netconfMessage, e);
         }
     }
 
+    private IllegalStateException onRpcFailure(final NetconfServerSession session,
+                                               final NetconfMessage netconfMessage, final Throwable cause) {
+        LOG.error("Unexpected exception", cause);
+        session.onIncommingRpcFail();
+        monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
+        return new IllegalStateException("Unable to process incoming message " + netconfMessage, cause);
+    }
+
+    private void rpcError(final NetconfServerSession session, final NetconfMessage netconfMessage,
+                          final DocumentedException cause) {
+        LOG.trace("Error occurred while processing message", cause);
+        session.onOutgoingRpcError();
+        session.onIncommingRpcFail();
+        monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
+        monitoringSessionListener.onSessionEvent(SessionEvent.outRpcError(session));
+        SendErrorExceptionUtil.sendErrorMessage(session, cause, netconfMessage);
+    }
+
     public void onNotification(final NetconfServerSession session, final NetconfNotification notification) {
         monitoringSessionListener.onSessionEvent(SessionEvent.notification(session));
     }
 
-    private NetconfMessage processDocument(final NetconfMessage netconfMessage, final NetconfServerSession session)
-            throws DocumentedException {
-
+    private static Document checkRpc(final NetconfMessage netconfMessage) throws DocumentedException {
         final Document incomingDocument = netconfMessage.getDocument();
         final Node rootNode = incomingDocument.getDocumentElement();
 
-        if (rootNode.getLocalName().equals(XmlNetconfConstants.RPC_KEY)) {
-            final Document responseDocument = XmlUtil.newDocument();
-            checkMessageId(rootNode);
-
-            Document rpcReply = operationRouter.onNetconfMessage(incomingDocument, session);
-
-            rpcReply = SubtreeFilter.applyRpcSubtreeFilter(incomingDocument, rpcReply);
-
-            session.onIncommingRpcSuccess();
-
-            responseDocument.appendChild(responseDocument.importNode(rpcReply.getDocumentElement(), true));
-            return new NetconfMessage(responseDocument);
-        } else {
+        if (!rootNode.getLocalName().equals(XmlNetconfConstants.RPC_KEY)) {
             // unknown command, send RFC 4741 p.70 unknown-element
             /*
              * Tag: unknown-element Error-type: rpc, protocol, application
@@ -141,6 +305,24 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
                     DocumentedException.ErrorSeverity.ERROR, ImmutableMap.of("bad-element",
                     rootNode.getNodeName()));
         }
+
+        checkMessageId(rootNode);
+        return incomingDocument;
+    }
+
+    private ChannelFuture sendReply(final NetconfServerSession session, final NetconfMessage netconfMessage,
+                                    final Document operationReply) throws DocumentedException {
+        final Document rpcReply = SubtreeFilter.applyRpcSubtreeFilter(netconfMessage.getDocument(), operationReply);
+
+        session.onIncommingRpcSuccess();
+
+        // Reply documents are created for each request, send them as they are instead of copying the whole reply
+        final NetconfMessage message = new NetconfMessage(rpcReply);
+        LOG.debug("Responding with message {}", message);
+        final ChannelFuture reply = session.sendMessage(message);
+        monitoringSessionListener.onSessionEvent(SessionEvent.inRpcSuccess(session));
+        operationRouter.onReplySent(reply);
+        return reply;
     }
 
     private static void checkMessageId(final Node rootNode) throws DocumentedException {
@@ -17,6 +17,7 @@ import io.netty.util.Timer;
 import io.netty.util.concurrent.Promise;
 import java.net.SocketAddress;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfServerSessionPreferences;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
@@ -51,12 +52,28 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
     private final NetconfMonitoringService monitoringService;
     private static final Logger LOG = LoggerFactory.getLogger(NetconfServerSessionNegotiatorFactory.class);
     private final Set<String> baseCapabilities;
+    private final Executor operationExecutor;
 
     public NetconfServerSessionNegotiatorFactory(final Timer timer,
                                                  final NetconfOperationServiceFactory netconfOperationProvider,
                                                  final SessionIdProvider idProvider, final long connectionTimeoutMillis,
                                                  final NetconfMonitoringService monitoringService,
                                                  final Set<String> baseCapabilities) {
+        this(timer, netconfOperationProvider, idProvider, connectionTimeoutMillis, monitoringService,
+                baseCapabilities, null);
+    }
+
+    /**
+     * Create a factory whose sessions execute operations on the provided executor instead of the event loop.
+     *
+     * @param operationExecutor executor running the operations, operations run on the event loop if null
+     */
+    public NetconfServerSessionNegotiatorFactory(final Timer timer,
+                                                 final NetconfOperationServiceFactory netconfOperationProvider,
+                                                 final SessionIdProvider idProvider, final long connectionTimeoutMillis,
+                                                 final NetconfMonitoringService monitoringService,
+                                                 final Set<String> baseCapabilities,
+                                                 final Executor operationExecutor) {
         this.timer = timer;
         this.aggregatedOpService = netconfOperationProvider;
         this.idProvider = idProvider;
@@ -64,6 +81,7 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
         this.monitoringService = monitoringService;
         this.baseCapabilities = validateBaseCapabilities(baseCapabilities == null ? DEFAULT_BASE_CAPABILITIES :
                 baseCapabilities);
+        this.operationExecutor = operationExecutor;
     }
 
 
@@ -106,8 +124,11 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
             throw new IllegalStateException(e);
         }
 
+        // Channels attached directly to another transport (e.g. SSH) have no parent server channel
+        final SocketAddress localAddress = channel.parent() != null ? channel.parent().localAddress()
+                : channel.localAddress();
         return new NetconfServerSessionNegotiator(proposal, promise, channel, timer,
-                getListener(Long.toString(sessionId), channel.parent().localAddress()), connectionTimeoutMillis);
+                getListener(Long.toString(sessionId), localAddress), connectionTimeoutMillis);
     }
 
     private NetconfServerSessionListener getListener(final String netconfSessionIdForReporting,
@@ -116,7 +137,7 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
                 socketAddress);
         final NetconfOperationRouter operationRouter =
                 new NetconfOperationRouterImpl(service, monitoringService, netconfSessionIdForReporting);
-        return new NetconfServerSessionListener(operationRouter, monitoringService, service);
+        return new NetconfServerSessionListener(operationRouter, monitoringService, service, operationExecutor);
 
     }
 
@@ -8,6 +8,9 @@
 
 package org.opendaylight.netconf.impl.osgi;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.channel.ChannelFuture;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.netconf.impl.NetconfServerSession;
 import org.w3c.dom.Document;
@@ -17,5 +20,29 @@ public interface NetconfOperationRouter extends AutoCloseable {
     Document onNetconfMessage(Document message, NetconfServerSession session)
             throws DocumentedException;
 
+    /**
+     * Handle a message without waiting for operations which complete asynchronously.
+     *
+     * @param message request message
+     * @param session session the message was received on
+     * @return future reply, failing with {@link DocumentedException} if the request cannot be handled
+     */
+    default ListenableFuture<Document> onNetconfMessageAsync(final Document message,
+                                                             final NetconfServerSession session) {
+        try {
+            return Futures.immediateFuture(onNetconfMessage(message, session));
+        } catch (final DocumentedException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    /**
+     * Notify operations about the reply to the last handled message being sent.
+     *
+     * @param replyFuture future completing once the reply is written to the session
+     */
+    default void onReplySent(final ChannelFuture replyFuture) {
+        // No operation needs to know
+    }
 
 }
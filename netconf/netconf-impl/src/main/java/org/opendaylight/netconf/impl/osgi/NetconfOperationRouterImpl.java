@@ -7,15 +7,22 @@
  */
 package org.opendaylight.netconf.impl.osgi;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.channel.ChannelFuture;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
@@ -24,11 +31,15 @@ import org.opendaylight.netconf.impl.mapping.operations.DefaultCloseSession;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultNetconfOperation;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStartExi;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStopExi;
+import org.opendaylight.netconf.mapping.api.AsyncNetconfOperation;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
+import org.opendaylight.netconf.mapping.api.ReplyAwareNetconfOperation;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
+import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation;
+import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation.OperationNameAndNamespace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -36,9 +47,15 @@ import org.w3c.dom.Document;
 public class NetconfOperationRouterImpl implements NetconfOperationRouter {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfOperationRouterImpl.class);
+    private static final int MAX_DISPATCH_TABLE_SIZE = 256;
+
     private final NetconfOperationService netconfOperationServiceSnapshot;
     private final Collection<NetconfOperation> allNetconfOperations;
 
+    // Operations handling each operation seen so far, the snapshot of operations does not change for a session
+    private final ConcurrentMap<OperationKey, DispatchEntry> dispatchTable = new ConcurrentHashMap<>();
+    private volatile NetconfServerSession boundSession;
+
     public NetconfOperationRouterImpl(final NetconfOperationService netconfOperationServiceSnapshot,
                                       final NetconfMonitoringService netconfMonitoringService, final String sessionId) {
         this.netconfOperationServiceSnapshot = Preconditions.checkNotNull(netconfOperationServiceSnapshot);
@@ -57,11 +74,44 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
     @Override
     public Document onNetconfMessage(final Document message, final NetconfServerSession session) throws
             DocumentedException {
+        final NetconfOperationExecution netconfOperationExecution = resolveExecution(message, session);
+
+        try {
+            return executeOperationWithHighestPriority(message, netconfOperationExecution);
+        } catch (final RuntimeException e) {
+            throw handleUnexpectedEx("Unexpected exception during netconf operation execution", e);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    @Override
+    public ListenableFuture<Document> onNetconfMessageAsync(final Document message,
+                                                            final NetconfServerSession session) {
+        try {
+            final NetconfOperationExecution netconfOperationExecution = resolveExecution(message, session);
+            if (netconfOperationExecution.netconfOperation instanceof AsyncNetconfOperation
+                    && netconfOperationExecution.subsequentExecution.isExecutionTermination()) {
+                LOG.debug("Forwarding netconf message to {} asynchronously", netconfOperationExecution
+                        .netconfOperation);
+                return ((AsyncNetconfOperation) netconfOperationExecution.netconfOperation).handleAsync(message,
+                        netconfOperationExecution.subsequentExecution);
+            }
+            return Futures.immediateFuture(executeOperationWithHighestPriority(message, netconfOperationExecution));
+        } catch (final DocumentedException e) {
+            return Futures.immediateFailedFuture(e);
+        } catch (final RuntimeException e) {
+            return Futures.immediateFailedFuture(
+                    handleUnexpectedEx("Unexpected exception during netconf operation execution", e));
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private NetconfOperationExecution resolveExecution(final Document message, final NetconfServerSession session)
+            throws DocumentedException {
         Preconditions.checkNotNull(allNetconfOperations, "Operation router was not initialized properly");
 
-        final NetconfOperationExecution netconfOperationExecution;
         try {
-            netconfOperationExecution = getNetconfOperationWithHighestPriority(message, session);
+            return getNetconfOperationWithHighestPriority(message, session);
         } catch (IllegalArgumentException | IllegalStateException e) {
             final String messageAsString = XmlUtil.toString(message);
             LOG.warn("Unable to handle rpc {} on session {}", messageAsString, session, e);
@@ -81,11 +131,14 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
         } catch (final RuntimeException e) {
             throw handleUnexpectedEx("Unexpected exception during netconf operation sort", e);
         }
+    }
 
-        try {
-            return executeOperationWithHighestPriority(message, netconfOperationExecution);
-        } catch (final RuntimeException e) {
-            throw handleUnexpectedEx("Unexpected exception during netconf operation execution", e);
+    @Override
+    public void onReplySent(final ChannelFuture replyFuture) {
+        for (final NetconfOperation netconfOperation : allNetconfOperations) {
+            if (netconfOperation instanceof ReplyAwareNetconfOperation) {
+                ((ReplyAwareNetconfOperation) netconfOperation).onReplySent(replyFuture);
+            }
         }
     }
 
@@ -94,8 +147,7 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
         netconfOperationServiceSnapshot.close();
     }
 
-    private static DocumentedException handleUnexpectedEx(final String message, final Exception exception) throws
-            DocumentedException {
+    private static DocumentedException handleUnexpectedEx(final String message, final Exception exception) {
         LOG.error("{}", message, exception);
         return new DocumentedException("Unexpected error",
                 DocumentedException.ErrorType.APPLICATION,
@@ -117,41 +169,166 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
 
     private NetconfOperationExecution getNetconfOperationWithHighestPriority(
             final Document message, final NetconfServerSession session) throws DocumentedException {
+        bindSession(session);
 
-        final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority =
-                getSortedNetconfOperationsWithCanHandle(
-                message, session);
+        final OperationNameAndNamespace operation;
+        try {
+            operation = new OperationNameAndNamespace(message);
+        } catch (final DocumentedException e) {
+            LOG.trace("Unable to determine operation invoked by {}, consulting all operations", message, e);
+            final TreeMap<HandlingPriority, NetconfOperation> sortedByPriority = new TreeMap<>();
+            addNetconfOperationsWithCanHandle(message, allNetconfOperations, sortedByPriority);
+            return createExecutionChain(message, sortedByPriority);
+        }
 
-        if (sortedByPriority.isEmpty()) {
-            throw new IllegalArgumentException(String.format("No %s available to handle message %s",
-                    NetconfOperation.class.getName(), XmlUtil.toString(message)));
+        final DispatchEntry entry = getDispatchEntry(new OperationKey(operation.getNamespace(),
+                operation.getOperationName()));
+        if (entry.dynamicOperations.isEmpty()) {
+            if (entry.execution == null) {
+                throw noOperationAvailable(message);
+            }
+            return entry.execution;
         }
 
-        return NetconfOperationExecution.createExecutionChain(sortedByPriority, sortedByPriority.lastKey());
+        final TreeMap<HandlingPriority, NetconfOperation> sortedByPriority = new TreeMap<>(entry.sortedOperations);
+        addNetconfOperationsWithCanHandle(message, entry.dynamicOperations, sortedByPriority);
+        return createExecutionChain(message, sortedByPriority);
     }
 
-    private TreeMap<HandlingPriority, NetconfOperation> getSortedNetconfOperationsWithCanHandle(
-            final Document message, final NetconfServerSession session) throws DocumentedException {
-        final TreeMap<HandlingPriority, NetconfOperation> sortedPriority = Maps.newTreeMap();
-
+    private void bindSession(final NetconfServerSession session) {
+        // Operations are bound to the session once, the router is not shared across sessions
+        if (session == boundSession) {
+            return;
+        }
         for (final NetconfOperation netconfOperation : allNetconfOperations) {
-            final HandlingPriority handlingPriority = netconfOperation.canHandle(message);
             if (netconfOperation instanceof DefaultNetconfOperation) {
                 ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
             }
             if (netconfOperation instanceof SessionAwareNetconfOperation) {
                 ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
             }
-            if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
+        }
+        boundSession = session;
+    }
+
+    private DispatchEntry getDispatchEntry(final OperationKey key) {
+        final DispatchEntry existing = dispatchTable.get(key);
+        if (existing != null) {
+            return existing;
+        }
 
-                Preconditions.checkState(!sortedPriority.containsKey(handlingPriority),
-                        "Multiple %s available to handle message %s with priority %s, %s and %s",
-                        NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority
-                                .get(handlingPriority));
-                sortedPriority.put(handlingPriority, netconfOperation);
+        final DispatchEntry created = createDispatchEntry(key);
+        // Keys come from clients, do not let them grow the table without bounds
+        if (dispatchTable.size() < MAX_DISPATCH_TABLE_SIZE) {
+            dispatchTable.putIfAbsent(key, created);
+        }
+        return created;
+    }
+
+    private DispatchEntry createDispatchEntry(final OperationKey key) {
+        final TreeMap<HandlingPriority, NetconfOperation> sortedByPriority = new TreeMap<>();
+        final List<NetconfOperation> dynamicOperations = new ArrayList<>();
+
+        for (final NetconfOperation netconfOperation : allNetconfOperations) {
+            final Optional<HandlingPriority> handlingPriority;
+            if (netconfOperation instanceof AbstractNetconfOperation) {
+                handlingPriority = ((AbstractNetconfOperation) netconfOperation)
+                        .getNameBasedHandlingPriority(key.name, key.namespace);
+            } else {
+                handlingPriority = Optional.absent();
+            }
+            if (handlingPriority.isPresent()) {
+                addNetconfOperation(key, handlingPriority.get(), netconfOperation, sortedByPriority);
+            } else {
+                dynamicOperations.add(netconfOperation);
+            }
+        }
+
+        LOG.debug("Operation {} dispatched to {}, consulting {} for each message", key, sortedByPriority.values(),
+                dynamicOperations);
+        return new DispatchEntry(sortedByPriority, dynamicOperations);
+    }
+
+    private static void addNetconfOperationsWithCanHandle(final Document message,
+            final Collection<NetconfOperation> netconfOperations,
+            final TreeMap<HandlingPriority, NetconfOperation> sortedByPriority) throws DocumentedException {
+        for (final NetconfOperation netconfOperation : netconfOperations) {
+            addNetconfOperation(message, netconfOperation.canHandle(message), netconfOperation, sortedByPriority);
+        }
+    }
+
+    private static void addNetconfOperation(final Object message, final HandlingPriority handlingPriority,
+            final NetconfOperation netconfOperation, final TreeMap<HandlingPriority, NetconfOperation> sortedPriority) {
+        if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
+            Preconditions.checkState(!sortedPriority.containsKey(handlingPriority),
+                    "Multiple %s available to handle message %s with priority %s, %s and %s",
+                    NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority
+                            .get(handlingPriority));
+            sortedPriority.put(handlingPriority, netconfOperation);
+        }
+    }
+
+    private static NetconfOperationExecution createExecutionChain(final Document message,
+            final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority) {
+        if (sortedByPriority.isEmpty()) {
+            throw noOperationAvailable(message);
+        }
+        return NetconfOperationExecution.createExecutionChain(sortedByPriority, sortedByPriority.lastKey());
+    }
+
+    private static IllegalArgumentException noOperationAvailable(final Document message) {
+        return new IllegalArgumentException(String.format("No %s available to handle message %s",
+                NetconfOperation.class.getName(), XmlUtil.toString(message)));
+    }
+
+    private static final class OperationKey {
+        private final String namespace;
+        private final String name;
+
+        OperationKey(final String namespace, final String name) {
+            this.namespace = namespace;
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * namespace.hashCode() + name.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
             }
+            if (!(obj instanceof OperationKey)) {
+                return false;
+            }
+            final OperationKey other = (OperationKey) obj;
+            return namespace.equals(other.namespace) && name.equals(other.name);
+        }
+
+        @Override
+        public String toString() {
+            return "{" + namespace + "}" + name;
+        }
+    }
+
+    /**
+     * Operations handling a particular operation. Operations deciding based on its name are sorted by their priority
+     * and chained upfront, the rest is asked for each message.
+     */
+    private static final class DispatchEntry {
+        private final NavigableMap<HandlingPriority, NetconfOperation> sortedOperations;
+        private final Collection<NetconfOperation> dynamicOperations;
+        private final NetconfOperationExecution execution;
+
+        DispatchEntry(final NavigableMap<HandlingPriority, NetconfOperation> sortedOperations,
+                      final Collection<NetconfOperation> dynamicOperations) {
+            this.sortedOperations = sortedOperations;
+            this.dynamicOperations = dynamicOperations;
+            this.execution = sortedOperations.isEmpty() ? null
+                    : NetconfOperationExecution.createExecutionChain(sortedOperations, sortedOperations.lastKey());
         }
-        return sortedPriority;
     }
 
     private static class NetconfOperationExecution implements NetconfOperationChainedExecution {
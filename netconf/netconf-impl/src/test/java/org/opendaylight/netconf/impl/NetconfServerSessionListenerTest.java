@@ -10,12 +10,19 @@ package org.opendaylight.netconf.impl;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.hamcrest.CustomMatcher;
@@ -31,6 +38,7 @@ import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.monitoring.SessionEvent;
 import org.opendaylight.netconf.api.monitoring.SessionListener;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.w3c.dom.Document;
@@ -148,12 +156,96 @@ public class NetconfServerSessionListenerTest {
         Assert.assertTrue(diff.toString(), diff.similar());
     }
 
+    @Test
+    public void testOnMessageAsyncInOrder() throws Exception {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final NetconfServerSessionListener asyncListener =
+                new NetconfServerSessionListener(router, monitoring, closeable, tasks::add);
+        doAnswer(invocation -> {
+            final String messageId = ((Document) invocation.getArguments()[0]).getDocumentElement()
+                    .getAttribute(XmlNetconfConstants.MESSAGE_ID);
+            return Futures.immediateFuture(okReply(messageId));
+        }).when(router).onNetconfMessageAsync(any(), any());
+
+        asyncListener.onMessage(session, rpc("101"));
+        asyncListener.onMessage(session, rpc("102"));
+        verify(router, never()).onNetconfMessageAsync(any(), any());
+        // Both messages are processed by a single task
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+        channel.runPendingTasks();
+        Assert.assertEquals("101", messageId((NetconfMessage) channel.readOutbound()));
+        Assert.assertEquals("102", messageId((NetconfMessage) channel.readOutbound()));
+
+        asyncListener.onMessage(session, rpc("103"));
+        Assert.assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testOnMessageAsyncRuntimeFail() throws Exception {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final NetconfServerSessionListener asyncListener =
+                new NetconfServerSessionListener(router, monitoring, closeable, tasks::add);
+        doThrow(new RuntimeException("runtime fail")).when(router).onNetconfMessageAsync(any(), any());
+
+        asyncListener.onMessage(session, rpc("101"));
+        tasks.poll().run();
+        verify(monitoringListener).onSessionEvent(argThat(sessionEventIs(SessionEvent.Type.IN_RPC_FAIL)));
+        channel.runPendingTasks();
+        final NetconfMessage sentMsg = (NetconfMessage) channel.readOutbound();
+        Assert.assertEquals("101", messageId(sentMsg));
+        Assert.assertEquals(1, sentMsg.getDocument().getElementsByTagNameNS(
+                XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0, "rpc-error").getLength());
+    }
+
+    @Test
+    public void testOnMessageAsyncOperation() throws Exception {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final NetconfServerSessionListener asyncListener =
+                new NetconfServerSessionListener(router, monitoring, closeable, tasks::add);
+        final SettableFuture<Document> commitReply = SettableFuture.create();
+        doReturn(commitReply).doReturn(Futures.immediateFuture(okReply("102")))
+                .when(router).onNetconfMessageAsync(any(), any());
+
+        asyncListener.onMessage(session, rpc("101"));
+        asyncListener.onMessage(session, rpc("102"));
+        tasks.poll().run();
+        // The second message waits for the first operation to complete, without occupying the executor
+        verify(router, times(1)).onNetconfMessageAsync(any(), any());
+        Assert.assertTrue(tasks.isEmpty());
+        channel.runPendingTasks();
+        Assert.assertNull(channel.readOutbound());
+
+        commitReply.set(okReply("101"));
+        Assert.assertEquals(1, tasks.size());
+        tasks.poll().run();
+        verify(router, times(2)).onNetconfMessageAsync(any(), any());
+        channel.runPendingTasks();
+        Assert.assertEquals("101", messageId((NetconfMessage) channel.readOutbound()));
+        Assert.assertEquals("102", messageId((NetconfMessage) channel.readOutbound()));
+    }
+
     @Test
     public void testOnNotification() throws Exception {
         listener.onNotification(session, new NetconfNotification(XmlUtil.readXmlToDocument("<notification/>")));
         verify(monitoringListener).onSessionEvent(argThat(sessionEventIs(SessionEvent.Type.NOTIFICATION)));
     }
 
+    private static NetconfMessage rpc(final String messageId) throws Exception {
+        return new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"" + messageId + "\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><example/></rpc>"));
+    }
+
+    private static Document okReply(final String messageId) throws Exception {
+        return XmlUtil.readXmlToDocument("<rpc-reply message-id=\"" + messageId + "\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>");
+    }
+
+    private static String messageId(final NetconfMessage message) {
+        return message.getDocument().getDocumentElement().getAttribute(XmlNetconfConstants.MESSAGE_ID);
+    }
+
     private CustomMatcher<SessionEvent> sessionEventIs(final SessionEvent.Type type) {
         return new CustomMatcher<SessionEvent>(type.name()) {
             @Override
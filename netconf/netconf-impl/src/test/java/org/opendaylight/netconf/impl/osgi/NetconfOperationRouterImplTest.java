@@ -24,12 +24,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
+import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
 public class NetconfOperationRouterImplTest {
@@ -46,6 +49,8 @@ public class NetconfOperationRouterImplTest {
     @Mock
     private NetconfOperationService operationService2;
     @Mock
+    private NetconfOperationService operationService3;
+    @Mock
     private NetconfOperation maxPrioMock;
     @Mock
     private NetconfOperation defaultPrioMock;
@@ -116,10 +121,50 @@ public class NetconfOperationRouterImplTest {
         }
     }
 
+    @Test
+    public void testOnNetconfMessageDispatchedByName() throws Exception {
+        final TestOperation testOperation = new TestOperation();
+        doReturn(Collections.singleton(testOperation)).when(operationService3).getNetconfOperations();
+        final NetconfOperationRouterImpl router = new NetconfOperationRouterImpl(operationService3, null, "session-1");
+
+        router.onNetconfMessage(TEST_RPC_DOC, null);
+        router.onNetconfMessage(TEST_RPC_DOC, null);
+
+        // Operation was selected once, the dispatch was reused for the second message
+        Assert.assertEquals(1, testOperation.priorityRequests);
+        Assert.assertEquals(2, testOperation.handled);
+    }
+
     @Test
     public void testClose() throws Exception {
         operationRouter.close();
         verify(operationService).close();
     }
 
-}
\ No newline at end of file
+    private static final class TestOperation extends AbstractSingletonNetconfOperation {
+        private int priorityRequests;
+        private int handled;
+
+        TestOperation() {
+            super("session-1");
+        }
+
+        @Override
+        protected String getOperationName() {
+            return "test";
+        }
+
+        @Override
+        protected HandlingPriority getHandlingPriority() {
+            priorityRequests++;
+            return HandlingPriority.HANDLE_WITH_DEFAULT_PRIORITY;
+        }
+
+        @Override
+        protected Element handleWithNoSubsequentOperations(final Document document,
+                                                           final XmlElement operationElement) {
+            handled++;
+            return document.createElement("ok");
+        }
+    }
+}
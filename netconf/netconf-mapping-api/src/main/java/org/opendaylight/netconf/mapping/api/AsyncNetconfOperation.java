@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mapping.api;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.w3c.dom.Document;
+
+/**
+ * NetconfOperation able to complete its request without blocking the calling thread, e.g. when it waits for a
+ * datastore commit. The reply is sent once the returned future completes and requests received in the meantime on
+ * the same session are not processed until then.
+ *
+ * <p>
+ * The asynchronous variant is used only when the operation is invoked as a whole. The synchronous
+ * {@link #handle(Document, NetconfOperationChainedExecution)} still has to be implemented for the operation to be
+ * usable in an execution chain.
+ */
+public interface AsyncNetconfOperation extends NetconfOperation {
+
+    /**
+     * Execute current netconf operation, see {@link #handle(Document, NetconfOperationChainedExecution)}.
+     *
+     * @param requestMessage request message
+     * @param subsequentOperation execution of subsequent netconf operation
+     * @return future reply document, failing with {@link DocumentedException} if the operation fails
+     * @throws DocumentedException if the request cannot be executed
+     */
+    ListenableFuture<Document> handleAsync(Document requestMessage,
+                                           NetconfOperationChainedExecution subsequentOperation)
+            throws DocumentedException;
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mapping.api;
+
+import io.netty.channel.ChannelFuture;
+
+/**
+ * NetconfOperation, which has to act once its reply is sent, e.g. to start sending messages which must not precede
+ * the reply on the session.
+ */
+public interface ReplyAwareNetconfOperation extends NetconfOperation {
+
+    /**
+     * Invoked with the reply to each successfully handled request of the session, before the next request is
+     * processed. Operations which did not take part in handling of the request are invoked as well and ignore it.
+     *
+     * @param replyFuture future completing once the reply is written to the session
+     */
+    void onReplySent(ChannelFuture replyFuture);
+}
@@ -100,6 +100,15 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
         return proxyFuture;
     }
 
+    /**
+     * Check whether messages can be sent without being queued in the channel, see {@link Channel#isWritable()}.
+     *
+     * @return true if the channel of this session is writable
+     */
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
     @Override
     protected void endOfInput() {
         LOG.debug("Session {} end of input detected while session was in state {}", toString(), isUp() ? "up"
@@ -142,6 +151,11 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
         channel.pipeline().replace(handlerName, handlerName, handler);
     }
 
+    protected final void addChannelHandlerBefore(final String baseName, final String handlerName,
+                                                 final ChannelHandler handler) {
+        channel.pipeline().addBefore(baseName, handlerName, handler);
+    }
+
     @Override
     public final void startExiCommunication(final NetconfMessage startExiMessage) {
         final EXIParameters exiParams;
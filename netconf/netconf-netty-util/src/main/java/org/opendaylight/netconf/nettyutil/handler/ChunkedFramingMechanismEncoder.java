@@ -10,7 +10,11 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.nio.charset.StandardCharsets;
 import org.opendaylight.netconf.util.messages.NetconfMessageConstants;
@@ -36,6 +40,58 @@ public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf
         return chunkSize;
     }
 
+    /**
+     * Frame messages without copying them into another buffer. The frame is a composite of chunk headers and slices of
+     * the message, so large messages are not held in memory twice.
+     */
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (!acceptOutboundMessage(msg)) {
+            super.write(ctx, msg, promise);
+            return;
+        }
+
+        final ByteBuf buf = (ByteBuf) msg;
+        final ByteBuf frame;
+        try {
+            frame = frame(ctx.alloc(), buf);
+        } finally {
+            buf.release();
+        }
+        ctx.write(frame, promise);
+    }
+
+    private ByteBuf frame(final ByteBufAllocator alloc, final ByteBuf msg) {
+        final int chunks = Math.max(1, (msg.readableBytes() + chunkSize - 1) / chunkSize);
+        // Enough components for all headers and slices, so the composite is never consolidated by copying
+        final CompositeByteBuf frame = alloc.compositeBuffer(2 * chunks + 1);
+        try {
+            addChunks(alloc, msg, frame);
+        } catch (final RuntimeException e) {
+            frame.release();
+            throw e;
+        }
+        return frame;
+    }
+
+    private void addChunks(final ByteBufAllocator alloc, final ByteBuf msg, final CompositeByteBuf frame) {
+        do {
+            final int xfer = Math.min(chunkSize, msg.readableBytes());
+
+            final ByteBuf header = alloc.buffer(NetconfMessageConstants.START_OF_CHUNK.length + 9);
+            header.writeBytes(NetconfMessageConstants.START_OF_CHUNK);
+            header.writeBytes(String.valueOf(xfer).getBytes(StandardCharsets.US_ASCII));
+            header.writeByte('\n');
+            frame.addComponent(true, header);
+
+            frame.addComponent(true, msg.retainedSlice(msg.readerIndex(), xfer));
+            msg.skipBytes(xfer);
+        } while (msg.isReadable());
+
+        frame.addComponent(true, Unpooled.wrappedBuffer(NetconfMessageConstants.END_OF_CHUNK));
+    }
+
     @Override
     protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out)  {
         do {
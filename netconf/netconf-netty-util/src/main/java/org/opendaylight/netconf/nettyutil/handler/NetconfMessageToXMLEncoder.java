@@ -9,14 +9,20 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
@@ -28,6 +34,16 @@ import org.w3c.dom.Comment;
 public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMessage> {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageToXMLEncoder.class);
 
+    // Shared messages being sent at the same time, encodings of older ones are evicted
+    private static final int MAX_SHARED_MESSAGES = 64;
+
+    /**
+     * Encoded forms of shared messages, keyed by message identity. The buffers are unpooled, so they are reclaimed
+     * together with the message, and every session writes a retained duplicate of them.
+     */
+    private static final Cache<NetconfMessage, ByteBuf> SHARED_ENCODINGS =
+            CacheBuilder.newBuilder().weakKeys().maximumSize(MAX_SHARED_MESSAGES).build();
+
     private final Optional<String> clientId;
 
     public NetconfMessageToXMLEncoder() {
@@ -38,6 +54,33 @@ public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMess
         this.clientId = clientId;
     }
 
+    /**
+     * Encode shared messages only once for all sessions. The encoding does not depend on the session, unless a client
+     * id comment is added to the document.
+     */
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (clientId.isPresent() || !(msg instanceof NetconfMessage) || !((NetconfMessage) msg).isShared()) {
+            super.write(ctx, msg, promise);
+            return;
+        }
+
+        final NetconfMessage message = (NetconfMessage) msg;
+        final ByteBuf encoded;
+        try {
+            encoded = SHARED_ENCODINGS.get(message, () -> {
+                final ByteBuf buf = Unpooled.buffer();
+                encode(ctx, message, buf);
+                return buf;
+            });
+        } catch (final ExecutionException e) {
+            promise.setFailure(new EncoderException(e.getCause()));
+            return;
+        }
+        ctx.write(encoded.retainedDuplicate(), promise);
+    }
+
     @Override
     @VisibleForTesting
     public void encode(final ChannelHandlerContext ctx, final NetconfMessage msg, final ByteBuf out)
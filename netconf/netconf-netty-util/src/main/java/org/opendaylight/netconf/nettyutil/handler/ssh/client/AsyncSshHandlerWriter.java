@@ -179,8 +179,12 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
     }
 
     private static Buffer toBuffer(final ByteBuf msg) {
-        // TODO Buffer vs ByteBuf translate, Can we handle that better ?
         msg.resetReaderIndex();
+        if (msg.hasArray()) {
+            // The message is released only once the write completes, so its array can be handed to MINA as is
+            return new Buffer(msg.array(), msg.arrayOffset() + msg.readerIndex(), msg.readableBytes());
+        }
+
         final byte[] temp = new byte[msg.readableBytes()];
         msg.readBytes(temp, 0, msg.readableBytes());
         return new Buffer(temp);
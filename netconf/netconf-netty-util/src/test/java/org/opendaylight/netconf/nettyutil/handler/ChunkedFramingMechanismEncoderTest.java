@@ -14,6 +14,7 @@ import static org.junit.Assert.assertTrue;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.junit.Before;
@@ -61,6 +62,22 @@ public class ChunkedFramingMechanismEncoderTest {
         assertTrue(string.endsWith("\n#20\naaaaaaaaaaaaaaaaaaaa\n##\n"));
     }
 
+    @Test
+    public void testWriteWithoutCopy() throws Exception {
+        final ByteBuf src = Unpooled.wrappedBuffer(getByteArray(chunkSize * 4 + 20));
+        final ByteBuf expected = Unpooled.buffer();
+        new ChunkedFramingMechanismEncoder(chunkSize).encode(ctx, src.duplicate(), expected);
+
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChunkedFramingMechanismEncoder(chunkSize));
+        assertTrue(channel.writeOutbound(src));
+        final ByteBuf frame = (ByteBuf) channel.readOutbound();
+
+        assertEquals(expected, frame);
+        frame.release();
+        // The frame only referenced the message, which is released with it
+        assertEquals(0, src.refCnt());
+    }
+
     private static byte[] getByteArray(final int size) {
         final byte[] bytes = new byte[size];
         for (int i = 0; i < size; i++) {
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
+
+public class NetconfMessageToXMLEncoderTest {
+
+    private static final String NOTIFICATION =
+            "<notification xmlns=\"urn:ietf:params:netconf:capability:notification:1.0\"/>";
+
+    @Test
+    public void testSharedMessageEncodedOnce() throws Exception {
+        final NetconfMessage msg = new NetconfMessage(XmlUtil.readXmlToDocument(NOTIFICATION)) {
+            @Override
+            public boolean isShared() {
+                return true;
+            }
+        };
+
+        final ByteBuf first = writeToNewChannel(msg);
+        final ByteBuf second = writeToNewChannel(msg);
+        try {
+            // Both sessions write the same bytes, serialized only once
+            assertSame(first.array(), second.array());
+            assertEquals(first, second);
+            assertThat(first.toString(StandardCharsets.UTF_8), containsString("notification"));
+        } finally {
+            first.release();
+            second.release();
+        }
+    }
+
+    private static ByteBuf writeToNewChannel(final NetconfMessage msg) {
+        final EmbeddedChannel channel = new EmbeddedChannel(new NetconfMessageToXMLEncoder());
+        channel.writeOutbound(msg);
+        final ByteBuf encoded = (ByteBuf) channel.readOutbound();
+        channel.finish();
+        return encoded;
+    }
+}
@@ -193,6 +193,14 @@ public final class NetconfNotification extends NetconfMessage {
         return eventTime;
     }
 
+    /**
+     * Notifications are broadcast to all subscribed sessions, so are encoded only once.
+     */
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
     private static Document wrapNotification(final Document notificationContent, final Date eventTime) {
         Preconditions.checkNotNull(notificationContent);
         Preconditions.checkNotNull(eventTime);
@@ -20,4 +20,12 @@ public interface NetconfNotificationListener {
      */
     void onNotification(StreamNameType stream, NetconfNotification notification);
 
+    /**
+     * Callback used to notify the listener that all notifications requested to be replayed were delivered. Any
+     * subsequent notification is a live one.
+     */
+    default void onReplayComplete(final StreamNameType stream) {
+        // Not interested by default
+    }
+
 }
@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.notifications;
 
+import java.util.Date;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.netconf.Streams;
 
@@ -19,6 +20,14 @@ public interface NetconfNotificationRegistry {
     NotificationListenerRegistration registerNotificationListener(StreamNameType stream,
                                                                   NetconfNotificationListener listener);
 
+    /**
+     * Add listener for a certain notification type, replaying logged notifications which occurred since startTime
+     * first. The listener is notified about the end of replay before it receives any live notification.
+     */
+    NotificationListenerRegistration registerNotificationListener(StreamNameType stream,
+                                                                  NetconfNotificationListener listener,
+                                                                  Date startTime);
+
     /**
      * Check stream availability.
      */
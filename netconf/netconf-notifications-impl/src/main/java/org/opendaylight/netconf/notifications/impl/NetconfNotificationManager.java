@@ -9,15 +9,23 @@
 package org.opendaylight.netconf.notifications.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
@@ -43,6 +51,20 @@ import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collects notifications from publishers and fans them out to registered listeners.
+ *
+ * <p>
+ * Publishing a notification only appends it to the replay log and to a bounded queue of every listener, under a short
+ * lock which keeps replayed and live notifications of a listener in order. Listeners are invoked outside of that lock
+ * from the delivery executor, one task per listener at a time, so a slow listener delays only itself. Once its queue is
+ * full, notifications for such listener are dropped according to the {@link OverflowPolicy}.
+ *
+ * <p>
+ * Stream listeners are invoked outside of the manager lock as well, from the thread registering or unregistering
+ * a publisher, with the listeners captured together with the change. A registration and an unregistration of the same
+ * stream made concurrently may therefore be reported to stream listeners in a different order than they were made.
+ */
 @ThreadSafe
 public class NetconfNotificationManager implements NetconfNotificationCollector, NetconfNotificationRegistry,
         NetconfNotificationListener, AutoCloseable {
@@ -54,21 +76,43 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         BASE_NETCONF_STREAM = new StreamBuilder()
                 .setName(BASE_STREAM_NAME)
                 .setKey(new StreamKey(BASE_STREAM_NAME))
-                .setReplaySupport(false)
+                .setReplaySupport(true)
                 .setDescription("Default Event Stream")
                 .build();
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfNotificationManager.class);
 
-    // TODO excessive synchronization provides thread safety but is most likely not optimal
-    // (combination of concurrent collections might improve performance)
-    // And also calling callbacks from a synchronized block is dangerous
-    // since the listeners/publishers can block the whole notification processing
+    // Number of most recent notifications available for replay
+    private static final int DEFAULT_REPLAY_LOG_SIZE = 1024;
+    // Number of notifications waiting for delivery to a single listener
+    private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    // Notifications delivered to a listener by a single task, before other listeners get a chance
+    private static final int MAX_NOTIFICATIONS_PER_TASK = 64;
+
+    /**
+     * What to drop when a notification is published for a listener whose queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the oldest queued notification, the listener gets the most recent ones once it catches up.
+         */
+        DROP_OLDEST,
+        /**
+         * Drop the published notification, the listener gets the queued ones without a gap in between.
+         */
+        DROP_NEWEST
+    }
 
-    @GuardedBy("this")
-    private final Multimap<StreamNameType, GenericNotificationListenerReg> notificationListeners =
-            HashMultimap.create();
+    // Copied on registration changes, so notifications are published without holding the manager lock
+    private final List<GenericNotificationListenerReg> notificationListeners = new CopyOnWriteArrayList<>();
+
+    // Orders appending to the replay log and listener queues against registration of replaying listeners
+    private final Object publishLock = new Object();
+
+    private final Executor deliveryExecutor;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
 
     @GuardedBy("this")
     private final Set<NetconfNotificationStreamListener> streamListeners = Sets.newHashSet();
@@ -82,20 +126,85 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     @GuardedBy("this")
     private final Set<GenericNotificationPublisherReg> notificationPublishers = Sets.newHashSet();
 
+    // All notifications are delivered to the base stream, so are replayed from a single log
+    @GuardedBy("publishLock")
+    private final NotificationReplayLog replayLog;
+
+    /**
+     * Create a manager delivering notifications from the publishing thread.
+     */
+    public NetconfNotificationManager() {
+        this(DEFAULT_REPLAY_LOG_SIZE);
+    }
+
+    /**
+     * Create a manager delivering notifications from the publishing thread.
+     *
+     * @param replayLogSize number of most recent notifications available for replay
+     */
+    public NetconfNotificationManager(final int replayLogSize) {
+        this(replayLogSize, MoreExecutors.directExecutor(), DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Create a manager delivering notifications from the provided executor, with default limits.
+     *
+     * @param deliveryExecutor executor invoking listeners
+     */
+    public NetconfNotificationManager(final Executor deliveryExecutor) {
+        this(DEFAULT_REPLAY_LOG_SIZE, deliveryExecutor, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Create a manager.
+     *
+     * @param replayLogSize number of most recent notifications available for replay
+     * @param deliveryExecutor executor invoking listeners
+     * @param queueCapacity number of notifications waiting for delivery to a single listener
+     * @param overflowPolicy what to drop once a listener's queue is full
+     */
+    public NetconfNotificationManager(final int replayLogSize, final Executor deliveryExecutor,
+                                      final int queueCapacity, final OverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(queueCapacity > 0, "Queue capacity has to be positive, was %s", queueCapacity);
+        this.replayLog = new NotificationReplayLog(replayLogSize);
+        this.deliveryExecutor = Preconditions.checkNotNull(deliveryExecutor);
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
+    }
+
+    /**
+     * Return the number of notifications waiting for delivery to a single listener, before they start to be dropped.
+     *
+     * @return listener queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
     @Override
-    public synchronized void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+    public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
         LOG.debug("Notification of type {} detected", stream);
         if (LOG.isTraceEnabled()) {
             LOG.debug("Notification of type {} detected: {}", stream, notification);
         }
 
-        for (final GenericNotificationListenerReg listenerReg : notificationListeners.get(BASE_STREAM_NAME)) {
-            listenerReg.getListener().onNotification(BASE_STREAM_NAME, notification);
+        final List<GenericNotificationListenerReg> toSchedule = new ArrayList<>();
+        synchronized (publishLock) {
+            replayLog.append(notification);
+            for (final GenericNotificationListenerReg listenerReg : notificationListeners) {
+                if (listenerReg.enqueue(notification)) {
+                    toSchedule.add(listenerReg);
+                }
+            }
+        }
+
+        for (final GenericNotificationListenerReg listenerReg : toSchedule) {
+            listenerReg.scheduleDelivery();
         }
     }
 
     @Override
-    public synchronized NotificationListenerRegistration registerNotificationListener(
+    public NotificationListenerRegistration registerNotificationListener(
             final StreamNameType stream,
             final NetconfNotificationListener listener) {
         Preconditions.checkNotNull(stream);
@@ -104,17 +213,31 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         LOG.trace("Notification listener registered for stream: {}", stream);
 
         final GenericNotificationListenerReg genericNotificationListenerReg =
-                new GenericNotificationListenerReg(listener) {
-            @Override
-            public void close() {
-                synchronized (NetconfNotificationManager.this) {
-                    LOG.trace("Notification listener unregistered for stream: {}", stream);
-                    super.close();
-                }
-            }
-        };
+                new GenericNotificationListenerReg(stream, listener, Collections.emptyList(), false);
+        notificationListeners.add(genericNotificationListenerReg);
+        return genericNotificationListenerReg;
+    }
 
-        notificationListeners.put(BASE_STREAM_NAME, genericNotificationListenerReg);
+    @Override
+    public NotificationListenerRegistration registerNotificationListener(
+            final StreamNameType stream,
+            final NetconfNotificationListener listener,
+            final Date startTime) {
+        Preconditions.checkNotNull(stream);
+        Preconditions.checkNotNull(listener);
+        Preconditions.checkNotNull(startTime);
+
+        final GenericNotificationListenerReg genericNotificationListenerReg;
+        synchronized (publishLock) {
+            // Queued ahead of any live notification, which can be published only after the listener is added
+            final List<NetconfNotification> replay = replayLog.getSince(startTime);
+            LOG.debug("Replaying {} notifications since {} for stream: {}", replay.size(), startTime, stream);
+
+            genericNotificationListenerReg = new GenericNotificationListenerReg(stream, listener, replay, true);
+            notificationListeners.add(genericNotificationListenerReg);
+        }
+
+        genericNotificationListenerReg.scheduleDelivery();
         return genericNotificationListenerReg;
     }
 
@@ -129,12 +252,15 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     }
 
     @Override
-    public synchronized NotificationRegistration registerStreamListener(
-            final NetconfNotificationStreamListener listener) {
-        streamListeners.add(listener);
+    public NotificationRegistration registerStreamListener(final NetconfNotificationStreamListener listener) {
+        final List<Stream> available;
+        synchronized (this) {
+            streamListeners.add(listener);
+            available = new ArrayList<>(streamMetadata.values());
+        }
 
         // Notify about all already available
-        for (final Stream availableStream : streamMetadata.values()) {
+        for (final Stream availableStream : available) {
             listener.onStreamRegistered(availableStream);
         }
 
@@ -149,26 +275,46 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     }
 
     @Override
-    public synchronized void close() {
-        // Unregister all listeners
-        for (final GenericNotificationListenerReg genericNotificationListenerReg : notificationListeners.values()) {
-            genericNotificationListenerReg.close();
+    public void close() {
+        final List<GenericNotificationPublisherReg> publishers;
+        synchronized (this) {
+            // Unregister all listeners
+            for (final GenericNotificationListenerReg genericNotificationListenerReg : notificationListeners) {
+                genericNotificationListenerReg.close();
+            }
+            notificationListeners.clear();
+            publishers = new ArrayList<>(notificationPublishers);
         }
-        notificationListeners.clear();
 
-        // Unregister all publishers
-        for (final GenericNotificationPublisherReg notificationPublisher : notificationPublishers) {
+        // Unregister all publishers, stream listeners are notified outside of the lock
+        for (final GenericNotificationPublisherReg notificationPublisher : publishers) {
             notificationPublisher.close();
         }
-        notificationPublishers.clear();
 
-        // Clear stream Listeners
-        streamListeners.clear();
+        synchronized (this) {
+            // Clear stream Listeners
+            streamListeners.clear();
+        }
     }
 
     @Override
-    public synchronized NotificationPublisherRegistration registerNotificationPublisher(final Stream stream) {
+    public NotificationPublisherRegistration registerNotificationPublisher(final Stream stream) {
         Preconditions.checkNotNull(stream);
+        final GenericNotificationPublisherReg genericNotificationPublisherReg;
+        final List<NetconfNotificationStreamListener> toNotify;
+        synchronized (this) {
+            genericNotificationPublisherReg = addNotificationPublisher(stream);
+            toNotify = new ArrayList<>(streamListeners);
+        }
+
+        for (final NetconfNotificationStreamListener streamListener : toNotify) {
+            streamListener.onStreamRegistered(stream);
+        }
+        return genericNotificationPublisherReg;
+    }
+
+    @GuardedBy("this")
+    private GenericNotificationPublisherReg addNotificationPublisher(final Stream stream) {
         final StreamNameType streamName = stream.getName();
 
         LOG.debug("Notification publisher registered for stream: {}", streamName);
@@ -186,46 +332,32 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         availableStreams.add(streamName);
 
         final GenericNotificationPublisherReg genericNotificationPublisherReg =
-                new GenericNotificationPublisherReg(this, streamName) {
-            @Override
-            public void close() {
-                synchronized (NetconfNotificationManager.this) {
-                    super.close();
-                }
-            }
-        };
-
+                new GenericNotificationPublisherReg(this, streamName);
         notificationPublishers.add(genericNotificationPublisherReg);
-
-        notifyStreamAdded(stream);
         return genericNotificationPublisherReg;
     }
 
     private void unregisterNotificationPublisher(
             final StreamNameType streamName,
             final GenericNotificationPublisherReg genericNotificationPublisherReg) {
-        availableStreams.remove(streamName);
-        notificationPublishers.remove(genericNotificationPublisherReg);
+        final List<NetconfNotificationStreamListener> toNotify;
+        synchronized (this) {
+            availableStreams.remove(streamName);
+            notificationPublishers.remove(genericNotificationPublisherReg);
 
-        LOG.debug("Notification publisher unregistered for stream: {}", streamName);
+            LOG.debug("Notification publisher unregistered for stream: {}", streamName);
 
-        // Notify stream listeners if all publishers are gone and also clear metadata for stream
-        if (!isStreamAvailable(streamName)) {
+            // Notify stream listeners if all publishers are gone and also clear metadata for stream
+            if (isStreamAvailable(streamName)) {
+                return;
+            }
             LOG.debug("Notification stream: {} became unavailable", streamName);
             streamMetadata.remove(streamName);
-            notifyStreamRemoved(streamName);
+            toNotify = new ArrayList<>(streamListeners);
         }
-    }
 
-    private synchronized void notifyStreamAdded(final Stream stream) {
-        for (final NetconfNotificationStreamListener streamListener : streamListeners) {
-            streamListener.onStreamRegistered(stream);
-        }
-    }
-
-    private synchronized void notifyStreamRemoved(final StreamNameType stream) {
-        for (final NetconfNotificationStreamListener streamListener : streamListeners) {
-            streamListener.onStreamUnregistered(stream);
+        for (final NetconfNotificationStreamListener streamListener : toNotify) {
+            streamListener.onStreamUnregistered(streamName);
         }
     }
 
@@ -298,20 +430,135 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         }
     }
 
-    private class GenericNotificationListenerReg implements NotificationListenerRegistration {
+    /**
+     * Registered listener together with the notifications waiting for delivery to it. At most one delivery task runs
+     * for a listener at a time, so the listener is never invoked concurrently.
+     */
+    private final class GenericNotificationListenerReg implements NotificationListenerRegistration, Runnable {
+        private final StreamNameType stream;
         private final NetconfNotificationListener listener;
 
-        GenericNotificationListenerReg(final NetconfNotificationListener listener) {
+        @GuardedBy("this")
+        private final Queue<NetconfNotification> pending;
+        // Number of replayed notifications at the head of the queue
+        @GuardedBy("this")
+        private int replayRemaining;
+        // Replay completion is signalled once all replayed notifications are delivered
+        @GuardedBy("this")
+        private boolean replayCompletePending;
+        @GuardedBy("this")
+        private boolean scheduled;
+        @GuardedBy("this")
+        private int dropped;
+
+        private volatile boolean closed;
+
+        GenericNotificationListenerReg(final StreamNameType stream, final NetconfNotificationListener listener,
+                                       final List<NetconfNotification> replay, final boolean replaying) {
+            this.stream = stream;
             this.listener = listener;
+            this.pending = new ArrayDeque<>(replay);
+            this.replayRemaining = replay.size();
+            this.replayCompletePending = replaying;
+            this.scheduled = replaying;
         }
 
-        public NetconfNotificationListener getListener() {
-            return listener;
+        /**
+         * Queue a notification for delivery.
+         *
+         * @return true if delivery has to be scheduled by the caller
+         */
+        synchronized boolean enqueue(final NetconfNotification notification) {
+            if (pending.size() >= queueCapacity) {
+                if (dropped++ == 0) {
+                    LOG.warn("Notification listener {} does not keep up, dropping notifications", listener);
+                }
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    return false;
+                }
+
+                pending.poll();
+                if (replayRemaining > 0) {
+                    replayRemaining--;
+                }
+            }
+
+            pending.add(notification);
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        void scheduleDelivery() {
+            try {
+                deliveryExecutor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                LOG.warn("Failed to schedule notification delivery to listener {}, dropping notifications",
+                        listener, e);
+                synchronized (this) {
+                    pending.clear();
+                    replayRemaining = 0;
+                    scheduled = false;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_NOTIFICATIONS_PER_TASK; i++) {
+                final NetconfNotification notification;
+                final boolean replayComplete;
+                synchronized (this) {
+                    replayComplete = replayCompletePending && replayRemaining == 0;
+                    if (replayComplete) {
+                        replayCompletePending = false;
+                        notification = null;
+                    } else {
+                        notification = pending.poll();
+                        if (notification == null) {
+                            scheduled = false;
+                            if (dropped != 0) {
+                                LOG.warn("Notification listener {} caught up, {} notifications were dropped",
+                                        listener, dropped);
+                                dropped = 0;
+                            }
+                            return;
+                        }
+                        if (replayRemaining > 0) {
+                            replayRemaining--;
+                        }
+                    }
+                }
+
+                if (!closed) {
+                    deliver(notification, replayComplete);
+                }
+            }
+
+            // Let other listeners run, the remaining notifications are delivered by another task
+            scheduleDelivery();
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private void deliver(final NetconfNotification notification, final boolean replayComplete) {
+            try {
+                if (replayComplete) {
+                    listener.onReplayComplete(BASE_STREAM_NAME);
+                } else {
+                    listener.onNotification(BASE_STREAM_NAME, notification);
+                }
+            } catch (final RuntimeException e) {
+                LOG.warn("Notification listener {} failed to process notification {}", listener, notification, e);
+            }
         }
 
         @Override
         public void close() {
-            notificationListeners.remove(BASE_STREAM_NAME, this);
+            LOG.trace("Notification listener unregistered for stream: {}", stream);
+            closed = true;
+            notificationListeners.remove(this);
         }
     }
 }
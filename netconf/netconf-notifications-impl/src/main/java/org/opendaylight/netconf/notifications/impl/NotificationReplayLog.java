@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.notifications.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+
+/**
+ * Bounded log of the most recent notifications of a stream, used to replay them to subscriptions with a start time.
+ * Once full, the oldest notification is overwritten.
+ *
+ * <p>
+ * Notifications are kept in order of arrival, together with a time index used to find the first notification to
+ * replay by binary search. Event times of notifications are not guaranteed to be monotonic, the index is therefore
+ * clamped to never go back in time.
+ */
+@NotThreadSafe
+final class NotificationReplayLog {
+
+    private final NetconfNotification[] notifications;
+    private final long[] times;
+
+    // Position of the oldest notification
+    private int head;
+    private int size;
+    private long lastTime = Long.MIN_VALUE;
+
+    NotificationReplayLog(final int capacity) {
+        Preconditions.checkArgument(capacity > 0, "Replay log capacity has to be positive, was %s", capacity);
+        this.notifications = new NetconfNotification[capacity];
+        this.times = new long[capacity];
+    }
+
+    void append(final NetconfNotification notification) {
+        lastTime = Math.max(lastTime, notification.getEventTime().getTime());
+
+        final int index = position(size == notifications.length ? 0 : size);
+        notifications[index] = notification;
+        times[index] = lastTime;
+        if (size == notifications.length) {
+            head = position(1);
+        } else {
+            size++;
+        }
+    }
+
+    /**
+     * Get logged notifications which occurred at or after the start time, oldest first.
+     *
+     * @param startTime time of the first notification to return
+     * @return notifications to replay
+     */
+    List<NetconfNotification> getSince(final Date startTime) {
+        final long start = startTime.getTime();
+
+        // Find the first logical index with time not lower than start
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (times[position(mid)] < start) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        if (low == size) {
+            return Collections.emptyList();
+        }
+
+        final List<NetconfNotification> result = new ArrayList<>(size - low);
+        for (int i = low; i < size; i++) {
+            result.add(notifications[position(i)]);
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int position(final int logicalIndex) {
+        return (head + logicalIndex) % notifications.length;
+    }
+}
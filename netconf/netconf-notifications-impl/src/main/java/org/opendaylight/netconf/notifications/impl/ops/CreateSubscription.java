@@ -10,14 +10,25 @@ package org.opendaylight.netconf.notifications.impl.ops;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableMap;
+import io.netty.channel.ChannelFuture;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
+import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
+import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.mapping.api.ReplyAwareNetconfOperation;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
@@ -25,7 +36,6 @@ import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
 import org.opendaylight.netconf.notifications.impl.NetconfNotificationManager;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
-import org.opendaylight.netconf.util.messages.SubtreeFilter;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.CreateSubscriptionInput;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.slf4j.Logger;
@@ -36,23 +46,49 @@ import org.w3c.dom.Element;
 /**
  * Create subscription listens for create subscription requests
  * and registers notification listeners into notification registry.
- * Received notifications are sent to the client right away
+ * Received notifications are sent to the client right away, subscriptions with a start time first receive
+ * the notifications logged since then. Filtered notifications are shared through a {@link NotificationFilterCache}
+ * with subscriptions of other sessions using the same filter.
+ *
+ * <p>
+ * The subscription is registered only once the {@code <ok/>} reply is written, so neither replayed notifications nor
+ * replayComplete can precede the reply. A subscription with a stopTime is completed by a timer on the session's event
+ * loop, even if no notification arrives after the stopTime.
  */
 public class CreateSubscription extends AbstractSingletonNetconfOperation
-        implements SessionAwareNetconfOperation, AutoCloseable {
+        implements SessionAwareNetconfOperation, ReplyAwareNetconfOperation, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(CreateSubscription.class);
 
     static final String CREATE_SUBSCRIPTION = "create-subscription";
 
+    private static final String START_TIME = "startTime";
+    private static final String STOP_TIME = "stopTime";
+    private static final String NETMOD_NOTIFICATION_NAMESPACE = "urn:ietf:params:xml:ns:netmod:notification";
+    private static final String REPLAY_COMPLETE = "replayComplete";
+    private static final String NOTIFICATION_COMPLETE = "notificationComplete";
+
     private final NetconfNotificationRegistry notifications;
-    private final List<NotificationListenerRegistration> subscriptions = Lists.newArrayList();
+    private final NotificationFilterCache filterCache;
+    // Subscriptions created by the request being replied to, accessed only by the thread processing requests
+    private final List<NotificationSubscription> pendingSubscriptions = new ArrayList<>();
+    @GuardedBy("this")
+    private final List<NotificationSubscription> subscriptions = new ArrayList<>();
+    @GuardedBy("this")
+    private boolean closed;
     private NetconfSession netconfSession;
 
     public CreateSubscription(final String netconfSessionIdForReporting,
                               final NetconfNotificationRegistry notifications) {
+        this(netconfSessionIdForReporting, notifications, new NotificationFilterCache());
+    }
+
+    public CreateSubscription(final String netconfSessionIdForReporting,
+                              final NetconfNotificationRegistry notifications,
+                              final NotificationFilterCache filterCache) {
         super(netconfSessionIdForReporting);
         this.notifications = notifications;
+        this.filterCache = Preconditions.checkNotNull(filterCache);
     }
 
     @Override
@@ -66,15 +102,9 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
 
         final Optional<XmlElement> filter = operationElement.getOnlyChildElementWithSameNamespaceOptionally("filter");
 
-        // Replay not supported
-        final Optional<XmlElement> startTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("startTime");
-        Preconditions.checkArgument(!startTime.isPresent(), "StartTime element not yet supported");
-
-        // Stop time not supported
-        final Optional<XmlElement> stopTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("stopTime");
-        Preconditions.checkArgument(!stopTime.isPresent(), "StopTime element not yet supported");
+        final Optional<Date> startTime = parseTimeIfPresent(operationElement, START_TIME);
+        final Optional<Date> stopTime = parseTimeIfPresent(operationElement, STOP_TIME);
+        validateTimes(startTime, stopTime);
 
         final StreamNameType streamNameType = parseStreamIfPresent(operationElement);
 
@@ -85,13 +115,95 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
                     getNetconfSessionIdForReporting());
         }
 
-        final NotificationListenerRegistration notificationListenerRegistration = notifications
-                .registerNotificationListener(streamNameType, new NotificationSubscription(netconfSession, filter));
-        subscriptions.add(notificationListenerRegistration);
+        // Registered once the reply is sent, see onReplySent()
+        pendingSubscriptions.add(new NotificationSubscription(netconfSession, filterCache, filter, streamNameType,
+                startTime.orNull(), stopTime.orNull()));
 
         return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.<String>absent());
     }
 
+    @Override
+    public void onReplySent(final ChannelFuture replyFuture) {
+        if (pendingSubscriptions.isEmpty()) {
+            return;
+        }
+
+        final List<NotificationSubscription> toStart = new ArrayList<>(pendingSubscriptions);
+        pendingSubscriptions.clear();
+        replyFuture.addListener(future -> {
+            if (!future.isSuccess()) {
+                LOG.debug("Reply to create-subscription was not sent on session {}, dropping subscription",
+                        getNetconfSessionIdForReporting(), future.cause());
+                return;
+            }
+            for (final NotificationSubscription subscription : toStart) {
+                start(subscription, replyFuture);
+            }
+        });
+    }
+
+    private void start(final NotificationSubscription subscription, final ChannelFuture replyFuture) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            subscriptions.add(subscription);
+        }
+
+        final Date startTime = subscription.startTime;
+        subscription.setRegistration(startTime != null
+                ? notifications.registerNotificationListener(subscription.streamName, subscription, startTime)
+                : notifications.registerNotificationListener(subscription.streamName, subscription));
+
+        final Date stopTime = subscription.stopTime;
+        if (stopTime != null) {
+            final long delay = stopTime.getTime() - System.currentTimeMillis();
+            if (delay > 0) {
+                // A stopTime already passed is handled at the end of replay
+                subscription.setStopTimer(replyFuture.channel().eventLoop().schedule(subscription::onStopTime,
+                        delay, TimeUnit.MILLISECONDS));
+            }
+        }
+    }
+
+    private static Optional<Date> parseTimeIfPresent(final XmlElement operationElement, final String elementName)
+            throws DocumentedException {
+        final Optional<XmlElement> element =
+                operationElement.getOnlyChildElementWithSameNamespaceOptionally(elementName);
+        if (!element.isPresent()) {
+            return Optional.absent();
+        }
+
+        final String value = element.get().getTextContent();
+        try {
+            return Optional.of(NetconfNotification.RFC3339_DATE_PARSER.apply(value));
+        } catch (final DateTimeParseException e) {
+            throw new DocumentedException("Invalid " + elementName + " value " + value, e, ErrorType.PROTOCOL,
+                    ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR, ImmutableMap.of("bad-element", elementName));
+        }
+    }
+
+    private static void validateTimes(final Optional<Date> startTime, final Optional<Date> stopTime)
+            throws DocumentedException {
+        // RFC 5277, section 2.1.1
+        if (startTime.isPresent() && startTime.get().after(new Date())) {
+            throw badTimeElement(START_TIME, "startTime is later than the current time");
+        }
+        if (stopTime.isPresent()) {
+            if (!startTime.isPresent()) {
+                throw badTimeElement(STOP_TIME, "stopTime specified without startTime");
+            }
+            if (stopTime.get().before(startTime.get())) {
+                throw badTimeElement(STOP_TIME, "stopTime is earlier than startTime");
+            }
+        }
+    }
+
+    private static DocumentedException badTimeElement(final String elementName, final String message) {
+        return new DocumentedException(message, ErrorType.PROTOCOL, ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR,
+                ImmutableMap.of("bad-element", elementName));
+    }
+
     private static StreamNameType parseStreamIfPresent(final XmlElement operationElement) throws DocumentedException {
         final Optional<XmlElement> stream = operationElement.getOnlyChildElementWithSameNamespaceOptionally("stream");
         return stream.isPresent() ? new StreamNameType(stream.get().getTextContent())
@@ -116,30 +228,86 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
     @Override
     public void close() {
         netconfSession = null;
+        pendingSubscriptions.clear();
+        final List<NotificationSubscription> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(subscriptions);
+            subscriptions.clear();
+        }
         // Unregister from notification streams
-        for (final NotificationListenerRegistration subscription : subscriptions) {
+        for (final NotificationSubscription subscription : toClose) {
             subscription.close();
         }
     }
 
-    private static class NotificationSubscription implements NetconfNotificationListener {
+    private static class NotificationSubscription implements NetconfNotificationListener, AutoCloseable {
         private final NetconfSession currentSession;
+        private final NotificationFilterCache filterCache;
         private final Optional<XmlElement> filter;
+        private final String filterKey;
+        private final StreamNameType streamName;
+        private final Date startTime;
+        private final Date stopTime;
+
+        // Notification callbacks are not invoked concurrently, but the stopTime timer runs on the session's event loop
+        @GuardedBy("this")
+        private boolean replaying;
+        @GuardedBy("this")
+        private boolean stopTimeReached;
+        @GuardedBy("this")
+        private boolean completed;
+        @GuardedBy("this")
+        private NotificationListenerRegistration registration;
+        @GuardedBy("this")
+        private ScheduledFuture<?> stopTimer;
 
-        NotificationSubscription(final NetconfSession currentSession, final Optional<XmlElement> filter) {
+        NotificationSubscription(final NetconfSession currentSession, final NotificationFilterCache filterCache,
+                                 final Optional<XmlElement> filter, final StreamNameType streamName,
+                                 @Nullable final Date startTime, @Nullable final Date stopTime) {
             this.currentSession = currentSession;
+            this.filterCache = filterCache;
             this.filter = filter;
+            this.filterKey = filter.isPresent() ? NotificationFilterCache.filterKey(filter.get()) : null;
+            this.streamName = streamName;
+            this.startTime = startTime;
+            this.stopTime = stopTime;
+            this.replaying = startTime != null;
+        }
+
+        synchronized void setRegistration(final NotificationListenerRegistration registration) {
+            this.registration = registration;
+            if (completed) {
+                // Replay completed the subscription before the registration was returned
+                registration.close();
+            }
+        }
+
+        synchronized void setStopTimer(final ScheduledFuture<?> stopTimer) {
+            if (completed) {
+                stopTimer.cancel(false);
+            } else {
+                this.stopTimer = stopTimer;
+            }
         }
 
         @Override
-        public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+        public synchronized void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+            if (stopTimeReached) {
+                // Delivered until the registration is closed, but nothing is sent any more
+                return;
+            }
+            if (stopTime != null && notification.getEventTime().after(stopTime)) {
+                reachStopTime();
+                return;
+            }
+
             if (filter.isPresent()) {
                 try {
-                    final Optional<Document> filtered =
-                            SubtreeFilter.applySubtreeNotificationFilter(this.filter.get(), notification.getDocument());
+                    final Optional<NetconfNotification> filtered =
+                            filterCache.filter(filter.get(), filterKey, notification);
                     if (filtered.isPresent()) {
-                        final Date eventTime = notification.getEventTime();
-                        currentSession.sendMessage(new NetconfNotification(filtered.get(), eventTime));
+                        currentSession.sendMessage(filtered.get());
                     }
                 } catch (DocumentedException e) {
                     LOG.warn(e.toString());
@@ -149,5 +317,62 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
                 currentSession.sendMessage(notification);
             }
         }
+
+        @Override
+        public synchronized void onReplayComplete(final StreamNameType stream) {
+            replaying = false;
+            sendEvent(REPLAY_COMPLETE);
+            if (stopTime != null && (stopTimeReached || !stopTime.after(new Date()))) {
+                stopTimeReached = true;
+                complete();
+            }
+        }
+
+        synchronized void onStopTime() {
+            stopTimer = null;
+            if (!stopTimeReached) {
+                reachStopTime();
+            }
+        }
+
+        @GuardedBy("this")
+        private void reachStopTime() {
+            stopTimeReached = true;
+            if (!replaying) {
+                // Otherwise completed once replay is complete
+                complete();
+            }
+        }
+
+        @GuardedBy("this")
+        private void complete() {
+            sendEvent(NOTIFICATION_COMPLETE);
+            close();
+        }
+
+        @Override
+        public synchronized void close() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            if (stopTimer != null) {
+                stopTimer.cancel(false);
+                stopTimer = null;
+            }
+            if (registration != null) {
+                registration.close();
+            }
+        }
+
+        private void sendEvent(final String name) {
+            currentSession.sendMessage(new NetconfNotification(createEvent(name)));
+        }
+
+        private static Document createEvent(final String name) {
+            final Document document = XmlUtil.newDocument();
+            document.appendChild(XmlUtil.createElement(document, name, Optional.of(NETMOD_NOTIFICATION_NAMESPACE)));
+            return document;
+        }
     }
 }
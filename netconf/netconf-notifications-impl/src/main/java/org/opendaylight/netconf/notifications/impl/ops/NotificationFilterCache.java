@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.notifications.impl.ops;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.opendaylight.netconf.util.messages.SubtreeFilter;
+import org.w3c.dom.Document;
+
+/**
+ * Results of subtree filters applied to notifications, shared by subscriptions of all sessions. Subscriptions with
+ * an identical filter receive the same filtered notification, so each distinct filter is applied to a notification
+ * only once.
+ */
+@ThreadSafe
+public final class NotificationFilterCache {
+
+    // Matches the default number of notifications queued for a single listener of the notification manager
+    private static final int DEFAULT_MAX_NOTIFICATIONS = 4096;
+
+    // Keyed by notification identity, results are dropped together with the notification
+    private final Cache<NetconfNotification, ConcurrentMap<String, Optional<NetconfNotification>>> results;
+
+    public NotificationFilterCache() {
+        this(DEFAULT_MAX_NOTIFICATIONS);
+    }
+
+    /**
+     * Create a cache keeping results for a limited number of notifications. A notification stays in use until it is
+     * delivered to the slowest subscription, so the limit should cover the notifications queued for a single
+     * listener, results of older ones are evicted and computed again.
+     *
+     * @param maxNotifications number of most recent notifications whose results are kept
+     */
+    public NotificationFilterCache(final int maxNotifications) {
+        Preconditions.checkArgument(maxNotifications > 0, "Notification limit has to be positive, was %s",
+                maxNotifications);
+        this.results = CacheBuilder.newBuilder().weakKeys().maximumSize(maxNotifications).build();
+    }
+
+    /**
+     * Get the key identifying a filter, filters with equal keys produce the same result.
+     *
+     * @param filter filter element of a subscription
+     * @return filter key
+     */
+    static String filterKey(final XmlElement filter) {
+        return XmlUtil.toString(filter.getDomElement());
+    }
+
+    /**
+     * Apply a filter to a notification, reusing the result computed for another subscription with the same filter.
+     *
+     * @param filter filter element of a subscription
+     * @param filterKey key of the filter, as returned by {@link #filterKey(XmlElement)}
+     * @param notification notification to filter
+     * @return filtered notification, absent if nothing matched the filter
+     * @throws DocumentedException if the filter cannot be applied
+     */
+    Optional<NetconfNotification> filter(final XmlElement filter, final String filterKey,
+                                         final NetconfNotification notification) throws DocumentedException {
+        final ConcurrentMap<String, Optional<NetconfNotification>> filtered;
+        try {
+            filtered = results.get(notification, ConcurrentHashMap::new);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Failed to create filter results for " + notification, e);
+        }
+
+        final Optional<NetconfNotification> existing = filtered.get(filterKey);
+        if (existing != null) {
+            return existing;
+        }
+
+        // Filtering modifies the document, while the notification is still delivered to other subscriptions.
+        // Concurrent subscriptions may compute the same result, only one of them is kept.
+        final Optional<Document> document = SubtreeFilter.applySubtreeNotificationFilter(filter,
+                (Document) notification.getDocument().cloneNode(true));
+        final Optional<NetconfNotification> result = document.isPresent()
+                ? Optional.of(new NetconfNotification(document.get(), notification.getEventTime()))
+                : Optional.absent();
+        final Optional<NetconfNotification> previous = filtered.putIfAbsent(filterKey, result);
+        return previous != null ? previous : result;
+    }
+}
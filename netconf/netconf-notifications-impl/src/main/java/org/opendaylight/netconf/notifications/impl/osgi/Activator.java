@@ -10,10 +10,13 @@ package org.opendaylight.netconf.notifications.impl.osgi;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.opendaylight.controller.config.util.capability.BasicCapability;
 import org.opendaylight.controller.config.util.capability.Capability;
 import org.opendaylight.netconf.api.monitoring.CapabilityListener;
@@ -26,6 +29,7 @@ import org.opendaylight.netconf.notifications.NetconfNotificationCollector;
 import org.opendaylight.netconf.notifications.impl.NetconfNotificationManager;
 import org.opendaylight.netconf.notifications.impl.ops.CreateSubscription;
 import org.opendaylight.netconf.notifications.impl.ops.Get;
+import org.opendaylight.netconf.notifications.impl.ops.NotificationFilterCache;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceRegistration;
@@ -36,13 +40,21 @@ public class Activator implements BundleActivator {
 
     private static final Logger LOG = LoggerFactory.getLogger(Activator.class);
 
+    // Threads invoking notification listeners, each listener is invoked by one thread at a time
+    private static final int DELIVERY_THREAD_COUNT = 4;
+
     private ServiceRegistration<NetconfNotificationCollector> netconfNotificationCollectorServiceRegistration;
     private ServiceRegistration<NetconfOperationServiceFactory> operationaServiceRegistration;
     private NetconfNotificationManager netconfNotificationManager;
+    private ExecutorService deliveryExecutor;
 
     @Override
     public void start(final BundleContext context) throws Exception {
-        netconfNotificationManager = new NetconfNotificationManager();
+        deliveryExecutor = Executors.newFixedThreadPool(DELIVERY_THREAD_COUNT,
+                new ThreadFactoryBuilder().setNameFormat("netconf-notification-delivery-%d").setDaemon(true).build());
+        netconfNotificationManager = new NetconfNotificationManager(deliveryExecutor);
+        final NotificationFilterCache filterCache =
+                new NotificationFilterCache(netconfNotificationManager.getQueueCapacity());
         // Add properties to autowire with netconf-impl instance for cfg subsystem
         final Dictionary<String, String> props = new Hashtable<>();
         props.put(NetconfConstants.SERVICE_NAME, NetconfConstants.NETCONF_NOTIFICATION);
@@ -75,7 +87,8 @@ public class Activator implements BundleActivator {
                 return new NetconfOperationService() {
 
                     private final CreateSubscription createSubscription =
-                            new CreateSubscription(netconfSessionIdForReporting, netconfNotificationManager);
+                            new CreateSubscription(netconfSessionIdForReporting, netconfNotificationManager,
+                                    filterCache);
 
                     @Override
                     public Set<NetconfOperation> getNetconfOperations() {
@@ -107,6 +120,10 @@ public class Activator implements BundleActivator {
         if (netconfNotificationManager != null) {
             netconfNotificationManager.close();
         }
+        if (deliveryExecutor != null) {
+            deliveryExecutor.shutdown();
+            deliveryExecutor = null;
+        }
         if (operationaServiceRegistration != null) {
             operationaServiceRegistration.unregister();
             operationaServiceRegistration = null;
@@ -11,8 +11,13 @@ package org.opendaylight.netconf.notifications.impl;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -23,11 +28,17 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationCollector;
@@ -161,6 +172,79 @@ public class NetconfNotificationManagerTest {
         verifyNoMoreInteractions(listener);
     }
 
+    @Test
+    public void testReplay() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(2);
+        final NetconfNotification first = notification(1000);
+        final NetconfNotification second = notification(2000);
+        final NetconfNotification third = notification(3000);
+        netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, first);
+        netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, second);
+        netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, third);
+
+        final NetconfNotificationListener listener = mock(NetconfNotificationListener.class);
+        netconfNotificationManager.registerNotificationListener(NetconfNotificationManager.BASE_STREAM_NAME,
+                listener, new Date(1500));
+        final NetconfNotification live = notification(4000);
+        netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, live);
+
+        // The first notification does not fit into the log, the second one is older than start time
+        final InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, second);
+        inOrder.verify(listener).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, third);
+        inOrder.verify(listener).onReplayComplete(NetconfNotificationManager.BASE_STREAM_NAME);
+        inOrder.verify(listener).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, live);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testSlowListener() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(2, executor, 2,
+                NetconfNotificationManager.OverflowPolicy.DROP_OLDEST);
+        try {
+            final CountDownLatch entered = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final NetconfNotificationListener slowListener = mock(NetconfNotificationListener.class);
+            doAnswer(invocation -> {
+                entered.countDown();
+                release.await();
+                return null;
+            }).when(slowListener).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+            final NetconfNotificationListener listener = mock(NetconfNotificationListener.class);
+            netconfNotificationManager.registerNotificationListener(NetconfNotificationManager.BASE_STREAM_NAME,
+                    slowListener);
+            netconfNotificationManager.registerNotificationListener(NetconfNotificationManager.BASE_STREAM_NAME,
+                    listener);
+
+            final NetconfNotification first = notification(1000);
+            netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, first);
+            entered.await(5, TimeUnit.SECONDS);
+
+            // The slow listener queues at most two notifications, the oldest one is dropped
+            final NetconfNotification second = notification(2000);
+            final NetconfNotification third = notification(3000);
+            final NetconfNotification fourth = notification(4000);
+            netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, second);
+            netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, third);
+            netconfNotificationManager.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, fourth);
+            verify(listener, timeout(5000).times(4)).onNotification(any(StreamNameType.class),
+                    any(NetconfNotification.class));
+
+            release.countDown();
+            verify(slowListener, timeout(5000)).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, fourth);
+            final InOrder inOrder = inOrder(slowListener);
+            inOrder.verify(slowListener).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, first);
+            inOrder.verify(slowListener).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, third);
+            inOrder.verify(slowListener).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, fourth);
+            verify(slowListener, never()).onNotification(NetconfNotificationManager.BASE_STREAM_NAME, second);
+            verify(slowListener, times(3)).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+        } finally {
+            netconfNotificationManager.close();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testClose() throws Exception {
         final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
@@ -217,4 +301,34 @@ public class NetconfNotificationManagerTest {
 
         verify(streamListener).onStreamUnregistered(NetconfNotificationManager.BASE_STREAM_NAME);
     }
+
+    @Test(timeout = 10000)
+    public void testStreamListenersInvokedOutsideLock() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // a listener waiting for another thread which uses the manager would deadlock under the manager lock
+        final NetconfNotificationCollector.NetconfNotificationStreamListener streamListener =
+                mock(NetconfNotificationCollector.NetconfNotificationStreamListener.class);
+        doAnswer(invocationOnMock -> executor.submit(() -> netconfNotificationManager.isStreamAvailable(
+            ((Stream) invocationOnMock.getArguments()[0]).getName())).get(5, TimeUnit.SECONDS))
+                .when(streamListener).onStreamRegistered(any(Stream.class));
+        doAnswer(invocationOnMock -> executor.submit(netconfNotificationManager::getNotificationPublishers)
+            .get(5, TimeUnit.SECONDS)).when(streamListener).onStreamUnregistered(any(StreamNameType.class));
+
+        try {
+            netconfNotificationManager.registerStreamListener(streamListener);
+            netconfNotificationManager.registerBaseNotificationPublisher().close();
+
+            verify(streamListener).onStreamRegistered(NetconfNotificationManager.BASE_NETCONF_STREAM);
+            verify(streamListener).onStreamUnregistered(NetconfNotificationManager.BASE_STREAM_NAME);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static NetconfNotification notification(final long eventTime) throws Exception {
+        return new NetconfNotification(XmlUtil.readXmlToDocument("<test-notification xmlns=\"test:ns\"/>"),
+                new Date(eventTime));
+    }
 }
\ No newline at end of file
@@ -9,21 +9,39 @@
 package org.opendaylight.netconf.notifications.impl.ops;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import org.hamcrest.CoreMatchers;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSession;
+import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
+import org.opendaylight.netconf.notifications.impl.NetconfNotificationManager;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.w3c.dom.Element;
 
@@ -37,10 +55,17 @@ public class CreateSubscriptionTest {
 
     @Mock
     private NetconfNotificationRegistry notificationRegistry;
+    @Mock
+    private Channel channel;
+    @Mock
+    private EventLoop eventLoop;
 
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
+        doReturn(eventLoop).when(channel).eventLoop();
+        doReturn(mock(ScheduledFuture.class)).when(eventLoop)
+                .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
         doReturn(true).when(notificationRegistry).isStreamAvailable(any(StreamNameType.class));
         doReturn(mock(NotificationListenerRegistration.class)).when(notificationRegistry)
                 .registerNotificationListener(any(StreamNameType.class), any(NetconfNotificationListener.class));
@@ -59,4 +84,145 @@ public class CreateSubscriptionTest {
 
         Assert.assertThat(XmlUtil.toString(element), CoreMatchers.containsString("ok"));
     }
+
+    @Test
+    public void testReplay() throws Exception {
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        final NetconfSession session = mock(NetconfSession.class);
+        createSubscription.setSession(session);
+        doReturn(mock(NotificationListenerRegistration.class)).when(notificationRegistry)
+                .registerNotificationListener(any(StreamNameType.class), any(NetconfNotificationListener.class),
+                        any(Date.class));
+
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+                createSubscription("<startTime>2018-01-01T00:00:00Z</startTime>"
+                        + "<stopTime>2018-01-02T00:00:00Z</stopTime>"));
+        replySent(createSubscription);
+
+        final ArgumentCaptor<NetconfNotificationListener> listener =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry).registerNotificationListener(any(StreamNameType.class), listener.capture(),
+                eq(NetconfNotification.RFC3339_DATE_PARSER.apply("2018-01-01T00:00:00Z")));
+
+        // Replay of a window in the past is complete once the logged notifications are delivered
+        listener.getValue().onReplayComplete(NetconfNotificationManager.BASE_STREAM_NAME);
+        final ArgumentCaptor<NetconfMessage> sent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        Assert.assertThat(XmlUtil.toString(sent.getAllValues().get(0).getDocument()),
+                CoreMatchers.containsString("replayComplete"));
+        Assert.assertThat(XmlUtil.toString(sent.getAllValues().get(1).getDocument()),
+                CoreMatchers.containsString("notificationComplete"));
+    }
+
+    @Test
+    public void testStopTimeOnQuietStream() throws Exception {
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        final NetconfSession session = mock(NetconfSession.class);
+        createSubscription.setSession(session);
+        final NotificationListenerRegistration registration = mock(NotificationListenerRegistration.class);
+        doReturn(registration).when(notificationRegistry).registerNotificationListener(any(StreamNameType.class),
+                any(NetconfNotificationListener.class), any(Date.class));
+
+        final long now = System.currentTimeMillis();
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(), createSubscription(
+                "<startTime>" + NetconfNotification.RFC3339_DATE_FORMATTER.apply(new Date(now - 3600000))
+                        + "</startTime><stopTime>"
+                        + NetconfNotification.RFC3339_DATE_FORMATTER.apply(new Date(now + 3600000))
+                        + "</stopTime>"));
+
+        // Nothing may precede the reply
+        verify(notificationRegistry, never()).registerNotificationListener(any(StreamNameType.class),
+                any(NetconfNotificationListener.class), any(Date.class));
+        replySent(createSubscription);
+
+        final ArgumentCaptor<NetconfNotificationListener> listener =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry).registerNotificationListener(any(StreamNameType.class), listener.capture(),
+                any(Date.class));
+        listener.getValue().onReplayComplete(NetconfNotificationManager.BASE_STREAM_NAME);
+        verify(session).sendMessage(any(NetconfMessage.class));
+
+        // No notification arrives after the stopTime, the subscription is completed by the timer
+        final ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+        final ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(eventLoop).schedule(timer.capture(), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        Assert.assertTrue(delay.getValue() > 0);
+        timer.getValue().run();
+
+        final ArgumentCaptor<NetconfMessage> sent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        Assert.assertThat(XmlUtil.toString(sent.getAllValues().get(1).getDocument()),
+                CoreMatchers.containsString("notificationComplete"));
+        verify(registration).close();
+    }
+
+    @Test
+    public void testSharedFilterResult() throws Exception {
+        final NotificationFilterCache filterCache = new NotificationFilterCache();
+        final NetconfSession firstSession = mock(NetconfSession.class);
+        final NetconfSession secondSession = mock(NetconfSession.class);
+        final String filter = "<filter type=\"subtree\">"
+                + "<netconf-session-end xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-notifications\">"
+                + "<username/></netconf-session-end></filter>";
+        for (final NetconfSession session : new NetconfSession[] {firstSession, secondSession}) {
+            final CreateSubscription createSubscription =
+                    new CreateSubscription("id", notificationRegistry, filterCache);
+            createSubscription.setSession(session);
+            createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(), createSubscription(filter));
+            replySent(createSubscription);
+        }
+
+        final ArgumentCaptor<NetconfNotificationListener> listeners =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry, times(2)).registerNotificationListener(any(StreamNameType.class),
+                listeners.capture());
+        final NetconfNotification notification = new NetconfNotification(XmlUtil.readXmlToDocument(
+                "<netconf-session-end xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-notifications\">"
+                        + "<username>admin</username><session-id>2</session-id></netconf-session-end>"));
+        for (final NetconfNotificationListener listener : listeners.getAllValues()) {
+            listener.onNotification(NetconfNotificationManager.BASE_STREAM_NAME, notification);
+        }
+
+        // Both sessions get the same filtered notification, the original one is left intact
+        final ArgumentCaptor<NetconfMessage> first = ArgumentCaptor.forClass(NetconfMessage.class);
+        final ArgumentCaptor<NetconfMessage> second = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(firstSession).sendMessage(first.capture());
+        verify(secondSession).sendMessage(second.capture());
+        Assert.assertSame(first.getValue(), second.getValue());
+        final String filtered = XmlUtil.toString(first.getValue().getDocument());
+        Assert.assertThat(filtered, CoreMatchers.containsString("admin"));
+        Assert.assertThat(filtered, CoreMatchers.not(CoreMatchers.containsString("session-id")));
+        Assert.assertThat(XmlUtil.toString(notification.getDocument()), CoreMatchers.containsString("eventTime"));
+    }
+
+    @Test
+    public void testStopTimeWithoutStartTime() throws Exception {
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        createSubscription.setSession(mock(NetconfSession.class));
+
+        try {
+            createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+                    createSubscription("<stopTime>2018-01-02T00:00:00Z</stopTime>"));
+            Assert.fail("Subscription with stopTime and no startTime should be rejected");
+        } catch (final DocumentedException e) {
+            Assert.assertEquals(DocumentedException.ErrorTag.BAD_ELEMENT, e.getErrorTag());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replySent(final CreateSubscription createSubscription) {
+        final ChannelFuture replyFuture = mock(ChannelFuture.class);
+        doReturn(true).when(replyFuture).isSuccess();
+        doReturn(channel).when(replyFuture).channel();
+        doAnswer(invocation -> {
+            ((GenericFutureListener<ChannelFuture>) invocation.getArguments()[0]).operationComplete(replyFuture);
+            return replyFuture;
+        }).when(replyFuture).addListener(any(GenericFutureListener.class));
+        createSubscription.onReplySent(replyFuture);
+    }
+
+    private static XmlElement createSubscription(final String content) throws Exception {
+        return XmlElement.fromDomElement(XmlUtil.readXmlToElement("<create-subscription "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">" + content + "</create-subscription>"));
+    }
 }
\ No newline at end of file
@@ -7,9 +7,7 @@
  */
 package org.opendaylight.netconf.ssh;
 
-import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.local.LocalAddress;
 import io.netty.util.concurrent.EventExecutor;
 import java.io.IOException;
 import java.net.InetAddress;
@@ -33,7 +31,6 @@ public class NetconfNorthboundSshServer {
     private static final String DEFAULT_ALGORITHM = "RSA";
     private static final int DEFAULT_KEY_SIZE = 4096;
 
-    private final ChannelFuture localServer;
     private final SshProxyServer sshProxyServer;
 
     public NetconfNorthboundSshServer(final NetconfServerDispatcher netconfServerDispatcher,
@@ -43,34 +40,26 @@ public class NetconfNorthboundSshServer {
                                       final String portNumber,
                                       final AuthProvider authProvider) {
 
-        final LocalAddress localAddress = new LocalAddress(portNumber);
-
-        localServer = netconfServerDispatcher.createLocalServer(localAddress);
         sshProxyServer = new SshProxyServer(Executors.newScheduledThreadPool(1), workerGroup, eventExecutor);
 
+        // The NETCONF server pipeline is attached directly to SSH sessions, no local server is needed
         final InetSocketAddress inetAddress = getInetAddress(bindingAddress, portNumber);
         final SshProxyServerConfigurationBuilder sshProxyServerConfigurationBuilder =
                 new SshProxyServerConfigurationBuilder();
         sshProxyServerConfigurationBuilder.setBindingAddress(inetAddress);
-        sshProxyServerConfigurationBuilder.setLocalAddress(localAddress);
+        sshProxyServerConfigurationBuilder.setServerDispatcher(netconfServerDispatcher);
         sshProxyServerConfigurationBuilder.setAuthenticator(authProvider);
         sshProxyServerConfigurationBuilder.setIdleTimeout(Integer.MAX_VALUE);
         sshProxyServerConfigurationBuilder.setKeyPairProvider(new PEMGeneratorHostKeyProvider(DEFAULT_PRIVATE_KEY_PATH,
                 DEFAULT_ALGORITHM, DEFAULT_KEY_SIZE));
 
-        localServer.addListener(future -> {
-            if (future.isDone() && !future.isCancelled()) {
-                try {
-                    sshProxyServer.bind(sshProxyServerConfigurationBuilder.createSshProxyServerConfiguration());
-                    LOG.info("Netconf SSH endpoint started successfully at {}", bindingAddress);
-                } catch (final IOException e) {
-                    throw new RuntimeException("Unable to start SSH netconf server", e);
-                }
-            } else {
-                LOG.warn("Unable to start SSH netconf server at {}", bindingAddress, future.cause());
-                throw new RuntimeException("Unable to start SSH netconf server", future.cause());
-            }
-        });
+        try {
+            sshProxyServer.bind(sshProxyServerConfigurationBuilder.createSshProxyServerConfiguration());
+            LOG.info("Netconf SSH endpoint started successfully at {}", bindingAddress);
+        } catch (final IOException e) {
+            LOG.warn("Unable to start SSH netconf server at {}", bindingAddress, e);
+            throw new RuntimeException("Unable to start SSH netconf server", e);
+        }
     }
 
     private static InetSocketAddress getInetAddress(final String bindingAddress, final String portNumber) {
@@ -81,11 +70,5 @@ public class NetconfNorthboundSshServer {
 
     public void close() {
         sshProxyServer.close();
-
-        if (localServer.isDone()) {
-            localServer.channel().close();
-        } else {
-            localServer.cancel(true);
-        }
     }
 }
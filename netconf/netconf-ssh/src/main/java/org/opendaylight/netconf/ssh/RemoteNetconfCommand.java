@@ -10,6 +10,7 @@ package org.opendaylight.netconf.ssh;
 
 import com.google.common.base.Preconditions;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
@@ -22,6 +23,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
 import org.apache.sshd.common.NamedFactory;
 import org.apache.sshd.common.io.IoInputStream;
 import org.apache.sshd.common.io.IoOutputStream;
@@ -31,13 +33,15 @@ import org.apache.sshd.server.Environment;
 import org.apache.sshd.server.ExitCallback;
 import org.apache.sshd.server.SessionAware;
 import org.apache.sshd.server.session.ServerSession;
+import org.opendaylight.netconf.api.NetconfServerDispatcher;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This command handles all netconf related rpc and forwards to delegate server.
- * Uses netty to make a local connection to delegate server.
+ * When created with a {@link NetconfServerDispatcher}, the NETCONF server pipeline is attached directly to the SSH
+ * session. Otherwise uses netty to make a local connection to delegate server.
  *
  * <p>
  * Command is Apache Mina SSH terminology for objects handling ssh data.
@@ -48,11 +52,14 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
     private final EventLoopGroup clientEventGroup;
     private final LocalAddress localAddress;
+    private final NetconfServerDispatcher serverDispatcher;
 
     private IoInputStream in;
     private IoOutputStream out;
     private ExitCallback callback;
     private NetconfHelloMessageAdditionalHeader netconfHelloMessageAdditionalHeader;
+    private SocketAddress sessionLocalAddress;
+    private SocketAddress sessionRemoteAddress;
 
     private Channel clientChannel;
     private ChannelFuture clientChannelFuture;
@@ -60,6 +67,14 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
     public RemoteNetconfCommand(final EventLoopGroup clientEventGroup, final LocalAddress localAddress) {
         this.clientEventGroup = clientEventGroup;
         this.localAddress = localAddress;
+        this.serverDispatcher = null;
+    }
+
+    public RemoteNetconfCommand(final EventLoopGroup clientEventGroup,
+                                final NetconfServerDispatcher serverDispatcher) {
+        this.clientEventGroup = clientEventGroup;
+        this.localAddress = null;
+        this.serverDispatcher = Preconditions.checkNotNull(serverDispatcher);
     }
 
     @Override
@@ -101,6 +116,11 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
     @Override
     public void start(final Environment env) throws IOException {
+        if (serverDispatcher != null) {
+            startDirect();
+            return;
+        }
+
         LOG.trace("Establishing internal connection to netconf server for client: {}", getClientAddress());
 
         final Bootstrap clientBootstrap = new Bootstrap();
@@ -114,21 +134,19 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
             }
         });
         clientChannelFuture = clientBootstrap.connect(localAddress);
-        clientChannelFuture.addListener(new GenericFutureListener<ChannelFuture>() {
+        clientChannelFuture.addListener(new ClientChannelListener());
+    }
 
-            @Override
-            public void operationComplete(final ChannelFuture future) throws Exception {
-                if (future.isSuccess()) {
-                    clientChannel = clientChannelFuture.channel();
-                } else {
-                    LOG.warn("Unable to establish internal connection to netconf server for client: {}",
-                            getClientAddress());
-                    Preconditions.checkNotNull(callback, "Exit callback must be set");
-                    callback.onExit(1, "Unable to establish internal connection to netconf server for client: "
-                            + getClientAddress());
-                }
-            }
-        });
+    private void startDirect() {
+        LOG.trace("Attaching netconf server to ssh session of client: {}", getClientAddress());
+
+        // The additional header is consumed by the hello message decoder, as if the client sent it first
+        final SshServerChannel channel = new SshServerChannel(in, out, callback, sessionLocalAddress,
+                sessionRemoteAddress, Unpooled.copiedBuffer(netconfHelloMessageAdditionalHeader.toFormattedString(),
+                        StandardCharsets.UTF_8));
+        serverDispatcher.initializeChannel(channel);
+        clientChannelFuture = clientEventGroup.register(channel);
+        clientChannelFuture.addListener(new ClientChannelListener());
     }
 
     @Override
@@ -151,6 +169,21 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
         }
     }
 
+    private final class ClientChannelListener implements GenericFutureListener<ChannelFuture> {
+        @Override
+        public void operationComplete(final ChannelFuture future) throws Exception {
+            if (future.isSuccess()) {
+                clientChannel = future.channel();
+            } else {
+                LOG.warn("Unable to establish internal connection to netconf server for client: {}",
+                        getClientAddress());
+                Preconditions.checkNotNull(callback, "Exit callback must be set");
+                callback.onExit(1, "Unable to establish internal connection to netconf server for client: "
+                        + getClientAddress());
+            }
+        }
+    }
+
     private String getClientAddress() {
         return netconfHelloMessageAdditionalHeader.getAddress();
     }
@@ -158,6 +191,8 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
     @Override
     public void setSession(final ServerSession session) {
         final SocketAddress remoteAddress = session.getIoSession().getRemoteAddress();
+        sessionRemoteAddress = remoteAddress;
+        sessionLocalAddress = session.getIoSession().getLocalAddress();
         String hostName = "";
         String port = "";
         if (remoteAddress instanceof InetSocketAddress) {
@@ -174,11 +209,20 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
         private final EventLoopGroup clientBootstrap;
         private final LocalAddress localAddress;
+        private final NetconfServerDispatcher serverDispatcher;
 
         public NetconfCommandFactory(final EventLoopGroup clientBootstrap, final LocalAddress localAddress) {
 
             this.clientBootstrap = clientBootstrap;
             this.localAddress = localAddress;
+            this.serverDispatcher = null;
+        }
+
+        public NetconfCommandFactory(final EventLoopGroup clientBootstrap,
+                                     final NetconfServerDispatcher serverDispatcher) {
+            this.clientBootstrap = clientBootstrap;
+            this.localAddress = null;
+            this.serverDispatcher = serverDispatcher;
         }
 
         @Override
@@ -188,7 +232,8 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
         @Override
         public RemoteNetconfCommand create() {
-            return new RemoteNetconfCommand(clientBootstrap, localAddress);
+            return serverDispatcher != null ? new RemoteNetconfCommand(clientBootstrap, serverDispatcher)
+                    : new RemoteNetconfCommand(clientBootstrap, localAddress);
         }
     }
 
@@ -38,7 +38,8 @@ import org.apache.sshd.server.ServerFactoryManager;
 
 /**
  * Proxy SSH server that just delegates decrypted content to a delegate server within same VM.
- * Implemented using Apache Mina SSH lib.
+ * Implemented using Apache Mina SSH lib. If configured with a server dispatcher, the NETCONF server pipeline runs
+ * directly on top of the SSH sessions instead.
  */
 public class SshProxyServer implements AutoCloseable {
 
@@ -79,8 +80,10 @@ public class SshProxyServer implements AutoCloseable {
         sshServer.setProperties(getProperties(sshProxyServerConfiguration));
 
         final RemoteNetconfCommand.NetconfCommandFactory netconfCommandFactory =
-                new RemoteNetconfCommand.NetconfCommandFactory(clientGroup,
-                        sshProxyServerConfiguration.getLocalAddress());
+                sshProxyServerConfiguration.getServerDispatcher()
+                        .map(dispatcher -> new RemoteNetconfCommand.NetconfCommandFactory(clientGroup, dispatcher))
+                        .orElseGet(() -> new RemoteNetconfCommand.NetconfCommandFactory(clientGroup,
+                                sshProxyServerConfiguration.getLocalAddress()));
         sshServer.setSubsystemFactories(ImmutableList.of(netconfCommandFactory));
         sshServer.start();
     }
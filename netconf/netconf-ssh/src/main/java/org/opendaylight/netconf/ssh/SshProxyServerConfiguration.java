@@ -14,11 +14,13 @@ import java.net.InetSocketAddress;
 import java.util.Optional;
 import org.apache.sshd.common.KeyPairProvider;
 import org.apache.sshd.server.PublickeyAuthenticator;
+import org.opendaylight.netconf.api.NetconfServerDispatcher;
 import org.opendaylight.netconf.auth.AuthProvider;
 
 public final class SshProxyServerConfiguration {
     private final InetSocketAddress bindingAddress;
     private final LocalAddress localAddress;
+    private final NetconfServerDispatcher serverDispatcher;
     private final AuthProvider authenticator;
     private final KeyPairProvider keyPairProvider;
     private final int idleTimeout;
@@ -32,8 +34,19 @@ public final class SshProxyServerConfiguration {
     SshProxyServerConfiguration(final InetSocketAddress bindingAddress, final LocalAddress localAddress,
                                 final AuthProvider authenticator, final PublickeyAuthenticator publickeyAuthenticator,
                                 final KeyPairProvider keyPairProvider, final int idleTimeout) {
+        this(bindingAddress, Preconditions.checkNotNull(localAddress), null, authenticator, publickeyAuthenticator,
+            keyPairProvider, idleTimeout);
+    }
+
+    SshProxyServerConfiguration(final InetSocketAddress bindingAddress, final LocalAddress localAddress,
+                                final NetconfServerDispatcher serverDispatcher, final AuthProvider authenticator,
+                                final PublickeyAuthenticator publickeyAuthenticator,
+                                final KeyPairProvider keyPairProvider, final int idleTimeout) {
         this.bindingAddress = Preconditions.checkNotNull(bindingAddress);
-        this.localAddress = Preconditions.checkNotNull(localAddress);
+        Preconditions.checkArgument(localAddress != null || serverDispatcher != null,
+                "Either local address or server dispatcher has to be set");
+        this.localAddress = localAddress;
+        this.serverDispatcher = serverDispatcher;
         this.authenticator = Preconditions.checkNotNull(authenticator);
         this.keyPairProvider = Preconditions.checkNotNull(keyPairProvider);
         // Idle timeout cannot be disabled in the sshd by using =< 0 value
@@ -50,6 +63,14 @@ public final class SshProxyServerConfiguration {
         return localAddress;
     }
 
+    /**
+     * Get the dispatcher whose NETCONF server pipeline is attached directly to SSH sessions. If present, it is used
+     * instead of the local address.
+     */
+    public Optional<NetconfServerDispatcher> getServerDispatcher() {
+        return Optional.ofNullable(serverDispatcher);
+    }
+
     public AuthProvider getAuthenticator() {
         return authenticator;
     }
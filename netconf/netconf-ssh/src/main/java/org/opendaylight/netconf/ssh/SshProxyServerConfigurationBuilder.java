@@ -12,11 +12,13 @@ import io.netty.channel.local.LocalAddress;
 import java.net.InetSocketAddress;
 import org.apache.sshd.common.KeyPairProvider;
 import org.apache.sshd.server.PublickeyAuthenticator;
+import org.opendaylight.netconf.api.NetconfServerDispatcher;
 import org.opendaylight.netconf.auth.AuthProvider;
 
 public final class SshProxyServerConfigurationBuilder {
     private InetSocketAddress bindingAddress;
     private LocalAddress localAddress;
+    private NetconfServerDispatcher serverDispatcher;
     private AuthProvider authenticator;
     private KeyPairProvider keyPairProvider;
     private int idleTimeout;
@@ -32,6 +34,11 @@ public final class SshProxyServerConfigurationBuilder {
         return this;
     }
 
+    public SshProxyServerConfigurationBuilder setServerDispatcher(final NetconfServerDispatcher serverDispatcher) {
+        this.serverDispatcher = serverDispatcher;
+        return this;
+    }
+
     public SshProxyServerConfigurationBuilder setAuthenticator(final AuthProvider authenticator) {
         this.authenticator = authenticator;
         return this;
@@ -53,8 +60,8 @@ public final class SshProxyServerConfigurationBuilder {
     }
 
     public SshProxyServerConfiguration createSshProxyServerConfiguration() {
-        return new SshProxyServerConfiguration(bindingAddress, localAddress, authenticator, publicKeyAuthenticator,
-                keyPairProvider, idleTimeout);
+        return new SshProxyServerConfiguration(bindingAddress, localAddress, serverDispatcher, authenticator,
+                publicKeyAuthenticator, keyPairProvider, idleTimeout);
     }
 
     public static SshProxyServerConfigurationBuilder create() {
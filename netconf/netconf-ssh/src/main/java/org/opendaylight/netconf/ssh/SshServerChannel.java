@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.ssh;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.AbstractChannel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelMetadata;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelConfig;
+import io.netty.channel.EventLoop;
+import java.net.SocketAddress;
+import org.apache.sshd.common.io.IoInputStream;
+import org.apache.sshd.common.io.IoOutputStream;
+import org.apache.sshd.common.io.IoReadFuture;
+import org.apache.sshd.common.io.IoWriteFuture;
+import org.apache.sshd.common.util.Buffer;
+import org.apache.sshd.server.ExitCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Netty channel on top of the async streams of an SSH subsystem session. The NETCONF server pipeline is attached to
+ * this channel directly, so decrypted data is handed to the pipeline without going through a local transport.
+ *
+ * <p>
+ * All pipeline events run on the event loop the channel is registered with. Reads and writes complete on MINA threads
+ * and are handed over to the event loop. SSH allows only one outstanding write, further flushed messages stay in the
+ * outbound buffer until it completes, which also makes channel writability reflect the SSH window.
+ */
+final class SshServerChannel extends AbstractChannel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SshServerChannel.class);
+
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false);
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    // MINA needs byte arrays, heap buffers can be handed over to it without copying
+    private static final ByteBufAllocator HEAP_ALLOCATOR = new PooledByteBufAllocator(false);
+
+    private final ChannelConfig config = new DefaultChannelConfig(this).setAllocator(HEAP_ALLOCATOR);
+    private final IoInputStream in;
+    private final IoOutputStream out;
+    private final ExitCallback callback;
+    private final SocketAddress localAddress;
+    private final SocketAddress remoteAddress;
+
+    private volatile boolean open = true;
+
+    // Accessed only from the event loop
+    private ByteBuf initialInbound;
+    private boolean readPending;
+    private boolean writePending;
+
+    /**
+     * Create a channel for an SSH session.
+     *
+     * @param initialInbound data delivered to the pipeline before anything read from the session, may be null
+     */
+    SshServerChannel(final IoInputStream in, final IoOutputStream out, final ExitCallback callback,
+                     final SocketAddress localAddress, final SocketAddress remoteAddress,
+                     final ByteBuf initialInbound) {
+        super(null);
+        this.in = in;
+        this.out = out;
+        this.callback = callback;
+        this.localAddress = localAddress;
+        this.remoteAddress = remoteAddress;
+        this.initialInbound = initialInbound;
+    }
+
+    @Override
+    protected AbstractUnsafe newUnsafe() {
+        return new SshServerUnsafe();
+    }
+
+    @Override
+    protected boolean isCompatible(final EventLoop loop) {
+        // Does not need a selector, any event loop can drive it
+        return true;
+    }
+
+    @Override
+    protected SocketAddress localAddress0() {
+        return localAddress;
+    }
+
+    @Override
+    protected SocketAddress remoteAddress0() {
+        return remoteAddress;
+    }
+
+    @Override
+    protected void doBind(final SocketAddress localAddress) {
+        throw new UnsupportedOperationException("SSH server channel is already connected");
+    }
+
+    @Override
+    protected void doDisconnect() {
+        doClose();
+    }
+
+    @Override
+    protected void doClose() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        if (initialInbound != null) {
+            initialInbound.release();
+            initialInbound = null;
+        }
+
+        LOG.debug("Closing SSH server channel {}", this);
+        callback.onExit(0, "NETCONF session closed");
+    }
+
+    @Override
+    protected void doBeginRead() {
+        if (readPending || !open) {
+            return;
+        }
+
+        if (initialInbound != null) {
+            final ByteBuf initial = initialInbound;
+            initialInbound = null;
+            eventLoop().execute(() -> fireRead(initial));
+        }
+
+        readPending = true;
+        final Buffer buffer = new Buffer(READ_BUFFER_SIZE);
+        in.read(buffer).addListener(future -> eventLoop().execute(() -> readComplete(buffer, future)));
+    }
+
+    private void readComplete(final Buffer buffer, final IoReadFuture future) {
+        readPending = false;
+        if (!open) {
+            return;
+        }
+
+        if (future.getException() != null) {
+            if (in.isClosed() || in.isClosing()) {
+                LOG.debug("SSH session of channel {} dropped", this, future.getException());
+            } else {
+                LOG.warn("Exception while reading from SSH session of channel {}", this, future.getException());
+            }
+            unsafe().close(voidPromise());
+            return;
+        }
+
+        if (future.getRead() > 0) {
+            fireRead(Unpooled.wrappedBuffer(buffer.array(), 0, future.getRead()));
+        }
+        if (config.isAutoRead()) {
+            doBeginRead();
+        }
+    }
+
+    private void fireRead(final ByteBuf msg) {
+        if (!open) {
+            msg.release();
+            return;
+        }
+        pipeline().fireChannelRead(msg);
+        pipeline().fireChannelReadComplete();
+    }
+
+    @Override
+    protected Object filterOutboundMessage(final Object msg) {
+        if (msg instanceof ByteBuf) {
+            return msg;
+        }
+        throw new UnsupportedOperationException("Unsupported message type " + msg.getClass());
+    }
+
+    @Override
+    protected void doWrite(final ChannelOutboundBuffer outboundBuffer) {
+        if (writePending) {
+            // Resumed once the outstanding write completes
+            return;
+        }
+
+        ByteBuf msg = (ByteBuf) outboundBuffer.current();
+        while (msg != null && !msg.isReadable()) {
+            outboundBuffer.remove();
+            msg = (ByteBuf) outboundBuffer.current();
+        }
+        if (msg == null) {
+            return;
+        }
+
+        writePending = true;
+        out.write(toBuffer(msg)).addListener(future -> eventLoop().execute(() -> writeComplete(future)));
+    }
+
+    private void writeComplete(final IoWriteFuture future) {
+        writePending = false;
+        final ChannelOutboundBuffer outboundBuffer = unsafe().outboundBuffer();
+        if (outboundBuffer == null) {
+            // Channel was closed in the meantime, pending messages were already failed
+            return;
+        }
+
+        if (future.isWritten()) {
+            outboundBuffer.remove();
+            ((SshServerUnsafe) unsafe()).resumeFlush();
+        } else {
+            LOG.warn("Write to SSH session of channel {} failed", this, future.getException());
+            outboundBuffer.remove(future.getException());
+            unsafe().close(voidPromise());
+        }
+    }
+
+    private static Buffer toBuffer(final ByteBuf msg) {
+        if (msg.hasArray()) {
+            return new Buffer(msg.array(), msg.arrayOffset() + msg.readerIndex(), msg.readableBytes());
+        }
+
+        final byte[] bytes = new byte[msg.readableBytes()];
+        msg.getBytes(msg.readerIndex(), bytes);
+        return new Buffer(bytes);
+    }
+
+    @Override
+    public ChannelConfig config() {
+        return config;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public boolean isActive() {
+        return open;
+    }
+
+    @Override
+    public ChannelMetadata metadata() {
+        return METADATA;
+    }
+
+    private final class SshServerUnsafe extends AbstractUnsafe {
+        @Override
+        public void connect(final SocketAddress remoteAddress, final SocketAddress localAddress,
+                            final ChannelPromise promise) {
+            promise.setFailure(new UnsupportedOperationException("SSH server channel is already connected"));
+        }
+
+        void resumeFlush() {
+            flush0();
+        }
+    }
+}
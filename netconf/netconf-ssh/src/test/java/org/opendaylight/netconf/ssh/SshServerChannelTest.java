@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.ssh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoop;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.sshd.common.future.SshFutureListener;
+import org.apache.sshd.common.io.IoInputStream;
+import org.apache.sshd.common.io.IoOutputStream;
+import org.apache.sshd.common.io.IoReadFuture;
+import org.apache.sshd.common.io.IoWriteFuture;
+import org.apache.sshd.common.util.Buffer;
+import org.apache.sshd.server.ExitCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class SshServerChannelTest {
+
+    private static final byte[] CLIENT_DATA = "<hello/>".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private IoInputStream in;
+    @Mock
+    private IoOutputStream out;
+    @Mock
+    private ExitCallback callback;
+
+    private DefaultEventLoop eventLoop;
+    private BlockingQueue<String> received;
+    private SshServerChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        eventLoop = new DefaultEventLoop();
+        received = new LinkedBlockingQueue<>();
+
+        // First read returns client data, subsequent reads never complete
+        final IoReadFuture firstRead = completedRead(CLIENT_DATA.length);
+        final IoReadFuture pendingRead = mock(IoReadFuture.class);
+        doAnswer(invocation -> {
+            ((Buffer) invocation.getArguments()[0]).putRawBytes(CLIENT_DATA);
+            return firstRead;
+        }).doReturn(pendingRead).when(in).read(any(Buffer.class));
+
+        channel = new SshServerChannel(in, out, callback, new InetSocketAddress("localhost", 830),
+                new InetSocketAddress("localhost", 40000),
+                Unpooled.copiedBuffer("[header]", StandardCharsets.UTF_8));
+        channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                final ByteBuf buf = (ByteBuf) msg;
+                received.add(buf.toString(StandardCharsets.UTF_8));
+                buf.release();
+            }
+        });
+        eventLoop.register(channel).sync();
+    }
+
+    @After
+    public void tearDown() {
+        eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRead() throws Exception {
+        assertEquals("[header]", received.poll(5, TimeUnit.SECONDS));
+        assertEquals("<hello/>", received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWriteAndClose() throws Exception {
+        final IoWriteFuture writeFuture = mock(IoWriteFuture.class);
+        doReturn(true).when(writeFuture).isWritten();
+        doAnswer(invocation -> {
+            ((SshFutureListener<IoWriteFuture>) invocation.getArguments()[0]).operationComplete(writeFuture);
+            return writeFuture;
+        }).when(writeFuture).addListener(any());
+        doReturn(writeFuture).when(out).write(any(Buffer.class));
+
+        final ChannelFuture result = channel.writeAndFlush(
+                Unpooled.wrappedBuffer("<rpc-reply/>".getBytes(StandardCharsets.UTF_8))).await();
+        assertTrue(result.isSuccess());
+
+        final ArgumentCaptor<Buffer> captor = ArgumentCaptor.forClass(Buffer.class);
+        verify(out).write(captor.capture());
+        assertEquals("<rpc-reply/>", new String(captor.getValue().getCompactData(), StandardCharsets.UTF_8));
+
+        channel.close().await();
+        verify(callback, timeout(5000)).onExit(anyInt(), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IoReadFuture completedRead(final int read) {
+        final IoReadFuture future = mock(IoReadFuture.class);
+        doReturn(read).when(future).getRead();
+        doAnswer(invocation -> {
+            ((SshFutureListener<IoReadFuture>) invocation.getArguments()[0]).operationComplete(future);
+            return future;
+        }).when(future).addListener(any());
+        return future;
+    }
+}
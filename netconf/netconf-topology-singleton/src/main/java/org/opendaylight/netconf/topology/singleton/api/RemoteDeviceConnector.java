@@ -9,6 +9,8 @@
 package org.opendaylight.netconf.topology.singleton.api;
 
 import akka.actor.ActorRef;
+import java.util.Optional;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatistics;
 
 /**
  * Provides API for connection odl (master) with device.
@@ -25,4 +27,10 @@ public interface RemoteDeviceConnector {
      * Stop device communicator.
      */
     void stopRemoteDeviceConnection();
+
+    /**
+     * Return keepalive statistics of the device connection.
+     * @return keepalive statistics, absent if the connection is not started or keepalives are disabled
+     */
+    Optional<KeepaliveStatistics> getKeepaliveStatistics();
 }
@@ -18,6 +18,7 @@ import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonService;
@@ -29,6 +30,7 @@ import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySet
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
 import org.opendaylight.netconf.topology.singleton.messages.RefreshSetupMasterActorData;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
@@ -95,6 +97,7 @@ class NetconfTopologyContext implements ClusterSingletonService {
     // called when master is down/changed to slave
     @Override
     public ListenableFuture<Void> closeServiceInstance() {
+        isMaster = false;
 
         if (!finalClose) {
             // in case that master changes role to slave, new NodeDeviceManager must be created and listener registered
@@ -110,6 +113,21 @@ class NetconfTopologyContext implements ClusterSingletonService {
         return serviceGroupIdent;
     }
 
+    boolean isMaster() {
+        return isMaster;
+    }
+
+    /**
+     * Return keepalive statistics of the device connection, only the master is connected to the device.
+     */
+    Optional<KeepaliveStatistics> getKeepaliveStatistics() {
+        return isMaster ? remoteDeviceConnector.getKeepaliveStatistics() : Optional.empty();
+    }
+
+    NetconfTopologySetup getTopologySetup() {
+        return netconfTopologyDeviceSetup;
+    }
+
     private NetconfNodeManager createNodeDeviceManager() {
         final NetconfNodeManager ndm =
                 new NetconfNodeManager(netconfTopologyDeviceSetup, remoteDeviceId, actorResponseWaitTime, mountService);
@@ -9,6 +9,8 @@
 package org.opendaylight.netconf.topology.singleton.impl;
 
 import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
+import akka.cluster.MemberStatus;
 import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.FutureCallback;
@@ -16,8 +18,13 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.util.concurrent.EventExecutor;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
@@ -37,12 +44,23 @@ import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvid
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceRegistration;
 import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
+import org.opendaylight.netconf.sal.connect.netconf.sal.TopologyUpdateBatcher;
+import org.opendaylight.netconf.sal.connect.util.ConnectionAdmissionScheduler;
+import org.opendaylight.netconf.sal.connect.util.NetconfTimer;
 import org.opendaylight.netconf.topology.singleton.api.NetconfTopologySingletonService;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ConsistentHashRing;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup.NetconfTopologySetupBuilder;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatistics;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.Config;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.Config.DevicePlacementStrategy;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.MemberLoad;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.member.load.Member;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.member.load.MemberBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.member.load.MemberKey;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopologyBuilder;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
@@ -51,6 +69,7 @@ import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyBuilder;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.slf4j.Logger;
@@ -62,9 +81,15 @@ public class NetconfTopologyManager
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfTopologyManager.class);
 
+    private static final double DEFAULT_PLACEMENT_LOAD_FACTOR = 1.25;
+    private static final int DEFAULT_PLACEMENT_REBALANCE_INTERVAL = 30;
+    private static final int DEFAULT_PLACEMENT_REBALANCE_BATCH_SIZE = 16;
+    private static final int DEFAULT_PLACEMENT_STANDBY_REGISTRATION_DELAY = 10;
+
     private final Map<InstanceIdentifier<Node>, NetconfTopologyContext> contexts = new HashMap<>();
     private final Map<InstanceIdentifier<Node>, ClusterSingletonServiceRegistration>
             clusterRegistrations = new HashMap<>();
+    private final Map<InstanceIdentifier<Node>, ScheduledFuture<?>> pendingRegistrations = new HashMap<>();
 
     private final DataBroker dataBroker;
     private final RpcProviderRegistry rpcProviderRegistry;
@@ -78,9 +103,25 @@ public class NetconfTopologyManager
     private final Duration writeTxIdleTimeout;
     private final DOMMountPointService mountPointService;
     private final AAAEncryptionService encryptionService;
+    private final NetconfTimer netconfTimer;
+    private final TopologyUpdateBatcher topologyUpdateBatcher;
+    private final boolean consistentHashPlacement;
+    private final double placementLoadFactor;
+    private final int placementRebalanceInterval;
+    private final int placementRebalanceBatchSize;
+    private final int placementStandbyRegistrationDelay;
     private ListenerRegistration<NetconfTopologyManager> dataChangeListenerRegistration;
+    private ScheduledFuture<?> rebalanceFuture;
+    private ScheduledFuture<?> keepaliveStatisticsFuture;
+    private ConsistentHashRing placementRing;
+    private Map<String, String> placement = Collections.emptyMap();
+    private boolean placementDirty = true;
+    private long lastMasteredDevices = -1;
+    private long lastPreferredDevices = -1;
     private String privateKeyPath;
     private String privateKeyPassphrase;
+    private ConnectionAdmissionScheduler admissionScheduler = ConnectionAdmissionScheduler.unlimited();
+    private long keepaliveStatisticsIntervalSeconds = 0;
 
     public NetconfTopologyManager(final DataBroker dataBroker, final RpcProviderRegistry rpcProviderRegistry,
                                   final ClusterSingletonServiceProvider clusterSingletonServiceProvider,
@@ -103,16 +144,38 @@ public class NetconfTopologyManager
         this.writeTxIdleTimeout = Duration.apply(config.getWriteTransactionIdleTimeout(), TimeUnit.SECONDS);
         this.mountPointService = mountPointService;
         this.encryptionService = Preconditions.checkNotNull(encryptionService);
+        this.netconfTimer = new NetconfTimer(topologyId);
+        this.topologyUpdateBatcher = new TopologyUpdateBatcher(dataBroker, netconfTimer.getTimer());
 
+        this.consistentHashPlacement =
+                config.getDevicePlacementStrategy() == DevicePlacementStrategy.ConsistentHash;
+        this.placementLoadFactor = config.getPlacementLoadFactor() != null
+                ? config.getPlacementLoadFactor().doubleValue() : DEFAULT_PLACEMENT_LOAD_FACTOR;
+        this.placementRebalanceInterval = config.getPlacementRebalanceInterval() != null
+                ? config.getPlacementRebalanceInterval() : DEFAULT_PLACEMENT_REBALANCE_INTERVAL;
+        this.placementRebalanceBatchSize = config.getPlacementRebalanceBatchSize() != null
+                ? config.getPlacementRebalanceBatchSize() : DEFAULT_PLACEMENT_REBALANCE_BATCH_SIZE;
+        this.placementStandbyRegistrationDelay = config.getPlacementStandbyRegistrationDelay() != null
+                ? config.getPlacementStandbyRegistrationDelay() : DEFAULT_PLACEMENT_STANDBY_REGISTRATION_DELAY;
     }
 
     // Blueprint init method
     public void init() {
+        if (consistentHashPlacement) {
+            rebalance();
+            rebalanceFuture = keepaliveExecutor.getExecutor().scheduleWithFixedDelay(this::rebalance,
+                    placementRebalanceInterval, placementRebalanceInterval, TimeUnit.SECONDS);
+        }
+        if (keepaliveStatisticsIntervalSeconds > 0) {
+            keepaliveStatisticsFuture = keepaliveExecutor.getExecutor().scheduleWithFixedDelay(
+                this::writeKeepaliveStatistics, keepaliveStatisticsIntervalSeconds, keepaliveStatisticsIntervalSeconds,
+                TimeUnit.SECONDS);
+        }
         dataChangeListenerRegistration = registerDataTreeChangeListener(topologyId);
     }
 
     @Override
-    public void onDataTreeChanged(@Nonnull final Collection<DataTreeModification<Node>> changes) {
+    public synchronized void onDataTreeChanged(@Nonnull final Collection<DataTreeModification<Node>> changes) {
         for (final DataTreeModification<Node> change : changes) {
             final DataObjectModification<Node> rootNode = change.getRootNode();
             final InstanceIdentifier<Node> dataModifIdent = change.getRootPath().getRootIdentifier();
@@ -133,6 +196,7 @@ public class NetconfTopologyManager
                     break;
                 case DELETE:
                     LOG.debug("Config for node {} deleted", nodeId);
+                    admissionScheduler.remove(nodeId);
                     stopNetconfDeviceContext(dataModifIdent);
                     break;
                 default:
@@ -146,11 +210,6 @@ public class NetconfTopologyManager
         context.refresh(createSetup(instanceIdentifier, node));
     }
 
-    // ClusterSingletonServiceRegistration registerClusterSingletonService method throws a Runtime exception if there
-    // are problems with registration and client has to deal with it. Only thing we can do if this error occurs is to
-    // retry registration several times and log the error.
-    // TODO change to a specific documented Exception when changed in ClusterSingletonServiceProvider
-    @SuppressWarnings("checkstyle:IllegalCatch")
     private void startNetconfDeviceContext(final InstanceIdentifier<Node> instanceIdentifier, final Node node) {
         final NetconfNode netconfNode = node.getAugmentation(NetconfNode.class);
         Preconditions.checkNotNull(netconfNode);
@@ -167,6 +226,38 @@ public class NetconfTopologyManager
                 new NetconfTopologyContext(createSetup(instanceIdentifier, node), serviceGroupIdent,
                         actorResponseWaitTime, mountPointService);
 
+        if (consistentHashPlacement) {
+            placementDirty = true;
+            if (!isPreferredOwner(node.getNodeId().getValue())) {
+                // let the preferred member win the singleton election, register as standby candidate later
+                LOG.debug("Node {} is placed on another member, deferring registration by {}s", node.getNodeId(),
+                        placementStandbyRegistrationDelay);
+                contexts.put(instanceIdentifier, newNetconfTopologyContext);
+                pendingRegistrations.put(instanceIdentifier, keepaliveExecutor.getExecutor().schedule(
+                    () -> registerStandbyContext(instanceIdentifier), placementStandbyRegistrationDelay,
+                    TimeUnit.SECONDS));
+                return;
+            }
+        }
+
+        registerClusterSingletonService(instanceIdentifier, newNetconfTopologyContext);
+    }
+
+    private synchronized void registerStandbyContext(final InstanceIdentifier<Node> instanceIdentifier) {
+        pendingRegistrations.remove(instanceIdentifier);
+        final NetconfTopologyContext context = contexts.get(instanceIdentifier);
+        if (context != null && !clusterRegistrations.containsKey(instanceIdentifier)) {
+            registerClusterSingletonService(instanceIdentifier, context);
+        }
+    }
+
+    // ClusterSingletonServiceRegistration registerClusterSingletonService method throws a Runtime exception if there
+    // are problems with registration and client has to deal with it. Only thing we can do if this error occurs is to
+    // retry registration several times and log the error.
+    // TODO change to a specific documented Exception when changed in ClusterSingletonServiceProvider
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void registerClusterSingletonService(final InstanceIdentifier<Node> instanceIdentifier,
+                                                 final NetconfTopologyContext newNetconfTopologyContext) {
         int tries = 3;
         while (true) {
             try {
@@ -191,9 +282,17 @@ public class NetconfTopologyManager
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     private void stopNetconfDeviceContext(final InstanceIdentifier<Node> instanceIdentifier) {
+        final ScheduledFuture<?> pendingRegistration = pendingRegistrations.remove(instanceIdentifier);
+        if (pendingRegistration != null) {
+            pendingRegistration.cancel(false);
+        }
         if (contexts.containsKey(instanceIdentifier)) {
+            placementDirty = true;
             try {
-                clusterRegistrations.get(instanceIdentifier).close();
+                final ClusterSingletonServiceRegistration registration = clusterRegistrations.get(instanceIdentifier);
+                if (registration != null) {
+                    registration.close();
+                }
                 contexts.get(instanceIdentifier).closeFinal();
             } catch (final Exception e) {
                 LOG.warn("Error at closing topology context. InstanceIdentifier: " + instanceIdentifier);
@@ -203,13 +302,167 @@ public class NetconfTopologyManager
         }
     }
 
+    private boolean isPreferredOwner(final String nodeId) {
+        final String owner = placement.containsKey(nodeId) ? placement.get(nodeId)
+                : placementRing != null ? placementRing.lookup(nodeId) : null;
+        return owner == null || owner.equals(Cluster.get(actorSystem).selfAddress().toString());
+    }
+
+    // Runs periodically, so any failure has to be logged here rather than silently cancelling the schedule
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private synchronized void rebalance() {
+        try {
+            rebalancePlacement();
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to rebalance device placement", e);
+        }
+    }
+
+    private void rebalancePlacement() {
+        final Cluster cluster = Cluster.get(actorSystem);
+        final String self = cluster.selfAddress().toString();
+        final Set<String> members = new HashSet<>();
+        for (final akka.cluster.Member member : cluster.state().getMembers()) {
+            if (MemberStatus.up().equals(member.status())) {
+                members.add(member.address().toString());
+            }
+        }
+
+        final Map<String, InstanceIdentifier<Node>> nodes = new HashMap<>();
+        contexts.forEach((instanceIdentifier, context) ->
+            nodes.put(context.getTopologySetup().getNode().getNodeId().getValue(), instanceIdentifier));
+
+        // Hand-overs are skipped right after a membership change, so that a joining member gets a full interval
+        // to register as candidate for the devices it is going to own
+        final boolean membershipChanged = placementRing == null || !placementRing.getMembers().equals(members);
+        if (membershipChanged || placementDirty) {
+            if (membershipChanged) {
+                LOG.info("Cluster members changed to {}, recomputing device placement", members);
+                placementRing = new ConsistentHashRing(members, placementLoadFactor);
+            }
+            placement = placementRing.assign(nodes.keySet());
+            placementDirty = false;
+        }
+
+        int budget = membershipChanged ? 0 : placementRebalanceBatchSize;
+        for (final Map.Entry<String, InstanceIdentifier<Node>> entry : nodes.entrySet()) {
+            final String owner = placement.get(entry.getKey());
+            final InstanceIdentifier<Node> instanceIdentifier = entry.getValue();
+            if (owner == null) {
+                continue;
+            }
+            if (owner.equals(self)) {
+                final ScheduledFuture<?> pendingRegistration = pendingRegistrations.get(instanceIdentifier);
+                if (pendingRegistration != null && pendingRegistration.cancel(false)) {
+                    registerStandbyContext(instanceIdentifier);
+                }
+            } else if (budget > 0 && contexts.get(instanceIdentifier).isMaster()) {
+                LOG.info("Handing over node {} to preferred member {}", entry.getKey(), owner);
+                final Node node = contexts.get(instanceIdentifier).getTopologySetup().getNode();
+                stopNetconfDeviceContext(instanceIdentifier);
+                startNetconfDeviceContext(instanceIdentifier, node);
+                budget--;
+            }
+        }
+
+        writeMemberLoad(self);
+    }
+
+    private void writeMemberLoad(final String self) {
+        final long masteredDevices = contexts.values().stream().filter(NetconfTopologyContext::isMaster).count();
+        final long preferredDevices = placement.values().stream().filter(self::equals).count();
+        if (masteredDevices == lastMasteredDevices && preferredDevices == lastPreferredDevices) {
+            return;
+        }
+        lastMasteredDevices = masteredDevices;
+        lastPreferredDevices = preferredDevices;
+
+        final WriteTransaction wtx = dataBroker.newWriteOnlyTransaction();
+        wtx.put(LogicalDatastoreType.OPERATIONAL, createMemberLoadPath(self), new MemberBuilder()
+                .setAddress(self)
+                .setMasteredDevices(masteredDevices)
+                .setPreferredDevices(preferredDevices)
+                .build(), true);
+        Futures.addCallback(wtx.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                LOG.debug("Member load of {} updated", self);
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                LOG.warn("Unable to update member load of {}", self, throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    // Runs periodically, so any failure has to be logged here rather than silently cancelling the schedule
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private synchronized void writeKeepaliveStatistics() {
+        try {
+            writeMasteredKeepaliveStatistics();
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to update keepalive statistics", e);
+        }
+    }
+
+    private void writeMasteredKeepaliveStatistics() {
+        // Only the master of a device is connected to it, so each member writes the statistics of devices it masters
+        final TopologyUpdateBatcher.Batch batch = topologyUpdateBatcher.newBatch();
+        int nodes = 0;
+        for (final Map.Entry<InstanceIdentifier<Node>, NetconfTopologyContext> entry : contexts.entrySet()) {
+            final Optional<KeepaliveStatistics> statistics = entry.getValue().getKeepaliveStatistics();
+            if (statistics.isPresent()) {
+                // Retained, so that the statistics survive device state updates putting the whole netconf node
+                batch.mergeRetained(entry.getKey().augmentation(NetconfNode.class).child(KeepaliveStatistics.class),
+                        statistics.get());
+                nodes++;
+            }
+        }
+        if (nodes == 0) {
+            return;
+        }
+
+        final int updatedNodes = nodes;
+        Futures.addCallback(batch.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                LOG.trace("Keepalive statistics of {} nodes updated", updatedNodes);
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                LOG.warn("Unable to update keepalive statistics", throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static InstanceIdentifier<Member> createMemberLoadPath(final String address) {
+        return InstanceIdentifier.create(MemberLoad.class).child(Member.class, new MemberKey(address));
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
-    public void close() {
+    public synchronized void close() {
         if (dataChangeListenerRegistration != null) {
             dataChangeListenerRegistration.close();
             dataChangeListenerRegistration = null;
         }
+        if (rebalanceFuture != null) {
+            rebalanceFuture.cancel(false);
+            rebalanceFuture = null;
+
+            final WriteTransaction wtx = dataBroker.newWriteOnlyTransaction();
+            wtx.delete(LogicalDatastoreType.OPERATIONAL,
+                    createMemberLoadPath(Cluster.get(actorSystem).selfAddress().toString()));
+            wtx.submit();
+        }
+        if (keepaliveStatisticsFuture != null) {
+            keepaliveStatisticsFuture.cancel(false);
+            keepaliveStatisticsFuture = null;
+        }
+        pendingRegistrations.values().forEach(pendingRegistration -> pendingRegistration.cancel(false));
+        pendingRegistrations.clear();
         contexts.forEach((instanceIdentifier, netconfTopologyContext) -> {
             try {
                 netconfTopologyContext.closeFinal();
@@ -226,6 +479,8 @@ public class NetconfTopologyManager
         });
         contexts.clear();
         clusterRegistrations.clear();
+        topologyUpdateBatcher.close();
+        netconfTimer.close();
     }
 
     /**
@@ -242,6 +497,42 @@ public class NetconfTopologyManager
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the interval of keepalive statistics updates of mastered devices using blueprint, a non-positive value
+     * disables the updates.
+     */
+    public void setKeepaliveStatisticsIntervalSeconds(final long keepaliveStatisticsIntervalSeconds) {
+        this.keepaliveStatisticsIntervalSeconds = keepaliveStatisticsIntervalSeconds;
+    }
+
+    /**
+     * Sets the scheduler limiting concurrent connection setups of devices mastered by this member using blueprint.
+     */
+    public void setConnectionAdmissionScheduler(final ConnectionAdmissionScheduler admissionScheduler) {
+        this.admissionScheduler = Preconditions.checkNotNull(admissionScheduler);
+        admissionScheduler.setPositionListener(this::writeQueuePositions);
+    }
+
+    private void writeQueuePositions(final Map<NodeId, Long> positions) {
+        // Only devices mastered by this member are queued here, so each position is written by a single member
+        final TopologyUpdateBatcher.Batch batch = topologyUpdateBatcher.newBatch();
+        positions.forEach((nodeId, position) -> batch.mergeRetained(
+                NetconfTopologyUtils.createTopologyListPath(topologyId).child(Node.class, new NodeKey(nodeId))
+                        .augmentation(NetconfNode.class),
+                new NetconfNodeBuilder().setConnectionQueuePosition(position).build()));
+        Futures.addCallback(batch.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                LOG.trace("Connection queue positions of {} nodes updated", positions.size());
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                LOG.warn("Unable to update connection queue positions", throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     private ListenerRegistration<NetconfTopologyManager> registerDataTreeChangeListener(final String topologyId) {
         final WriteTransaction wtx = dataBroker.newWriteOnlyTransaction();
         initTopology(wtx, LogicalDatastoreType.CONFIGURATION, topologyId);
@@ -292,7 +583,10 @@ public class NetconfTopologyManager
                 .setIdleTimeout(writeTxIdleTimeout)
                 .setPrivateKeyPath(privateKeyPath)
                 .setPrivateKeyPassphrase(privateKeyPassphrase)
-                .setEncryptionService(encryptionService);
+                .setEncryptionService(encryptionService)
+                .setTopologyUpdateBatcher(topologyUpdateBatcher)
+                .setTimer(netconfTimer.getTimer())
+                .setConnectionAdmissionScheduler(admissionScheduler);
 
         return builder.build();
     }
@@ -49,6 +49,7 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPrefe
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfKeystoreAdapter;
+import org.opendaylight.netconf.sal.connect.netconf.sal.SetupTrackingSalFacade;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.api.RemoteDeviceConnector;
@@ -61,6 +62,8 @@ import org.opendaylight.protocol.framework.TimedReconnectStrategy;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.KeepaliveProbe;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatistics;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability.CapabilityOrigin;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.Credentials;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.credentials.KeyAuth;
@@ -122,8 +125,17 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         final NetconfClientSessionListener netconfClientSessionListener = deviceCommunicatorDTO.getSessionListener();
         final NetconfReconnectingClientConfiguration clientConfig =
                 getClientConfig(netconfClientSessionListener, netconfNode);
-        final ListenableFuture<NetconfDeviceCapabilities> future = deviceCommunicator
-                .initializeRemoteConnection(netconfTopologyDeviceSetup.getNetconfClientDispatcher(), clientConfig);
+        final ListenableFuture<Void> deviceSetup = deviceCommunicatorDTO.getSetupFuture();
+
+        // Admitted the same way as in the non-clustered topology, the admission is held until the master mountpoint
+        // is set up
+        final ListenableFuture<NetconfDeviceCapabilities> future =
+            netconfTopologyDeviceSetup.getConnectionAdmissionScheduler().submit(nodeId,
+                () -> Futures.transformAsync(deviceCommunicator.initializeRemoteConnection(
+                        netconfTopologyDeviceSetup.getNetconfClientDispatcher(), clientConfig),
+                    capabilities -> Futures.transform(deviceSetup, setup -> capabilities,
+                        MoreExecutors.directExecutor()),
+                    MoreExecutors.directExecutor()));
 
         Futures.addCallback(future, new FutureCallback<NetconfDeviceCapabilities>() {
             @Override
@@ -142,6 +154,8 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
     @Override
     public void stopRemoteDeviceConnection() {
         Preconditions.checkNotNull(deviceCommunicatorDTO, remoteDeviceId + ": Device communicator was not created.");
+        netconfTopologyDeviceSetup.getConnectionAdmissionScheduler().cancel(
+                netconfTopologyDeviceSetup.getNode().getNodeId());
         try {
             deviceCommunicatorDTO.close();
         } catch (final Exception e) {
@@ -149,6 +163,14 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         }
     }
 
+    @Override
+    public Optional<KeepaliveStatistics> getKeepaliveStatistics() {
+        final NetconfConnectorDTO connectorDTO = deviceCommunicatorDTO;
+        return connectorDTO != null && connectorDTO.getFacade() instanceof KeepaliveSalFacade
+                ? Optional.of(((KeepaliveSalFacade) connectorDTO.getFacade()).getKeepaliveStatistics())
+                : Optional.empty();
+    }
+
     @VisibleForTesting
     NetconfConnectorDTO createDeviceCommunicator(final NodeId nodeId, final NetconfNode node,
                                                  final ActorRef deviceContextActorRef) {
@@ -162,13 +184,20 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
 
         RemoteDeviceHandler<NetconfSessionPreferences> salFacade = new MasterSalFacade(remoteDeviceId,
                 netconfTopologyDeviceSetup.getActorSystem(), deviceContextActorRef, actorResponseWaitTime,
-                mountService, netconfTopologyDeviceSetup.getDataBroker());
+                mountService, netconfTopologyDeviceSetup.getTopologyUpdateBatcher());
+        KeepaliveSalFacade keepaliveFacade = null;
         if (keepaliveDelay > 0) {
             LOG.info("{}: Adding keepalive facade.", remoteDeviceId);
-            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade,
+            final Boolean trafficLiveness = node.isKeepaliveTrafficLiveness() == null
+                    ? NetconfTopologyUtils.DEFAULT_KEEPALIVE_TRAFFIC_LIVENESS : node.isKeepaliveTrafficLiveness();
+            final KeepaliveProbe keepaliveProbe = node.getKeepaliveProbe() == null
+                    ? NetconfTopologyUtils.DEFAULT_KEEPALIVE_PROBE : node.getKeepaliveProbe();
+            keepaliveFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, netconfTopologyDeviceSetup.getTimer(),
                     netconfTopologyDeviceSetup.getKeepaliveExecutor().getExecutor(), keepaliveDelay,
-                    defaultRequestTimeoutMillis);
+                    defaultRequestTimeoutMillis, trafficLiveness, keepaliveProbe);
+            salFacade = keepaliveFacade;
         }
+        final SetupTrackingSalFacade setupTracker = new SetupTrackingSalFacade(salFacade);
 
         final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = netconfTopologyDeviceSetup.getSchemaResourcesDTO();
 
@@ -203,14 +232,14 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
 
         final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> device;
         if (node.isSchemaless()) {
-            device = new SchemalessNetconfDevice(remoteDeviceId, salFacade);
+            device = new SchemalessNetconfDevice(remoteDeviceId, setupTracker);
         } else {
             device = new NetconfDeviceBuilder()
                     .setReconnectOnSchemasChange(reconnectOnChangedSchema)
                     .setSchemaResourcesDTO(schemaResourcesDTO)
                     .setGlobalProcessingExecutor(netconfTopologyDeviceSetup.getProcessingExecutor().getExecutor())
                     .setId(remoteDeviceId)
-                    .setSalFacade(salFacade)
+                    .setSalFacade(setupTracker)
                     .build();
         }
 
@@ -223,14 +252,18 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
             LOG.info("{}: Concurrent rpc limit is smaller than 1, no limit will be enforced.", remoteDeviceId);
         }
 
-        return new NetconfConnectorDTO(
-                userCapabilities.isPresent() ? new NetconfDeviceCommunicator(remoteDeviceId, device,
+        final NetconfDeviceCommunicator communicator = userCapabilities.isPresent()
+                ? new NetconfDeviceCommunicator(remoteDeviceId, device,
                         new UserPreferences(userCapabilities.get(),
                                 Objects.isNull(node.getYangModuleCapabilities())
                                         ? false : node.getYangModuleCapabilities().isOverride(),
                                 Objects.isNull(node.getNonModuleCapabilities())
                                         ? false : node.getNonModuleCapabilities().isOverride()), rpcMessageLimit)
-                        : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit), salFacade);
+                : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+        if (keepaliveFacade != null) {
+            keepaliveFacade.setListener(communicator);
+        }
+        return new NetconfConnectorDTO(communicator, salFacade, setupTracker.getSetupFuture());
     }
 
     private Optional<NetconfSessionPreferences> getUserCapabilities(final NetconfNode node) {
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.topology.singleton.impl.actors;
 
 import akka.actor.ActorContext;
 import akka.actor.ActorRef;
+import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -20,11 +21,13 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.InsertRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitFailedReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +76,13 @@ class WriteAdapter {
                 final PutRequest putRequest = (PutRequest) message;
                 final NormalizedNodeMessage data = putRequest.getNormalizedNodeMessage();
                 tx.put(putRequest.getStore(), data.getIdentifier(), data.getNode());
+            } else if (message instanceof InsertRequest) {
+                final InsertRequest insertRequest = (InsertRequest) message;
+                final NormalizedNodeMessage data = insertRequest.getNormalizedNodeMessage();
+                Preconditions.checkState(tx instanceof OrderedWriteTransaction,
+                        "Transaction %s does not support ordered insert", tx.getIdentifier());
+                ((OrderedWriteTransaction) tx).insert(data.getIdentifier(), data.getNode(),
+                        insertRequest.getPosition(), insertRequest.getPoint());
             } else if (message instanceof DeleteRequest) {
                 final DeleteRequest deleteRequest = (DeleteRequest) message;
                 tx.delete(deleteRequest.getStore(), deleteRequest.getPath());
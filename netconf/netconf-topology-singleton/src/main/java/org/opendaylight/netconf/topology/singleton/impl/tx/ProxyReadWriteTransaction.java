@@ -20,15 +20,17 @@ import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
  * ProxyReadWriteTransaction uses provided {@link ActorRef} to delegate method calls to master
  * {@link org.opendaylight.netconf.topology.singleton.impl.actors.ReadWriteTransactionActor}.
  */
-public class ProxyReadWriteTransaction implements DOMDataReadWriteTransaction {
+public class ProxyReadWriteTransaction implements DOMDataReadWriteTransaction, OrderedWriteTransaction {
 
     private final ProxyReadAdapter delegateRead;
     private final ProxyWriteAdapter delegateWrite;
@@ -92,6 +94,12 @@ public class ProxyReadWriteTransaction implements DOMDataReadWriteTransaction {
         delegateWrite.merge(store, path, data, getIdentifier());
     }
 
+    @Override
+    public void insert(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data, final Position position,
+                       final Optional<PathArgument> point) {
+        delegateWrite.insert(path, data, position, point, getIdentifier());
+    }
+
     @Override
     public Object getIdentifier() {
         return this;
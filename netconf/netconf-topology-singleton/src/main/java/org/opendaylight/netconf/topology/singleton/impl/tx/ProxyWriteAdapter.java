@@ -14,6 +14,7 @@ import akka.dispatch.OnComplete;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
@@ -29,13 +30,16 @@ import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUti
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.InsertRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitFailedReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.util.OrderedWriteTransaction.Position;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -155,4 +159,12 @@ public class ProxyWriteAdapter {
         masterTxActor.tell(new MergeRequest(store, msg), ActorRef.noSender());
     }
 
+    public void insert(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data, final Position position,
+                       final Optional<PathArgument> point, final Object identifier) {
+        Preconditions.checkState(opened.get(), "%s: Transaction was closed %s", id, identifier);
+        final NormalizedNodeMessage msg = new NormalizedNodeMessage(path, data);
+        LOG.trace("{}: Insert {} {} via NETCONF: {} with payload {}", id, position, point, path, data);
+        masterTxActor.tell(new InsertRequest(msg, position, point), ActorRef.noSender());
+    }
+
 }
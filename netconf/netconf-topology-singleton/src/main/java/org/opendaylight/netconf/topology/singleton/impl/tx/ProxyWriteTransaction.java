@@ -11,6 +11,7 @@ package org.opendaylight.netconf.topology.singleton.impl.tx;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.util.Timeout;
+import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.controller.md.sal.common.api.TransactionStatus;
@@ -18,15 +19,17 @@ import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
  * ProxyWriteTransaction uses provided {@link ActorRef} to delegate method calls to master
  * {@link org.opendaylight.netconf.topology.singleton.impl.actors.WriteTransactionActor}.
  */
-public class ProxyWriteTransaction implements DOMDataWriteTransaction {
+public class ProxyWriteTransaction implements DOMDataWriteTransaction, OrderedWriteTransaction {
 
     private final ProxyWriteAdapter proxyWriteAdapter;
 
@@ -76,6 +79,12 @@ public class ProxyWriteTransaction implements DOMDataWriteTransaction {
         proxyWriteAdapter.merge(store, identifier, data, getIdentifier());
     }
 
+    @Override
+    public void insert(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data, final Position position,
+                       final Optional<PathArgument> point) {
+        proxyWriteAdapter.insert(path, data, position, point, getIdentifier());
+    }
+
     @Override
     public Object getIdentifier() {
         return this;
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Consistent hash ring with bounded loads, used to place devices onto cluster members. Every member is mapped onto
+ * the ring multiple times, a key is owned by the first member found clockwise from the key's hash. When computing
+ * a full assignment, a member which already holds its share of keys is skipped, so no member ends up with more
+ * than {@code ceil(loadFactor * keys / members)} keys.
+ *
+ * <p>
+ * The assignment depends only on the set of members and keys, so every cluster member computes the same placement
+ * independently.
+ */
+public final class ConsistentHashRing {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32();
+    private static final int DEFAULT_VIRTUAL_NODES = 64;
+
+    private final NavigableMap<Integer, String> ring = new TreeMap<>();
+    private final Set<String> members;
+    private final double loadFactor;
+
+    public ConsistentHashRing(final Collection<String> members, final double loadFactor) {
+        this(members, loadFactor, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashRing(final Collection<String> members, final double loadFactor, final int virtualNodes) {
+        Preconditions.checkArgument(loadFactor >= 1, "Load factor must be at least 1, was %s", loadFactor);
+        Preconditions.checkArgument(virtualNodes > 0, "Number of virtual nodes must be positive, was %s",
+                virtualNodes);
+        this.members = ImmutableSet.copyOf(new TreeSet<>(members));
+        this.loadFactor = loadFactor;
+
+        for (final String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * Return the member owning a key, without considering the load of members.
+     *
+     * @param key key to look up
+     * @return owning member, null if the ring has no members
+     */
+    public String lookup(final String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        final Map.Entry<Integer, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Assign all keys to members, keeping the number of keys per member bounded by the load factor.
+     *
+     * @param keys keys to assign
+     * @return mapping of keys to owning members, empty if the ring has no members
+     */
+    public Map<String, String> assign(final Collection<String> keys) {
+        final Map<String, String> assignment = new HashMap<>();
+        if (ring.isEmpty()) {
+            return assignment;
+        }
+
+        final int capacity = (int) Math.ceil(loadFactor * keys.size() / members.size());
+        final Map<String, Integer> loads = new HashMap<>();
+        for (final String key : new TreeSet<>(keys)) {
+            final String member = findMemberWithCapacity(hash(key), loads, capacity);
+            loads.merge(member, 1, Integer::sum);
+            assignment.put(key, member);
+        }
+        return assignment;
+    }
+
+    private String findMemberWithCapacity(final int keyHash, final Map<String, Integer> loads, final int capacity) {
+        for (final String member : ring.tailMap(keyHash, true).values()) {
+            if (loads.getOrDefault(member, 0) < capacity) {
+                return member;
+            }
+        }
+        for (final String member : ring.headMap(keyHash, false).values()) {
+            if (loads.getOrDefault(member, 0) < capacity) {
+                return member;
+            }
+        }
+        // Cannot happen as long as capacity * members >= keys, fall back to the plain owner
+        return ring.firstEntry().getValue();
+    }
+
+    private static int hash(final String value) {
+        return HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asInt();
+    }
+}
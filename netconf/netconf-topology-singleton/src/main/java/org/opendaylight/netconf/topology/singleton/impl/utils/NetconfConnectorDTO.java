@@ -8,6 +8,8 @@
 
 package org.opendaylight.netconf.topology.singleton.impl.utils;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
@@ -17,11 +19,20 @@ public class NetconfConnectorDTO implements AutoCloseable {
 
     private final NetconfDeviceCommunicator communicator;
     private final RemoteDeviceHandler<NetconfSessionPreferences> facade;
+    private final ListenableFuture<Void> setupFuture;
 
     public NetconfConnectorDTO(final NetconfDeviceCommunicator communicator,
                                final RemoteDeviceHandler<NetconfSessionPreferences> facade) {
+        // Without tracking, the device is considered set up once its session is up
+        this(communicator, facade, Futures.immediateFuture(null));
+    }
+
+    public NetconfConnectorDTO(final NetconfDeviceCommunicator communicator,
+                               final RemoteDeviceHandler<NetconfSessionPreferences> facade,
+                               final ListenableFuture<Void> setupFuture) {
         this.communicator = communicator;
         this.facade = facade;
+        this.setupFuture = setupFuture;
     }
 
     public NetconfDeviceCommunicator getCommunicator() {
@@ -36,6 +47,15 @@ public class NetconfConnectorDTO implements AutoCloseable {
         return communicator;
     }
 
+    /**
+     * Return future completing once the device is set up, that is its schemas are resolved and it is mounted.
+     *
+     * @return device setup future
+     */
+    public ListenableFuture<Void> getSetupFuture() {
+        return setupFuture;
+    }
+
     @Override
     public void close() throws Exception {
         if (communicator != null) {
@@ -44,5 +64,7 @@ public class NetconfConnectorDTO implements AutoCloseable {
         if (facade != null) {
             facade.close();
         }
+        // Gives up the connection admission of a device closed before it was set up
+        setupFuture.cancel(false);
     }
 }
\ No newline at end of file
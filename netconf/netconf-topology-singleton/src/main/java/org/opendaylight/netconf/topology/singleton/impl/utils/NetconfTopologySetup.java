@@ -9,6 +9,7 @@
 package org.opendaylight.netconf.topology.singleton.impl.utils;
 
 import akka.actor.ActorSystem;
+import io.netty.util.Timer;
 import io.netty.util.concurrent.EventExecutor;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
@@ -18,6 +19,8 @@ import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvider;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice;
+import org.opendaylight.netconf.sal.connect.netconf.sal.TopologyUpdateBatcher;
+import org.opendaylight.netconf.sal.connect.util.ConnectionAdmissionScheduler;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import scala.concurrent.duration.Duration;
@@ -40,6 +43,9 @@ public class NetconfTopologySetup {
     private final String privateKeyPath;
     private final String privateKeyPassphrase;
     private final AAAEncryptionService encryptionService;
+    private final TopologyUpdateBatcher topologyUpdateBatcher;
+    private final Timer timer;
+    private final ConnectionAdmissionScheduler connectionAdmissionScheduler;
 
     private NetconfTopologySetup(final NetconfTopologySetupBuilder builder) {
         this.clusterSingletonServiceProvider = builder.getClusterSingletonServiceProvider();
@@ -58,6 +64,9 @@ public class NetconfTopologySetup {
         this.privateKeyPath = builder.getPrivateKeyPath();
         this.privateKeyPassphrase = builder.getPrivateKeyPassphrase();
         this.encryptionService = builder.getEncryptionService();
+        this.topologyUpdateBatcher = builder.getTopologyUpdateBatcher();
+        this.timer = builder.getTimer();
+        this.connectionAdmissionScheduler = builder.getConnectionAdmissionScheduler();
     }
 
     public ClusterSingletonServiceProvider getClusterSingletonServiceProvider() {
@@ -124,6 +133,18 @@ public class NetconfTopologySetup {
         return encryptionService;
     }
 
+    public TopologyUpdateBatcher getTopologyUpdateBatcher() {
+        return topologyUpdateBatcher;
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
+    public ConnectionAdmissionScheduler getConnectionAdmissionScheduler() {
+        return connectionAdmissionScheduler;
+    }
+
     public static class NetconfTopologySetupBuilder {
 
         private ClusterSingletonServiceProvider clusterSingletonServiceProvider;
@@ -142,6 +163,9 @@ public class NetconfTopologySetup {
         private String privateKeyPath;
         private String privateKeyPassphrase;
         private AAAEncryptionService encryptionService;
+        private TopologyUpdateBatcher topologyUpdateBatcher;
+        private Timer timer;
+        private ConnectionAdmissionScheduler connectionAdmissionScheduler = ConnectionAdmissionScheduler.unlimited();
 
         public NetconfTopologySetupBuilder() {
         }
@@ -296,6 +320,35 @@ public class NetconfTopologySetup {
             return this;
         }
 
+        private TopologyUpdateBatcher getTopologyUpdateBatcher() {
+            return topologyUpdateBatcher;
+        }
+
+        public NetconfTopologySetupBuilder setTopologyUpdateBatcher(
+                final TopologyUpdateBatcher topologyUpdateBatcher) {
+            this.topologyUpdateBatcher = topologyUpdateBatcher;
+            return this;
+        }
+
+        private Timer getTimer() {
+            return timer;
+        }
+
+        public NetconfTopologySetupBuilder setTimer(final Timer timer) {
+            this.timer = timer;
+            return this;
+        }
+
+        private ConnectionAdmissionScheduler getConnectionAdmissionScheduler() {
+            return connectionAdmissionScheduler;
+        }
+
+        public NetconfTopologySetupBuilder setConnectionAdmissionScheduler(
+                final ConnectionAdmissionScheduler connectionAdmissionScheduler) {
+            this.connectionAdmissionScheduler = connectionAdmissionScheduler;
+            return this;
+        }
+
         public static NetconfTopologySetupBuilder create() {
             return new NetconfTopologySetupBuilder();
         }
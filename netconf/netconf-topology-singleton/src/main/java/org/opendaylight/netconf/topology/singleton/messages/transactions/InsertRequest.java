@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages.transactions;
+
+import com.google.common.base.Optional;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.util.OrderedWriteTransaction.Position;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+public class InsertRequest implements WriteActorMessage {
+    private static final long serialVersionUID = 1L;
+
+    private final NormalizedNodeMessage data;
+    private final Position position;
+    private final PathArgument point;
+
+    public InsertRequest(final NormalizedNodeMessage data, final Position position,
+                         final Optional<PathArgument> point) {
+        this.data = data;
+        this.position = position;
+        this.point = point.orNull();
+    }
+
+    public NormalizedNodeMessage getNormalizedNodeMessage() {
+        return data;
+    }
+
+    public Position getPosition() {
+        return position;
+    }
+
+    public Optional<PathArgument> getPoint() {
+        return Optional.fromNullable(point);
+    }
+}
@@ -9,6 +9,7 @@
 package org.opendaylight.netconf.topology.singleton.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -16,6 +17,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -25,10 +27,15 @@ import akka.actor.ActorSystem;
 import akka.util.Timeout;
 import com.google.common.net.InetAddresses;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.netty.util.Timer;
 import io.netty.util.concurrent.EventExecutor;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -49,6 +56,8 @@ import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfigurati
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
+import org.opendaylight.netconf.sal.connect.netconf.sal.TopologyUpdateBatcher;
+import org.opendaylight.netconf.sal.connect.util.ConnectionAdmissionScheduler;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfConnectorDTO;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
@@ -130,6 +139,8 @@ public class RemoteDeviceConnectorImplTest {
         builder.setEventExecutor(eventExecutor);
         builder.setNetconfClientDispatcher(clientDispatcher);
         builder.setTopologyId(TOPOLOGY_ID);
+        builder.setTopologyUpdateBatcher(new TopologyUpdateBatcher(dataBroker, mock(Timer.class)));
+        builder.setTimer(mock(Timer.class));
     }
 
     @Test
@@ -169,6 +180,61 @@ public class RemoteDeviceConnectorImplTest {
 
     }
 
+    @Test
+    public void testKeepaliveStatistics() {
+        final NetconfNode netconfNode = new NetconfNodeBuilder()
+                .setHost(new Host(new IpAddress(new Ipv4Address("127.0.0.1"))))
+                .setPort(new PortNumber(9999))
+                .setTcpOnly(false)
+                .setCredentials(new LoginPasswordBuilder().setPassword("admin").setUsername("admin").build())
+                .build();
+        builder.setNode(new NodeBuilder().setNodeId(NODE_ID).addAugmentation(NetconfNode.class, netconfNode).build());
+
+        final KeepaliveSalFacade keepaliveFacade = new KeepaliveSalFacade(remoteDeviceId,
+                mock(RemoteDeviceHandler.class), mock(Timer.class), MoreExecutors.directExecutor());
+        final TestingRemoteDeviceConnectorImpl remoteDeviceConnection =
+                new TestingRemoteDeviceConnectorImpl(builder.build(), remoteDeviceId,
+                        mock(NetconfDeviceCommunicator.class), keepaliveFacade, TIMEOUT, mountPointService);
+        assertFalse(remoteDeviceConnection.getKeepaliveStatistics().isPresent());
+
+        remoteDeviceConnection.startRemoteDeviceConnection(mock(ActorRef.class));
+        assertEquals(0L, (long) remoteDeviceConnection.getKeepaliveStatistics().get().getProbesSent());
+    }
+
+    @Test
+    public void testConnectionAdmission() {
+        final ScheduledExecutorService admissionExecutor = Executors.newSingleThreadScheduledExecutor();
+        final ConnectionAdmissionScheduler scheduler = new ConnectionAdmissionScheduler(1, 60000, admissionExecutor);
+        try {
+            scheduler.submit(new NodeId("other-node"), () -> SettableFuture.<Void>create());
+
+            final NetconfNode netconfNode = new NetconfNodeBuilder()
+                    .setHost(new Host(new IpAddress(new Ipv4Address("127.0.0.1"))))
+                    .setPort(new PortNumber(9999))
+                    .setTcpOnly(false)
+                    .setCredentials(new LoginPasswordBuilder().setPassword("admin").setUsername("admin").build())
+                    .build();
+            builder.setNode(new NodeBuilder().setNodeId(NODE_ID).addAugmentation(NetconfNode.class, netconfNode)
+                    .build());
+            builder.setConnectionAdmissionScheduler(scheduler);
+
+            final NetconfDeviceCommunicator communicator = mock(NetconfDeviceCommunicator.class);
+            final TestingRemoteDeviceConnectorImpl remoteDeviceConnection =
+                    new TestingRemoteDeviceConnectorImpl(builder.build(), remoteDeviceId, communicator,
+                            mock(RemoteDeviceHandler.class), TIMEOUT, mountPointService);
+
+            remoteDeviceConnection.startRemoteDeviceConnection(mock(ActorRef.class));
+            verify(communicator, never()).initializeRemoteConnection(any(), any());
+            assertEquals(1L, (long) scheduler.getQueuePositions().get(NODE_ID));
+
+            remoteDeviceConnection.stopRemoteDeviceConnection();
+            assertFalse(scheduler.getQueuePositions().containsKey(NODE_ID));
+        } finally {
+            scheduler.close();
+            admissionExecutor.shutdownNow();
+        }
+    }
+
     @Test
     public void testMasterSalFacade() throws UnknownHostException {
         final ExecutorService executorService = mock(ExecutorService.class);
@@ -204,6 +270,7 @@ public class RemoteDeviceConnectorImplTest {
     public void testKeapAliveFacade() {
         final ExecutorService executorService = mock(ExecutorService.class);
         doReturn(executorService).when(processingExecutor).getExecutor();
+        doReturn(mock(ScheduledExecutorService.class)).when(keepaliveExecutor).getExecutor();
 
         final Credentials credentials = new LoginPasswordBuilder()
                 .setPassword("admin").setUsername("admin").build();
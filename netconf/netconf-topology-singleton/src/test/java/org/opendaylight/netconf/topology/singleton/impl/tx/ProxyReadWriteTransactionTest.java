@@ -34,11 +34,13 @@ import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelR
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ExistsRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.InsertRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.util.OrderedWriteTransaction.Position;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -154,6 +156,14 @@ public class ProxyReadWriteTransactionTest {
         }
     }
 
+    @Test
+    public void testInsert() throws Exception {
+        tx.insert(PATH, node, Position.FIRST, Optional.absent());
+        final InsertRequest request = masterActor.expectMsgClass(InsertRequest.class);
+        Assert.assertEquals(Position.FIRST, request.getPosition());
+        Assert.assertFalse(request.getPoint().isPresent());
+    }
+
     @Test
     public void testMerge() throws Exception {
         tx.merge(STORE, PATH, node);
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class ConsistentHashRingTest {
+
+    private static final List<String> MEMBERS = ImmutableList.of(
+            "akka.tcp://opendaylight-cluster-data@10.0.0.1:2550",
+            "akka.tcp://opendaylight-cluster-data@10.0.0.2:2550",
+            "akka.tcp://opendaylight-cluster-data@10.0.0.3:2550");
+
+    @Test
+    public void testEmptyRing() {
+        final ConsistentHashRing ring = new ConsistentHashRing(Collections.emptyList(), 1.25);
+        assertNull(ring.lookup("device"));
+        assertTrue(ring.assign(createKeys(10)).isEmpty());
+    }
+
+    @Test
+    public void testAssignmentIsBounded() {
+        final ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 1.1);
+        final List<String> keys = createKeys(3000);
+        final Map<String, String> assignment = ring.assign(keys);
+
+        assertEquals(keys.size(), assignment.size());
+        final Map<String, Integer> loads = new HashMap<>();
+        assignment.values().forEach(member -> loads.merge(member, 1, Integer::sum));
+        assertEquals(MEMBERS.size(), loads.size());
+        loads.values().forEach(load -> assertTrue(load <= 1100));
+    }
+
+    @Test
+    public void testAssignmentIsDeterministic() {
+        final List<String> keys = createKeys(500);
+        final List<String> reversedMembers = new ArrayList<>(MEMBERS);
+        Collections.reverse(reversedMembers);
+        final List<String> reversedKeys = new ArrayList<>(keys);
+        Collections.reverse(reversedKeys);
+
+        assertEquals(new ConsistentHashRing(MEMBERS, 1.25).assign(keys),
+                new ConsistentHashRing(reversedMembers, 1.25).assign(reversedKeys));
+    }
+
+    @Test
+    public void testMemberLeaveMovesOnlyItsKeys() {
+        final ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 1.25);
+        final ConsistentHashRing shrunk = new ConsistentHashRing(MEMBERS.subList(0, 2), 1.25);
+
+        for (final String key : createKeys(1000)) {
+            final String owner = ring.lookup(key);
+            if (!owner.equals(MEMBERS.get(2))) {
+                assertEquals(owner, shrunk.lookup(key));
+            }
+        }
+    }
+
+    private static List<String> createKeys(final int count) {
+        final List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add("netconf-device-" + i);
+        }
+        return keys;
+    }
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.controller.config.threadpool.ThreadPool;
@@ -52,16 +53,24 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPrefe
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfKeystoreAdapter;
+import org.opendaylight.netconf.sal.connect.netconf.sal.SetupTrackingSalFacade;
+import org.opendaylight.netconf.sal.connect.netconf.sal.TopologyUpdateBatcher;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
+import org.opendaylight.netconf.sal.connect.util.ConnectionAdmissionScheduler;
+import org.opendaylight.netconf.sal.connect.util.NetconfTimer;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.api.NetconfTopology;
 import org.opendaylight.netconf.topology.api.SchemaRepositoryProvider;
+import org.opendaylight.netconf.topology.impl.TopologyUtil;
 import org.opendaylight.protocol.framework.ReconnectStrategy;
 import org.opendaylight.protocol.framework.ReconnectStrategyFactory;
 import org.opendaylight.protocol.framework.TimedReconnectStrategy;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.KeepaliveProbe;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatistics;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability.CapabilityOrigin;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.Credentials;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.credentials.KeyAuth;
@@ -72,6 +81,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev15
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.credentials.login.pw.unencrypted.LoginPasswordUnencrypted;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
@@ -93,6 +103,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     protected static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 60000L;
     protected static final int DEFAULT_KEEPALIVE_DELAY = 0;
     protected static final boolean DEFAULT_RECONNECT_ON_CHANGED_SCHEMA = false;
+    protected static final boolean DEFAULT_KEEPALIVE_TRAFFIC_LIVENESS = false;
+    protected static final KeepaliveProbe DEFAULT_KEEPALIVE_PROBE = KeepaliveProbe.Auto;
     protected static final int DEFAULT_CONCURRENT_RPC_LIMIT = 0;
     private static final int DEFAULT_MAX_CONNECTION_ATTEMPTS = 0;
     private static final int DEFAULT_BETWEEN_ATTEMPTS_TIMEOUT_MILLIS = 2000;
@@ -170,6 +182,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     protected final SharedSchemaRepository sharedSchemaRepository;
     protected final DataBroker dataBroker;
     protected final DOMMountPointService mountPointService;
+    protected final NetconfTimer netconfTimer;
+    protected final TopologyUpdateBatcher topologyUpdateBatcher;
     private final NetconfKeystoreAdapter keystoreAdapter;
     protected SchemaSourceRegistry schemaRegistry = DEFAULT_SCHEMA_REPOSITORY;
     protected SchemaRepository schemaRepository = DEFAULT_SCHEMA_REPOSITORY;
@@ -178,6 +192,10 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     protected String privateKeyPassphrase;
     protected final AAAEncryptionService encryptionService;
     protected final HashMap<NodeId, NetconfConnectorDTO> activeConnectors = new HashMap<>();
+    private final Map<NodeId, KeepaliveSalFacade> keepaliveFacades = new ConcurrentHashMap<>();
+    private final Map<NodeId, SetupTrackingSalFacade> setupTrackers = new ConcurrentHashMap<>();
+    private ConnectionAdmissionScheduler admissionScheduler = ConnectionAdmissionScheduler.unlimited();
+    private double reconnectJitter = 0;
 
     protected AbstractNetconfTopology(final String topologyId, final NetconfClientDispatcher clientDispatcher,
                                       final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
@@ -194,6 +212,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         this.dataBroker = dataBroker;
         this.mountPointService = mountPointService;
         this.encryptionService = encryptionService;
+        this.netconfTimer = new NetconfTimer(topologyId);
+        this.topologyUpdateBatcher = new TopologyUpdateBatcher(dataBroker, netconfTimer.getTimer());
 
         this.keystoreAdapter = new NetconfKeystoreAdapter(dataBroker);
     }
@@ -206,6 +226,21 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         this.schemaContextFactory = schemaContextFactory;
     }
 
+    /**
+     * Sets the scheduler limiting concurrent connection setups of this topology using blueprint.
+     */
+    public void setConnectionAdmissionScheduler(final ConnectionAdmissionScheduler admissionScheduler) {
+        this.admissionScheduler = Preconditions.checkNotNull(admissionScheduler);
+        admissionScheduler.setPositionListener(this::writeQueuePositions);
+    }
+
+    /**
+     * Sets the fraction of the reconnect sleep time which is randomized using blueprint.
+     */
+    public void setReconnectJitter(final double reconnectJitter) {
+        this.reconnectJitter = reconnectJitter;
+    }
+
     @Override
     public ListenableFuture<NetconfDeviceCapabilities> connectNode(final NodeId nodeId, final Node configNode) {
         LOG.info("Connecting RemoteDevice{{}} , with config {}", nodeId, configNode);
@@ -221,12 +256,26 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         }
 
         // retrieve connection, and disconnect it
+        admissionScheduler.cancel(nodeId);
         final NetconfConnectorDTO connectorDTO = activeConnectors.remove(nodeId);
+        keepaliveFacades.remove(nodeId);
         connectorDTO.getCommunicator().close();
         connectorDTO.getFacade().close();
         return Futures.immediateFuture(null);
     }
 
+    /**
+     * Disconnect a node deleted from the configuration. Unlike a node which is only reconfigured, the node loses its
+     * priority in the connection queue, should it be added again.
+     *
+     * @param nodeId deleted node
+     * @return future completing once the node is disconnected
+     */
+    protected ListenableFuture<Void> deleteNode(final NodeId nodeId) {
+        admissionScheduler.remove(nodeId);
+        return disconnectNode(nodeId);
+    }
+
     protected ListenableFuture<NetconfDeviceCapabilities> setupConnection(final NodeId nodeId,
                                                                           final Node configNode) {
         final NetconfNode netconfNode = configNode.getAugmentation(NetconfNode.class);
@@ -240,11 +289,19 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         final NetconfClientSessionListener netconfClientSessionListener = deviceCommunicatorDTO.getSessionListener();
         final NetconfReconnectingClientConfiguration clientConfig =
                 getClientConfig(netconfClientSessionListener, netconfNode);
-        final ListenableFuture<NetconfDeviceCapabilities> future =
-                deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig);
+
+        final ListenableFuture<Void> deviceSetup = setupTrackers.remove(nodeId).getSetupFuture();
 
         activeConnectors.put(nodeId, deviceCommunicatorDTO);
 
+        // The admission is held until the device is set up, not just until its session is up, as resolving schemas
+        // and registering the mountpoint is the expensive part of the setup. Reconnects of an admitted device are
+        // done by the reconnecting client itself and are not gated by the scheduler.
+        final ListenableFuture<NetconfDeviceCapabilities> future = admissionScheduler.submit(nodeId,
+            () -> Futures.transformAsync(deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig),
+                capabilities -> Futures.transform(deviceSetup, setup -> capabilities, MoreExecutors.directExecutor()),
+                MoreExecutors.directExecutor()));
+
         Futures.addCallback(future, new FutureCallback<NetconfDeviceCapabilities>() {
             @Override
             public void onSuccess(final NetconfDeviceCapabilities result) {
@@ -280,12 +337,23 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         RemoteDeviceHandler<NetconfSessionPreferences> salFacade =
                 createSalFacade(remoteDeviceId);
 
+        KeepaliveSalFacade keepaliveFacade = null;
         if (keepaliveDelay > 0) {
             LOG.warn("Adding keepalive facade, for device {}", nodeId);
-            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, keepaliveExecutor.getExecutor(),
-                    keepaliveDelay, defaultRequestTimeoutMillis);
+            final Boolean trafficLiveness = node.isKeepaliveTrafficLiveness() == null
+                    ? DEFAULT_KEEPALIVE_TRAFFIC_LIVENESS : node.isKeepaliveTrafficLiveness();
+            final KeepaliveProbe keepaliveProbe = node.getKeepaliveProbe() == null
+                    ? DEFAULT_KEEPALIVE_PROBE : node.getKeepaliveProbe();
+            keepaliveFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, netconfTimer.getTimer(),
+                    keepaliveExecutor.getExecutor(), keepaliveDelay, defaultRequestTimeoutMillis, trafficLiveness,
+                    keepaliveProbe);
+            salFacade = keepaliveFacade;
         }
 
+        final SetupTrackingSalFacade setupTracker = new SetupTrackingSalFacade(salFacade);
+        setupTrackers.put(nodeId, setupTracker);
+        salFacade = setupTracker;
+
         // pre register yang library sources as fallback schemas to schema registry
         final List<SchemaSourceRegistration<YangTextSchemaSource>> registeredYangLibSources = Lists.newArrayList();
         if (node.getYangLibrary() != null) {
@@ -335,9 +403,14 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             LOG.info("Concurrent rpc limit is smaller than 1, no limit will be enforced for device {}", remoteDeviceId);
         }
 
-        return new NetconfConnectorDTO(userCapabilities.isPresent()
+        final NetconfDeviceCommunicator communicator = userCapabilities.isPresent()
                 ? new NetconfDeviceCommunicator(remoteDeviceId, device, userCapabilities.get(), rpcMessageLimit)
-                : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit), salFacade);
+                : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+        if (keepaliveFacade != null) {
+            keepaliveFacade.setListener(communicator);
+            keepaliveFacades.put(nodeId, keepaliveFacade);
+        }
+        return new NetconfConnectorDTO(communicator, salFacade);
     }
 
     protected NetconfDevice.SchemaResourcesDTO setupSchemaCacheDTO(final NodeId nodeId, final NetconfNode node) {
@@ -442,7 +515,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         final InetSocketAddress socketAddress = getSocketAddress(node.getHost(), node.getPort().getValue());
 
         final ReconnectStrategyFactory sf = new TimedReconnectStrategyFactory(eventExecutor,
-                maxConnectionAttempts, betweenAttemptsTimeoutMillis, sleepFactor);
+                maxConnectionAttempts, betweenAttemptsTimeoutMillis, sleepFactor, reconnectJitter);
         final ReconnectStrategy strategy = sf.createReconnectStrategy();
 
         final AuthenticationHandler authHandler = getHandlerFromCredentials(node.getCredentials());
@@ -488,6 +561,53 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
     protected abstract RemoteDeviceHandler<NetconfSessionPreferences> createSalFacade(RemoteDeviceId id);
 
+    /**
+     * Write keepalive statistics of all connected nodes into the operational datastore.
+     */
+    protected void writeKeepaliveStatistics() {
+        if (keepaliveFacades.isEmpty()) {
+            return;
+        }
+
+        // Retained, so that the statistics survive device state updates putting the whole netconf node
+        final TopologyUpdateBatcher.Batch batch = topologyUpdateBatcher.newBatch();
+        keepaliveFacades.forEach((nodeId, facade) -> batch.mergeRetained(
+                TopologyUtil.createTopologyListPath(topologyId).child(Node.class, new NodeKey(nodeId))
+                        .augmentation(NetconfNode.class).child(KeepaliveStatistics.class),
+                facade.getKeepaliveStatistics()));
+        Futures.addCallback(batch.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                LOG.trace("Keepalive statistics of {} nodes updated", keepaliveFacades.size());
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.warn("Unable to update keepalive statistics", throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void writeQueuePositions(final Map<NodeId, Long> positions) {
+        // Retained, the queued node may not be written yet and its device state updates put the whole netconf node
+        final TopologyUpdateBatcher.Batch batch = topologyUpdateBatcher.newBatch();
+        positions.forEach((nodeId, position) -> batch.mergeRetained(
+                TopologyUtil.createTopologyListPath(topologyId).child(Node.class, new NodeKey(nodeId))
+                        .augmentation(NetconfNode.class),
+                new NetconfNodeBuilder().setConnectionQueuePosition(position).build()));
+        Futures.addCallback(batch.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                LOG.trace("Connection queue positions of {} nodes updated", positions.size());
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.warn("Unable to update connection queue positions", throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     private InetSocketAddress getSocketAddress(final Host host, final int port) {
         if (host.getDomainName() != null) {
             return new InetSocketAddress(host.getDomainName().getValue(), port);
@@ -535,9 +655,10 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         private final EventExecutor executor;
         private final double sleepFactor;
         private final int minSleep;
+        private final double jitter;
 
         TimedReconnectStrategyFactory(final EventExecutor executor, final Long maxConnectionAttempts,
-                                      final int minSleep, final BigDecimal sleepFactor) {
+                                      final int minSleep, final BigDecimal sleepFactor, final double jitter) {
             if (maxConnectionAttempts != null && maxConnectionAttempts > 0) {
                 connectionAttempts = maxConnectionAttempts;
             } else {
@@ -547,6 +668,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             this.sleepFactor = sleepFactor.doubleValue();
             this.executor = executor;
             this.minSleep = minSleep;
+            this.jitter = jitter;
         }
 
         @Override
@@ -555,7 +677,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             final Long deadline = null;
 
             return new TimedReconnectStrategy(executor, minSleep,
-                    minSleep, sleepFactor, maxSleep, connectionAttempts, deadline);
+                    minSleep, sleepFactor, maxSleep, connectionAttempts, deadline, jitter);
         }
     }
 
@@ -13,6 +13,8 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.util.concurrent.EventExecutor;
 import java.util.Collection;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
@@ -50,6 +52,8 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
     private static final Logger LOG = LoggerFactory.getLogger(NetconfTopologyImpl.class);
 
     private ListenerRegistration<NetconfTopologyImpl> datastoreListenerRegistration = null;
+    private ScheduledFuture<?> keepaliveStatisticsFuture = null;
+    private long keepaliveStatisticsIntervalSeconds = 0;
 
     public NetconfTopologyImpl(final String topologyId, final NetconfClientDispatcher clientDispatcher,
                                final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
@@ -61,8 +65,21 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
                 schemaRepositoryProvider, dataBroker, mountPointService, encryptionService);
     }
 
+    /**
+     * Sets the interval of keepalive statistics updates in the operational datastore using blueprint. Non-positive
+     * value disables the updates.
+     */
+    public void setKeepaliveStatisticsIntervalSeconds(final long keepaliveStatisticsIntervalSeconds) {
+        this.keepaliveStatisticsIntervalSeconds = keepaliveStatisticsIntervalSeconds;
+    }
+
     @Override
     public void close() throws Exception {
+        if (keepaliveStatisticsFuture != null) {
+            keepaliveStatisticsFuture.cancel(false);
+            keepaliveStatisticsFuture = null;
+        }
+
         // close all existing connectors, delete whole topology in datastore?
         for (final NetconfConnectorDTO connectorDTO : activeConnectors.values()) {
             connectorDTO.close();
@@ -73,11 +90,14 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
             datastoreListenerRegistration.close();
             datastoreListenerRegistration = null;
         }
+
+        topologyUpdateBatcher.close();
+        netconfTimer.close();
     }
 
     @Override
     protected RemoteDeviceHandler<NetconfSessionPreferences> createSalFacade(final RemoteDeviceId id) {
-        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker);
+        return new NetconfDeviceSalFacade(id, mountPointService, topologyUpdateBatcher);
     }
 
     /**
@@ -104,6 +124,12 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
                 dataBroker.registerDataTreeChangeListener(
                         new DataTreeIdentifier<>(LogicalDatastoreType.CONFIGURATION,
                                 TopologyUtil.createTopologyListPath(topologyId).child(Node.class)), this);
+
+        if (keepaliveStatisticsIntervalSeconds > 0) {
+            keepaliveStatisticsFuture = keepaliveExecutor.getExecutor().scheduleWithFixedDelay(
+                this::writeKeepaliveStatistics, keepaliveStatisticsIntervalSeconds, keepaliveStatisticsIntervalSeconds,
+                TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -127,7 +153,7 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
                     break;
                 case DELETE:
                     LOG.debug("Config for node {} deleted", TopologyUtil.getNodeId(rootNode.getIdentifier()));
-                    disconnectNode(TopologyUtil.getNodeId(rootNode.getIdentifier()));
+                    deleteNode(TopologyUtil.getNodeId(rootNode.getIdentifier()));
                     break;
                 default:
                     LOG.debug("Unsupported modification type: {}.", rootNode.getModificationType());
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.util;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Read transaction, which is able to limit data read from a device to selected child nodes of the read path,
+ * e.g. by translating them into a NETCONF subtree filter.
+ *
+ * <p>
+ * Selected child nodes are organized into levels, the first set contains child nodes of the node at read path,
+ * the second one their child nodes and so on. Nodes below the last level are read entirely. Returned data may
+ * contain more than selected nodes, selection only limits data transferred from the device.
+ */
+public interface FieldsAwareReadTransaction {
+
+    /**
+     * Read configuration data limited to selected child nodes.
+     *
+     * @param path path of data to read
+     * @param fields selected child nodes organized into levels
+     * @return future of data, absent if data do not exist
+     */
+    ListenableFuture<Optional<NormalizedNode<?, ?>>> readConfigurationData(YangInstanceIdentifier path,
+                                                                           List<Set<QName>> fields);
+
+    /**
+     * Read operational data limited to selected child nodes.
+     *
+     * @param path path of data to read
+     * @param fields selected child nodes organized into levels
+     * @return future of data, absent if data do not exist
+     */
+    ListenableFuture<Optional<NormalizedNode<?, ?>>> readOperationalData(YangInstanceIdentifier path,
+                                                                         List<Set<QName>> fields);
+}
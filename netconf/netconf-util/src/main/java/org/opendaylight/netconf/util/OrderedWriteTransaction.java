@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.util;
+
+import com.google.common.base.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Write transaction, which is able to put an entry of an ordered-by user list or leaf-list at a position relative
+ * to its other entries without rewriting them, e.g. by translating the position into NETCONF insert attributes.
+ */
+public interface OrderedWriteTransaction {
+
+    /**
+     * Position of inserted entry.
+     */
+    enum Position {
+        FIRST,
+        LAST,
+        BEFORE,
+        AFTER
+    }
+
+    /**
+     * Put configuration entry of ordered-by user list or leaf-list at position.
+     *
+     * @param path path of entry
+     * @param data entry data
+     * @param position position of entry
+     * @param point identifier of sibling entry, required for {@link Position#BEFORE} and {@link Position#AFTER}
+     */
+    void insert(YangInstanceIdentifier path, NormalizedNode<?, ?> data, Position position,
+                Optional<PathArgument> point);
+}
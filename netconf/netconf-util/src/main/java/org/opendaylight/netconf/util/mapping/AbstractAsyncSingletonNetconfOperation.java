@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.util.mapping;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.ExecutionException;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.mapping.api.AsyncNetconfOperation;
+import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Singleton operation producing its response asynchronously. When invoked synchronously, the calling thread waits for
+ * the response.
+ */
+public abstract class AbstractAsyncSingletonNetconfOperation extends AbstractSingletonNetconfOperation
+        implements AsyncNetconfOperation {
+
+    protected AbstractAsyncSingletonNetconfOperation(final String netconfSessionIdForReporting) {
+        super(netconfSessionIdForReporting);
+    }
+
+    @Override
+    public final ListenableFuture<Document> handleAsync(final Document requestMessage,
+            final NetconfOperationChainedExecution subsequentOperation) throws DocumentedException {
+        if (!subsequentOperation.isExecutionTermination()) {
+            // Not expected for a singleton, let the synchronous path report it
+            return Futures.immediateFuture(handle(requestMessage, subsequentOperation));
+        }
+
+        final XmlElement requestElement = getRequestElementWithCheck(requestMessage);
+        final Document document = XmlUtil.newDocument();
+        final ListenableFuture<Element> response =
+                handleWithNoSubsequentOperationsAsync(document, requestElement.getOnlyChildElement());
+        return Futures.transform(response,
+            (Function<Element, Document>) element -> createRpcReply(document, requestElement, element),
+            MoreExecutors.directExecutor());
+    }
+
+    @Override
+    protected final Element handleWithNoSubsequentOperations(final Document document,
+            final XmlElement operationElement) throws DocumentedException {
+        try {
+            return Uninterruptibles.getUninterruptibly(
+                    handleWithNoSubsequentOperationsAsync(document, operationElement));
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof DocumentedException) {
+                throw (DocumentedException) e.getCause();
+            }
+            throw new DocumentedException(e.getCause().getMessage(), e,
+                    DocumentedException.ErrorType.APPLICATION, DocumentedException.ErrorTag.OPERATION_FAILED,
+                    DocumentedException.ErrorSeverity.ERROR);
+        }
+    }
+
+    /**
+     * Execute the operation.
+     *
+     * @param document document the response is to be created in
+     * @param operationElement operation element of the request
+     * @return future response element, failing with {@link DocumentedException} if the operation fails
+     * @throws DocumentedException if the request cannot be executed
+     */
+    protected abstract ListenableFuture<Element> handleWithNoSubsequentOperationsAsync(Document document,
+            XmlElement operationElement) throws DocumentedException;
+}
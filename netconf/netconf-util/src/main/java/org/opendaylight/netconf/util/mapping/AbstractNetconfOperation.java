@@ -9,6 +9,7 @@
 package org.opendaylight.netconf.util.mapping;
 
 import com.google.common.base.Optional;
+import java.lang.reflect.Method;
 import java.util.Map;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
@@ -24,6 +25,25 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
 public abstract class AbstractNetconfOperation implements NetconfOperation {
+
+    /**
+     * Operations which do not override any of the canHandle methods decide solely based on their constant operation
+     * name and namespace.
+     */
+    private static final ClassValue<Boolean> NAME_BASED_HANDLING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> clazz = type; clazz != AbstractNetconfOperation.class; clazz = clazz.getSuperclass()) {
+                for (final Method method : clazz.getDeclaredMethods()) {
+                    if (method.getName().equals("canHandle")) {
+                        return Boolean.FALSE;
+                    }
+                }
+            }
+            return Boolean.TRUE;
+        }
+    };
+
     private final String netconfSessionIdForReporting;
 
     protected AbstractNetconfOperation(final String netconfSessionIdForReporting) {
@@ -47,6 +67,23 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
                 : HandlingPriority.CANNOT_HANDLE;
     }
 
+    /**
+     * Get the priority this operation handles an operation with specified name and namespace with, if that does not
+     * depend on anything else than the name and namespace. Such result can be computed once and reused for all
+     * messages invoking the same operation.
+     *
+     * @param operationName local name of the operation element
+     * @param operationNamespace namespace of the operation element
+     * @return handling priority, absent if {@link #canHandle(Document)} has to be consulted for each message
+     */
+    public final Optional<HandlingPriority> getNameBasedHandlingPriority(final String operationName,
+                                                                         final String operationNamespace) {
+        if (!NAME_BASED_HANDLING.get(getClass())) {
+            return Optional.absent();
+        }
+        return Optional.of(canHandle(operationName, operationNamespace));
+    }
+
     public static final class OperationNameAndNamespace {
         private final String operationName;
         private final String namespace;
@@ -99,9 +136,22 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
         Document document = XmlUtil.newDocument();
 
         XmlElement operationElement = requestElement.getOnlyChildElement();
-        Map<String, Attr> attributes = requestElement.getAttributes();
 
         Element response = handle(document, operationElement, subsequentOperation);
+        return createRpcReply(document, requestElement, response);
+    }
+
+    /**
+     * Wrap the response of an operation in an rpc-reply carrying the attributes of the request.
+     *
+     * @param document document the response was created in, the reply is appended to it
+     * @param requestElement rpc element of the request
+     * @param response response element created by the operation
+     * @return {@code document}
+     */
+    protected static Document createRpcReply(final Document document, final XmlElement requestElement,
+            final Element response) {
+        Map<String, Attr> attributes = requestElement.getAttributes();
         Element rpcReply = XmlUtil.createElement(document, XmlMappingConstants.RPC_REPLY_KEY,
                 Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
 
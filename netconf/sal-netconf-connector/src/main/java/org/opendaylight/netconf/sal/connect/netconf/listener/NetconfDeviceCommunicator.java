@@ -13,6 +13,9 @@ import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.util.concurrent.Future;
 import java.util.ArrayDeque;
 import java.util.Iterator;
@@ -71,6 +74,9 @@ public class NetconfDeviceCommunicator
     // calling tearDown to release the locks they hold to avoid deadlock.
     private final AtomicBoolean isSessionClosing = new AtomicBoolean(false);
 
+    private volatile long lastInboundTrafficNanos;
+    private volatile long lastMessageBytes;
+
     public Boolean isSessionClosing() {
         return isSessionClosing.get();
     }
@@ -107,6 +113,9 @@ public class NetconfDeviceCommunicator
         try {
             LOG.debug("{}: Session established", id);
             this.session = session;
+            lastInboundTrafficNanos = System.nanoTime();
+            session.addInboundTrafficHandler(new InboundTrafficHandler());
+            session.addFramedMessageHandler(new FramedMessageHandler());
 
             NetconfSessionPreferences netconfSessionPreferences =
                                              NetconfSessionPreferences.fromNetconfSession(session);
@@ -136,6 +145,27 @@ public class NetconfDeviceCommunicator
         }
     }
 
+    /**
+     * Return the time of the last data received from the device, as seen on the transport channel of the session,
+     * before it is framed into messages.
+     *
+     * @return {@link System#nanoTime()} of the last data received
+     */
+    public long getLastInboundTrafficNanos() {
+        return lastInboundTrafficNanos;
+    }
+
+    /**
+     * Return the size of the last message received from the device, as framed on the transport channel. Messages are
+     * processed on the channel thread right after they are framed, so callbacks of a request which complete with
+     * its reply observe the size of that reply.
+     *
+     * @return number of bytes of the last message, without framing
+     */
+    public long getLastMessageBytes() {
+        return lastMessageBytes;
+    }
+
     /**
      * Initialize remote connection.
      *
@@ -415,6 +445,30 @@ public class NetconfDeviceCommunicator
         return XmlNetconfConstants.NOTIFICATION_ELEMENT_NAME.equals(xmle.getName()) ;
     }
 
+    /**
+     * Records the time of every piece of data received on the channel and passes it on unchanged.
+     */
+    private final class InboundTrafficHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            lastInboundTrafficNanos = System.nanoTime();
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    /**
+     * Records the size of every framed message received on the channel and passes it on unchanged.
+     */
+    private final class FramedMessageHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            if (msg instanceof ByteBuf) {
+                lastMessageBytes = ((ByteBuf) msg).readableBytes();
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+
     private static final class Request {
         final UncancellableFuture<RpcResult<NetconfMessage>> future;
         final NetconfMessage request;
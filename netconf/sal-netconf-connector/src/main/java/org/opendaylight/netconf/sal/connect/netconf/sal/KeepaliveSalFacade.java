@@ -9,6 +9,7 @@ package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps.getSourceNode;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toPath;
 
@@ -17,9 +18,14 @@ import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
@@ -30,9 +36,16 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseSchema;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.NetconfState;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Statistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.KeepaliveProbe;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatisticsBuilder;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -43,7 +56,20 @@ import org.slf4j.LoggerFactory;
 /**
  * SalFacade proxy that invokes keepalive RPCs to prevent session shutdown from remote device
  * and to detect incorrect session drops (netconf session is inactive, but TCP/SSH connection is still present).
- * The keepalive RPC is a get-config with empty filter.
+ * The keepalive RPC is chosen according to {@link KeepaliveProbe}, either a get-config with empty filter or a get
+ * of the ietf-netconf-monitoring statistics, by default the smallest reply supported by the device is requested.
+ *
+ * <p>
+ * Keepalives and request timeouts are registered with a shared {@link Timer}. Each device keeps a single keepalive
+ * timeout armed, replies and notifications only record the time of the last activity. When the keepalive timeout
+ * expires and there was activity within the keepalive delay, it is re-armed for the remaining time instead of sending
+ * the keepalive RPC. Expired timeouts only hand the work over to the keepalive executor, the single timer thread never
+ * sends RPCs, reconnects or cancels requests itself.
+ *
+ * <p>
+ * With traffic liveness enabled, any data received on the transport channel of the session counts as activity, not
+ * just complete replies and notifications. Activity within the keepalive delay proves the session is alive even
+ * while a keepalive RPC is still outstanding, so the keepalive is only considered timed out on an idle session.
  */
 public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
 
@@ -57,29 +83,55 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
 
     private final RemoteDeviceId id;
     private final RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
-    private final ScheduledExecutorService executor;
+    private final Timer timer;
+    private final Executor executor;
     private final long keepaliveDelaySeconds;
     private final ResetKeepalive resetKeepaliveTask;
     private final long defaultRequestTimeoutMillis;
+    private final boolean trafficLiveness;
+    private final KeepaliveProbe probe;
+
+    private final AtomicLong probesSent = new AtomicLong();
+    private final AtomicLong probesSkipped = new AtomicLong();
+    private final AtomicLong repliesMeasured = new AtomicLong();
+    private final AtomicLong totalReplyBytes = new AtomicLong();
+    private volatile long lastReplyBytes;
+    private volatile long firstProbeNanos;
+    private volatile long lastProbeNanos;
 
     private volatile NetconfDeviceCommunicator listener;
-    private volatile ScheduledFuture<?> currentKeepalive;
+    private volatile Timeout currentKeepalive;
+    private volatile Future<DOMRpcResult> pendingKeepalive;
     private volatile DOMRpcService currentDeviceRpc;
+    private volatile long lastActivityNanos;
+    private volatile SchemaPath probePath = GET_CONFIG_PATH;
+    private volatile ContainerNode probePayload = GET_CONFIG_PAYLOAD;
 
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
-                              final ScheduledExecutorService executor, final long keepaliveDelaySeconds,
-                              final long defaultRequestTimeoutMillis) {
+                              final Timer timer, final Executor executor, final long keepaliveDelaySeconds,
+                              final long defaultRequestTimeoutMillis, final boolean trafficLiveness,
+                              final KeepaliveProbe probe) {
         this.id = id;
         this.salFacade = salFacade;
-        this.executor = executor;
+        this.timer = timer;
+        this.executor = Preconditions.checkNotNull(executor);
         this.keepaliveDelaySeconds = keepaliveDelaySeconds;
         this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
+        this.trafficLiveness = trafficLiveness;
+        this.probe = Preconditions.checkNotNull(probe);
         this.resetKeepaliveTask = new ResetKeepalive();
     }
 
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
-                              final ScheduledExecutorService executor) {
-        this(id, salFacade, executor, DEFAULT_DELAY, DEFAULT_TRANSACTION_TIMEOUT_MILLI);
+                              final Timer timer, final Executor executor, final long keepaliveDelaySeconds,
+                              final long defaultRequestTimeoutMillis) {
+        this(id, salFacade, timer, executor, keepaliveDelaySeconds, defaultRequestTimeoutMillis, false,
+                KeepaliveProbe.GetConfig);
+    }
+
+    public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                              final Timer timer, final Executor executor) {
+        this(id, salFacade, timer, executor, DEFAULT_DELAY, DEFAULT_TRANSACTION_TIMEOUT_MILLI);
     }
 
     /**
@@ -92,28 +144,75 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     }
 
     /**
-     * Just cancel current keepalive task.
-     * If its already started, let it finish ... not such a big deal.
+     * Return statistics of keepalive probes sent to the device so far.
      *
-     * <p>
-     * Then schedule next keepalive.
+     * @return keepalive statistics
+     */
+    public KeepaliveStatistics getKeepaliveStatistics() {
+        final long sent = probesSent.get();
+        final KeepaliveStatisticsBuilder builder = new KeepaliveStatisticsBuilder()
+                .setProbesSent(sent)
+                .setProbesSkipped(probesSkipped.get());
+        final long measured = repliesMeasured.get();
+        if (measured > 0) {
+            builder.setLastReplySize(lastReplyBytes).setAverageReplySize(totalReplyBytes.get() / measured);
+        }
+        if (sent > 1) {
+            builder.setAverageProbeInterval(
+                    TimeUnit.NANOSECONDS.toSeconds((lastProbeNanos - firstProbeNanos) / (sent - 1)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Record activity on the session. The armed keepalive timeout is left untouched, it notices the activity once it
+     * expires and postpones the keepalive accordingly.
      */
     void resetKeepalive() {
         LOG.trace("{}: Resetting netconf keepalive timer", id);
-        if (currentKeepalive != null) {
-            currentKeepalive.cancel(false);
-        }
-        scheduleKeepalive();
+        lastActivityNanos = System.nanoTime();
     }
 
     /**
      * Cancel current keepalive and also reset current deviceRpc.
      */
     private void stopKeepalives() {
-        if (currentKeepalive != null) {
-            currentKeepalive.cancel(false);
+        final Timeout keepalive = currentKeepalive;
+        if (keepalive != null) {
+            keepalive.cancel();
         }
         currentDeviceRpc = null;
+        pendingKeepalive = null;
+    }
+
+    private long getLastActivityNanos() {
+        final long lastActivity = lastActivityNanos;
+        final NetconfDeviceCommunicator localListener = listener;
+        if (trafficLiveness && localListener != null) {
+            final long lastTraffic = localListener.getLastInboundTrafficNanos();
+            return lastTraffic - lastActivity > 0 ? lastTraffic : lastActivity;
+        }
+        return lastActivity;
+    }
+
+    private void selectProbe(final SchemaContext remoteSchemaContext,
+                             final NetconfSessionPreferences netconfSessionPreferences) {
+        final boolean monitoringAvailable = netconfSessionPreferences != null
+                && netconfSessionPreferences.isMonitoringSupported() && remoteSchemaContext != null
+                && remoteSchemaContext.getModules().stream().anyMatch(module ->
+                    NetconfState.QNAME.getNamespace().equals(module.getNamespace()));
+
+        if (probe != KeepaliveProbe.GetConfig && monitoringAvailable) {
+            probePath = GET_MONITORING_STATISTICS_PATH;
+            probePayload = GET_MONITORING_STATISTICS_PAYLOAD;
+        } else {
+            if (probe == KeepaliveProbe.GetMonitoringStatistics) {
+                LOG.warn("{}: Device does not support ietf-netconf-monitoring, using get-config keepalive probe", id);
+            }
+            probePath = GET_CONFIG_PATH;
+            probePayload = GET_CONFIG_PAYLOAD;
+        }
+        LOG.debug("{}: Using keepalive probe {}", id, probePath.getLastComponent());
     }
 
     void reconnect() {
@@ -127,18 +226,21 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     public void onDeviceConnected(final SchemaContext remoteSchemaContext,
                           final NetconfSessionPreferences netconfSessionPreferences, final DOMRpcService deviceRpc) {
         this.currentDeviceRpc = deviceRpc;
+        selectProbe(remoteSchemaContext, netconfSessionPreferences);
         final DOMRpcService deviceRpc1 =
-                new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, executor);
+                new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, timer,
+                        executor);
         salFacade.onDeviceConnected(remoteSchemaContext, netconfSessionPreferences, deviceRpc1);
 
         LOG.debug("{}: Netconf session initiated, starting keepalives", id);
-        scheduleKeepalive();
+        lastActivityNanos = System.nanoTime();
+        scheduleKeepalive(TimeUnit.SECONDS.toNanos(keepaliveDelaySeconds));
     }
 
-    private void scheduleKeepalive() {
+    private void scheduleKeepalive(final long delayNanos) {
         Preconditions.checkState(currentDeviceRpc != null);
-        LOG.trace("{}: Scheduling next keepalive in {} {}", id, keepaliveDelaySeconds, TimeUnit.SECONDS);
-        currentKeepalive = executor.schedule(new Keepalive(currentKeepalive), keepaliveDelaySeconds, TimeUnit.SECONDS);
+        LOG.trace("{}: Scheduling next keepalive in {} {}", id, delayNanos, TimeUnit.NANOSECONDS);
+        currentKeepalive = timer.newTimeout(new Keepalive(), delayNanos, TimeUnit.NANOSECONDS);
     }
 
     @Override
@@ -166,54 +268,84 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     }
 
     // Keepalive RPC static resources
-    private static final SchemaPath PATH = toPath(NETCONF_GET_CONFIG_QNAME);
-    private static final ContainerNode KEEPALIVE_PAYLOAD = NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME,
+    private static final SchemaPath GET_CONFIG_PATH = toPath(NETCONF_GET_CONFIG_QNAME);
+    private static final ContainerNode GET_CONFIG_PAYLOAD = NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME,
             getSourceNode(NETCONF_RUNNING_QNAME), NetconfMessageTransformUtil.EMPTY_FILTER);
+    private static final SchemaPath GET_MONITORING_STATISTICS_PATH = toPath(NETCONF_GET_QNAME);
+    private static final ContainerNode GET_MONITORING_STATISTICS_PAYLOAD = NetconfMessageTransformUtil.wrap(
+            NETCONF_GET_QNAME, NetconfMessageTransformUtil.toFilterStructure(
+                    YangInstanceIdentifier.builder().node(NetconfState.QNAME).node(Statistics.QNAME).build(),
+                    BaseSchema.BASE_NETCONF_CTX_WITH_NOTIFICATIONS.getSchemaContext()));
 
     /**
-     * Invoke keepalive RPC and check the response. In case of any received response the keepalive
-     * is considered successful and schedules next keepalive with a fixed delay. If the response is unsuccessful (no
-     * response received, or the rcp could not even be sent) immediate reconnect is triggered as netconf session
-     * is considered inactive/failed.
+     * Invoke keepalive RPC and check the response. The keepalive is skipped and re-armed for the remaining time if
+     * there was activity on the session within the keepalive delay. Otherwise the keepalive RPC is sent and the next
+     * keepalive is armed right away, in case no response arrives until then, the previous keepalive is considered
+     * timed out. In case of any received response the keepalive is considered successful. If the response is
+     * unsuccessful (no response received, or the rcp could not even be sent) immediate reconnect is triggered as
+     * netconf session is considered inactive/failed.
      */
-    private class Keepalive implements Runnable, FutureCallback<DOMRpcResult> {
+    private class Keepalive implements TimerTask, Runnable, FutureCallback<DOMRpcResult> {
 
-        private final ScheduledFuture<?> previousKeepalive;
+        private volatile Timeout timeout;
 
-        Keepalive(final ScheduledFuture<?> previousKeepalive) {
-            this.previousKeepalive = previousKeepalive;
+        @Override
+        public void run(final Timeout expired) {
+            if (!expired.isCancelled()) {
+                timeout = expired;
+                execute(executor, this);
+            }
         }
 
         @Override
         public void run() {
-            LOG.trace("{}: Invoking keepalive RPC", id);
-
-            try {
-                if (previousKeepalive != null && !previousKeepalive.isDone()) {
-                    onFailure(new IllegalStateException("Previous keepalive timed out"));
-                } else {
-                    Futures.addCallback(currentDeviceRpc.invokeRpc(PATH, KEEPALIVE_PAYLOAD), this,
-                                        MoreExecutors.directExecutor());
-                }
-            } catch (NullPointerException e) {
+            final DOMRpcService deviceRpc = currentDeviceRpc;
+            if (timeout != currentKeepalive || deviceRpc == null) {
+                // We hit the reconnect window, next keepalive will be scheduled after reconnect
                 LOG.debug("{}: Skipping keepalive while reconnecting", id);
-                // Empty catch block intentional
-                // Do nothing. The currentDeviceRpc was null and it means we hit the reconnect window and
-                // attempted to send keepalive while we were reconnecting. Next keepalive will be scheduled
-                // after reconnect so no action necessary here.
+                return;
+            }
+
+            // Activity is checked first, data received while the previous keepalive is outstanding prove liveness too
+            final long delayNanos = TimeUnit.SECONDS.toNanos(keepaliveDelaySeconds);
+            final long idleNanos = System.nanoTime() - getLastActivityNanos();
+            if (idleNanos < delayNanos) {
+                LOG.trace("{}: Session active {}ns ago, postponing keepalive", id, idleNanos);
+                probesSkipped.incrementAndGet();
+                scheduleKeepalive(delayNanos - idleNanos);
+                return;
+            }
+
+            final Future<DOMRpcResult> previousKeepalive = pendingKeepalive;
+            if (previousKeepalive != null && !previousKeepalive.isDone()) {
+                onFailure(new IllegalStateException("Previous keepalive timed out"));
+                return;
+            }
+
+            LOG.trace("{}: Invoking keepalive RPC", id);
+            final long now = System.nanoTime();
+            if (probesSent.getAndIncrement() == 0) {
+                firstProbeNanos = now;
             }
+            lastProbeNanos = now;
+
+            final CheckedFuture<DOMRpcResult, DOMRpcException> keepaliveFuture =
+                    deviceRpc.invokeRpc(probePath, probePayload);
+            pendingKeepalive = keepaliveFuture;
+            lastActivityNanos = now;
+            scheduleKeepalive(delayNanos);
+            Futures.addCallback(keepaliveFuture, this, MoreExecutors.directExecutor());
         }
 
         @Override
         public void onSuccess(final DOMRpcResult result) {
+            recordReplySize();
             // No matter what response we got, rpc-reply or rpc-error,
             // we got it from device so the netconf session is OK
             if (result != null && result.getResult() != null) {
                 LOG.debug("{}: Keepalive RPC successful with response: {}", id, result.getResult());
-                scheduleKeepalive();
             } else if (result != null && result.getErrors() != null) {
                 LOG.warn("{}: Keepalive RPC failed with error: {}", id, result.getErrors());
-                scheduleKeepalive();
             } else {
                 LOG.warn("{} Keepalive RPC returned null with response: {}. Reconnecting netconf session", id, result);
                 reconnect();
@@ -225,6 +357,17 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             LOG.warn("{}: Keepalive RPC failed. Reconnecting netconf session.", id, throwable);
             reconnect();
         }
+
+        private void recordReplySize() {
+            // Invoked directly by the completion of the reply, so the last message received is the reply itself
+            final NetconfDeviceCommunicator localListener = listener;
+            if (localListener != null) {
+                final long replyBytes = localListener.getLastMessageBytes();
+                lastReplyBytes = replyBytes;
+                totalReplyBytes.addAndGet(replyBytes);
+                repliesMeasured.incrementAndGet();
+            }
+        }
     }
 
     /**
@@ -253,38 +396,53 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      * reached. At this moment, if the request is not yet finished, we cancel
      * it.
      */
-    private static final class RequestTimeoutTask implements Runnable {
+    private static final class RequestTimeoutTask implements TimerTask {
 
         private final CheckedFuture<DOMRpcResult, DOMRpcException> rpcResultFuture;
+        private final Executor executor;
 
-        RequestTimeoutTask(final CheckedFuture<DOMRpcResult, DOMRpcException> rpcResultFuture) {
+        RequestTimeoutTask(final CheckedFuture<DOMRpcResult, DOMRpcException> rpcResultFuture,
+                           final Executor executor) {
             this.rpcResultFuture = rpcResultFuture;
+            this.executor = executor;
         }
 
         @Override
-        public void run() {
+        public void run(final Timeout timeout) {
+            // Cancelling runs the callbacks of the RPC, including a reconnect, so it is done off the timer thread
             if (!rpcResultFuture.isDone()) {
-                rpcResultFuture.cancel(true);
+                execute(executor, () -> rpcResultFuture.cancel(true));
             }
         }
     }
 
+    private static void execute(final Executor executor, final Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            LOG.debug("Keepalive executor rejected task {}, it is probably shutting down", task, e);
+        }
+    }
+
     /**
      * DOMRpcService proxy that attaches reset-keepalive-task and schedule
-     * request-timeout-task to each RPC invocation.
+     * request-timeout-task to each RPC invocation. The request timeout is
+     * cancelled as soon as the RPC completes.
      */
     public static final class KeepaliveDOMRpcService implements DOMRpcService {
 
         private final DOMRpcService deviceRpc;
         private ResetKeepalive resetKeepaliveTask;
         private final long defaultRequestTimeoutMillis;
-        private final ScheduledExecutorService executor;
+        private final Timer timer;
+        private final Executor executor;
 
         KeepaliveDOMRpcService(final DOMRpcService deviceRpc, final ResetKeepalive resetKeepaliveTask,
-                final long defaultRequestTimeoutMillis, final ScheduledExecutorService executor) {
+                final long defaultRequestTimeoutMillis, final Timer timer, final Executor executor) {
             this.deviceRpc = deviceRpc;
             this.resetKeepaliveTask = resetKeepaliveTask;
             this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
+            this.timer = timer;
             this.executor = executor;
         }
 
@@ -301,8 +459,10 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             Futures.addCallback(domRpcResultDOMRpcExceptionCheckedFuture, resetKeepaliveTask,
                                 MoreExecutors.directExecutor());
 
-            final RequestTimeoutTask timeoutTask = new RequestTimeoutTask(domRpcResultDOMRpcExceptionCheckedFuture);
-            executor.schedule(timeoutTask, defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+            final RequestTimeoutTask timeoutTask =
+                    new RequestTimeoutTask(domRpcResultDOMRpcExceptionCheckedFuture, executor);
+            final Timeout timeout = timer.newTimeout(timeoutTask, defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+            domRpcResultDOMRpcExceptionCheckedFuture.addListener(timeout::cancel, MoreExecutors.directExecutor());
 
             return domRpcResultDOMRpcExceptionCheckedFuture;
         }
@@ -10,7 +10,6 @@ package org.opendaylight.netconf.sal.connect.netconf.sal;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import java.util.List;
-import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
@@ -32,9 +31,9 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
     private final List<AutoCloseable> salRegistrations = Lists.newArrayList();
 
     public NetconfDeviceSalFacade(final RemoteDeviceId id, final DOMMountPointService mountPointService,
-                                  final DataBroker dataBroker) {
+                                  final TopologyUpdateBatcher topologyUpdateBatcher) {
         this.id = id;
-        this.salProvider = new NetconfDeviceSalProvider(id, mountPointService, dataBroker);
+        this.salProvider = new NetconfDeviceSalProvider(id, mountPointService, topologyUpdateBatcher);
     }
 
     @VisibleForTesting
@@ -8,11 +8,6 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import com.google.common.base.Preconditions;
-import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
-import org.opendaylight.controller.md.sal.binding.api.DataBroker;
-import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
-import org.opendaylight.controller.md.sal.common.api.data.TransactionChain;
-import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
@@ -31,42 +26,19 @@ public class NetconfDeviceSalProvider implements AutoCloseable {
 
     private final RemoteDeviceId id;
     private final MountInstance mountInstance;
-    private final DataBroker dataBroker;
 
     private volatile NetconfDeviceTopologyAdapter topologyDatastoreAdapter;
 
-    private BindingTransactionChain txChain;
-
-    private final TransactionChainListener transactionChainListener =  new TransactionChainListener() {
-        @Override
-        public void onTransactionChainFailed(final TransactionChain<?, ?> chain,
-                                             final AsyncTransaction<?, ?> transaction, final Throwable cause) {
-            LOG.error("{}: TransactionChain({}) {} FAILED!", id, chain, transaction.getIdentifier(), cause);
-            chain.close();
-            resetTransactionChainForAdapaters();
-            throw new IllegalStateException(id + "  TransactionChain(" + chain + ") not committed correctly", cause);
-        }
-
-        @Override
-        public void onTransactionChainSuccessful(final TransactionChain<?, ?> chain) {
-            LOG.trace("{}: TransactionChain({}) {} SUCCESSFUL", id, chain);
-        }
-    };
-
     public NetconfDeviceSalProvider(final RemoteDeviceId deviceId, final DOMMountPointService mountService,
-                                    final DataBroker dataBroker) {
+                                    final TopologyUpdateBatcher topologyUpdateBatcher) {
         this.id = deviceId;
         mountInstance = new MountInstance(mountService, id);
-        this.dataBroker = dataBroker;
-        txChain = Preconditions.checkNotNull(dataBroker).createTransactionChain(transactionChainListener);
-
-        topologyDatastoreAdapter = new NetconfDeviceTopologyAdapter(id, txChain);
+        topologyDatastoreAdapter = new NetconfDeviceTopologyAdapter(id, topologyUpdateBatcher);
     }
 
     public NetconfDeviceSalProvider(final RemoteDeviceId deviceId, final DOMMountPointService mountService) {
         this.id = deviceId;
         mountInstance = new MountInstance(mountService, id);
-        this.dataBroker = null;
     }
 
     public MountInstance getMountInstance() {
@@ -81,24 +53,12 @@ public class NetconfDeviceSalProvider implements AutoCloseable {
         return topologyDatastoreAdapter;
     }
 
-    private void resetTransactionChainForAdapaters() {
-        txChain = Preconditions.checkNotNull(dataBroker).createTransactionChain(transactionChainListener);
-
-        topologyDatastoreAdapter.setTxChain(txChain);
-
-        LOG.trace("{}: Resetting TransactionChain {}", id, txChain);
-
-    }
-
     public void close() throws Exception {
         mountInstance.close();
         if (topologyDatastoreAdapter != null) {
             topologyDatastoreAdapter.close();
         }
         topologyDatastoreAdapter = null;
-        if (txChain != null) {
-            txChain.close();
-        }
     }
 
     public static final class MountInstance implements AutoCloseable {
@@ -9,19 +9,18 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
-import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
-import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
-import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.PortNumber;
@@ -33,6 +32,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev15
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.UnavailableCapabilities;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.UnavailableCapabilitiesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability.FailureReason;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapabilityBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.network.topology.topology.topology.types.TopologyNetconf;
@@ -57,15 +57,28 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceTopologyAdapter.class);
 
     private final RemoteDeviceId id;
-    private BindingTransactionChain txChain;
+    private final TopologyUpdateBatcher batcher;
 
     private final InstanceIdentifier<NetworkTopology> networkTopologyPath;
     private final KeyedInstanceIdentifier<Topology, TopologyKey> topologyListPath;
     private static final String UNKNOWN_REASON = "Unknown reason";
+    private static final int MAX_REWRITE_ATTEMPTS = 3;
+
+    // Last netconf node committed as a whole, used to write only the connection status if nothing else changed. Null
+    // if the next update has to write the whole node.
+    @GuardedBy("this")
+    private NetconfNode lastWrittenNode;
+    // Incremented by every write of the node, only the latest write may set or rewrite the state
+    @GuardedBy("this")
+    private long writeSequence;
 
     NetconfDeviceTopologyAdapter(final RemoteDeviceId id, final BindingTransactionChain txChain) {
+        this(id, new TopologyUpdateBatcher(txChain));
+    }
+
+    NetconfDeviceTopologyAdapter(final RemoteDeviceId id, final TopologyUpdateBatcher batcher) {
         this.id = id;
-        this.txChain = Preconditions.checkNotNull(txChain);
+        this.batcher = Preconditions.checkNotNull(batcher);
 
         this.networkTopologyPath = InstanceIdentifier.builder(NetworkTopology.class).build();
         this.topologyListPath = networkTopologyPath
@@ -75,9 +88,9 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
     }
 
     private void initDeviceData() {
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
+        final TopologyUpdateBatcher.Batch batch = batcher.newBatch();
 
-        createNetworkTopologyIfNotPresent(writeTx);
+        createNetworkTopologyIfNotPresent(batch);
 
         final InstanceIdentifier<Node> path = id.getTopologyBindingPath();
         final NodeBuilder nodeBuilder = getNodeIdBuilder(id);
@@ -88,47 +101,22 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
         nodeBuilder.addAugmentation(NetconfNode.class, netconfNodeBuilder.build());
         Node node = nodeBuilder.build();
 
-        LOG.trace("{}: Init device state transaction {} putting if absent operational data started.",
-                id, writeTx.getIdentifier());
-        writeTx.put(LogicalDatastoreType.OPERATIONAL, path, node);
-        LOG.trace("{}: Init device state transaction {} putting operational data ended.", id, writeTx.getIdentifier());
-        LOG.trace("{}: Init device state transaction {} putting if absent config data started.",
-                id, writeTx.getIdentifier());
-        LOG.trace("{}: Init device state transaction {} putting config data ended.", id, writeTx.getIdentifier());
+        LOG.trace("{}: Init device state putting operational data.", id);
+        batch.put(path, node);
 
-        commitTransaction(writeTx, "init");
+        commitTransaction(batch, "init");
     }
 
     public void updateDeviceData(final boolean up, final NetconfDeviceCapabilities capabilities) {
-        final NetconfNode data = buildDataForNetconfNode(up, capabilities);
-
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-        LOG.trace("{}: Update device state transaction {} merging operational data started.",
-                id, writeTx.getIdentifier());
-        writeTx.put(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath().augmentation(NetconfNode.class),
-            data, true);
-        LOG.trace("{}: Update device state transaction {} merging operational data ended.",
-                id, writeTx.getIdentifier());
-
-        commitTransaction(writeTx, "update");
+        writeNetconfNode(buildDataForNetconfNode(up, capabilities), "update");
     }
 
     public void updateClusteredDeviceData(final boolean up, final String masterAddress,
                                           final NetconfDeviceCapabilities capabilities) {
-        final NetconfNode data = buildDataForNetconfClusteredNode(up, masterAddress, capabilities);
-
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-        LOG.trace("{}: Update device state transaction {} merging operational data started.",
-                id, writeTx.getIdentifier());
-        writeTx.put(LogicalDatastoreType.OPERATIONAL,
-                id.getTopologyBindingPath().augmentation(NetconfNode.class), data, true);
-        LOG.trace("{}: Update device state transaction {} merging operational data ended.",
-                id, writeTx.getIdentifier());
-
-        commitTransaction(writeTx, "update");
+        writeNetconfNode(buildDataForNetconfClusteredNode(up, masterAddress, capabilities), "update");
     }
 
-    public void setDeviceAsFailed(final Throwable throwable) {
+    public synchronized void setDeviceAsFailed(final Throwable throwable) {
         String reason = throwable != null && throwable.getMessage() != null ? throwable.getMessage() : UNKNOWN_REASON;
 
         final NetconfNode data = new NetconfNodeBuilder()
@@ -136,17 +124,93 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
                 .setPort(new PortNumber(id.getAddress().getPort()))
                 .setConnectionStatus(ConnectionStatus.UnableToConnect).setConnectedMessage(reason).build();
 
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-        LOG.trace(
-                "{}: Setting device state as failed {} putting operational data started.",
-                id, writeTx.getIdentifier());
-        writeTx.put(LogicalDatastoreType.OPERATIONAL,
-                id.getTopologyBindingPath().augmentation(NetconfNode.class), data, true);
-        LOG.trace(
-                "{}: Setting device state as failed {} putting operational data ended.",
-                id, writeTx.getIdentifier());
-
-        commitTransaction(writeTx, "update-failed-device");
+        LOG.trace("{}: Setting device state as failed putting operational data.", id);
+        // The failure replaces capabilities, next update has to write them again
+        lastWrittenNode = null;
+        writeNetconfNode(data, "update-failed-device", 0);
+    }
+
+    private synchronized void writeNetconfNode(final NetconfNode data, final String txType) {
+        writeNetconfNode(data, txType, 0);
+    }
+
+    @GuardedBy("this")
+    private void writeNetconfNode(final NetconfNode data, final String txType, final int attempt) {
+        final InstanceIdentifier<NetconfNode> path = id.getTopologyBindingPath().augmentation(NetconfNode.class);
+        final TopologyUpdateBatcher.Batch batch = batcher.newBatch();
+        if (lastWrittenNode != null && onlyConnectionStatusDiffers(lastWrittenNode, data)) {
+            LOG.trace("{}: Update device state merging connection status {}.", id, data.getConnectionStatus());
+            batch.mergeWithParents(path, new NetconfNodeBuilder().setConnectionStatus(data.getConnectionStatus())
+                .build());
+        } else {
+            LOG.trace("{}: Update device state putting operational data.", id);
+            batch.putWithParents(path, data);
+        }
+
+        final long sequence = ++writeSequence;
+        LOG.trace("{}: Committing Transaction {}", id, txType);
+        Futures.addCallback(batch.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                LOG.trace("{}: Transaction({}) SUCCESSFUL", id, txType);
+                onWriteCommitted(sequence, data);
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.error("{}: Transaction({}) FAILED!", id, txType, throwable);
+                onWriteFailed(sequence, data, txType, attempt);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private synchronized void onWriteCommitted(final long sequence, final NetconfNode data) {
+        // A failed device does not carry capabilities, the next update has to put the node
+        if (sequence == writeSequence && data.getConnectionStatus() != ConnectionStatus.UnableToConnect) {
+            lastWrittenNode = data;
+        }
+    }
+
+    private synchronized void onWriteFailed(final long sequence, final NetconfNode data, final String txType,
+                                            final int attempt) {
+        if (sequence != writeSequence) {
+            // A later write carries newer state of the device
+            return;
+        }
+
+        lastWrittenNode = null;
+        if (attempt >= MAX_REWRITE_ATTEMPTS) {
+            LOG.warn("{}: Giving up writing device state after {} failed attempts", id, attempt + 1);
+            return;
+        }
+        LOG.debug("{}: Rewriting device state after failed transaction {}", id, txType);
+        writeNetconfNode(data, txType, attempt + 1);
+    }
+
+    private static boolean onlyConnectionStatusDiffers(final NetconfNode previous, final NetconfNode current) {
+        return Objects.equals(previous.getHost(), current.getHost())
+                && Objects.equals(previous.getPort(), current.getPort())
+                && Objects.equals(previous.getClusteredConnectionStatus(), current.getClusteredConnectionStatus())
+                && sameElements(availableCapabilityList(previous), availableCapabilityList(current))
+                && sameElements(unavailableCapabilityList(previous), unavailableCapabilityList(current));
+    }
+
+    private static List<AvailableCapability> availableCapabilityList(final NetconfNode node) {
+        return node.getAvailableCapabilities() == null ? null
+                : node.getAvailableCapabilities().getAvailableCapability();
+    }
+
+    private static List<UnavailableCapability> unavailableCapabilityList(final NetconfNode node) {
+        return node.getUnavailableCapabilities() == null ? null
+                : node.getUnavailableCapabilities().getUnavailableCapability();
+    }
+
+    private static <T> boolean sameElements(final List<T> previous, final List<T> current) {
+        if (previous == null || current == null) {
+            return previous == current;
+        }
+        // Capabilities come from sets, their order is not significant
+        return previous.size() == current.size() && new HashSet<>(previous).equals(new HashSet<>(current));
     }
 
     private NetconfNode buildDataForNetconfNode(final boolean up, final NetconfDeviceCapabilities capabilities) {
@@ -194,65 +258,48 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
     }
 
     public void removeDeviceConfiguration() {
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-
-        LOG.trace(
-                "{}: Close device state transaction {} removing all data started.",
-                id, writeTx.getIdentifier());
-        writeTx.delete(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath());
-        LOG.trace(
-                "{}: Close device state transaction {} removing all data ended.",
-                id, writeTx.getIdentifier());
+        synchronized (this) {
+            lastWrittenNode = null;
+            // Failed pending writes must not be rewritten over the removed node
+            writeSequence++;
+        }
 
+        LOG.trace("{}: Close device state removing all data.", id);
         try {
-            writeTx.submit().get();
+            batcher.newBatch().delete(id.getTopologyBindingPath()).submit().get();
         } catch (InterruptedException | ExecutionException e) {
-            LOG.error("{}: Transaction(close) {} FAILED!", id, writeTx.getIdentifier(), e);
+            LOG.error("{}: Transaction(close) FAILED!", id, e);
             throw new IllegalStateException(id + "  Transaction(close) not committed correctly", e);
         }
     }
 
-    private void createNetworkTopologyIfNotPresent(final WriteTransaction writeTx) {
+    private void createNetworkTopologyIfNotPresent(final TopologyUpdateBatcher.Batch batch) {
 
         final NetworkTopology networkTopology = new NetworkTopologyBuilder().build();
-        LOG.trace("{}: Merging {} container to ensure its presence", id,
-                NetworkTopology.QNAME, writeTx.getIdentifier());
-        writeTx.merge(LogicalDatastoreType.OPERATIONAL, networkTopologyPath, networkTopology);
+        LOG.trace("{}: Merging {} container to ensure its presence", id, NetworkTopology.QNAME);
+        batch.merge(networkTopologyPath, networkTopology);
 
         final Topology topology =
                 new TopologyBuilder().setTopologyId(new TopologyId(TopologyNetconf.QNAME.getLocalName())).build();
-        LOG.trace("{}: Merging {} container to ensure its presence", id,
-                Topology.QNAME, writeTx.getIdentifier());
-        writeTx.merge(LogicalDatastoreType.OPERATIONAL, topologyListPath, topology);
+        LOG.trace("{}: Merging {} container to ensure its presence", id, Topology.QNAME);
+        batch.merge(topologyListPath, topology);
     }
 
-    private void commitTransaction(final WriteTransaction transaction, final String txType) {
-        LOG.trace("{}: Committing Transaction {}:{}", id, txType,
-                transaction.getIdentifier());
-        final CheckedFuture<Void, TransactionCommitFailedException> result = transaction.submit();
-
-        Futures.addCallback(result, new FutureCallback<Void>() {
+    private void commitTransaction(final TopologyUpdateBatcher.Batch batch, final String txType) {
+        LOG.trace("{}: Committing Transaction {}", id, txType);
+        Futures.addCallback(batch.submit(), new FutureCallback<Void>() {
             @Override
             public void onSuccess(final Void result) {
-                LOG.trace("{}: Transaction({}) {} SUCCESSFUL", id, txType,
-                        transaction.getIdentifier());
+                LOG.trace("{}: Transaction({}) SUCCESSFUL", id, txType);
             }
 
             @Override
             public void onFailure(final Throwable throwable) {
-                LOG.error("{}: Transaction({}) {} FAILED!", id, txType,
-                        transaction.getIdentifier(), throwable);
-                throw new IllegalStateException(
-                        id + "  Transaction(" + txType + ") not committed correctly", throwable);
+                LOG.error("{}: Transaction({}) FAILED!", id, txType, throwable);
             }
         }, MoreExecutors.directExecutor());
     }
 
-    private static Node getNodeWithId(final RemoteDeviceId id) {
-        final NodeBuilder builder = getNodeIdBuilder(id);
-        return builder.build();
-    }
-
     private static NodeBuilder getNodeIdBuilder(final RemoteDeviceId id) {
         final NodeBuilder nodeBuilder = new NodeBuilder();
         nodeBuilder.setKey(new NodeKey(new NodeId(id.getName())));
@@ -265,6 +312,6 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
     }
 
     public void setTxChain(final BindingTransactionChain txChain) {
-        this.txChain = Preconditions.checkNotNull(txChain);
+        batcher.setTxChain(txChain);
     }
 }
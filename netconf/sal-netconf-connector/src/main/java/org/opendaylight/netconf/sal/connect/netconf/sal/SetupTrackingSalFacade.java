@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.CancellationException;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Salfacade tracking the first setup of a device. The session comes up long before the device schemas are resolved
+ * and the mountpoint is registered, so the connection admission is held until the device reports it is connected,
+ * failed or disconnected.
+ */
+public final class SetupTrackingSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
+
+    private final RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
+    private final SettableFuture<Void> setupFuture = SettableFuture.create();
+
+    public SetupTrackingSalFacade(final RemoteDeviceHandler<NetconfSessionPreferences> salFacade) {
+        this.salFacade = Preconditions.checkNotNull(salFacade);
+    }
+
+    /**
+     * Return future completing once the device is connected, or failing when its setup fails.
+     *
+     * @return device setup future
+     */
+    public ListenableFuture<Void> getSetupFuture() {
+        return setupFuture;
+    }
+
+    @Override
+    public void onDeviceConnected(final SchemaContext remoteSchemaContext,
+                                  final NetconfSessionPreferences netconfSessionPreferences,
+                                  final DOMRpcService deviceRpc) {
+        try {
+            salFacade.onDeviceConnected(remoteSchemaContext, netconfSessionPreferences, deviceRpc);
+        } finally {
+            setupFuture.set(null);
+        }
+    }
+
+    @Override
+    public void onDeviceDisconnected() {
+        try {
+            salFacade.onDeviceDisconnected();
+        } finally {
+            setupFuture.setException(new IllegalStateException("Device disconnected before its setup completed"));
+        }
+    }
+
+    @Override
+    public void onDeviceFailed(final Throwable throwable) {
+        try {
+            salFacade.onDeviceFailed(throwable);
+        } finally {
+            setupFuture.setException(throwable);
+        }
+    }
+
+    @Override
+    public void onNotification(final DOMNotification domNotification) {
+        salFacade.onNotification(domNotification);
+    }
+
+    @Override
+    public void close() {
+        try {
+            salFacade.close();
+        } finally {
+            setupFuture.setException(new CancellationException("Device closed before its setup completed"));
+        }
+    }
+}
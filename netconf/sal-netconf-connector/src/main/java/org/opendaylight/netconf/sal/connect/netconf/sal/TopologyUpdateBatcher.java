@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChain;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfTopologyStatisticsAugmentation;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfTopologyStatisticsAugmentationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.topology.statistics.DeviceStateUpdatesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.network.topology.topology.topology.types.TopologyNetconf;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes operational state of NETCONF devices. Writes submitted within a short window are coalesced into a single
+ * transaction on a transaction chain shared by all devices, a put or delete supersedes any pending write of the same
+ * or a nested path. Deletes are flushed immediately, so that device removal stays synchronous for its callers.
+ *
+ * <p>
+ * Batchers created for a data broker are owned by the topology, which closes them when it is closed. They own their
+ * transaction chain, recreate it when it fails and periodically export their update statistics into the netconf
+ * topology. Batchers wrapping a transaction chain supplied by the caller write every submitted batch in its own
+ * transaction.
+ *
+ * <p>
+ * Data written by {@link Batch#mergeRetained(InstanceIdentifier, DataObject)}, such as statistics maintained next to
+ * the device state, is merged again after every later put of an enclosing path, until a delete removes it.
+ */
+public final class TopologyUpdateBatcher implements TransactionChainListener, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TopologyUpdateBatcher.class);
+
+    private static final long DEFAULT_BATCH_WINDOW_MILLIS = 20;
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final long STATISTICS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final InstanceIdentifier<NetconfTopologyStatisticsAugmentation> STATISTICS_PATH =
+            InstanceIdentifier.create(NetworkTopology.class)
+                    .child(Topology.class, new TopologyKey(new TopologyId(TopologyNetconf.QNAME.getLocalName())))
+                    .augmentation(NetconfTopologyStatisticsAugmentation.class);
+
+    private final DataBroker dataBroker;
+    private final Timer timer;
+    private final long batchWindowMillis;
+
+    @GuardedBy("this")
+    private BindingTransactionChain txChain;
+    @GuardedBy("this")
+    private List<PendingWrite> pendingWrites = new ArrayList<>();
+    @GuardedBy("this")
+    private final Map<InstanceIdentifier<?>, PendingWrite> retainedMerges = new LinkedHashMap<>();
+    @GuardedBy("this")
+    private SettableFuture<Void> pendingResult;
+    @GuardedBy("this")
+    private Timeout flushTimeout;
+    @GuardedBy("this")
+    private boolean closed;
+
+    @GuardedBy("this")
+    private long updatesSubmitted;
+    @GuardedBy("this")
+    private long updatesWritten;
+    @GuardedBy("this")
+    private long transactions;
+    @GuardedBy("this")
+    private long updateRate;
+    @GuardedBy("this")
+    private long lastStatisticsNanos = System.nanoTime();
+    @GuardedBy("this")
+    private long lastStatisticsSubmitted;
+
+    public TopologyUpdateBatcher(final DataBroker dataBroker, final Timer timer) {
+        this(dataBroker, timer, DEFAULT_BATCH_WINDOW_MILLIS);
+    }
+
+    TopologyUpdateBatcher(final DataBroker dataBroker, final Timer timer, final long batchWindowMillis) {
+        this.dataBroker = Preconditions.checkNotNull(dataBroker);
+        this.timer = Preconditions.checkNotNull(timer);
+        this.batchWindowMillis = batchWindowMillis;
+        this.txChain = dataBroker.createTransactionChain(this);
+    }
+
+    TopologyUpdateBatcher(final BindingTransactionChain txChain) {
+        this.dataBroker = null;
+        this.timer = null;
+        this.batchWindowMillis = 0;
+        this.txChain = Preconditions.checkNotNull(txChain);
+    }
+
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    synchronized void setTxChain(final BindingTransactionChain txChain) {
+        this.txChain = Preconditions.checkNotNull(txChain);
+    }
+
+    public synchronized long getUpdatesSubmitted() {
+        return updatesSubmitted;
+    }
+
+    public synchronized long getUpdatesWritten() {
+        return updatesWritten;
+    }
+
+    public synchronized long getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Get the number of submitted updates per second, measured over the last statistics interval.
+     */
+    public synchronized long getUpdateRate() {
+        return updateRate;
+    }
+
+    private ListenableFuture<Void> submit(final List<PendingWrite> writes, final boolean immediate) {
+        final ListenableFuture<Void> result;
+        final Runnable completion;
+        synchronized (this) {
+            Preconditions.checkState(!closed, "Topology update batcher is closed");
+
+            for (final PendingWrite write : writes) {
+                if (write.supersedesNested()) {
+                    pendingWrites.removeIf(pending -> write.path.contains(pending.path));
+                }
+                if (write.operation == Operation.DELETE) {
+                    retainedMerges.keySet().removeIf(write.path::contains);
+                } else if (write.retained) {
+                    retainedMerges.put(write.path, write);
+                }
+                pendingWrites.add(write);
+            }
+            updatesSubmitted += writes.size();
+
+            if (pendingResult == null) {
+                pendingResult = SettableFuture.create();
+            }
+            result = pendingResult;
+
+            if (immediate || batchWindowMillis == 0 || pendingWrites.size() >= MAX_BATCH_SIZE) {
+                completion = flush();
+            } else {
+                if (flushTimeout == null) {
+                    flushTimeout = timer.newTimeout(timeout -> flushFromTimer(), batchWindowMillis,
+                        TimeUnit.MILLISECONDS);
+                }
+                completion = null;
+            }
+        }
+
+        if (completion != null) {
+            completion.run();
+        }
+        return result;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void flushFromTimer() {
+        final Runnable completion;
+        synchronized (this) {
+            flushTimeout = null;
+            completion = flush();
+        }
+
+        try {
+            completion.run();
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to write batch of device state updates", e);
+        }
+    }
+
+    /**
+     * Write pending writes in a new transaction. The returned task completes the future of the writes and has to be
+     * run once the lock is released, so that callbacks of the submitters do not run under it.
+     */
+    @GuardedBy("this")
+    private Runnable flush() {
+        if (flushTimeout != null) {
+            flushTimeout.cancel();
+            flushTimeout = null;
+        }
+        if (pendingWrites.isEmpty()) {
+            return () -> { };
+        }
+
+        final List<PendingWrite> writes = pendingWrites;
+        final SettableFuture<Void> result = pendingResult;
+        pendingWrites = new ArrayList<>();
+        pendingResult = null;
+
+        final CheckedFuture<Void, TransactionCommitFailedException> submit;
+        try {
+            final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
+            writes.forEach(write -> write.apply(writeTx));
+            // A put replaces retained data of nested paths, merge it back
+            retainedMerges.values().stream()
+                .filter(retained -> writes.stream().anyMatch(write -> write.operation == Operation.PUT
+                    && write.path.contains(retained.path)))
+                .forEach(retained -> retained.apply(writeTx));
+            updatesWritten += writes.size();
+            transactions++;
+            updateStatistics(writeTx);
+
+            LOG.trace("Committing transaction {} with {} device state updates", writeTx.getIdentifier(),
+                    writes.size());
+            submit = writeTx.submit();
+        } catch (final IllegalStateException e) {
+            return () -> {
+                result.setException(e);
+                throw e;
+            };
+        }
+
+        Futures.addCallback(submit, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void notUsed) {
+                LOG.trace("Batch of {} device state updates committed", writes.size());
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.warn("Batch of {} device state updates failed to commit", writes.size(), throwable);
+            }
+        }, MoreExecutors.directExecutor());
+        return () -> result.setFuture(submit);
+    }
+
+    @GuardedBy("this")
+    private void updateStatistics(final WriteTransaction writeTx) {
+        final long now = System.nanoTime();
+        final long elapsed = now - lastStatisticsNanos;
+        if (elapsed < STATISTICS_INTERVAL_NANOS) {
+            return;
+        }
+
+        updateRate = (updatesSubmitted - lastStatisticsSubmitted) * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        lastStatisticsNanos = now;
+        lastStatisticsSubmitted = updatesSubmitted;
+        LOG.debug("Device state updates: {} submitted, {} written in {} transactions, {} updates/s",
+                updatesSubmitted, updatesWritten, transactions, updateRate);
+
+        // Only export statistics of batchers owned by a topology, callers supplying their own chain may not have the
+        // netconf topology model available
+        if (dataBroker != null) {
+            writeTx.merge(LogicalDatastoreType.OPERATIONAL, STATISTICS_PATH,
+                new NetconfTopologyStatisticsAugmentationBuilder().setDeviceStateUpdates(new DeviceStateUpdatesBuilder()
+                    .setUpdatesSubmitted(updatesSubmitted)
+                    .setUpdatesWritten(updatesWritten)
+                    .setTransactions(transactions)
+                    .setUpdatesPerSecond(updateRate)
+                    .build()).build(), true);
+        }
+    }
+
+    @Override
+    public synchronized void onTransactionChainFailed(final TransactionChain<?, ?> chain,
+                                                      final AsyncTransaction<?, ?> transaction,
+                                                      final Throwable cause) {
+        LOG.error("TransactionChain({}) {} FAILED!", chain, transaction.getIdentifier(), cause);
+        chain.close();
+        if (!closed && dataBroker != null) {
+            txChain = dataBroker.createTransactionChain(this);
+            LOG.trace("Resetting TransactionChain {}", txChain);
+        }
+    }
+
+    @Override
+    public void onTransactionChainSuccessful(final TransactionChain<?, ?> chain) {
+        LOG.trace("TransactionChain({}) SUCCESSFUL", chain);
+    }
+
+    @Override
+    public void close() {
+        final Runnable completion;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            completion = flush();
+            closed = true;
+            retainedMerges.clear();
+            txChain.close();
+        }
+        completion.run();
+    }
+
+    /**
+     * Writes of a single device which are committed together.
+     */
+    public final class Batch {
+        private final List<PendingWrite> writes = new ArrayList<>();
+        private boolean immediate;
+
+        private Batch() {
+        }
+
+        public <T extends DataObject> Batch put(final InstanceIdentifier<T> path, final T data) {
+            writes.add(new PendingWrite(Operation.PUT, path, data, false));
+            return this;
+        }
+
+        public <T extends DataObject> Batch putWithParents(final InstanceIdentifier<T> path, final T data) {
+            writes.add(new PendingWrite(Operation.PUT, path, data, true));
+            return this;
+        }
+
+        public <T extends DataObject> Batch merge(final InstanceIdentifier<T> path, final T data) {
+            writes.add(new PendingWrite(Operation.MERGE, path, data, false));
+            return this;
+        }
+
+        public <T extends DataObject> Batch mergeWithParents(final InstanceIdentifier<T> path, final T data) {
+            writes.add(new PendingWrite(Operation.MERGE, path, data, true));
+            return this;
+        }
+
+        /**
+         * Merge data, creating missing parents, and merge it again after every later put of an enclosing path. The
+         * last data retained for a path replaces the previous one, a delete of the path or its parent drops it.
+         */
+        public <T extends DataObject> Batch mergeRetained(final InstanceIdentifier<T> path, final T data) {
+            writes.add(new PendingWrite(Operation.MERGE, path, data, true, true));
+            return this;
+        }
+
+        public Batch delete(final InstanceIdentifier<?> path) {
+            writes.add(new PendingWrite(Operation.DELETE, path, null, false));
+            immediate = true;
+            return this;
+        }
+
+        /**
+         * Submit the writes. The returned future completes once the transaction containing them is committed.
+         */
+        public ListenableFuture<Void> submit() {
+            return TopologyUpdateBatcher.this.submit(writes, immediate);
+        }
+    }
+
+    private enum Operation {
+        PUT, MERGE, DELETE
+    }
+
+    private static final class PendingWrite {
+        private final Operation operation;
+        private final InstanceIdentifier<?> path;
+        private final DataObject data;
+        private final boolean createMissingParents;
+        private final boolean retained;
+
+        PendingWrite(final Operation operation, final InstanceIdentifier<?> path, final DataObject data,
+                     final boolean createMissingParents) {
+            this(operation, path, data, createMissingParents, false);
+        }
+
+        PendingWrite(final Operation operation, final InstanceIdentifier<?> path, final DataObject data,
+                     final boolean createMissingParents, final boolean retained) {
+            this.operation = operation;
+            this.path = Preconditions.checkNotNull(path);
+            this.data = data;
+            this.createMissingParents = createMissingParents;
+            this.retained = retained;
+        }
+
+        boolean supersedesNested() {
+            return operation != Operation.MERGE;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void apply(final WriteTransaction writeTx) {
+            final InstanceIdentifier rawPath = path;
+            switch (operation) {
+                case PUT:
+                    if (createMissingParents) {
+                        writeTx.put(LogicalDatastoreType.OPERATIONAL, rawPath, data, true);
+                    } else {
+                        writeTx.put(LogicalDatastoreType.OPERATIONAL, rawPath, data);
+                    }
+                    break;
+                case MERGE:
+                    if (createMissingParents) {
+                        writeTx.merge(LogicalDatastoreType.OPERATIONAL, rawPath, data, true);
+                    } else {
+                        writeTx.merge(LogicalDatastoreType.OPERATIONAL, rawPath, data);
+                    }
+                    break;
+                case DELETE:
+                    writeTx.delete(LogicalDatastoreType.OPERATIONAL, path);
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled operation " + operation);
+            }
+        }
+    }
+}
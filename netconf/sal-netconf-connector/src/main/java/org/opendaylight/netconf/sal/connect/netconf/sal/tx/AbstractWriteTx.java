@@ -27,19 +27,22 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.opendaylight.yangtools.yang.data.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.MixinNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class AbstractWriteTx implements DOMDataWriteTransaction {
+public abstract class AbstractWriteTx implements DOMDataWriteTransaction, OrderedWriteTransaction {
 
     private static final Logger LOG  = LoggerFactory.getLogger(AbstractWriteTx.class);
 
@@ -109,6 +112,20 @@ public abstract class AbstractWriteTx implements DOMDataWriteTransaction {
         editConfig(path, Optional.fromNullable(data), editStructure, Optional.of(ModifyAction.NONE), "put");
     }
 
+    @Override
+    public synchronized void insert(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data,
+                                    final Position position, final Optional<PathArgument> point) {
+        checkEditable(LogicalDatastoreType.CONFIGURATION);
+
+        // Entry is replaced and positioned by the device, other entries are not touched
+        final DataContainerChild<?, ?> editStructure =
+                netOps.createEditConfigStrcture(Optional.<NormalizedNode<?, ?>>of(data),
+                        Optional.of(ModifyAction.REPLACE), path);
+        NetconfMessageTransformUtil.addInsertAttributes(editStructure, position, point);
+        editConfig(path, Optional.<NormalizedNode<?, ?>>of(data), editStructure, Optional.of(ModifyAction.NONE),
+                "insert");
+    }
+
     @Override
     public synchronized void merge(final LogicalDatastoreType store, final YangInstanceIdentifier path,
                                    final NormalizedNode<?, ?> data) {
@@ -13,6 +13,8 @@ import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.Set;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
@@ -20,13 +22,15 @@ import org.opendaylight.mdsal.common.api.MappingCheckedFuture;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfRpcFutureCallback;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.util.FieldsAwareReadTransaction;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
-public final class ReadOnlyTx implements DOMDataReadOnlyTransaction {
+public final class ReadOnlyTx implements DOMDataReadOnlyTransaction, FieldsAwareReadTransaction {
 
     private static final Logger LOG  = LoggerFactory.getLogger(ReadOnlyTx.class);
 
@@ -54,6 +58,19 @@ public final class ReadOnlyTx implements DOMDataReadOnlyTransaction {
         return MappingCheckedFuture.create(configCandidate, ReadFailedException.MAPPER);
     }
 
+    @Override
+    public ListenableFuture<Optional<NormalizedNode<?, ?>>> readConfigurationData(final YangInstanceIdentifier path,
+                                                                                  final List<Set<QName>> fields) {
+        return netconfOps.getConfigRunningData(new NetconfRpcFutureCallback("Data read", id),
+                Optional.fromNullable(path), fields);
+    }
+
+    @Override
+    public ListenableFuture<Optional<NormalizedNode<?, ?>>> readOperationalData(final YangInstanceIdentifier path,
+                                                                                final List<Set<QName>> fields) {
+        return netconfOps.getData(new NetconfRpcFutureCallback("Data read", id), Optional.fromNullable(path), fields);
+    }
+
     @Override
     public void close() {
         // NOOP
@@ -9,6 +9,7 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal.tx;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.controller.md.sal.common.api.TransactionStatus;
@@ -18,11 +19,13 @@ import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFaile
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
-public class ReadWriteTx implements DOMDataReadWriteTransaction {
+public class ReadWriteTx implements DOMDataReadWriteTransaction, OrderedWriteTransaction {
 
     private final DOMDataReadTransaction delegateReadTx;
     private final DOMDataWriteTransaction delegateWriteTx;
@@ -49,6 +52,14 @@ public class ReadWriteTx implements DOMDataReadWriteTransaction {
         delegateWriteTx.merge(store, path, data);
     }
 
+    @Override
+    public void insert(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data, final Position position,
+                       final Optional<PathArgument> point) {
+        Preconditions.checkState(delegateWriteTx instanceof OrderedWriteTransaction,
+                "Write transaction %s does not support ordered insert", delegateWriteTx);
+        ((OrderedWriteTransaction) delegateWriteTx).insert(path, data, position, point);
+    }
+
     @Override
     public void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         delegateWriteTx.delete(store, path);
@@ -34,6 +34,9 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade.KeepaliveDOMRpcService;
@@ -177,12 +180,19 @@ public final class NetconfBaseOps {
 
     public ListenableFuture<DOMRpcResult> getConfig(final FutureCallback<DOMRpcResult> callback, final QName datastore,
                                                     final Optional<YangInstanceIdentifier> filterPath) {
+        return getConfig(callback, datastore, filterPath, Collections.emptyList());
+    }
+
+    public ListenableFuture<DOMRpcResult> getConfig(final FutureCallback<DOMRpcResult> callback, final QName datastore,
+                                                    final Optional<YangInstanceIdentifier> filterPath,
+                                                    final List<Set<QName>> fields) {
         Preconditions.checkNotNull(callback);
         Preconditions.checkNotNull(datastore);
 
         final ListenableFuture<DOMRpcResult> future;
         if (isFilterPresent(filterPath)) {
-            final DataContainerChild<?, ?> node = transformer.toFilterStructure(filterPath.get());
+            final DataContainerChild<?, ?> node = fields.isEmpty() ? transformer.toFilterStructure(filterPath.get())
+                    : transformer.toFilterStructure(filterPath.get(), fields);
             future = rpc.invokeRpc(toPath(NETCONF_GET_CONFIG_QNAME),
                             NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME, getSourceNode(datastore), node));
         } else {
@@ -200,12 +210,41 @@ public final class NetconfBaseOps {
         return extractData(filterPath, configRunning);
     }
 
+    /**
+     * Read data from running datastore, limited to selected child nodes of data at filter path.
+     * @param callback callback of the rpc
+     * @param filterPath path of data to read
+     * @param fields selected child nodes organized into levels, transferred as subtree filter
+     * @return future of data
+     */
+    public ListenableFuture<Optional<NormalizedNode<?, ?>>> getConfigRunningData(
+            final FutureCallback<DOMRpcResult> callback, final Optional<YangInstanceIdentifier> filterPath,
+            final List<Set<QName>> fields) {
+        final ListenableFuture<DOMRpcResult> configRunning = getConfig(callback, NETCONF_RUNNING_QNAME, filterPath,
+                fields);
+        return extractData(filterPath, configRunning);
+    }
+
     public ListenableFuture<Optional<NormalizedNode<?, ?>>> getData(final FutureCallback<DOMRpcResult> callback,
                                                                     final Optional<YangInstanceIdentifier> filterPath) {
         final ListenableFuture<DOMRpcResult> configRunning = get(callback, filterPath);
         return extractData(filterPath, configRunning);
     }
 
+    /**
+     * Read state and configuration data, limited to selected child nodes of data at filter path.
+     * @param callback callback of the rpc
+     * @param filterPath path of data to read
+     * @param fields selected child nodes organized into levels, transferred as subtree filter
+     * @return future of data
+     */
+    public ListenableFuture<Optional<NormalizedNode<?, ?>>> getData(final FutureCallback<DOMRpcResult> callback,
+                                                                    final Optional<YangInstanceIdentifier> filterPath,
+                                                                    final List<Set<QName>> fields) {
+        final ListenableFuture<DOMRpcResult> data = get(callback, filterPath, fields);
+        return extractData(filterPath, data);
+    }
+
     private ListenableFuture<Optional<NormalizedNode<?, ?>>> extractData(
             final Optional<YangInstanceIdentifier> path, final ListenableFuture<DOMRpcResult> configRunning) {
         return Futures.transform(configRunning, (Function<DOMRpcResult, Optional<NormalizedNode<?, ?>>>) result -> {
@@ -230,13 +269,19 @@ public final class NetconfBaseOps {
 
     public ListenableFuture<DOMRpcResult> get(final FutureCallback<DOMRpcResult> callback,
                                               final Optional<YangInstanceIdentifier> filterPath) {
+        return get(callback, filterPath, Collections.emptyList());
+    }
+
+    public ListenableFuture<DOMRpcResult> get(final FutureCallback<DOMRpcResult> callback,
+                                              final Optional<YangInstanceIdentifier> filterPath,
+                                              final List<Set<QName>> fields) {
         Preconditions.checkNotNull(callback);
 
         final ListenableFuture<DOMRpcResult> future;
 
         future = isFilterPresent(filterPath)
-                ? rpc.invokeRpc(toPath(NETCONF_GET_QNAME),
-                NetconfMessageTransformUtil.wrap(NETCONF_GET_QNAME, toFilterStructure(filterPath.get(), schemaContext)))
+                ? rpc.invokeRpc(toPath(NETCONF_GET_QNAME), NetconfMessageTransformUtil.wrap(NETCONF_GET_QNAME,
+                        toFilterStructure(filterPath.get(), fields, schemaContext)))
                 : rpc.invokeRpc(toPath(NETCONF_GET_QNAME), NetconfMessageTransformUtil.GET_RPC_CONTENT);
 
         Futures.addCallback(future, callback);
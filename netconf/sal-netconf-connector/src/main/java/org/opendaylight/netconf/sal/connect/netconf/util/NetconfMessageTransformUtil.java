@@ -19,8 +19,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import javax.xml.XMLConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.dom.DOMResult;
@@ -34,6 +37,7 @@ import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.sal.connect.util.MessageCounter;
 import org.opendaylight.netconf.util.NetconfUtil;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
 import org.opendaylight.netconf.util.messages.NetconfMessageUtil;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.base._1._0.rev110601.edit.config.input.EditContent;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.CreateSubscriptionInput;
@@ -47,8 +51,11 @@ import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.opendaylight.yangtools.yang.data.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -58,7 +65,14 @@ import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.SchemaOrderedNormalizedNodeWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -66,6 +80,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 public class NetconfMessageTransformUtil {
 
@@ -119,6 +134,8 @@ public class NetconfMessageTransformUtil {
     public static final QName NETCONF_VALIDATE_QNAME = QName.create(NETCONF_QNAME, "validate").intern();
     public static final QName NETCONF_COPY_CONFIG_QNAME = QName.create(NETCONF_QNAME, "copy-config").intern();
     public static final QName NETCONF_OPERATION_QNAME = QName.create(NETCONF_QNAME, "operation").intern();
+    public static final URI YANG_URI = URI.create("urn:ietf:params:xml:ns:yang:1");
+    private static final String YANG_PREFIX = "yang";
     public static final QName NETCONF_DEFAULT_OPERATION_QNAME =
             QName.create(NETCONF_OPERATION_QNAME, "default-operation").intern();
     public static final QName NETCONF_EDIT_CONFIG_QNAME = QName.create(NETCONF_QNAME, "edit-config").intern();
@@ -180,10 +197,38 @@ public class NetconfMessageTransformUtil {
 
     public static DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier identifier,
                                                              final SchemaContext ctx) {
+        return toFilterAnyxml(createFilterElement(identifier, ctx));
+    }
+
+    /**
+     * Create subtree filter selecting only given child nodes of data at path. Child nodes are organized into levels,
+     * the first set contains child nodes of the node at path, the second one their child nodes and so on. Nodes
+     * below the last level are selected entirely, as are nodes, which cannot be limited by a subtree filter.
+     *
+     * @param identifier path of data to select
+     * @param fields selected child nodes organized into levels
+     * @param ctx schema context
+     * @return filter structure
+     */
+    public static DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier identifier,
+                                                             final List<Set<QName>> fields,
+                                                             final SchemaContext ctx) {
+        final Element element = createFilterElement(identifier, ctx);
+        if (!fields.isEmpty()) {
+            appendSelectedFields(element, identifier, fields, ctx);
+        }
+        return toFilterAnyxml(element);
+    }
+
+    private static DataContainerChild<?, ?> toFilterAnyxml(final Element element) {
         final NormalizedNodeAttrBuilder<NodeIdentifier, DOMSource, AnyXmlNode> anyXmlBuilder =
                 Builders.anyXmlBuilder().withNodeIdentifier(toId(NETCONF_FILTER_QNAME));
         anyXmlBuilder.withAttributes(Collections.singletonMap(NETCONF_TYPE_QNAME, SUBTREE));
+        anyXmlBuilder.withValue(new DOMSource(element));
+        return anyXmlBuilder.build();
+    }
 
+    private static Element createFilterElement(final YangInstanceIdentifier identifier, final SchemaContext ctx) {
         final NormalizedNode<?, ?> filterContent = ImmutableNodes.fromInstanceId(ctx, identifier);
 
         final Element element = XmlUtil.createElement(BLANK_DOCUMENT, NETCONF_FILTER_QNAME.getLocalName(),
@@ -196,9 +241,79 @@ public class NetconfMessageTransformUtil {
         } catch (IOException | XMLStreamException e) {
             throw new IllegalStateException("Unable to serialize filter element for path " + identifier, e);
         }
-        anyXmlBuilder.withValue(new DOMSource(element));
+        return element;
+    }
 
-        return anyXmlBuilder.build();
+    private static void appendSelectedFields(final Element filter, final YangInstanceIdentifier identifier,
+                                             final List<Set<QName>> fields, final SchemaContext ctx) {
+        // find element of the node at path, mixin nodes have no elements
+        DataSchemaContextNode<?> current = DataSchemaContextTree.from(ctx).getRoot();
+        Element target = filter;
+        for (final PathArgument pathArgument : identifier.getPathArguments()) {
+            current = current.getChild(pathArgument);
+            if (current == null) {
+                return;
+            }
+            if (!current.isMixin()) {
+                target = findChildElement(target, pathArgument.getNodeType());
+                if (target == null) {
+                    return;
+                }
+            }
+        }
+
+        // whole list or leaf-list is selected by path, its entries cannot be limited
+        if (!current.isMixin() && current.getDataSchemaNode() instanceof DataNodeContainer) {
+            appendSelectedFields(target, (DataNodeContainer) current.getDataSchemaNode(), fields, 0);
+        }
+    }
+
+    private static void appendSelectedFields(final Element parent, final DataNodeContainer parentSchema,
+                                             final List<Set<QName>> fields, final int level) {
+        if (parentSchema instanceof ListSchemaNode) {
+            // entries are identified by their keys, which are selected even if not requested
+            for (final QName key : ((ListSchemaNode) parentSchema).getKeyDefinition()) {
+                if (findChildElement(parent, key) == null) {
+                    appendSelectionNode(parent, key);
+                }
+            }
+        }
+
+        final Set<QName> selected = fields.get(level);
+        for (final DataSchemaNode child : parentSchema.getChildNodes()) {
+            if (child instanceof ChoiceSchemaNode) {
+                // choice and case nodes have no elements, their children are on the same level
+                for (final ChoiceCaseNode caseNode : ((ChoiceSchemaNode) child).getCases()) {
+                    appendSelectedFields(parent, caseNode, fields, level);
+                }
+            } else if (selected.contains(child.getQName()) && findChildElement(parent, child.getQName()) == null) {
+                // key leaves of list entries are already present as content match or selection nodes
+                final Element element = appendSelectionNode(parent, child.getQName());
+
+                // empty element selects whole subtree of the node
+                if (child instanceof DataNodeContainer && level + 1 < fields.size()) {
+                    appendSelectedFields(element, (DataNodeContainer) child, fields, level + 1);
+                }
+            }
+        }
+    }
+
+    private static Element appendSelectionNode(final Element parent, final QName qname) {
+        final Element element = XmlUtil.createElement(parent.getOwnerDocument(), qname.getLocalName(),
+                Optional.of(qname.getNamespace().toString()));
+        parent.appendChild(element);
+        return element;
+    }
+
+    private static Element findChildElement(final Element parent, final QName qname) {
+        final String namespace = qname.getNamespace().toString();
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element && qname.getLocalName().equals(child.getLocalName())
+                    && namespace.equals(child.getNamespaceURI())) {
+                return (Element) child;
+            }
+        }
+        return null;
     }
 
     public static void checkValidReply(final NetconfMessage input, final NetconfMessage output)
@@ -328,6 +443,76 @@ public class NetconfMessageTransformUtil {
         return Builders.anyXmlBuilder().withNodeIdentifier(toId(NETCONF_CONFIG_QNAME)).withValue(value).build();
     }
 
+    /**
+     * Add YANG insert attributes to the element of edit-config structure, which carries the edit operation, so the
+     * device puts the entry of ordered-by user list or leaf-list at requested position.
+     *
+     * @param editStructure edit-config structure created for a put of the entry
+     * @param position position of the entry
+     * @param point identifier of sibling entry, required for positions before and after
+     */
+    public static void addInsertAttributes(final DataContainerChild<?, ?> editStructure,
+                                           final OrderedWriteTransaction.Position position,
+                                           final Optional<PathArgument> point) {
+        Preconditions.checkArgument(editStructure instanceof ChoiceNode, "Unexpected edit structure %s", editStructure);
+        final Optional<DataContainerChild<? extends PathArgument, ?>> config =
+                ((ChoiceNode) editStructure).getChild(toId(NETCONF_CONFIG_QNAME));
+        Preconditions.checkArgument(config.isPresent() && config.get() instanceof AnyXmlNode,
+                "Edit structure %s does not contain config", editStructure);
+        final Element target = findOperationElement((Element) ((AnyXmlNode) config.get()).getValue().getNode());
+        Preconditions.checkArgument(target != null, "Edit structure %s does not contain edit operation",
+                editStructure);
+
+        target.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, XMLConstants.XMLNS_ATTRIBUTE + ':' + YANG_PREFIX,
+                YANG_URI.toString());
+        target.setAttributeNS(YANG_URI.toString(), YANG_PREFIX + ":insert",
+                position.name().toLowerCase(Locale.ROOT));
+        if (position != OrderedWriteTransaction.Position.BEFORE && position != OrderedWriteTransaction.Position.AFTER) {
+            return;
+        }
+
+        Preconditions.checkArgument(point.isPresent(), "Point has to be present for position %s", position);
+        if (point.get() instanceof NodeIdentifierWithPredicates) {
+            // keys are qualified by prefixes declared on the entry itself
+            final StringBuilder key = new StringBuilder();
+            int index = 0;
+            for (final Entry<QName, Object> keyValue
+                    : ((NodeIdentifierWithPredicates) point.get()).getKeyValues().entrySet()) {
+                final String prefix = "key" + index++;
+                target.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, XMLConstants.XMLNS_ATTRIBUTE + ':' + prefix,
+                        keyValue.getKey().getNamespace().toString());
+                key.append('[').append(prefix).append(':').append(keyValue.getKey().getLocalName()).append('=')
+                        .append(quote(String.valueOf(keyValue.getValue()))).append(']');
+            }
+            target.setAttributeNS(YANG_URI.toString(), YANG_PREFIX + ":key", key.toString());
+        } else if (point.get() instanceof NodeWithValue) {
+            target.setAttributeNS(YANG_URI.toString(), YANG_PREFIX + ":value",
+                    String.valueOf(((NodeWithValue<?>) point.get()).getValue()));
+        } else {
+            throw new IllegalArgumentException("Point " + point.get() + " is not an entry of list or leaf-list");
+        }
+    }
+
+    private static Element findOperationElement(final Element element) {
+        if (element.hasAttributeNS(NETCONF_OPERATION_QNAME.getNamespace().toString(),
+                NETCONF_OPERATION_QNAME.getLocalName())) {
+            return element;
+        }
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                final Element found = findOperationElement((Element) child);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String quote(final String value) {
+        return value.indexOf('\'') == -1 ? '\'' + value + '\'' : '"' + value + '"';
+    }
+
     public static DataContainerChild<?, ?> createEditConfigStructure(
             final SchemaContext ctx, final YangInstanceIdentifier dataPath, final Optional<ModifyAction> operation,
             final Optional<NormalizedNode<?, ?>> lastChildOverride) {
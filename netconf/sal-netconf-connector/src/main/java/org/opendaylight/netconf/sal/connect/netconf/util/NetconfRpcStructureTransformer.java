@@ -8,6 +8,9 @@
 package org.opendaylight.netconf.sal.connect.netconf.util;
 
 import com.google.common.base.Optional;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
@@ -45,4 +48,10 @@ class NetconfRpcStructureTransformer implements RpcStructureTransformer {
     public DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier path) {
         return NetconfMessageTransformUtil.toFilterStructure(path, schemaContext);
     }
+
+    @Override
+    public DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier path,
+                                                      final List<Set<QName>> fields) {
+        return NetconfMessageTransformUtil.toFilterStructure(path, fields, schemaContext);
+    }
 }
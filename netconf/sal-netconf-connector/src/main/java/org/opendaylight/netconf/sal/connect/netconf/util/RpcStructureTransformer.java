@@ -8,6 +8,9 @@
 package org.opendaylight.netconf.sal.connect.netconf.util;
 
 import com.google.common.base.Optional;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
@@ -37,6 +40,14 @@ interface RpcStructureTransformer {
      */
     DataContainerChild<?,?> toFilterStructure(YangInstanceIdentifier path);
 
+    /**
+     * Transforms path to filter structure, which selects only given child nodes of data at path.
+     * @param path path
+     * @param fields selected child nodes organized into levels, the first level contains child nodes of data at path
+     * @return filter structure
+     */
+    DataContainerChild<?,?> toFilterStructure(YangInstanceIdentifier path, List<Set<QName>> fields);
+
     /**
      * Selects data specified by path from data node. Data must be product of get-config rpc with filter created by
      * {@link #toFilterStructure(YangInstanceIdentifier)} with same path.
@@ -14,6 +14,7 @@ import com.google.common.base.Preconditions;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
@@ -132,6 +133,19 @@ class SchemalessRpcStructureTransformer implements RpcStructureTransformer {
                 .build();
     }
 
+    /**
+     * Child nodes of data at path cannot be resolved without schema, so whole subtree at path is selected.
+     * @see RpcStructureTransformer#toFilterStructure(YangInstanceIdentifier, List)
+     * @param path path
+     * @param fields selected child nodes, ignored
+     * @return filter structure
+     */
+    @Override
+    public DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier path,
+                                                      final List<Set<QName>> fields) {
+        return toFilterStructure(path);
+    }
+
     private static void checkDataValidForPath(final YangInstanceIdentifier dataPath, final Element dataNode) {
         //if datapath is empty, consider dataNode to be a root node
         if (dataPath.equals(YangInstanceIdentifier.EMPTY)) {
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for device connection setups of a topology. In a clustered topology, it covers the devices
+ * mastered by the local member. At most {@code maxConcurrentSetups} devices are allowed to perform their connection
+ * handshake at the same time, the rest wait in a queue. Devices which were
+ * connected before are admitted ahead of devices which never connected. A device is remembered as connected once
+ * its setup succeeds, until it is {@link #remove(NodeId) removed} from the topology.
+ *
+ * <p>
+ * A setup holds its admission until the future returned by the setup completes, or until {@code setupTimeoutMillis}
+ * elapses, whichever comes first. The timeout makes sure unreachable devices, which keep retrying in the background,
+ * do not block the queue.
+ *
+ * <p>
+ * Only the initial setup of a connection is admitted. Once admitted, a device reconnects on its own when its session
+ * drops, so a mass disconnect of already connected devices is not limited by the scheduler.
+ *
+ * <p>
+ * Queue positions are reported to a listener, coalesced to at most one report per {@code reportIntervalMillis}.
+ * Nodes admitted since the last report are reported with position 0.
+ */
+@ThreadSafe
+public final class ConnectionAdmissionScheduler implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionAdmissionScheduler.class);
+
+    private static final long DEFAULT_REPORT_INTERVAL_MILLIS = 1000;
+
+    private final int maxConcurrentSetups;
+    private final long setupTimeoutMillis;
+    private final long reportIntervalMillis;
+    private final ScheduledExecutorService executor;
+
+    @GuardedBy("this")
+    private final Deque<PendingSetup<?>> priorityQueue = new ArrayDeque<>();
+    @GuardedBy("this")
+    private final Deque<PendingSetup<?>> queue = new ArrayDeque<>();
+    @GuardedBy("this")
+    private final Set<NodeId> admittedSinceReport = new HashSet<>();
+    @GuardedBy("this")
+    private final Set<NodeId> connectedNodes = new HashSet<>();
+    @GuardedBy("this")
+    private int activeSetups;
+    @GuardedBy("this")
+    private ScheduledFuture<?> reportFuture;
+    @GuardedBy("this")
+    private Consumer<Map<NodeId, Long>> positionListener;
+
+    private ConnectionAdmissionScheduler() {
+        this.maxConcurrentSetups = 0;
+        this.setupTimeoutMillis = 0;
+        this.reportIntervalMillis = 0;
+        this.executor = null;
+    }
+
+    public ConnectionAdmissionScheduler(final int maxConcurrentSetups, final long setupTimeoutMillis,
+                                        final ScheduledExecutorService executor) {
+        this(maxConcurrentSetups, setupTimeoutMillis, DEFAULT_REPORT_INTERVAL_MILLIS, executor);
+    }
+
+    public ConnectionAdmissionScheduler(final int maxConcurrentSetups, final long setupTimeoutMillis,
+                                        final long reportIntervalMillis, final ScheduledExecutorService executor) {
+        Preconditions.checkArgument(maxConcurrentSetups > 0, "Concurrent setup limit must be positive");
+        Preconditions.checkArgument(setupTimeoutMillis > 0, "Setup timeout must be positive");
+        this.maxConcurrentSetups = maxConcurrentSetups;
+        this.setupTimeoutMillis = setupTimeoutMillis;
+        this.reportIntervalMillis = reportIntervalMillis;
+        this.executor = Preconditions.checkNotNull(executor);
+    }
+
+    /**
+     * Create a scheduler, non-positive limit of concurrent setups means no limit.
+     *
+     * @param maxConcurrentSetups maximum number of concurrently admitted setups
+     * @param setupTimeoutMillis time after which an admitted setup gives up its admission
+     * @param executor executor used for timeouts and queue position reports
+     * @return new scheduler
+     */
+    public static ConnectionAdmissionScheduler create(final int maxConcurrentSetups, final long setupTimeoutMillis,
+                                                      final ScheduledExecutorService executor) {
+        return maxConcurrentSetups > 0
+                ? new ConnectionAdmissionScheduler(maxConcurrentSetups, setupTimeoutMillis, executor) : unlimited();
+    }
+
+    /**
+     * Create a scheduler which admits every setup immediately.
+     *
+     * @return unlimited scheduler
+     */
+    public static ConnectionAdmissionScheduler unlimited() {
+        return new ConnectionAdmissionScheduler();
+    }
+
+    public synchronized void setPositionListener(final Consumer<Map<NodeId, Long>> positionListener) {
+        this.positionListener = positionListener;
+    }
+
+    /**
+     * Submit a connection setup. The setup is invoked once the node is admitted, nodes whose earlier setup succeeded
+     * are admitted first.
+     *
+     * @param nodeId node being connected
+     * @param setup connection setup, the returned future has to complete once the connection is established
+     * @return future completing with the result of the future returned by setup
+     */
+    public <T> ListenableFuture<T> submit(final NodeId nodeId, final Supplier<ListenableFuture<T>> setup) {
+        if (maxConcurrentSetups == 0) {
+            return setup.get();
+        }
+
+        final PendingSetup<T> pending = new PendingSetup<>(nodeId, setup);
+        synchronized (this) {
+            if (connectedNodes.contains(nodeId)) {
+                priorityQueue.addLast(pending);
+            } else {
+                queue.addLast(pending);
+            }
+            scheduleReport();
+            LOG.debug("Connection setup of {} queued, {} setups waiting", nodeId,
+                    priorityQueue.size() + queue.size());
+        }
+        admitPending();
+        return pending.result;
+    }
+
+    /**
+     * Remove a node from the queue, its setup will not be invoked. Does nothing if the node was already admitted.
+     *
+     * @param nodeId node to remove
+     */
+    public void cancel(final NodeId nodeId) {
+        final List<PendingSetup<?>> removed = new ArrayList<>();
+        synchronized (this) {
+            removeFromQueue(priorityQueue, nodeId, removed);
+            removeFromQueue(queue, nodeId, removed);
+            admittedSinceReport.remove(nodeId);
+            if (!removed.isEmpty()) {
+                scheduleReport();
+            }
+        }
+        removed.forEach(pending -> pending.result.cancel(false));
+    }
+
+    /**
+     * Remove a node deleted from the topology. Its waiting setup is cancelled like by {@link #cancel(NodeId)} and
+     * the node is no longer considered previously connected, should it be added again.
+     *
+     * @param nodeId node to remove
+     */
+    public void remove(final NodeId nodeId) {
+        synchronized (this) {
+            connectedNodes.remove(nodeId);
+        }
+        cancel(nodeId);
+    }
+
+    /**
+     * Return the current queue position of every waiting node, 1 being the next node to be admitted.
+     *
+     * @return queue positions
+     */
+    public synchronized Map<NodeId, Long> getQueuePositions() {
+        final Map<NodeId, Long> positions = new HashMap<>();
+        long position = 1;
+        for (final PendingSetup<?> pending : priorityQueue) {
+            positions.put(pending.nodeId, position++);
+        }
+        for (final PendingSetup<?> pending : queue) {
+            positions.put(pending.nodeId, position++);
+        }
+        return positions;
+    }
+
+    public synchronized int getActiveSetups() {
+        return activeSetups;
+    }
+
+    @Override
+    public void close() {
+        final List<PendingSetup<?>> removed = new ArrayList<>();
+        synchronized (this) {
+            removed.addAll(priorityQueue);
+            removed.addAll(queue);
+            priorityQueue.clear();
+            queue.clear();
+            if (reportFuture != null) {
+                reportFuture.cancel(false);
+                reportFuture = null;
+            }
+        }
+        removed.forEach(pending -> pending.result.cancel(false));
+    }
+
+    private void admitPending() {
+        while (true) {
+            final PendingSetup<?> pending;
+            synchronized (this) {
+                if (activeSetups >= maxConcurrentSetups) {
+                    return;
+                }
+                pending = priorityQueue.isEmpty() ? queue.pollFirst() : priorityQueue.pollFirst();
+                if (pending == null) {
+                    return;
+                }
+                activeSetups++;
+                admittedSinceReport.add(pending.nodeId);
+                scheduleReport();
+            }
+            start(pending);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private <T> void start(final PendingSetup<T> pending) {
+        LOG.debug("Connection setup of {} admitted", pending.nodeId);
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                synchronized (this) {
+                    activeSetups--;
+                }
+                admitPending();
+            }
+        };
+        final ScheduledFuture<?> timeout = executor.schedule(release, setupTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        final ListenableFuture<T> future;
+        try {
+            future = pending.setup.get();
+        } catch (final RuntimeException e) {
+            LOG.warn("Connection setup of {} failed", pending.nodeId, e);
+            timeout.cancel(false);
+            pending.result.setException(e);
+            release.run();
+            return;
+        }
+
+        pending.result.setFuture(future);
+        final Runnable complete = () -> {
+            timeout.cancel(false);
+            release.run();
+        };
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(final T result) {
+                synchronized (ConnectionAdmissionScheduler.this) {
+                    connectedNodes.add(pending.nodeId);
+                }
+                complete.run();
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                complete.run();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    @GuardedBy("this")
+    private void scheduleReport() {
+        if (positionListener != null && reportFuture == null) {
+            reportFuture = executor.schedule(this::report, reportIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void report() {
+        final Map<NodeId, Long> positions;
+        final Consumer<Map<NodeId, Long>> listener;
+        synchronized (this) {
+            reportFuture = null;
+            positions = getQueuePositions();
+            admittedSinceReport.forEach(nodeId -> positions.putIfAbsent(nodeId, 0L));
+            admittedSinceReport.clear();
+            listener = positionListener;
+        }
+
+        if (listener != null && !positions.isEmpty()) {
+            try {
+                listener.accept(positions);
+            } catch (final RuntimeException e) {
+                LOG.warn("Failed to report connection queue positions", e);
+            }
+        }
+    }
+
+    private static void removeFromQueue(final Deque<PendingSetup<?>> queue, final NodeId nodeId,
+                                        final List<PendingSetup<?>> removed) {
+        final Iterator<PendingSetup<?>> it = queue.iterator();
+        while (it.hasNext()) {
+            final PendingSetup<?> pending = it.next();
+            if (pending.nodeId.equals(nodeId)) {
+                it.remove();
+                removed.add(pending);
+            }
+        }
+    }
+
+    private static final class PendingSetup<T> {
+        private final NodeId nodeId;
+        private final Supplier<ListenableFuture<T>> setup;
+        private final SettableFuture<T> result = SettableFuture.create();
+
+        PendingSetup(final NodeId nodeId, final Supplier<ListenableFuture<T>> setup) {
+            this.nodeId = nodeId;
+            this.setup = setup;
+        }
+    }
+}
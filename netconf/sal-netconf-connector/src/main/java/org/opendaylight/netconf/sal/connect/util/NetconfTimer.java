@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed wheel timer shared by all devices of a topology for keepalives, request timeouts and batched device state
+ * updates. Unlike a ScheduledThreadPoolExecutor, adding and cancelling a timeout is O(1) and does not contend on
+ * a shared heap, which matters with thousands of devices and many in-flight requests. Timer tasks run on the single
+ * timer thread and must not block.
+ *
+ * <p>
+ * The timer is owned by the topology which created it, closing it stops the timer thread and drops all pending
+ * timeouts.
+ */
+public final class NetconfTimer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfTimer.class);
+
+    // Keepalives and request timeouts are specified in seconds and milliseconds respectively, 10ms precision is
+    // more than enough for both
+    private static final long TICK_DURATION_MILLIS = 10;
+    private static final int TICKS_PER_WHEEL = 1024;
+
+    private final HashedWheelTimer timer;
+
+    public NetconfTimer(final String name) {
+        this.timer = new HashedWheelTimer(new ThreadFactoryBuilder()
+                .setNameFormat("netconf-timer-" + name + "-%d").setDaemon(true).build(),
+                TICK_DURATION_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
+    @Override
+    public void close() {
+        final Set<Timeout> unexpired = timer.stop();
+        LOG.debug("Netconf timer stopped, {} timeouts dropped", unexpired.size());
+    }
+}
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
@@ -17,17 +19,21 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.util.HashedWheelTimer;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.Matchers;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
@@ -36,6 +42,7 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommun
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.KeepaliveProbe;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -51,7 +58,10 @@ public class KeepaliveSalFacadeTest {
     @Mock
     private RemoteDeviceHandler<NetconfSessionPreferences> underlyingSalFacade;
 
-    private ScheduledExecutorService executorServiceSpy;
+    private static final String EXECUTOR_THREAD = "keepalive-test";
+
+    private HashedWheelTimer timer;
+    private ExecutorService executor;
 
     @Mock
     private NetconfDeviceCommunicator listener;
@@ -60,14 +70,12 @@ public class KeepaliveSalFacadeTest {
 
     private DOMRpcService proxyRpc;
 
-    @Mock
-    private ScheduledFuture currentKeepalive;
-
     private KeepaliveSalFacade keepaliveSalFacade;
 
     @Before
     public void setUp() throws Exception {
-        executorServiceSpy = Executors.newScheduledThreadPool(1);
+        timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(EXECUTOR_THREAD).build());
 
         MockitoAnnotations.initMocks(this);
 
@@ -76,25 +84,15 @@ public class KeepaliveSalFacadeTest {
         doNothing().when(underlyingSalFacade).onDeviceConnected(
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
-        ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
-        executorServiceSpy = Mockito.spy(executorService);
-
-        doAnswer(
-            invocationOnMock -> {
-                invocationOnMock.callRealMethod();
-                return currentKeepalive;
-            }).when(executorServiceSpy).schedule(Mockito.<Runnable>any(), Mockito.anyLong(), Matchers.any());
-
-        Mockito.when(currentKeepalive.isDone()).thenReturn(true);
-
         keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 1L, 1L);
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, timer, executor, 1L, 1L);
         keepaliveSalFacade.setListener(listener);
     }
 
     @After
     public void tearDown() throws Exception {
-        executorServiceSpy.shutdownNow();
+        timer.stop();
+        executor.shutdownNow();
     }
 
     @Test
@@ -106,7 +104,7 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 1L, 1L);
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, timer, executor, 1L, 1L);
         keepaliveSalFacade.setListener(listener);
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
@@ -115,6 +113,7 @@ public class KeepaliveSalFacadeTest {
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
         verify(deviceRpc, timeout(15000).times(5)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        assertTrue(keepaliveSalFacade.getKeepaliveStatistics().getProbesSent() >= 5);
     }
 
     @Test
@@ -124,7 +123,7 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 1L, 1L);
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, timer, executor, 1L, 1L);
         keepaliveSalFacade.setListener(listener);
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
@@ -155,6 +154,73 @@ public class KeepaliveSalFacadeTest {
         verify(deviceRpc, timeout(15000).times(1)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
     }
 
+    @Test
+    public void testKeepaliveSkippedWhileActive() throws Exception {
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+
+        for (int i = 0; i < 15; i++) {
+            keepaliveSalFacade.resetKeepalive();
+            Thread.sleep(100);
+        }
+
+        verify(deviceRpc, times(0)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+    }
+
+    @Test
+    public void testKeepaliveSkippedOnInboundTraffic() throws Exception {
+        doAnswer(invocationOnMock -> System.nanoTime()).when(listener).getLastInboundTrafficNanos();
+
+        final KeepaliveSalFacade keepaliveSalFacade = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade,
+                timer, executor, 1L, 1L, true, KeepaliveProbe.Auto);
+        keepaliveSalFacade.setListener(listener);
+
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        Thread.sleep(1500);
+
+        verify(deviceRpc, times(0)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        assertTrue(keepaliveSalFacade.getKeepaliveStatistics().getProbesSkipped() > 0);
+    }
+
+    @Test
+    public void testOutstandingKeepaliveNotTimedOutOnInboundTraffic() throws Exception {
+        doReturn(Futures.makeChecked(SettableFuture.<DOMRpcResult>create(),
+            cause -> new DOMRpcImplementationNotAvailableException(cause, "Rpc failed")))
+                .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final KeepaliveSalFacade keepaliveSalFacade = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade,
+                timer, executor, 1L, 1L, true, KeepaliveProbe.Auto);
+        keepaliveSalFacade.setListener(listener);
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        verify(deviceRpc, timeout(5000)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        // the reply is still outstanding, but the device keeps sending data
+        doAnswer(invocationOnMock -> System.nanoTime()).when(listener).getLastInboundTrafficNanos();
+        Thread.sleep(1500);
+
+        verify(listener, times(0)).disconnect();
+        verify(deviceRpc, times(1)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+    }
+
+    @Test
+    public void testKeepaliveReplySize() throws Exception {
+        final DOMRpcResult result = new DefaultDOMRpcResult(Builders.containerBuilder().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME)).build());
+        doReturn(Futures.immediateCheckedFuture(result))
+                .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        doReturn(42L).when(listener).getLastMessageBytes();
+
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        verify(deviceRpc, timeout(5000)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (keepaliveSalFacade.getKeepaliveStatistics().getLastReplySize() == null
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertEquals(Long.valueOf(42), keepaliveSalFacade.getKeepaliveStatistics().getLastReplySize());
+        assertEquals(Long.valueOf(42), keepaliveSalFacade.getKeepaliveStatistics().getAverageReplySize());
+    }
+
     @Test
     public void testNonKeepaliveRpcFailure() throws Exception {
         doAnswer(
@@ -168,7 +234,7 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 100L, 1L);
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, timer, executor, 100L, 1L);
         keepaliveSalFacade.setListener(listener);
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
@@ -177,4 +243,34 @@ public class KeepaliveSalFacadeTest {
 
         verify(listener, times(1)).disconnect();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRequestTimeoutCancelledOnExecutor() throws Exception {
+        doAnswer(
+            invocationOnMock -> {
+                proxyRpc = (DOMRpcService) invocationOnMock.getArguments()[2];
+                return null;
+            }).when(underlyingSalFacade).onDeviceConnected(
+                any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
+
+        final SettableFuture<DOMRpcResult> rpcResult = SettableFuture.create();
+        final AtomicReference<String> cancellingThread = new AtomicReference<>();
+        rpcResult.addListener(() -> cancellingThread.set(Thread.currentThread().getName()),
+                MoreExecutors.directExecutor());
+        doReturn(Futures.makeChecked(rpcResult,
+            cause -> new DOMRpcImplementationNotAvailableException(cause, "Rpc failed")))
+                .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final KeepaliveSalFacade keepaliveSalFacade =
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, timer, executor, 100L, 50L);
+        keepaliveSalFacade.setListener(listener);
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+
+        proxyRpc.invokeRpc(mock(SchemaPath.class), mock(NormalizedNode.class));
+
+        // the request timeout and the reconnect it causes must not run on the timer thread
+        verify(listener, timeout(5000)).disconnect();
+        assertTrue(rpcResult.isCancelled());
+        assertEquals(EXECUTOR_THREAD, cancellingThread.get());
+    }
+}
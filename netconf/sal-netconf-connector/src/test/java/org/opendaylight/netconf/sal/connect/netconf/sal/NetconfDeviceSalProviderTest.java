@@ -12,12 +12,16 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.util.concurrent.Futures;
+import io.netty.util.HashedWheelTimer;
 import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -51,6 +55,8 @@ public class NetconfDeviceSalProviderTest {
     private DOMMountPointService mountPointService;
     @Mock
     private WriteTransaction writeTx;
+    private HashedWheelTimer timer;
+    private TopologyUpdateBatcher batcher;
     private NetconfDeviceSalProvider provider;
 
     @Before
@@ -61,8 +67,10 @@ public class NetconfDeviceSalProviderTest {
         doNothing().when(writeTx).merge(eq(LogicalDatastoreType.OPERATIONAL), any(), any());
         doReturn("Some object").when(writeTx).getIdentifier();
         doReturn(Futures.immediateCheckedFuture(null)).when(writeTx).submit();
+        timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        batcher = new TopologyUpdateBatcher(dataBroker, timer);
         provider = new NetconfDeviceSalProvider(new RemoteDeviceId("device1",
-                InetSocketAddress.createUnresolved("localhost", 17830)), mountPointService, dataBroker);
+                InetSocketAddress.createUnresolved("localhost", 17830)), mountPointService, batcher);
         when(session.getService(DOMMountPointService.class)).thenReturn(mountpointService);
         when(context.getSALService(DataBroker.class)).thenReturn(dataBroker);
         when(chain.newWriteOnlyTransaction()).thenReturn(tx);
@@ -70,6 +78,12 @@ public class NetconfDeviceSalProviderTest {
         when(tx.getIdentifier()).thenReturn(tx);
     }
 
+    @After
+    public void tearDown() {
+        batcher.close();
+        timer.stop();
+    }
+
     @Test
     public void replaceChainIfFailed() throws Exception {
         final ArgumentCaptor<TransactionChainListener> captor = ArgumentCaptor.forClass(TransactionChainListener.class);
@@ -85,13 +99,16 @@ public class NetconfDeviceSalProviderTest {
     @Test
     public void close() throws Exception {
         provider.close();
-        verify(chain).close();
+        // The transaction chain is owned by the batcher shared with other devices of the topology
+        verify(chain, never()).close();
+        verify(tx).delete(LogicalDatastoreType.OPERATIONAL, new RemoteDeviceId("device1",
+                InetSocketAddress.createUnresolved("localhost", 17830)).getTopologyBindingPath());
     }
 
     @Test
     public void closeWithoutNPE() throws Exception {
         provider.close();
         provider.close();
-        verify(chain, times(2)).close();
+        verify(chain, never()).close();
     }
-}
\ No newline at end of file
+}
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
@@ -40,6 +41,7 @@ import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChain;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreFactory;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
@@ -54,6 +56,7 @@ import org.opendaylight.mdsal.binding.generator.util.JavassistUtils;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionStatus;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
@@ -189,6 +192,47 @@ public class NetconfDeviceTopologyAdapterTest {
 
     }
 
+    @Test
+    public void testDeviceUpdateWithUnchangedCapabilities() throws Exception {
+        doReturn(Futures.immediateCheckedFuture(null)).when(writeTx).submit();
+
+        final NetconfDeviceTopologyAdapter adapter = new NetconfDeviceTopologyAdapter(id, txChain);
+        adapter.updateDeviceData(false, new NetconfDeviceCapabilities());
+        adapter.updateDeviceData(true, new NetconfDeviceCapabilities());
+
+        final InstanceIdentifier<NetconfNode> path = id.getTopologyBindingPath().augmentation(NetconfNode.class);
+        verify(writeTx, times(1)).put(eq(LogicalDatastoreType.OPERATIONAL), eq(path), any(NetconfNode.class),
+                eq(true));
+        verify(writeTx).merge(LogicalDatastoreType.OPERATIONAL, path, new NetconfNodeBuilder()
+                .setConnectionStatus(NetconfNodeConnectionStatus.ConnectionStatus.Connected).build(), true);
+
+        adapter.setDeviceAsFailed(null);
+        adapter.updateDeviceData(true, new NetconfDeviceCapabilities());
+        verify(writeTx, times(3)).put(eq(LogicalDatastoreType.OPERATIONAL), eq(path), any(NetconfNode.class),
+                eq(true));
+    }
+
+    @Test
+    public void testDeviceUpdateRewrittenAfterFailure() throws Exception {
+        doReturn(Futures.immediateCheckedFuture(null)).when(writeTx).submit();
+        final NetconfDeviceTopologyAdapter adapter = new NetconfDeviceTopologyAdapter(id, txChain);
+
+        doReturn(Futures.immediateFailedCheckedFuture(new TransactionCommitFailedException("commit failed")))
+                .doReturn(Futures.immediateCheckedFuture(null)).when(writeTx).submit();
+        adapter.updateDeviceData(true, new NetconfDeviceCapabilities());
+
+        final InstanceIdentifier<NetconfNode> path = id.getTopologyBindingPath().augmentation(NetconfNode.class);
+        verify(writeTx, times(2)).put(eq(LogicalDatastoreType.OPERATIONAL), eq(path), any(NetconfNode.class),
+                eq(true));
+
+        // the rewritten node is committed, so only the connection status changes now
+        adapter.updateDeviceData(false, new NetconfDeviceCapabilities());
+        verify(writeTx, times(2)).put(eq(LogicalDatastoreType.OPERATIONAL), eq(path), any(NetconfNode.class),
+                eq(true));
+        verify(writeTx).merge(LogicalDatastoreType.OPERATIONAL, path, new NetconfNodeBuilder()
+                .setConnectionStatus(NetconfNodeConnectionStatus.ConnectionStatus.Connecting).build(), true);
+    }
+
     @Test
     public void testDeviceAugmentedNodePresence() throws Exception {
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+
+public class SetupTrackingSalFacadeTest {
+
+    @Mock
+    private RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
+    @Mock
+    private DOMRpcService deviceRpc;
+
+    private SetupTrackingSalFacade setupTracker;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setupTracker = new SetupTrackingSalFacade(salFacade);
+    }
+
+    @Test
+    public void testSetupCompletesOnDeviceConnected() throws Exception {
+        assertFalse(setupTracker.getSetupFuture().isDone());
+
+        setupTracker.onDeviceConnected(null, null, deviceRpc);
+        verify(salFacade).onDeviceConnected(null, null, deviceRpc);
+        assertNull(setupTracker.getSetupFuture().get());
+
+        // later disconnects of a set up device do not change the setup result
+        setupTracker.onDeviceDisconnected();
+        verify(salFacade).onDeviceDisconnected();
+        assertNull(setupTracker.getSetupFuture().get());
+    }
+
+    @Test
+    public void testSetupFailsOnDeviceFailed() throws Exception {
+        final IllegalStateException cause = new IllegalStateException("Schema setup failed");
+        setupTracker.onDeviceFailed(cause);
+        verify(salFacade).onDeviceFailed(cause);
+
+        try {
+            setupTracker.getSetupFuture().get();
+            fail("Setup should have failed");
+        } catch (final ExecutionException e) {
+            assertSame(cause, e.getCause());
+        }
+    }
+
+    @Test
+    public void testSetupFailsOnClose() {
+        setupTracker.close();
+        verify(salFacade).close();
+        assertTrue(setupTracker.getSetupFuture().isDone());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.util.HashedWheelTimer;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionStatus.ConnectionStatus;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.KeepaliveStatisticsBuilder;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class TopologyUpdateBatcherTest {
+
+    private static final RemoteDeviceId DEVICE_1 = new RemoteDeviceId("device-1",
+            InetSocketAddress.createUnresolved("localhost", 17830));
+    private static final RemoteDeviceId DEVICE_2 = new RemoteDeviceId("device-2",
+            InetSocketAddress.createUnresolved("localhost", 17831));
+
+    @Mock
+    private DataBroker dataBroker;
+    @Mock
+    private BindingTransactionChain txChain;
+    @Mock
+    private WriteTransaction writeTx;
+
+    private HashedWheelTimer timer;
+    private TopologyUpdateBatcher batcher;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(txChain).when(dataBroker).createTransactionChain(any(TransactionChainListener.class));
+        doReturn(writeTx).when(txChain).newWriteOnlyTransaction();
+        doReturn(Futures.immediateCheckedFuture(null)).when(writeTx).submit();
+        doReturn("tx").when(writeTx).getIdentifier();
+
+        timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        batcher = new TopologyUpdateBatcher(dataBroker, timer, 50);
+    }
+
+    @After
+    public void tearDown() {
+        batcher.close();
+        timer.stop();
+    }
+
+    @Test
+    public void testUpdatesCoalesced() throws Exception {
+        final InstanceIdentifier<NetconfNode> path1 = DEVICE_1.getTopologyBindingPath().augmentation(NetconfNode.class);
+        final InstanceIdentifier<NetconfNode> path2 = DEVICE_2.getTopologyBindingPath().augmentation(NetconfNode.class);
+        final NetconfNode connecting = node(ConnectionStatus.Connecting);
+        final NetconfNode connected = node(ConnectionStatus.Connected);
+
+        batcher.newBatch().putWithParents(path1, connecting).submit();
+        batcher.newBatch().putWithParents(path2, connecting).submit();
+        final ListenableFuture<Void> result = batcher.newBatch().putWithParents(path1, connected).submit();
+        verify(txChain, never()).newWriteOnlyTransaction();
+
+        result.get(5, TimeUnit.SECONDS);
+
+        verify(txChain, times(1)).newWriteOnlyTransaction();
+        verify(writeTx, never()).put(LogicalDatastoreType.OPERATIONAL, path1, connecting, true);
+        verify(writeTx).put(LogicalDatastoreType.OPERATIONAL, path1, connected, true);
+        verify(writeTx).put(LogicalDatastoreType.OPERATIONAL, path2, connecting, true);
+        assertEquals(3, batcher.getUpdatesSubmitted());
+        assertEquals(2, batcher.getUpdatesWritten());
+        assertEquals(1, batcher.getTransactions());
+    }
+
+    @Test
+    public void testDeleteFlushedImmediately() throws Exception {
+        final InstanceIdentifier<NetconfNode> path = DEVICE_1.getTopologyBindingPath().augmentation(NetconfNode.class);
+
+        batcher.newBatch().putWithParents(path, node(ConnectionStatus.Connected)).submit();
+        final ListenableFuture<Void> result = batcher.newBatch().delete(DEVICE_1.getTopologyBindingPath()).submit();
+
+        assertTrue(result.isDone());
+        verify(writeTx, never()).put(any(LogicalDatastoreType.class), any(InstanceIdentifier.class),
+                any(NetconfNode.class), anyBoolean());
+        verify(writeTx).delete(LogicalDatastoreType.OPERATIONAL, DEVICE_1.getTopologyBindingPath());
+    }
+
+    @Test
+    public void testRetainedMergeSurvivesPut() throws Exception {
+        final InstanceIdentifier<NetconfNode> path = DEVICE_1.getTopologyBindingPath().augmentation(NetconfNode.class);
+        final InstanceIdentifier<KeepaliveStatistics> statisticsPath = path.child(KeepaliveStatistics.class);
+        final KeepaliveStatistics statistics = new KeepaliveStatisticsBuilder().setProbesSent(3L).build();
+
+        batcher.newBatch().mergeRetained(statisticsPath, statistics).submit().get(5, TimeUnit.SECONDS);
+        batcher.newBatch().putWithParents(path, node(ConnectionStatus.Connected)).submit().get(5, TimeUnit.SECONDS);
+        verify(writeTx, times(2)).merge(LogicalDatastoreType.OPERATIONAL, statisticsPath, statistics, true);
+
+        // delete drops the retained statistics together with the node
+        batcher.newBatch().delete(DEVICE_1.getTopologyBindingPath()).submit().get(5, TimeUnit.SECONDS);
+        batcher.newBatch().putWithParents(path, node(ConnectionStatus.Connecting)).submit().get(5, TimeUnit.SECONDS);
+        verify(writeTx, times(2)).merge(LogicalDatastoreType.OPERATIONAL, statisticsPath, statistics, true);
+    }
+
+    private static NetconfNode node(final ConnectionStatus status) {
+        return new NetconfNodeBuilder().setConnectionStatus(status).build();
+    }
+}
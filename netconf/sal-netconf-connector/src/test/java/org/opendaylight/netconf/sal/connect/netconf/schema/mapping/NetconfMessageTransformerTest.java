@@ -31,6 +31,8 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toPath;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -38,6 +40,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.xml.transform.dom.DOMSource;
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.ElementNameAndAttributeQualifier;
@@ -52,6 +55,7 @@ import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.sal.connect.netconf.schema.NetconfRemoteSchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.base._1._0.rev110601.$YangModuleInfoImpl;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.NetconfState;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Capabilities;
@@ -61,6 +65,7 @@ import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
@@ -241,6 +246,38 @@ public class NetconfMessageTransformerTest {
                 + "</rpc>");
     }
 
+    @Test
+    public void testGetConfigRequestWithFields() throws Exception {
+        final List<Set<QName>> fields = ImmutableList.of(ImmutableSet.of(Schema.QNAME),
+                ImmutableSet.of(QName.create(Schema.QNAME, "identifier"), QName.create(Schema.QNAME, "version")));
+        final DataContainerChild<?, ?> filter = toFilterStructure(
+                YangInstanceIdentifier.create(toId(NetconfState.QNAME), toId(Schemas.QNAME)), fields, schema);
+
+        final DataContainerChild<?, ?> source = NetconfBaseOps.getSourceNode(NETCONF_RUNNING_QNAME);
+
+        final NetconfMessage netconfMessage = netconfMessageTransformer.toRpcRequest(toPath(NETCONF_GET_CONFIG_QNAME),
+                NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME, source, filter));
+
+        assertSimilarXml(netconfMessage, "<rpc message-id=\"m-0\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n"
+                + "<get-config xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n"
+                + "<filter xmlns:ns0=\"urn:ietf:params:xml:ns:netconf:base:1.0\" ns0:type=\"subtree\">\n"
+                + "<netconf-state xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">\n"
+                + "<schemas>\n"
+                + "<schema>\n"
+                + "<identifier/>\n"
+                + "<version/>\n"
+                + "<format/>\n"
+                + "</schema>\n"
+                + "</schemas>\n"
+                + "</netconf-state>"
+                + "</filter>\n"
+                + "<source>\n"
+                + "<running/>\n"
+                + "</source>\n"
+                + "</get-config>"
+                + "</rpc>");
+    }
+
     @Test
     public void testEditConfigRequest() throws Exception {
         final List<DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?>> values = Lists.newArrayList(
@@ -291,6 +328,42 @@ public class NetconfMessageTransformerTest {
                 + "</rpc>");
     }
 
+    @Test
+    public void testEditConfigRequestWithInsert() throws Exception {
+        final List<DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?>> values = Lists.newArrayList(
+                NetconfRemoteSchemaYangSourceProvider
+                        .createGetSchemaRequest("module", Optional.of("2012-12-12")).getValue());
+
+        final Map<QName, Object> keys = Maps.newHashMap();
+        for (final DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?> value : values) {
+            keys.put(value.getNodeType(), value.getValue());
+        }
+        final Map<QName, Object> pointKeys = Maps.newHashMap(keys);
+        pointKeys.put(QName.create(Schema.QNAME, "identifier"), "other-module");
+
+        final MapEntryNode schemaNode = Builders.mapEntryBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifierWithPredicates(Schema.QNAME, keys))
+                .withValue(values).build();
+        final YangInstanceIdentifier id = YangInstanceIdentifier.builder()
+                .node(NetconfState.QNAME).node(Schemas.QNAME).node(Schema.QNAME)
+                .nodeWithKey(Schema.QNAME, keys).build();
+        final DataContainerChild<?, ?> editConfigStructure =
+                createEditConfigStructure(BaseSchema.BASE_NETCONF_CTX_WITH_NOTIFICATIONS.getSchemaContext(), id,
+                        Optional.of(ModifyAction.REPLACE), Optional.<NormalizedNode<?, ?>>fromNullable(schemaNode));
+
+        NetconfMessageTransformUtil.addInsertAttributes(editConfigStructure, OrderedWriteTransaction.Position.AFTER,
+                Optional.of(new YangInstanceIdentifier.NodeIdentifierWithPredicates(Schema.QNAME, pointKeys)));
+
+        final Element config = (Element) ((AnyXmlNode) ((ChoiceNode) editConfigStructure)
+                .getChild(toId(NetconfMessageTransformUtil.NETCONF_CONFIG_QNAME)).get()).getValue().getNode();
+        final Element schema = (Element) config.getElementsByTagNameNS(Schema.QNAME.getNamespace().toString(),
+                Schema.QNAME.getLocalName()).item(0);
+        final String yangNamespace = NetconfMessageTransformUtil.YANG_URI.toString();
+        assertEquals("after", schema.getAttributeNS(yangNamespace, "insert"));
+        assertThat(schema.getAttributeNS(yangNamespace, "key"),
+                CoreMatchers.containsString(":identifier='other-module']"));
+    }
+
     private static void assertSimilarXml(final NetconfMessage netconfMessage, final String xmlContent)
             throws SAXException, IOException {
         final Diff diff = XMLUnit.compareXML(netconfMessage.getDocument(), XmlUtil.readXmlToDocument(xmlContent));
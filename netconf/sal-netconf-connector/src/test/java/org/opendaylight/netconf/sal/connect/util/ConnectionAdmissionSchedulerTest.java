@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+
+public class ConnectionAdmissionSchedulerTest {
+
+    private static final NodeId NODE_1 = new NodeId("node-1");
+    private static final NodeId NODE_2 = new NodeId("node-2");
+    private static final NodeId NODE_3 = new NodeId("node-3");
+
+    private ScheduledExecutorService executor;
+    private ConnectionAdmissionScheduler scheduler;
+    private List<NodeId> started;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        scheduler = new ConnectionAdmissionScheduler(1, 60000, executor);
+        started = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentSetupLimit() throws Exception {
+        final SettableFuture<String> setup1 = SettableFuture.create();
+        final SettableFuture<String> setup2 = SettableFuture.create();
+        final ListenableFuture<String> result1 = scheduler.submit(NODE_1, setup(NODE_1, setup1));
+        final ListenableFuture<String> result2 = scheduler.submit(NODE_2, setup(NODE_2, setup2));
+
+        assertEquals(1, started.size());
+        assertEquals(1, scheduler.getActiveSetups());
+        assertEquals(1L, (long) scheduler.getQueuePositions().get(NODE_2));
+
+        setup1.set("done");
+        assertEquals("done", result1.get());
+        assertEquals(2, started.size());
+        assertTrue(scheduler.getQueuePositions().isEmpty());
+
+        setup2.setException(new IllegalStateException("failed"));
+        assertTrue(result2.isDone());
+        assertEquals(0, scheduler.getActiveSetups());
+    }
+
+    @Test
+    public void testPreviouslyConnectedFirst() {
+        scheduler.submit(NODE_3, setup(NODE_3, Futures.immediateFuture("done")));
+
+        final SettableFuture<String> setup1 = SettableFuture.create();
+        scheduler.submit(NODE_1, setup(NODE_1, setup1));
+        scheduler.submit(NODE_2, setup(NODE_2, SettableFuture.create()));
+        scheduler.submit(NODE_3, setup(NODE_3, SettableFuture.create()));
+
+        final Map<NodeId, Long> positions = scheduler.getQueuePositions();
+        assertEquals(1L, (long) positions.get(NODE_3));
+        assertEquals(2L, (long) positions.get(NODE_2));
+
+        setup1.set("done");
+        assertEquals(NODE_3, started.get(2));
+    }
+
+    @Test
+    public void testFailedSetupNotPreviouslyConnected() {
+        scheduler.submit(NODE_3, setup(NODE_3, Futures.immediateFailedFuture(new IllegalStateException("failed"))));
+
+        scheduler.submit(NODE_1, setup(NODE_1, SettableFuture.create()));
+        scheduler.submit(NODE_2, setup(NODE_2, SettableFuture.create()));
+        scheduler.submit(NODE_3, setup(NODE_3, SettableFuture.create()));
+
+        final Map<NodeId, Long> positions = scheduler.getQueuePositions();
+        assertEquals(1L, (long) positions.get(NODE_2));
+        assertEquals(2L, (long) positions.get(NODE_3));
+    }
+
+    @Test
+    public void testRemovedNodeLosesPriority() {
+        scheduler.submit(NODE_3, setup(NODE_3, Futures.immediateFuture("done")));
+        // deleted from configuration and added again later
+        scheduler.remove(NODE_3);
+
+        scheduler.submit(NODE_1, setup(NODE_1, SettableFuture.create()));
+        scheduler.submit(NODE_2, setup(NODE_2, SettableFuture.create()));
+        scheduler.submit(NODE_3, setup(NODE_3, SettableFuture.create()));
+
+        final Map<NodeId, Long> positions = scheduler.getQueuePositions();
+        assertEquals(1L, (long) positions.get(NODE_2));
+        assertEquals(2L, (long) positions.get(NODE_3));
+    }
+
+    @Test
+    public void testCancelledNodeKeepsPriority() {
+        scheduler.submit(NODE_3, setup(NODE_3, Futures.immediateFuture("done")));
+        // only reconfigured, the node is disconnected and connected again
+        scheduler.cancel(NODE_3);
+
+        scheduler.submit(NODE_1, setup(NODE_1, SettableFuture.create()));
+        scheduler.submit(NODE_2, setup(NODE_2, SettableFuture.create()));
+        scheduler.submit(NODE_3, setup(NODE_3, SettableFuture.create()));
+
+        assertEquals(1L, (long) scheduler.getQueuePositions().get(NODE_3));
+    }
+
+    @Test
+    public void testCancel() {
+        scheduler.submit(NODE_1, setup(NODE_1, SettableFuture.create()));
+        final ListenableFuture<String> result2 = scheduler.submit(NODE_2, setup(NODE_2,
+                SettableFuture.create()));
+
+        scheduler.cancel(NODE_2);
+        assertTrue(result2.isCancelled());
+        assertFalse(scheduler.getQueuePositions().containsKey(NODE_2));
+    }
+
+    @Test
+    public void testUnlimited() {
+        final ConnectionAdmissionScheduler unlimited = ConnectionAdmissionScheduler.create(0, 60000, executor);
+        unlimited.submit(NODE_1, setup(NODE_1, SettableFuture.create()));
+        unlimited.submit(NODE_2, setup(NODE_2, SettableFuture.create()));
+        assertEquals(2, started.size());
+    }
+
+    private <T> Supplier<ListenableFuture<T>> setup(final NodeId nodeId, final ListenableFuture<T> future) {
+        return () -> {
+            started.add(nodeId);
+            return future;
+        };
+    }
+}
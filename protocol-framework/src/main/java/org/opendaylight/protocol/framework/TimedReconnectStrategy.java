@@ -10,6 +10,7 @@ package org.opendaylight.protocol.framework;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -31,6 +32,10 @@ import com.google.common.base.Preconditions;
  * exponential back-off (sleepFactor &gt; 1). Maximum sleep time between attempts can be capped to a specific value
  * (maxSleep).
  *
+ * The actual sleep before an attempt can optionally be randomized (jitter). The computed sleep time is then reduced by
+ * a random amount of up to jitter times the sleep time, which spreads out reconnect attempts of many peers that lost
+ * their connection at the same time.
+ *
  * The strategy can optionally give up based on two criteria:
  *
  * A preset number of connection retries (maxAttempts) has been reached, or
@@ -48,6 +53,7 @@ public final class TimedReconnectStrategy implements ReconnectStrategy {
     private final EventExecutor executor;
     private final Long deadline, maxAttempts, maxSleep;
     private final double sleepFactor;
+    private final double jitter;
     private final int connectTime;
     private final long minSleep;
 
@@ -62,9 +68,15 @@ public final class TimedReconnectStrategy implements ReconnectStrategy {
 
     public TimedReconnectStrategy(final EventExecutor executor, final int connectTime, final long minSleep, final double sleepFactor,
             final Long maxSleep, final Long maxAttempts, final Long deadline) {
+        this(executor, connectTime, minSleep, sleepFactor, maxSleep, maxAttempts, deadline, 0);
+    }
+
+    public TimedReconnectStrategy(final EventExecutor executor, final int connectTime, final long minSleep, final double sleepFactor,
+            final Long maxSleep, final Long maxAttempts, final Long deadline, final double jitter) {
         Preconditions.checkArgument(maxSleep == null || minSleep <= maxSleep);
         Preconditions.checkArgument(sleepFactor >= 1);
         Preconditions.checkArgument(connectTime >= 0);
+        Preconditions.checkArgument(jitter >= 0 && jitter <= 1);
         this.executor = Preconditions.checkNotNull(executor);
         this.deadline = deadline;
         this.maxAttempts = maxAttempts;
@@ -72,6 +84,7 @@ public final class TimedReconnectStrategy implements ReconnectStrategy {
         this.maxSleep = maxSleep;
         this.sleepFactor = sleepFactor;
         this.connectTime = connectTime;
+        this.jitter = jitter;
     }
 
     @Override
@@ -115,10 +128,13 @@ public final class TimedReconnectStrategy implements ReconnectStrategy {
             return this.executor.newFailedFuture(new TimeoutException("Next reconnect would happen after deadline"));
         }
 
-        LOG.debug("Connection attempt {} sleeping for {} milliseconds", this.attempts, this.lastSleep);
+        // Randomize the sleep time, the back-off itself is kept deterministic
+        final long sleep = this.lastSleep - (long) (this.lastSleep * this.jitter * ThreadLocalRandom.current().nextDouble());
+
+        LOG.debug("Connection attempt {} sleeping for {} milliseconds", this.attempts, sleep);
 
         // If we are not sleeping at all, return an already-succeeded future
-        if (this.lastSleep == 0) {
+        if (sleep == 0) {
             return this.executor.newSucceededFuture(null);
         }
 
@@ -135,7 +151,7 @@ public final class TimedReconnectStrategy implements ReconnectStrategy {
             }
 
             return null;
-        }, this.lastSleep, TimeUnit.MILLISECONDS);
+        }, sleep, TimeUnit.MILLISECONDS);
     }
 
     @Override
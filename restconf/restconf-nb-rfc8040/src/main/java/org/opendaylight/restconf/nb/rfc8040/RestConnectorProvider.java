@@ -19,6 +19,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.sal.core.api.mount.MountProvisionListener;
 import org.opendaylight.mdsal.dom.api.DOMSchemaService;
 import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
 import org.opendaylight.restconf.nb.rfc8040.handlers.DOMDataBrokerHandler;
@@ -28,6 +29,7 @@ import org.opendaylight.restconf.nb.rfc8040.handlers.RpcServiceHandler;
 import org.opendaylight.restconf.nb.rfc8040.handlers.SchemaContextHandler;
 import org.opendaylight.restconf.nb.rfc8040.handlers.TransactionChainHandler;
 import org.opendaylight.restconf.nb.rfc8040.services.wrapper.ServiceWrapper;
+import org.opendaylight.restconf.nb.rfc8040.utils.parser.IdentifierContextCache;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
 import org.slf4j.Logger;
@@ -59,6 +61,7 @@ public class RestConnectorProvider<T extends ServiceWrapper> implements Restconf
     private static TransactionChainHandler transactionChainHandler;
     private static DOMDataBroker dataBroker;
     private static DOMMountPointServiceHandler mountPointServiceHandler;
+    private static volatile long maximumRequestSize;
 
     private final DOMRpcService rpcService;
     private final DOMNotificationService notificationService;
@@ -67,6 +70,7 @@ public class RestConnectorProvider<T extends ServiceWrapper> implements Restconf
     private final Builder<Object> servicesProperties;
 
     private ListenerRegistration<SchemaContextListener> listenerRegistration;
+    private ListenerRegistration<MountProvisionListener> mountListenerRegistration;
     private SchemaContextHandler schemaCtxHandler;
     private T wrapperServices;
 
@@ -94,6 +98,8 @@ public class RestConnectorProvider<T extends ServiceWrapper> implements Restconf
     public synchronized void start() {
         mountPointServiceHandler = new DOMMountPointServiceHandler(mountPointService);
         servicesProperties.add(mountPointServiceHandler);
+        this.mountListenerRegistration =
+                mountPointService.registerProvisionListener(IdentifierContextCache.getInstance());
 
         final DOMDataBrokerHandler brokerHandler = new DOMDataBrokerHandler(dataBroker);
         servicesProperties.add(brokerHandler);
@@ -139,6 +145,26 @@ public class RestConnectorProvider<T extends ServiceWrapper> implements Restconf
         );
     }
 
+    /**
+     * Set maximum allowed size of request entity, larger requests are rejected while their body is read.
+     *
+     * @param size
+     *             maximum size in bytes, zero or negative value means unlimited size
+     */
+    public void setMaximumRequestSize(final long size) {
+        LOG.debug("Setting maximum request size to {} bytes", size);
+        RestConnectorProvider.maximumRequestSize = size;
+    }
+
+    /**
+     * Get maximum allowed size of request entity.
+     *
+     * @return maximum size in bytes, zero or negative value if size is unlimited
+     */
+    public static long getMaximumRequestSize() {
+        return maximumRequestSize;
+    }
+
     /**
      * Get current {@link DOMMountPointService} from {@link DOMMountPointServiceHandler}.
      * @return {@link DOMMountPointService}
@@ -153,6 +179,9 @@ public class RestConnectorProvider<T extends ServiceWrapper> implements Restconf
         if (this.listenerRegistration != null) {
             this.listenerRegistration.close();
         }
+        if (this.mountListenerRegistration != null) {
+            this.mountListenerRegistration.close();
+        }
 
         // close transaction chain
         if (transactionChainHandler != null && transactionChainHandler.get() != null) {
@@ -17,6 +17,7 @@ import org.opendaylight.restconf.nb.rfc8040.RestConnectorProvider;
 import org.opendaylight.restconf.nb.rfc8040.Rfc8040.IetfYangLibrary;
 import org.opendaylight.restconf.nb.rfc8040.Rfc8040.MonitoringModule;
 import org.opendaylight.restconf.nb.rfc8040.utils.mapping.RestconfMappingNodeUtil;
+import org.opendaylight.restconf.nb.rfc8040.utils.parser.IdentifierContextCache;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -60,6 +61,8 @@ public class SchemaContextHandler implements SchemaContextListenerHandler {
         this.context = context;
 
         actualSchemaContext = context;
+        // identifiers parsed with previous context are not used anymore
+        IdentifierContextCache.getInstance().invalidateAll();
 
         this.moduleSetId++;
         final Module ietfYangLibraryModule =
@@ -23,7 +23,8 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.Provider;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.transform.dom.DOMSource;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
 import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
 import org.opendaylight.restconf.common.context.NormalizedNodeContext;
 import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
@@ -55,7 +56,6 @@ import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 @Provider
@@ -68,8 +68,14 @@ public class XmlNormalizedNodeBodyReader extends AbstractNormalizedNodeBodyReade
     protected NormalizedNodeContext readBody(final InstanceIdentifierContext<?> path, final InputStream entityStream)
             throws IOException, WebApplicationException {
         try {
-            final Document doc = UntrustedXML.newDocumentBuilder().parse(entityStream);
-            return parse(path,doc);
+            // data are parsed directly from the stream, without building a document of the whole entity
+            final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(entityStream);
+            try {
+                reader.nextTag();
+                return parse(path, new RootElementReader(reader));
+            } finally {
+                reader.close();
+            }
         } catch (final RestconfDocumentedException e) {
             throw e;
         } catch (final Exception e) {
@@ -80,7 +86,8 @@ public class XmlNormalizedNodeBodyReader extends AbstractNormalizedNodeBodyReade
         }
     }
 
-    private NormalizedNodeContext parse(final InstanceIdentifierContext<?> pathContext, final Document doc)
+    private NormalizedNodeContext parse(final InstanceIdentifierContext<?> pathContext,
+            final RootElementReader reader)
             throws XMLStreamException, IOException, ParserConfigurationException, SAXException, URISyntaxException {
         final SchemaNode schemaNodeContext = pathContext.getSchemaNode();
         DataSchemaNode schemaNode;
@@ -94,8 +101,8 @@ public class XmlNormalizedNodeBodyReader extends AbstractNormalizedNodeBodyReade
             throw new IllegalStateException("Unknown SchemaNode");
         }
 
-        final String docRootElm = doc.getDocumentElement().getLocalName();
-        final String docRootNamespace = doc.getDocumentElement().getNamespaceURI();
+        final String docRootElm = reader.getLocalName();
+        final String docRootNamespace = reader.getNamespaceURI();
         final List<YangInstanceIdentifier.PathArgument> iiToDataList = new ArrayList<>();
 
         if (isPost() && !isRpc) {
@@ -132,7 +139,7 @@ public class XmlNormalizedNodeBodyReader extends AbstractNormalizedNodeBodyReade
                 || schemaNode instanceof LeafSchemaNode) {
             final XmlParserStream xmlParser = XmlParserStream.create(writer, pathContext.getSchemaContext(),
                     schemaNode);
-            xmlParser.traverse(new DOMSource(doc.getDocumentElement()));
+            xmlParser.parse(reader);
             parsed = resultHolder.getResult();
 
             // When parsing an XML source with a list root node
@@ -162,6 +169,36 @@ public class XmlNormalizedNodeBodyReader extends AbstractNormalizedNodeBodyReade
         return new NormalizedNodeContext(outIIContext, parsed);
     }
 
+    /**
+     * Reader positioned at root element, which was already read to find its schema node. The first request for next
+     * event returns the root element again, so it can be parsed as if the document was not read yet.
+     */
+    private static final class RootElementReader extends StreamReaderDelegate {
+        private boolean atRoot = true;
+
+        RootElementReader(final XMLStreamReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            if (this.atRoot) {
+                this.atRoot = false;
+                return getEventType();
+            }
+            return super.next();
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            if (this.atRoot) {
+                this.atRoot = false;
+                return getEventType();
+            }
+            return super.nextTag();
+        }
+    }
+
     private static Deque<Object> findPathToSchemaNodeByName(final DataSchemaNode schemaNode, final String elementName,
                                                             final String namespace) {
         final Deque<Object> result = new ArrayDeque<>();
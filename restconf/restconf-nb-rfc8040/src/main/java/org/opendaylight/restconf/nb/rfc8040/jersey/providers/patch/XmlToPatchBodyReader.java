@@ -9,20 +9,29 @@
 package org.opendaylight.restconf.nb.rfc8040.jersey.providers.patch;
 
 import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import javax.annotation.Nonnull;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.ext.Provider;
+import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
 import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
@@ -56,6 +65,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.w3c.dom.Text;
 import org.xml.sax.SAXException;
 
 @Provider
@@ -63,14 +73,20 @@ import org.xml.sax.SAXException;
 public class XmlToPatchBodyReader extends AbstractToPatchBodyReader {
     private static final Logger LOG = LoggerFactory.getLogger(XmlToPatchBodyReader.class);
     private static final Splitter SLASH_SPLITTER = Splitter.on('/');
+    // Elements are looked up by local name, regardless of prefix used in input
+    private static final String ANY_NAMESPACE = "*";
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     protected PatchContext readBody(final InstanceIdentifierContext<?> path, final InputStream entityStream)
             throws IOException, WebApplicationException {
         try {
-            final Document doc = UntrustedXML.newDocumentBuilder().parse(entityStream);
-            return parse(path, doc);
+            final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(entityStream);
+            try {
+                return parse(path, reader);
+            } finally {
+                reader.close();
+            }
         } catch (final RestconfDocumentedException e) {
             throw e;
         } catch (final Exception e) {
@@ -81,85 +97,202 @@ public class XmlToPatchBodyReader extends AbstractToPatchBodyReader {
         }
     }
 
-    private static PatchContext parse(final InstanceIdentifierContext<?> pathContext, final Document doc)
+    private static PatchContext parse(final InstanceIdentifierContext<?> pathContext, final XMLStreamReader reader)
             throws XMLStreamException, IOException, ParserConfigurationException, SAXException, URISyntaxException {
         final List<PatchEntity> resultCollection = new ArrayList<>();
-        final String patchId = doc.getElementsByTagName("patch-id").item(0).getFirstChild().getNodeValue();
-        final NodeList editNodes = doc.getElementsByTagName("edit");
-
-        for (int i = 0; i < editNodes.getLength(); i++) {
-            DataSchemaNode schemaNode = (DataSchemaNode) pathContext.getSchemaNode();
-            final Element element = (Element) editNodes.item(i);
-            final String operation = element.getElementsByTagName("operation").item(0).getFirstChild().getNodeValue();
-            final PatchEditOperation oper = PatchEditOperation.valueOf(operation.toUpperCase());
-            final String editId = element.getElementsByTagName("edit-id").item(0).getFirstChild().getNodeValue();
-            final String target = element.getElementsByTagName("target").item(0).getFirstChild().getNodeValue();
-            final List<Element> values = readValueNodes(element, oper);
-            final Element firstValueElement = values != null ? values.get(0) : null;
-
-            // get namespace according to schema node from path context or value
-            final String namespace = firstValueElement == null
-                    ? schemaNode.getQName().getNamespace().toString() : firstValueElement.getNamespaceURI();
-
-            // find module according to namespace
-            final Module module = pathContext.getSchemaContext().findModuleByNamespace(
-                    URI.create(namespace)).iterator().next();
-
-            // initialize codec + set default prefix derived from module name
-            final StringModuleInstanceIdentifierCodec codec = new StringModuleInstanceIdentifierCodec(
-                    pathContext.getSchemaContext(), module.getName());
-
-            // find complete path to target and target schema node
-            // target can be also empty (only slash)
-            YangInstanceIdentifier targetII;
-            final SchemaNode targetNode;
-            if (target.equals("/")) {
-                targetII = pathContext.getInstanceIdentifier();
-                targetNode = pathContext.getSchemaContext();
-            } else {
-                targetII = codec.deserialize(codec.serialize(pathContext.getInstanceIdentifier())
-                        .concat(prepareNonCondXpath(schemaNode, target.replaceFirst("/", ""), firstValueElement,
-                                namespace, module.getQNameModule().getFormattedRevision())));
+        final Document doc = UntrustedXML.newDocumentBuilder().newDocument();
+
+        // namespaces declared by elements enclosing current element, innermost first
+        final Deque<Map<String, String>> namespaces = new ArrayDeque<>();
+        String patchId = null;
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    switch (reader.getLocalName()) {
+                        case "edit":
+                            // only one edit is kept in memory at a time, not the whole patch
+                            resultCollection.add(parseEdit(pathContext, readEditElement(reader, doc, namespaces)));
+                            break;
+                        case "patch-id":
+                            patchId = reader.getElementText();
+                            break;
+                        default:
+                            namespaces.push(readNamespaces(reader));
+                            break;
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    namespaces.pop();
+                    break;
+                default:
+                    break;
+            }
+        }
 
-                targetNode = SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
-                        codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath().getParent());
+        if (patchId == null) {
+            throw new RestconfDocumentedException("Error parsing input: missing patch-id", ErrorType.PROTOCOL,
+                    ErrorTag.MALFORMED_MESSAGE);
+        }
+        return new PatchContext(pathContext, ImmutableList.copyOf(resultCollection), patchId);
+    }
+
+    private static PatchEntity parseEdit(final InstanceIdentifierContext<?> pathContext, final Element element)
+            throws XMLStreamException, IOException, ParserConfigurationException, SAXException, URISyntaxException {
+        DataSchemaNode schemaNode = (DataSchemaNode) pathContext.getSchemaNode();
+        final String operation = readText(element, "operation");
+        final PatchEditOperation oper = PatchEditOperation.valueOf(operation.toUpperCase());
+        final String editId = readText(element, "edit-id");
+        final String target = readText(element, "target");
+        final List<Element> values = readValueNodes(element, oper);
+        final Element firstValueElement = values != null ? values.get(0) : null;
+
+        // get namespace according to schema node from path context or value
+        final String namespace = firstValueElement == null
+                ? schemaNode.getQName().getNamespace().toString() : firstValueElement.getNamespaceURI();
+
+        // find module according to namespace
+        final Module module = pathContext.getSchemaContext().findModuleByNamespace(
+                URI.create(namespace)).iterator().next();
+
+        // initialize codec + set default prefix derived from module name
+        final StringModuleInstanceIdentifierCodec codec = new StringModuleInstanceIdentifierCodec(
+                pathContext.getSchemaContext(), module.getName());
+
+        // find complete path to target and target schema node
+        // target can be also empty (only slash)
+        YangInstanceIdentifier targetII;
+        final SchemaNode targetNode;
+        if (target.equals("/")) {
+            targetII = pathContext.getInstanceIdentifier();
+            targetNode = pathContext.getSchemaContext();
+        } else {
+            targetII = codec.deserialize(codec.serialize(pathContext.getInstanceIdentifier())
+                    .concat(prepareNonCondXpath(schemaNode, target.replaceFirst("/", ""), firstValueElement,
+                            namespace, module.getQNameModule().getFormattedRevision())));
+
+            targetNode = SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
+                    codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath().getParent());
+
+            // move schema node
+            schemaNode = (DataSchemaNode) SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
+                    codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath());
+        }
 
-                // move schema node
-                schemaNode = (DataSchemaNode) SchemaContextUtil.findDataSchemaNode(pathContext.getSchemaContext(),
-                        codec.getDataContextTree().getChild(targetII).getDataSchemaNode().getPath());
+        if (targetNode == null) {
+            LOG.debug("Target node {} not found in path {} ", target, pathContext.getSchemaNode());
+            throw new RestconfDocumentedException("Error parsing input", ErrorType.PROTOCOL,
+                    ErrorTag.MALFORMED_MESSAGE);
+        }
+
+        if (oper.isWithValue()) {
+            final NormalizedNode<?, ?> parsed;
+            if (schemaNode instanceof  ContainerSchemaNode || schemaNode instanceof ListSchemaNode) {
+                final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
+                final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
+                final XmlParserStream xmlParser = XmlParserStream.create(writer, pathContext.getSchemaContext(),
+                        schemaNode);
+                xmlParser.traverse(new DOMSource(firstValueElement));
+                parsed = resultHolder.getResult();
+            } else {
+                parsed = null;
             }
 
-            if (targetNode == null) {
-                LOG.debug("Target node {} not found in path {} ", target, pathContext.getSchemaNode());
-                throw new RestconfDocumentedException("Error parsing input", ErrorType.PROTOCOL,
-                        ErrorTag.MALFORMED_MESSAGE);
+            // for lists allow to manipulate with list items through their parent
+            if (targetII.getLastPathArgument() instanceof NodeIdentifierWithPredicates) {
+                targetII = targetII.getParent();
             }
 
-            if (oper.isWithValue()) {
-                final NormalizedNode<?, ?> parsed;
-                if (schemaNode instanceof  ContainerSchemaNode || schemaNode instanceof ListSchemaNode) {
-                    final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
-                    final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
-                    final XmlParserStream xmlParser = XmlParserStream.create(writer, pathContext.getSchemaContext(),
-                            schemaNode);
-                    xmlParser.traverse(new DOMSource(firstValueElement));
-                    parsed = resultHolder.getResult();
-                } else {
-                    parsed = null;
-                }
-
-                // for lists allow to manipulate with list items through their parent
-                if (targetII.getLastPathArgument() instanceof NodeIdentifierWithPredicates) {
-                    targetII = targetII.getParent();
-                }
-
-                resultCollection.add(new PatchEntity(editId, oper, targetII, parsed));
-            } else {
-                resultCollection.add(new PatchEntity(editId, oper, targetII));
+            return new PatchEntity(editId, oper, targetII, parsed);
+        } else {
+            return new PatchEntity(editId, oper, targetII);
+        }
+    }
+
+    /**
+     * Read edit element from reader positioned at its start into a standalone element, which keeps namespaces
+     * declared by its ancestors. Reader is left positioned at end of the edit element.
+     *
+     * @param reader Reader positioned at start of edit element
+     * @param doc Document owning created elements
+     * @param namespaces Namespaces declared by ancestors of edit element, innermost first
+     * @return Edit element
+     */
+    private static Element readEditElement(@Nonnull final XMLStreamReader reader, @Nonnull final Document doc,
+            @Nonnull final Deque<Map<String, String>> namespaces) throws XMLStreamException {
+        final Element edit = createElement(reader, doc);
+        final Iterator<Map<String, String>> inherited = namespaces.descendingIterator();
+        while (inherited.hasNext()) {
+            for (final Entry<String, String> namespace : inherited.next().entrySet()) {
+                declareNamespace(edit, namespace.getKey(), namespace.getValue());
             }
         }
+        for (final Entry<String, String> namespace : readNamespaces(reader).entrySet()) {
+            declareNamespace(edit, namespace.getKey(), namespace.getValue());
+        }
 
-        return new PatchContext(pathContext, ImmutableList.copyOf(resultCollection), patchId);
+        Node current = edit;
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final Element child = createElement(reader, doc);
+                    for (final Entry<String, String> namespace : readNamespaces(reader).entrySet()) {
+                        declareNamespace(child, namespace.getKey(), namespace.getValue());
+                    }
+                    current.appendChild(child);
+                    current = child;
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    current = current.getParentNode();
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    // text may be reported in several chunks, keep it in one node
+                    final Node last = current.getLastChild();
+                    if (last instanceof Text) {
+                        ((Text) last).appendData(reader.getText());
+                    } else {
+                        current.appendChild(doc.createTextNode(reader.getText()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return edit;
+    }
+
+    private static Element createElement(final XMLStreamReader reader, final Document doc) {
+        final Element element = doc.createElementNS(Strings.emptyToNull(reader.getNamespaceURI()),
+                qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(Strings.emptyToNull(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static Map<String, String> readNamespaces(final XMLStreamReader reader) {
+        final Map<String, String> result = new HashMap<>(reader.getNamespaceCount());
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            result.put(Strings.nullToEmpty(reader.getNamespacePrefix(i)), reader.getNamespaceURI(i));
+        }
+        return result;
+    }
+
+    private static void declareNamespace(final Element element, final String prefix, final String namespace) {
+        element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ':' + prefix,
+                Strings.nullToEmpty(namespace));
+    }
+
+    private static String qualifiedName(final String prefix, final String localName) {
+        return Strings.isNullOrEmpty(prefix) ? localName : prefix + ':' + localName;
     }
 
     /**
@@ -171,7 +304,7 @@ public class XmlToPatchBodyReader extends AbstractToPatchBodyReader {
      */
     private static List<Element> readValueNodes(@Nonnull final Element element,
             @Nonnull final PatchEditOperation operation) {
-        final Node valueNode = element.getElementsByTagName("value").item(0);
+        final Node valueNode = element.getElementsByTagNameNS(ANY_NAMESPACE, "value").item(0);
 
         if (operation.isWithValue() && valueNode == null) {
             throw new RestconfDocumentedException("Error parsing input",
@@ -246,12 +379,23 @@ public class XmlToPatchBodyReader extends AbstractToPatchBodyReader {
         final List<String> result = new ArrayList<>();
 
         while (keys.hasNext()) {
-            result.add(value.getElementsByTagName(keys.next().getLocalName()).item(0).getFirstChild().getNodeValue());
+            result.add(readText(value, keys.next().getLocalName()));
         }
 
         return result.iterator();
     }
 
+    /**
+     * Read text of first descendant element with local name.
+     *
+     * @param element Element to search in
+     * @param localName Local name of descendant element
+     * @return Text of descendant element
+     */
+    private static String readText(@Nonnull final Element element, @Nonnull final String localName) {
+        return element.getElementsByTagNameNS(ANY_NAMESPACE, localName).item(0).getFirstChild().getNodeValue();
+    }
+
     /**
      * Append key name - key value pairs for every list key to {@code nonCondXpath}.
      *
@@ -17,12 +17,14 @@ import java.lang.reflect.Type;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.MessageBodyReader;
 import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
+import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
 import org.opendaylight.restconf.nb.rfc8040.RestConnectorProvider;
 import org.opendaylight.restconf.nb.rfc8040.handlers.SchemaContextHandler;
 import org.opendaylight.restconf.nb.rfc8040.utils.RestconfConstants;
@@ -49,6 +51,29 @@ public abstract class AbstractIdentifierAwareJaxRsProvider<T> implements Message
             WebApplicationException {
         final InstanceIdentifierContext<?> path = getInstanceIdentifierContext();
 
+        final long maximumSize = RestConnectorProvider.getMaximumRequestSize();
+        if (maximumSize <= 0) {
+            return readEntity(path, entityStream);
+        }
+
+        // reject requests announcing oversized entity before reading it, the others are counted while parsed
+        if (httpHeaders != null && getContentLength(httpHeaders) > maximumSize) {
+            throw BoundedEntityInputStream.tooBig(maximumSize);
+        }
+        final BoundedEntityInputStream boundedStream = new BoundedEntityInputStream(entityStream, maximumSize);
+        try {
+            return readEntity(path, boundedStream);
+        } catch (final RestconfDocumentedException e) {
+            // readers may wrap the failure of stream into malformed message error
+            if (boundedStream.isLimitExceeded()) {
+                throw BoundedEntityInputStream.tooBig(maximumSize);
+            }
+            throw e;
+        }
+    }
+
+    private T readEntity(final InstanceIdentifierContext<?> path, final InputStream entityStream)
+            throws IOException, WebApplicationException {
         final PushbackInputStream pushbackInputStream = new PushbackInputStream(entityStream);
 
         int firstByte = pushbackInputStream.read();
@@ -58,7 +83,18 @@ public abstract class AbstractIdentifierAwareJaxRsProvider<T> implements Message
             pushbackInputStream.unread(firstByte);
             return readBody(path, pushbackInputStream);
         }
+    }
 
+    private static long getContentLength(final MultivaluedMap<String, String> httpHeaders) {
+        final String contentLength = httpHeaders.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
     }
 
     /**
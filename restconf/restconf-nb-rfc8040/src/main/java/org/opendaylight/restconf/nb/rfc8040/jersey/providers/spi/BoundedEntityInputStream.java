@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.restconf.nb.rfc8040.jersey.providers.spi;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
+import org.opendaylight.restconf.common.errors.RestconfError.ErrorTag;
+import org.opendaylight.restconf.common.errors.RestconfError.ErrorType;
+
+/**
+ * Input stream of request entity, which fails once more than maximum allowed number of bytes is read from it, so
+ * oversized requests are rejected while they are parsed rather than after they are fully buffered.
+ */
+final class BoundedEntityInputStream extends FilterInputStream {
+
+    private final long maximumSize;
+    private long count;
+
+    BoundedEntityInputStream(final InputStream in, final long maximumSize) {
+        super(in);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Create exception reporting request entity larger than allowed.
+     *
+     * @param maximumSize
+     *             maximum allowed size of request entity in bytes
+     * @return {@link RestconfDocumentedException}
+     */
+    static RestconfDocumentedException tooBig(final long maximumSize) {
+        return new RestconfDocumentedException("Request entity is larger than " + maximumSize + " bytes",
+                ErrorType.PROTOCOL, ErrorTag.TOO_BIG);
+    }
+
+    /**
+     * Check if more bytes than allowed were read from stream.
+     *
+     * @return true if limit was exceeded
+     */
+    boolean isLimitExceeded() {
+        return this.count > this.maximumSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int read = super.read();
+        if (read != -1) {
+            count(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(final byte[] buf, final int off, final int len) throws IOException {
+        final int read = super.read(buf, off, len);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(final long len) throws IOException {
+        final long skipped = super.skip(len);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(final int readlimit) {
+        // Not supported, counted bytes could not be rewound
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("Mark is not supported");
+    }
+
+    private void count(final long read) {
+        this.count += read;
+        if (isLimitExceeded()) {
+            throw tooBig(this.maximumSize);
+        }
+    }
+}
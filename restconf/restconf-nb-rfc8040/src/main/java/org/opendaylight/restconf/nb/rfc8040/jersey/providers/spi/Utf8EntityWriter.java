@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.restconf.nb.rfc8040.jersey.providers.spi;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Writer of response entity, which encodes characters as UTF-8 directly into a byte buffer. Unlike
+ * {@link java.io.OutputStreamWriter} it neither locks nor calls a charset encoder on each of the many small writes
+ * done by a JSON writer, and its buffer is reused by all responses written by the same thread.
+ *
+ * <p>
+ * Closing the writer flushes the buffer and returns it for reuse, the entity stream itself is left open. Unpaired
+ * surrogates are replaced by '?', as {@link java.io.OutputStreamWriter} does.
+ */
+@NotThreadSafe
+public final class Utf8EntityWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Buffer is taken from the thread while in use, so a nested writer allocates its own
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    private static final char REPLACEMENT = '?';
+
+    private final OutputStream out;
+    private byte[] buf;
+    private int count;
+    private char highSurrogate;
+
+    public Utf8EntityWriter(final OutputStream out) {
+        this.out = Preconditions.checkNotNull(out);
+        final byte[] pooled = BUFFERS.get();
+        if (pooled != null) {
+            BUFFERS.remove();
+            this.buf = pooled;
+        } else {
+            this.buf = new byte[BUFFER_SIZE];
+        }
+    }
+
+    @Override
+    public void write(final int ch) throws IOException {
+        writeChar((char) ch);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        ensureOpen();
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            final char ch = cbuf[i];
+            if (ch < 0x80 && this.highSurrogate == 0 && this.count < this.buf.length) {
+                this.buf[this.count++] = (byte) ch;
+            } else {
+                writeChar(ch);
+            }
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        ensureOpen();
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            final char ch = str.charAt(i);
+            if (ch < 0x80 && this.highSurrogate == 0 && this.count < this.buf.length) {
+                this.buf[this.count++] = (byte) ch;
+            } else {
+                writeChar(ch);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        flushBuffer();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.buf == null) {
+            return;
+        }
+
+        try {
+            if (this.highSurrogate != 0) {
+                this.highSurrogate = 0;
+                writeCodePoint(REPLACEMENT);
+            }
+            flushBuffer();
+            this.out.flush();
+        } finally {
+            BUFFERS.set(this.buf);
+            this.buf = null;
+        }
+    }
+
+    private void writeChar(final char ch) throws IOException {
+        ensureOpen();
+        if (this.highSurrogate != 0) {
+            final char high = this.highSurrogate;
+            this.highSurrogate = 0;
+            if (Character.isLowSurrogate(ch)) {
+                writeCodePoint(Character.toCodePoint(high, ch));
+                return;
+            }
+            writeCodePoint(REPLACEMENT);
+        }
+
+        if (Character.isHighSurrogate(ch)) {
+            // wait for low surrogate, it may come with next write
+            this.highSurrogate = ch;
+        } else if (Character.isLowSurrogate(ch)) {
+            writeCodePoint(REPLACEMENT);
+        } else {
+            writeCodePoint(ch);
+        }
+    }
+
+    private void writeCodePoint(final int codePoint) throws IOException {
+        if (this.count + 4 > this.buf.length) {
+            flushBuffer();
+        }
+
+        if (codePoint < 0x80) {
+            this.buf[this.count++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            this.buf[this.count++] = (byte) (0xC0 | codePoint >> 6);
+            this.buf[this.count++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            this.buf[this.count++] = (byte) (0xE0 | codePoint >> 12);
+            this.buf[this.count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            this.buf[this.count++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            this.buf[this.count++] = (byte) (0xF0 | codePoint >> 18);
+            this.buf[this.count++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            this.buf[this.count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            this.buf[this.count++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.count > 0) {
+            this.out.write(this.buf, 0, this.count);
+            this.count = 0;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.buf == null) {
+            throw new IOException("Writer is closed");
+        }
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.restconf.nb.rfc8040.rests.services.api;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.Encoded;
@@ -18,6 +19,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import org.opendaylight.restconf.common.context.NormalizedNodeContext;
@@ -44,11 +46,40 @@ public interface RestconfDataService extends UpdateHandlers {
      *            URI info
      * @return {@link NormalizedNodeContext}
      */
+    Response readData(String identifier, UriInfo uriInfo);
+
+    /**
+     * Get target data resource, evaluating conditional request headers against entity tag of data. Response
+     * with status 304 is returned, if If-None-Match header matches the tag.
+     *
+     * @param identifier
+     *            path to target
+     * @param uriInfo
+     *            URI info
+     * @param request
+     *            request used to evaluate preconditions
+     * @return {@link NormalizedNodeContext}
+     */
     @GET
     @Path("/data/{identifier:.+}")
     @Produces({ Rfc8040.MediaTypes.DATA + RestconfConstants.JSON, Rfc8040.MediaTypes.DATA, MediaType.APPLICATION_JSON,
             MediaType.APPLICATION_XML, MediaType.TEXT_XML })
-    Response readData(@Encoded @PathParam("identifier") String identifier, @Context UriInfo uriInfo);
+    Response readData(@Encoded @PathParam("identifier") String identifier, @Context UriInfo uriInfo,
+            @Context Request request);
+
+    /**
+     * Get target data resource without waiting for data to be read. Request parameters are validated before this
+     * method returns, failures of the read are reported by the returned future.
+     *
+     * @param identifier
+     *            path to target
+     * @param uriInfo
+     *            URI info
+     * @param request
+     *            request used to evaluate preconditions, null to skip them
+     * @return future of {@link Response}
+     */
+    ListenableFuture<Response> readDataAsync(String identifier, UriInfo uriInfo, Request request);
 
     /**
      * Get target data resource from data root.
@@ -57,11 +88,22 @@ public interface RestconfDataService extends UpdateHandlers {
      *            URI info
      * @return {@link NormalizedNodeContext}
      */
+    Response readData(UriInfo uriInfo);
+
+    /**
+     * Get target data resource from data root, evaluating conditional request headers against entity tag of data.
+     *
+     * @param uriInfo
+     *            URI info
+     * @param request
+     *            request used to evaluate preconditions
+     * @return {@link NormalizedNodeContext}
+     */
     @GET
     @Path("/data")
     @Produces({ Rfc8040.MediaTypes.DATA + RestconfConstants.JSON, Rfc8040.MediaTypes.DATA, MediaType.APPLICATION_JSON,
             MediaType.APPLICATION_XML, MediaType.TEXT_XML })
-    Response readData(@Context UriInfo uriInfo);
+    Response readData(@Context UriInfo uriInfo, @Context Request request);
 
     /**
      * Create or replace the target data resource.
@@ -158,4 +200,16 @@ public interface RestconfDataService extends UpdateHandlers {
     @Produces({ Rfc8040.MediaTypes.PATCH_STATUS + RestconfConstants.JSON,
             Rfc8040.MediaTypes.PATCH_STATUS + RestconfConstants.XML })
     PatchStatusContext patchData(PatchContext context, @Context UriInfo uriInfo);
+
+    /**
+     * Ordered list of edits that are applied to the datastore by the server, without waiting for them to be
+     * committed.
+     *
+     * @param context
+     *            edits
+     * @param uriInfo
+     *            URI info
+     * @return future of {@link PatchStatusContext}
+     */
+    ListenableFuture<PatchStatusContext> patchDataAsync(PatchContext context, UriInfo uriInfo);
 }
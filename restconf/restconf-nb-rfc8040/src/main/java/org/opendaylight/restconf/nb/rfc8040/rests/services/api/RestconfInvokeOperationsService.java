@@ -7,6 +7,7 @@
  */
 package org.opendaylight.restconf.nb.rfc8040.rests.services.api;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Encoded;
 import javax.ws.rs.POST;
@@ -48,4 +49,19 @@ public interface RestconfInvokeOperationsService extends UpdateHandlers {
             MediaType.APPLICATION_XML, MediaType.TEXT_XML })
     NormalizedNodeContext invokeRpc(@Encoded @PathParam("identifier") String identifier,
             NormalizedNodeContext payload, @Context UriInfo uriInfo);
+
+    /**
+     * Invoke RPC operation without waiting for its result.
+     *
+     * @param identifier
+     *             module name and rpc identifier string for the desired
+     *            operation
+     * @param payload
+     *             {@link NormalizedNodeContext} - the body of the operation
+     * @param uriInfo
+     *             URI info
+     * @return future of {@link NormalizedNodeContext}
+     */
+    ListenableFuture<NormalizedNodeContext> invokeRpcAsync(String identifier, NormalizedNodeContext payload,
+            UriInfo uriInfo);
 }
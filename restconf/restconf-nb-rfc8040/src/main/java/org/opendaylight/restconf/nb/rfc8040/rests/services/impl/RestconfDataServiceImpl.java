@@ -14,13 +14,23 @@ import static org.opendaylight.restconf.nb.rfc8040.rests.utils.RestconfStreamsCo
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import java.time.Clock;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
@@ -41,11 +51,14 @@ import org.opendaylight.restconf.nb.rfc8040.rests.services.api.RestconfDataServi
 import org.opendaylight.restconf.nb.rfc8040.rests.services.api.RestconfStreamsSubscriptionService;
 import org.opendaylight.restconf.nb.rfc8040.rests.transactions.TransactionVarsWrapper;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.DeleteDataTransactionUtil;
+import org.opendaylight.restconf.nb.rfc8040.rests.utils.EntityTagCache;
+import org.opendaylight.restconf.nb.rfc8040.rests.utils.EntityTagCache.CachedTag;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.PatchDataTransactionUtil;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.PostDataTransactionUtil;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.PutDataTransactionUtil;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.ReadDataTransactionUtil;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.RestconfDataServiceConstant;
+import org.opendaylight.restconf.nb.rfc8040.rests.utils.TransactionUtil;
 import org.opendaylight.restconf.nb.rfc8040.utils.RestconfConstants;
 import org.opendaylight.restconf.nb.rfc8040.utils.parser.ParserIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -66,15 +79,26 @@ public class RestconfDataServiceImpl implements RestconfDataService {
     private DOMMountPointServiceHandler mountPointServiceHandler;
 
     private final RestconfStreamsSubscriptionService delegRestconfSubscrService;
+    private final EntityTagCache entityTagCache;
 
     public RestconfDataServiceImpl(final SchemaContextHandler schemaContextHandler,
                                    final TransactionChainHandler transactionChainHandler,
             final DOMMountPointServiceHandler mountPointServiceHandler,
             final RestconfStreamsSubscriptionService delegRestconfSubscrService) {
+        this(schemaContextHandler, transactionChainHandler, mountPointServiceHandler, delegRestconfSubscrService,
+                new EntityTagCache());
+    }
+
+    public RestconfDataServiceImpl(final SchemaContextHandler schemaContextHandler,
+                                   final TransactionChainHandler transactionChainHandler,
+            final DOMMountPointServiceHandler mountPointServiceHandler,
+            final RestconfStreamsSubscriptionService delegRestconfSubscrService,
+            final EntityTagCache entityTagCache) {
         this.schemaContextHandler = schemaContextHandler;
         this.transactionChainHandler = transactionChainHandler;
         this.mountPointServiceHandler = mountPointServiceHandler;
         this.delegRestconfSubscrService = delegRestconfSubscrService;
+        this.entityTagCache = Preconditions.checkNotNull(entityTagCache);
     }
 
     @Override
@@ -95,8 +119,24 @@ public class RestconfDataServiceImpl implements RestconfDataService {
         return readData(null, uriInfo);
     }
 
+    @Override
+    public Response readData(final UriInfo uriInfo, final Request request) {
+        return readData(null, uriInfo, request);
+    }
+
     @Override
     public Response readData(final String identifier, final UriInfo uriInfo) {
+        return readData(identifier, uriInfo, null);
+    }
+
+    @Override
+    public Response readData(final String identifier, final UriInfo uriInfo, final Request request) {
+        return TransactionUtil.waitForResult(readDataAsync(identifier, uriInfo, request));
+    }
+
+    @Override
+    public ListenableFuture<Response> readDataAsync(final String identifier, final UriInfo uriInfo,
+            @Nullable final Request request) {
         final SchemaContextRef schemaContextRef = new SchemaContextRef(this.schemaContextHandler.get());
         final InstanceIdentifierContext<?> instanceIdentifier = ParserIdentifier.toInstanceIdentifier(
                 identifier, schemaContextRef.get(), Optional.of(this.mountPointServiceHandler.get()));
@@ -141,37 +181,102 @@ public class RestconfDataServiceImpl implements RestconfDataService {
             transactionChain = transactionChainOfMountPoint(mountPoint);
         }
 
+        final boolean subscription = identifier != null && identifier.contains(STREAM_PATH)
+                && identifier.contains(STREAM_ACCESS_PATH_PART) && identifier.contains(STREAM_LOCATION_PATH_PART);
+        // Tags of data read from mount points are not cached, changes of device data are not notified.
+        // Subscriptions are never answered from cache, reading the stream location subscribes to it.
+        final String tagKey = mountPoint == null && !subscription ? toTagKey(uriInfo) : null;
+        final long generation = this.entityTagCache.getGeneration();
+        final CachedTag cachedTag = tagKey == null ? null
+                : this.entityTagCache.get(instanceIdentifier.getInstanceIdentifier(), tagKey);
+        if (cachedTag != null && request != null) {
+            final ResponseBuilder notModified = request.evaluatePreconditions(cachedTag.getTag());
+            if (notModified != null) {
+                return Futures.immediateFuture(notModified.build());
+            }
+        }
+
         final TransactionVarsWrapper transactionNode = new TransactionVarsWrapper(
                 instanceIdentifier, mountPoint, transactionChain);
-        final NormalizedNode<?, ?> node =
-                ReadDataTransactionUtil.readData(identifier, parameters.getContent(), transactionNode, withDefa,
-                        schemaContextRef, uriInfo);
-        if (identifier.contains(STREAM_PATH) && identifier.contains(STREAM_ACCESS_PATH_PART)
-                && identifier.contains(STREAM_LOCATION_PATH_PART)) {
-            final String value = (String) node.getValue();
-            final String streamName = value.substring(
-                    value.indexOf(CREATE_NOTIFICATION_STREAM.toString() + RestconfConstants.SLASH),
-                    value.length());
-            this.delegRestconfSubscrService.subscribeToStream(streamName, uriInfo);
+        if (mountPoint != null && parameters.getFields() != null) {
+            // Let the device send only selected fields, instead of the whole subtree
+            transactionNode.setFields(parameters.getFields());
         }
-        if (node == null) {
-            throw new RestconfDocumentedException(
-                    "Request could not be completed because the relevant data model content does not exist",
-                    RestconfError.ErrorType.PROTOCOL,
-                    RestconfError.ErrorTag.DATA_MISSING);
+        if (parameters.getFields() == null) {
+            // Config and state data are merged only as deep as they are written
+            transactionNode.setDepth(parameters.getDepth());
+        }
+        final ListenableFuture<NormalizedNode<?, ?>> data = ReadDataTransactionUtil.readDataAsync(identifier,
+                parameters.getContent(), transactionNode, withDefa, schemaContextRef, uriInfo);
+        return Futures.transform(data, (final NormalizedNode<?, ?> node) -> {
+            if (subscription) {
+                subscribeToStream(uriInfo, node);
+            }
+            if (node == null) {
+                throw new RestconfDocumentedException(
+                        "Request could not be completed because the relevant data model content does not exist",
+                        RestconfError.ErrorType.PROTOCOL,
+                        RestconfError.ErrorTag.DATA_MISSING);
+            }
+
+            final CachedTag tag;
+            if (cachedTag != null && generation == this.entityTagCache.getGeneration()) {
+                tag = cachedTag;
+            } else {
+                tag = new CachedTag(EntityTagCache.computeTag(node), new Date());
+                if (tagKey != null) {
+                    this.entityTagCache.put(instanceIdentifier.getInstanceIdentifier(), tagKey, tag, generation);
+                }
+            }
+            return createReadResponse(instanceIdentifier, parameters, node, tag, request);
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Get key identifying representation of data in entity tag cache. Query parameters select content and shape of
+     * returned data, so each combination of them is tagged separately.
+     *
+     * @param uriInfo
+     *             URI info
+     * @return key of representation
+     */
+    private static String toTagKey(final UriInfo uriInfo) {
+        final TreeMap<String, List<String>> sorted = new TreeMap<>();
+        for (final Entry<String, List<String>> entry : uriInfo.getQueryParameters().entrySet()) {
+            sorted.put(entry.getKey(), entry.getValue());
         }
+        return sorted.toString();
+    }
 
+    private void subscribeToStream(final UriInfo uriInfo, final NormalizedNode<?, ?> node) {
+        final String value = (String) node.getValue();
+        final String streamName = value.substring(
+                value.indexOf(CREATE_NOTIFICATION_STREAM.toString() + RestconfConstants.SLASH),
+                value.length());
+        this.delegRestconfSubscrService.subscribeToStream(streamName, uriInfo);
+    }
+
+    private static Response createReadResponse(final InstanceIdentifierContext<?> instanceIdentifier,
+            final WriterParameters parameters, final NormalizedNode<?, ?> node, final CachedTag tag,
+            @Nullable final Request request) {
+        final EntityTag entityTag = tag.getTag();
+        if (request != null) {
+            // data are not serialized, if the client already has them
+            final ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+            if (notModified != null) {
+                return notModified.build();
+            }
+        }
+
+        final ResponseBuilder builder = Response.status(200)
+                .entity(new NormalizedNodeContext(instanceIdentifier, node, parameters))
+                .tag(entityTag);
         if ((parameters.getContent().equals(RestconfDataServiceConstant.ReadData.ALL))
                     || parameters.getContent().equals(RestconfDataServiceConstant.ReadData.CONFIG)) {
-            return Response.status(200)
-                    .entity(new NormalizedNodeContext(instanceIdentifier, node, parameters))
-                    .header("ETag", '"' + node.getNodeType().getModule().getFormattedRevision()
-                        + node.getNodeType().getLocalName() + '"')
-                    .header("Last-Modified", FORMATTER.format(LocalDateTime.now(Clock.systemUTC())))
-                    .build();
+            builder.header("Last-Modified", FORMATTER.format(
+                    LocalDateTime.ofInstant(tag.getLastModified().toInstant(), ZoneOffset.UTC)));
         }
-
-        return Response.status(200).entity(new NormalizedNodeContext(instanceIdentifier, node, parameters)).build();
+        return builder.build();
     }
 
     @Override
@@ -228,7 +333,11 @@ public class RestconfDataServiceImpl implements RestconfDataService {
 
         final TransactionVarsWrapper transactionNode = new TransactionVarsWrapper(
                 payload.getInstanceIdentifierContext(), mountPoint, transactionChain);
-        return PutDataTransactionUtil.putData(payload, ref, transactionNode, insert, point);
+        try {
+            return PutDataTransactionUtil.putData(payload, ref, transactionNode, insert, point);
+        } finally {
+            invalidateTags(payload.getInstanceIdentifierContext());
+        }
     }
 
     private static void checkQueryParams(final boolean insertUsed, final boolean pointUsed, final String insert) {
@@ -292,7 +401,11 @@ public class RestconfDataServiceImpl implements RestconfDataService {
         }
         final TransactionVarsWrapper transactionNode = new TransactionVarsWrapper(
                 payload.getInstanceIdentifierContext(), mountPoint, transactionChain);
-        return PostDataTransactionUtil.postData(uriInfo, payload, transactionNode, ref, insert, point);
+        try {
+            return PostDataTransactionUtil.postData(uriInfo, payload, transactionNode, ref, insert, point);
+        } finally {
+            invalidateTags(payload.getInstanceIdentifierContext());
+        }
     }
 
     @Override
@@ -311,7 +424,11 @@ public class RestconfDataServiceImpl implements RestconfDataService {
 
         final TransactionVarsWrapper transactionNode = new TransactionVarsWrapper(instanceIdentifier, mountPoint,
                 transactionChain);
-        return DeleteDataTransactionUtil.deleteData(transactionNode);
+        try {
+            return DeleteDataTransactionUtil.deleteData(transactionNode);
+        } finally {
+            invalidateTags(instanceIdentifier);
+        }
     }
 
     @Override
@@ -321,6 +438,11 @@ public class RestconfDataServiceImpl implements RestconfDataService {
 
     @Override
     public PatchStatusContext patchData(final PatchContext context, final UriInfo uriInfo) {
+        return TransactionUtil.waitForResult(patchDataAsync(context, uriInfo));
+    }
+
+    @Override
+    public ListenableFuture<PatchStatusContext> patchDataAsync(final PatchContext context, final UriInfo uriInfo) {
         Preconditions.checkNotNull(context);
         final DOMMountPoint mountPoint = context.getInstanceIdentifierContext().getMountPoint();
 
@@ -337,7 +459,50 @@ public class RestconfDataServiceImpl implements RestconfDataService {
         final TransactionVarsWrapper transactionNode = new TransactionVarsWrapper(
                 context.getInstanceIdentifierContext(), mountPoint, transactionChain);
 
-        return PatchDataTransactionUtil.patchData(context, transactionNode, ref);
+        ListenableFuture<PatchStatusContext> status = null;
+        try {
+            status = PatchDataTransactionUtil.patchDataAsync(context, transactionNode, ref);
+        } finally {
+            if (status == null) {
+                // the patch failed before its outcome could be reported by the future
+                invalidateTags(context.getInstanceIdentifierContext());
+            }
+        }
+        return invalidateTagsOnCompletion(status, context.getInstanceIdentifierContext());
+    }
+
+    /**
+     * Invalidate cached entity tags once an asynchronous write completes, whether it succeeds or fails. Tags are
+     * invalidated before the outcome of the write is returned, not only once the change is notified.
+     *
+     * @param future
+     *             future of the write
+     * @param instanceIdentifier
+     *             path of written data
+     * @return future completing like the write future, after the tags are invalidated
+     */
+    private <T> ListenableFuture<T> invalidateTagsOnCompletion(final ListenableFuture<T> future,
+            final InstanceIdentifierContext<?> instanceIdentifier) {
+        final SettableFuture<T> result = SettableFuture.create();
+        future.addListener(() -> {
+            invalidateTags(instanceIdentifier);
+            result.setFuture(future);
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    /**
+     * Invalidate cached entity tags of data written by this server, so a conditional read following the write is
+     * never answered with a stale tag, even if the change notification of the write was not delivered yet.
+     *
+     * @param instanceIdentifier
+     *             path of written data
+     */
+    private void invalidateTags(final InstanceIdentifierContext<?> instanceIdentifier) {
+        // tags of data of mount points are not cached
+        if (instanceIdentifier.getMountPoint() == null) {
+            this.entityTagCache.invalidate(instanceIdentifier.getInstanceIdentifier());
+        }
     }
 
     /**
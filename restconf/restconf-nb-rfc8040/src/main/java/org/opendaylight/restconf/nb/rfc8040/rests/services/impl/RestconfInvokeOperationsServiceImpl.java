@@ -7,6 +7,9 @@
  */
 package org.opendaylight.restconf.nb.rfc8040.rests.services.impl;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.net.URI;
 import javax.ws.rs.core.UriInfo;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
@@ -23,6 +26,7 @@ import org.opendaylight.restconf.nb.rfc8040.rests.services.api.RestconfInvokeOpe
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.CreateStreamUtil;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.RestconfInvokeOperationsUtil;
 import org.opendaylight.restconf.nb.rfc8040.rests.utils.RestconfStreamsConstants;
+import org.opendaylight.restconf.nb.rfc8040.rests.utils.TransactionUtil;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -56,32 +60,46 @@ public class RestconfInvokeOperationsServiceImpl implements RestconfInvokeOperat
     @Override
     public NormalizedNodeContext invokeRpc(final String identifier, final NormalizedNodeContext payload,
                                            final UriInfo uriInfo) {
+        return TransactionUtil.waitForResult(invokeRpcAsync(identifier, payload, uriInfo));
+    }
+
+    @Override
+    public ListenableFuture<NormalizedNodeContext> invokeRpcAsync(final String identifier,
+            final NormalizedNodeContext payload, final UriInfo uriInfo) {
         final SchemaContextRef refSchemaCtx = new SchemaContextRef(this.schemaContextHandler.get());
         final SchemaPath schemaPath = payload.getInstanceIdentifierContext().getSchemaNode().getPath();
         final DOMMountPoint mountPoint = payload.getInstanceIdentifierContext().getMountPoint();
         final URI namespace = payload.getInstanceIdentifierContext().getSchemaNode().getQName().getNamespace();
-        DOMRpcResult response;
-
-        SchemaContextRef schemaContextRef;
+        final ListenableFuture<DOMRpcResult> response;
+        final SchemaContextRef schemaContextRef;
 
         if (mountPoint == null) {
             if (namespace.toString().equals(RestconfStreamsConstants.SAL_REMOTE_NAMESPACE)) {
                 if (identifier.contains(RestconfStreamsConstants.CREATE_DATA_SUBSCR)) {
-                    response = CreateStreamUtil.createDataChangeNotifiStream(payload, refSchemaCtx);
+                    response = Futures.immediateFuture(
+                            CreateStreamUtil.createDataChangeNotifiStream(payload, refSchemaCtx));
                 } else {
                     throw new RestconfDocumentedException("Not supported operation", ErrorType.RPC,
                             ErrorTag.OPERATION_NOT_SUPPORTED);
                 }
             } else {
-                response = RestconfInvokeOperationsUtil.invokeRpc(payload.getData(), schemaPath,
+                response = RestconfInvokeOperationsUtil.invokeRpcAsync(payload.getData(), schemaPath,
                         this.rpcServiceHandler);
             }
             schemaContextRef = new SchemaContextRef(this.schemaContextHandler.get());
         } else {
-            response = RestconfInvokeOperationsUtil.invokeRpcViaMountPoint(mountPoint, payload.getData(), schemaPath);
+            response = RestconfInvokeOperationsUtil.invokeRpcViaMountPointAsync(mountPoint, payload.getData(),
+                    schemaPath);
             schemaContextRef = new SchemaContextRef(mountPoint.getSchemaContext());
         }
 
+        return Futures.transform(response,
+            (final DOMRpcResult rpcResult) -> createResultContext(payload, mountPoint, schemaContextRef, rpcResult),
+            MoreExecutors.directExecutor());
+    }
+
+    private static NormalizedNodeContext createResultContext(final NormalizedNodeContext payload,
+            final DOMMountPoint mountPoint, final SchemaContextRef schemaContextRef, final DOMRpcResult response) {
         final DOMRpcResult result = RestconfInvokeOperationsUtil.checkResponse(response);
 
         RpcDefinition resultNodeSchema = null;
@@ -7,10 +7,13 @@
  */
 package org.opendaylight.restconf.nb.rfc8040.rests.transactions;
 
+import java.util.List;
+import java.util.Set;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
 import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
+import org.opendaylight.yangtools.yang.common.QName;
 
 /**
  * This class represent delegation wrapper for transaction variables.
@@ -22,6 +25,8 @@ public final class TransactionVarsWrapper {
     private final DOMMountPoint mountPoint;
     private LogicalDatastoreType configuration = null;
     private final DOMTransactionChain transactionChain;
+    private List<Set<QName>> fields = null;
+    private Integer depth = null;
 
     /**
      * Set base type of variables, which ones we need for transaction.
@@ -90,4 +95,43 @@ public final class TransactionVarsWrapper {
     public DOMTransactionChain getTransactionChain() {
         return this.transactionChain;
     }
+
+    /**
+     * Set fields selected by fields parameter, used to limit data read from mount point.
+     *
+     * @param fields
+     *             selected child nodes organized into levels
+     */
+    public void setFields(final List<Set<QName>> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Get fields selected by fields parameter.
+     *
+     * @return selected child nodes organized into levels, null if data are not limited
+     */
+    public List<Set<QName>> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Set depth selected by depth parameter, used to limit merging of config and state data to nodes, which are
+     * written.
+     *
+     * @param depth
+     *             maximal depth of written data
+     */
+    public void setDepth(final Integer depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Get depth selected by depth parameter.
+     *
+     * @return maximal depth of written data, null if data are not limited
+     */
+    public Integer getDepth() {
+        return this.depth;
+    }
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.restconf.nb.rfc8040.rests.utils;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.ws.rs.core.EntityTag;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entity tags of data read from the datastore, cached per path and query parameters until data at the path change.
+ *
+ * <p>
+ * Tags are weak, computed as a hash of read data, as the same data serialized to JSON and XML share one tag. They are
+ * kept in an index organized as a tree of path arguments, which is walked together with {@link DataTreeCandidate}s
+ * of datastore changes, so only tags of modified nodes, their ancestors and descendants are invalidated. Writes done
+ * by this server invalidate their path by {@link #invalidate(YangInstanceIdentifier)} before they are answered, so
+ * a tag lags behind only commits of other clients of the datastore, until their change notification is delivered.
+ */
+@ThreadSafe
+public final class EntityTagCache implements DOMDataTreeChangeListener, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityTagCache.class);
+
+    // Cache is emptied once it reaches this number of tags
+    private static final int MAX_TAGS = 4096;
+
+    // Marks end of children of a container, so moving a node to a different parent changes the hash
+    private static final byte END_OF_CHILDREN = 0;
+
+    private final List<ListenerRegistration<EntityTagCache>> registrations = new ArrayList<>(2);
+
+    @GuardedBy("this")
+    private final IndexNode root = new IndexNode();
+    @GuardedBy("this")
+    private long generation;
+    @GuardedBy("this")
+    private int size;
+
+    /**
+     * Cached entity tag together with time when it was computed.
+     */
+    public static final class CachedTag {
+        private final EntityTag tag;
+        private final Date lastModified;
+
+        public CachedTag(final EntityTag tag, final Date lastModified) {
+            this.tag = tag;
+            this.lastModified = lastModified;
+        }
+
+        public EntityTag getTag() {
+            return this.tag;
+        }
+
+        public Date getLastModified() {
+            return this.lastModified;
+        }
+    }
+
+    private static final class IndexNode {
+        final Map<PathArgument, IndexNode> children = new HashMap<>();
+        final Map<String, CachedTag> tags = new HashMap<>();
+
+        boolean isEmpty() {
+            return children.isEmpty() && tags.isEmpty();
+        }
+    }
+
+    /**
+     * Create cache invalidated by changes of both datastores of data broker. If the broker does not support data
+     * tree change listeners, no tags are cached.
+     *
+     * @param dataBroker
+     *             data broker
+     * @return {@link EntityTagCache}
+     */
+    public static EntityTagCache create(@Nonnull final DOMDataBroker dataBroker) {
+        final EntityTagCache cache = new EntityTagCache();
+        final DOMDataTreeChangeService changeService =
+                (DOMDataTreeChangeService) dataBroker.getSupportedExtensions().get(DOMDataTreeChangeService.class);
+        if (changeService == null) {
+            LOG.debug("Data broker {} does not support data tree change listeners, entity tags are not cached",
+                    dataBroker);
+            return cache;
+        }
+
+        for (final LogicalDatastoreType datastore : LogicalDatastoreType.values()) {
+            cache.registrations.add(changeService.registerDataTreeChangeListener(
+                    new DOMDataTreeIdentifier(datastore, YangInstanceIdentifier.EMPTY), cache));
+        }
+        return cache;
+    }
+
+    /**
+     * Compute weak entity tag of data.
+     *
+     * @param data
+     *             data
+     * @return {@link EntityTag}
+     */
+    public static EntityTag computeTag(@Nonnull final NormalizedNode<?, ?> data) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hashNode(hasher, data);
+        return new EntityTag(hasher.hash().toString(), true);
+    }
+
+    /**
+     * Get generation of cached tags, which has to be passed to {@link #put(YangInstanceIdentifier, String,
+     * CachedTag, long)} to cache a tag of data read after this call.
+     *
+     * @return generation, which changes with every datastore change
+     */
+    public synchronized long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Get cached tag of data.
+     *
+     * @param path
+     *             path of data
+     * @param key
+     *             key of representation of data, e.g. query parameters
+     * @return cached tag or null if tag is not cached
+     */
+    @Nullable
+    public synchronized CachedTag get(@Nonnull final YangInstanceIdentifier path, @Nonnull final String key) {
+        IndexNode node = this.root;
+        for (final PathArgument arg : path.getPathArguments()) {
+            node = node.children.get(arg);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node.tags.get(key);
+    }
+
+    /**
+     * Cache tag of data, unless data changed after generation was obtained.
+     *
+     * @param path
+     *             path of data
+     * @param key
+     *             key of representation of data, e.g. query parameters
+     * @param tag
+     *             tag to cache
+     * @param generation
+     *             generation obtained by {@link #getGeneration()} before data were read
+     */
+    public synchronized void put(@Nonnull final YangInstanceIdentifier path, @Nonnull final String key,
+            @Nonnull final CachedTag tag, final long generation) {
+        if (generation != this.generation || this.registrations.isEmpty()) {
+            return;
+        }
+        if (this.size >= MAX_TAGS) {
+            LOG.debug("Entity tag cache reached {} tags, clearing it", this.size);
+            this.root.children.clear();
+            this.root.tags.clear();
+            this.size = 0;
+        }
+
+        IndexNode node = this.root;
+        for (final PathArgument arg : path.getPathArguments()) {
+            node = node.children.computeIfAbsent(arg, k -> new IndexNode());
+        }
+        if (node.tags.put(key, tag) == null) {
+            this.size++;
+        }
+    }
+
+    /**
+     * Invalidate tags of data written at path, their ancestors and descendants. Tags of data read before this call
+     * are not cached anymore.
+     *
+     * @param path
+     *             path of written data
+     */
+    public synchronized void invalidate(@Nonnull final YangInstanceIdentifier path) {
+        this.generation++;
+        final IndexNode node = invalidateAncestors(path);
+        if (node != null) {
+            clear(node);
+        }
+    }
+
+    @Override
+    public synchronized void onDataTreeChanged(@Nonnull final Collection<DataTreeCandidate> changes) {
+        this.generation++;
+        for (final DataTreeCandidate change : changes) {
+            final IndexNode node = invalidateAncestors(change.getRootPath());
+            if (node != null) {
+                invalidate(node, change.getRootNode());
+            }
+        }
+    }
+
+    /**
+     * Invalidate tags of all ancestors of path, data of all ancestors of changed node changed too.
+     *
+     * @return index node of path or null if no tags are cached at or below path
+     */
+    @GuardedBy("this")
+    private IndexNode invalidateAncestors(final YangInstanceIdentifier path) {
+        IndexNode node = this.root;
+        for (final PathArgument arg : path.getPathArguments()) {
+            this.size -= node.tags.size();
+            node.tags.clear();
+            node = node.children.get(arg);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private void invalidate(final IndexNode node, final DataTreeCandidateNode candidate) {
+        switch (candidate.getModificationType()) {
+            case UNMODIFIED:
+                return;
+            case SUBTREE_MODIFIED:
+                this.size -= node.tags.size();
+                node.tags.clear();
+
+                // only children with cached tags are looked up, candidate may contain many more
+                final Iterator<Entry<PathArgument, IndexNode>> it = node.children.entrySet().iterator();
+                while (it.hasNext()) {
+                    final Entry<PathArgument, IndexNode> child = it.next();
+                    final DataTreeCandidateNode childCandidate = candidate.getModifiedChild(child.getKey());
+                    if (childCandidate != null) {
+                        invalidate(child.getValue(), childCandidate);
+                        if (child.getValue().isEmpty()) {
+                            it.remove();
+                        }
+                    }
+                }
+                return;
+            default:
+                // node was written or deleted, whole subtree is replaced
+                clear(node);
+                return;
+        }
+    }
+
+    private void clear(final IndexNode node) {
+        this.size -= node.tags.size();
+        node.tags.clear();
+        for (final IndexNode child : node.children.values()) {
+            clear(child);
+        }
+        node.children.clear();
+    }
+
+    private static void hashNode(final Hasher hasher, final NormalizedNode<?, ?> node) {
+        hasher.putString(node.getIdentifier().toString(), StandardCharsets.UTF_8);
+        final Object value = node.getValue();
+        if (node instanceof NormalizedNodeContainer) {
+            for (final NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                hashNode(hasher, child);
+            }
+            hasher.putByte(END_OF_CHILDREN);
+        } else if (value instanceof byte[]) {
+            hasher.putBytes((byte[]) value);
+        } else {
+            hasher.putString(String.valueOf(value), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (final ListenerRegistration<EntityTagCache> registration : this.registrations) {
+            registration.close();
+        }
+        this.registrations.clear();
+        this.root.children.clear();
+        this.root.tags.clear();
+        this.size = 0;
+    }
+}
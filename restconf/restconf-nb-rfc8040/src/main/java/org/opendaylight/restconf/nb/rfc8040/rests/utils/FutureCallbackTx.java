@@ -8,6 +8,11 @@
 package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
 import java.util.List;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
@@ -64,4 +69,42 @@ final class FutureCallbackTx {
             }
         }
     }
+
+    /**
+     * Get a future of the result of the operation, which does not block the caller until the operation completes.
+     * Failures are reported the same way as by {@link #addCallback(CheckedFuture, String, FutureDataFactory)}.
+     *
+     * @param listenableFuture
+     *             future object
+     * @param txType
+     *             type of operation (READ, POST, PUT, DELETE)
+     * @return future of the result, failing with {@link RestconfDocumentedException}
+     */
+    static <T, X extends Exception> ListenableFuture<T> toRestconfFuture(final CheckedFuture<T, X> listenableFuture,
+            final String txType) {
+        final SettableFuture<T> result = SettableFuture.create();
+        Futures.addCallback(listenableFuture, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(final T value) {
+                LOG.trace("Transaction({}) SUCCESSFUL", txType);
+                result.set(value);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onFailure(final Throwable cause) {
+                LOG.warn("Transaction({}) FAILED!", txType, cause);
+                if (cause instanceof DOMRpcException) {
+                    final List<RpcError> rpcErrorList = new ArrayList<>();
+                    rpcErrorList.add(
+                            RpcResultBuilder.newError(RpcError.ErrorType.RPC, "operation-failed", cause.getMessage()));
+                    result.set((T) new DefaultDOMRpcResult(rpcErrorList));
+                } else {
+                    result.setException(new RestconfDocumentedException(
+                            "Transaction(" + txType + ") not committed correctly", cause));
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
 }
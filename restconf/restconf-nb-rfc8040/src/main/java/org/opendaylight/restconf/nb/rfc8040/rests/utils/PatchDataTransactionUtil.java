@@ -11,8 +11,14 @@ package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
@@ -55,9 +61,23 @@ public final class PatchDataTransactionUtil {
      */
     public static PatchStatusContext patchData(final PatchContext context, final TransactionVarsWrapper transactionNode,
                                                final SchemaContextRef schemaContextRef) {
+        return TransactionUtil.waitForResult(patchDataAsync(context, transactionNode, schemaContextRef));
+    }
+
+    /**
+     * Process edit operations of one {@link PatchContext}, without waiting for the transaction to be committed.
+     * @param context Patch context to be processed
+     * @param transactionNode Wrapper for transaction
+     * @param schemaContextRef Soft reference for global schema context
+     * @return future of {@link PatchStatusContext}, commit failures are reported as global errors of the status
+     */
+    public static ListenableFuture<PatchStatusContext> patchDataAsync(final PatchContext context,
+            final TransactionVarsWrapper transactionNode, final SchemaContextRef schemaContextRef) {
         final List<PatchStatusEntity> editCollection = new ArrayList<>();
         boolean noError = true;
         final DOMDataReadWriteTransaction tx = transactionNode.getTransactionChain().newReadWriteTransaction();
+        final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> existenceChecks =
+                readIndependentExistence(context.getData(), tx);
 
         for (final PatchEntity patchEntity : context.getData()) {
             if (noError) {
@@ -65,7 +85,8 @@ public final class PatchDataTransactionUtil {
                     case CREATE:
                         try {
                             createDataWithinTransaction(LogicalDatastoreType.CONFIGURATION,
-                                    patchEntity.getTargetNode(), patchEntity.getNode(), tx, schemaContextRef);
+                                    patchEntity.getTargetNode(), patchEntity.getNode(), tx, schemaContextRef,
+                                    existenceChecks);
                             editCollection.add(new PatchStatusEntity(patchEntity.getEditId(), true, null));
                         } catch (final RestconfDocumentedException e) {
                             editCollection.add(new PatchStatusEntity(patchEntity.getEditId(),
@@ -76,7 +97,7 @@ public final class PatchDataTransactionUtil {
                     case DELETE:
                         try {
                             deleteDataWithinTransaction(LogicalDatastoreType.CONFIGURATION, patchEntity.getTargetNode(),
-                                    tx);
+                                    tx, existenceChecks);
                             editCollection.add(new PatchStatusEntity(patchEntity.getEditId(), true, null));
                         } catch (final RestconfDocumentedException e) {
                             editCollection.add(new PatchStatusEntity(patchEntity.getEditId(),
@@ -98,7 +119,8 @@ public final class PatchDataTransactionUtil {
                     case REPLACE:
                         try {
                             replaceDataWithinTransaction(LogicalDatastoreType.CONFIGURATION,
-                                    patchEntity.getTargetNode(), patchEntity.getNode(), schemaContextRef, tx);
+                                    patchEntity.getTargetNode(), patchEntity.getNode(), schemaContextRef, tx,
+                                    existenceChecks);
                             editCollection.add(new PatchStatusEntity(patchEntity.getEditId(), true, null));
                         } catch (final RestconfDocumentedException e) {
                             editCollection.add(new PatchStatusEntity(patchEntity.getEditId(),
@@ -131,26 +153,95 @@ public final class PatchDataTransactionUtil {
 
         // if no errors then submit transaction, otherwise cancel
         if (noError) {
-            final ResponseFactory response = new ResponseFactory();
             final CheckedFuture<Void, TransactionCommitFailedException> future = tx.submit();
+            final List<PatchStatusEntity> editStatus = ImmutableList.copyOf(editCollection);
 
-            try {
-                FutureCallbackTx.addCallback(future, PatchData.PATCH_TX_TYPE, response);
-            } catch (final RestconfDocumentedException e) {
-                // if errors occurred during transaction commit then patch failed and global errors are reported
-                return new PatchStatusContext(context.getPatchId(), ImmutableList.copyOf(editCollection), false,
-                        Lists.newArrayList(e.getErrors()));
-            }
+            final ListenableFuture<PatchStatusContext> committed = Futures.transform(
+                FutureCallbackTx.toRestconfFuture(future, PatchData.PATCH_TX_TYPE),
+                (final Void result) -> new PatchStatusContext(context.getPatchId(), editStatus, true, null),
+                MoreExecutors.directExecutor());
 
-            return new PatchStatusContext(context.getPatchId(), ImmutableList.copyOf(editCollection), true, null);
+            // if errors occurred during transaction commit then patch failed and global errors are reported
+            return Futures.catching(committed, RestconfDocumentedException.class,
+                (final RestconfDocumentedException e) -> new PatchStatusContext(context.getPatchId(), editStatus,
+                        false, Lists.newArrayList(e.getErrors())), MoreExecutors.directExecutor());
         } else {
             tx.cancel();
             RestConnectorProvider.resetTransactionChainForAdapaters(transactionNode.getTransactionChain());
-            return new PatchStatusContext(context.getPatchId(), ImmutableList.copyOf(editCollection),
-                    false, null);
+            return Futures.immediateFuture(new PatchStatusContext(context.getPatchId(),
+                    ImmutableList.copyOf(editCollection), false, null));
         }
     }
 
+    /**
+     * Start existence checks of all edits, which do not depend on preceding edits of the patch, so they are read
+     * concurrently rather than one after another. A checked path depends on a preceding edit if it is an ancestor or
+     * a descendant of its target, or the target itself. Such paths are checked when the edit is applied, so they see
+     * results of preceding edits.
+     * @param edits Edits of patch in order of their application
+     * @param tx Transaction
+     * @return Pending existence checks by checked path
+     */
+    private static Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> readIndependentExistence(
+            final List<PatchEntity> edits, final DOMDataReadWriteTransaction tx) {
+        final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> checks = new HashMap<>();
+        final List<YangInstanceIdentifier> precedingTargets = new ArrayList<>(edits.size());
+        for (final PatchEntity edit : edits) {
+            for (final YangInstanceIdentifier path : getCheckedPaths(edit)) {
+                if (!isAffected(path, precedingTargets)) {
+                    checks.put(path, tx.exists(LogicalDatastoreType.CONFIGURATION, path));
+                }
+            }
+            precedingTargets.add(edit.getTargetNode());
+        }
+
+        LOG.trace("Started {} existence checks of patch ahead of its edits", checks.size());
+        return checks;
+    }
+
+    private static List<YangInstanceIdentifier> getCheckedPaths(final PatchEntity edit) {
+        switch (edit.getOperation()) {
+            case CREATE:
+                if (edit.getNode() instanceof MapNode) {
+                    final List<YangInstanceIdentifier> paths = new ArrayList<>();
+                    for (final MapEntryNode child : ((MapNode) edit.getNode()).getValue()) {
+                        paths.add(edit.getTargetNode().node(child.getIdentifier()));
+                    }
+                    return paths;
+                }
+                return Collections.singletonList(edit.getTargetNode());
+            case DELETE:
+                return Collections.singletonList(edit.getTargetNode());
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    private static boolean isAffected(final YangInstanceIdentifier path, final List<YangInstanceIdentifier> targets) {
+        for (final YangInstanceIdentifier target : targets) {
+            if (target.contains(path) || path.contains(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get existence check of path started ahead of edits, or start it now if it was not started.
+     * @param rwTransaction Transaction
+     * @param store Datastore
+     * @param path Path to be checked
+     * @param existenceChecks Checks started ahead of edits, used check is removed
+     * @return Existence check
+     */
+    private static CheckedFuture<Boolean, ReadFailedException> existenceCheck(
+            final DOMDataReadWriteTransaction rwTransaction, final LogicalDatastoreType store,
+            final YangInstanceIdentifier path,
+            final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> existenceChecks) {
+        final CheckedFuture<Boolean, ReadFailedException> started = existenceChecks.remove(path);
+        return started != null ? started : rwTransaction.exists(store, path);
+    }
+
     /**
      * Create data within one transaction, return error if already exists.
      * @param dataStore Datastore to write data to
@@ -158,14 +249,14 @@ public final class PatchDataTransactionUtil {
      * @param payload Data to be created
      * @param rWTransaction Transaction
      * @param schemaContextRef Soft reference for global schema context
+     * @param existenceChecks Existence checks started ahead of edits
      */
     private static void createDataWithinTransaction(final LogicalDatastoreType dataStore,
-                                                    final YangInstanceIdentifier path,
-                                                    final NormalizedNode<?, ?> payload,
-                                                    final DOMDataReadWriteTransaction rwTransaction,
-                                                    final SchemaContextRef schemaContextRef) {
+            final YangInstanceIdentifier path, final NormalizedNode<?, ?> payload,
+            final DOMDataReadWriteTransaction rwTransaction, final SchemaContextRef schemaContextRef,
+            final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> existenceChecks) {
         LOG.trace("POST {} within Restconf Patch: {} with payload {}", dataStore.name(), path, payload);
-        createData(payload, schemaContextRef.get(), path, rwTransaction, dataStore, true);
+        createData(payload, schemaContextRef.get(), path, rwTransaction, dataStore, true, existenceChecks);
     }
 
     /**
@@ -173,12 +264,13 @@ public final class PatchDataTransactionUtil {
      * @param dataStore Datastore to delete data from
      * @param path Path for data to be deleted
      * @param readWriteTransaction Transaction
+     * @param existenceChecks Existence checks started ahead of edits
      */
     private static void deleteDataWithinTransaction(final LogicalDatastoreType dataStore,
-                                                    final YangInstanceIdentifier path,
-                                                    final DOMDataReadWriteTransaction readWriteTransaction) {
+            final YangInstanceIdentifier path, final DOMDataReadWriteTransaction readWriteTransaction,
+            final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> existenceChecks) {
         LOG.trace("Delete {} within Restconf Patch: {}", dataStore.name(), path);
-        checkItemExistsWithinTransaction(readWriteTransaction, dataStore, path);
+        checkItemExists(existenceCheck(readWriteTransaction, dataStore, path, existenceChecks), path);
         readWriteTransaction.delete(dataStore, path);
     }
 
@@ -220,14 +312,14 @@ public final class PatchDataTransactionUtil {
      * @param payload Data to be created
      * @param schemaContextRef Soft reference for global schema context
      * @param rwTransaction Transaction
+     * @param existenceChecks Existence checks started ahead of edits
      */
     private static void replaceDataWithinTransaction(final LogicalDatastoreType dataStore,
-                                                     final YangInstanceIdentifier path,
-                                                     final NormalizedNode<?, ?> payload,
-                                                     final SchemaContextRef schemaContextRef,
-                                                     final DOMDataReadWriteTransaction rwTransaction) {
+            final YangInstanceIdentifier path, final NormalizedNode<?, ?> payload,
+            final SchemaContextRef schemaContextRef, final DOMDataReadWriteTransaction rwTransaction,
+            final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> existenceChecks) {
         LOG.trace("PUT {} within Restconf Patch: {} with payload {}", dataStore.name(), path, payload);
-        createData(payload, schemaContextRef.get(), path, rwTransaction, dataStore, false);
+        createData(payload, schemaContextRef.get(), path, rwTransaction, dataStore, false, existenceChecks);
     }
 
     /**
@@ -239,10 +331,12 @@ public final class PatchDataTransactionUtil {
      * @param rwTransaction Transaction
      * @param dataStore Datastore to write data to
      * @param errorIfExists Enable checking for existence of data (throws error if already exists)
+     * @param existenceChecks Existence checks started ahead of edits
      */
     private static void createData(final NormalizedNode<?, ?> payload, final SchemaContext schemaContext,
-                                   final YangInstanceIdentifier path, final DOMDataReadWriteTransaction rwTransaction,
-                                   final LogicalDatastoreType dataStore, final boolean errorIfExists) {
+            final YangInstanceIdentifier path, final DOMDataReadWriteTransaction rwTransaction,
+            final LogicalDatastoreType dataStore, final boolean errorIfExists,
+            final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> existenceChecks) {
         if (payload instanceof MapNode) {
             final NormalizedNode<?, ?> emptySubtree = ImmutableNodes.fromInstanceId(schemaContext, path);
             rwTransaction.merge(dataStore, YangInstanceIdentifier.create(emptySubtree.getIdentifier()), emptySubtree);
@@ -251,14 +345,15 @@ public final class PatchDataTransactionUtil {
                 final YangInstanceIdentifier childPath = path.node(child.getIdentifier());
 
                 if (errorIfExists) {
-                    checkItemDoesNotExistsWithinTransaction(rwTransaction, dataStore, childPath);
+                    checkItemDoesNotExist(existenceCheck(rwTransaction, dataStore, childPath, existenceChecks),
+                            childPath);
                 }
 
                 rwTransaction.put(dataStore, childPath, child);
             }
         } else {
             if (errorIfExists) {
-                checkItemDoesNotExistsWithinTransaction(rwTransaction, dataStore, path);
+                checkItemDoesNotExist(existenceCheck(rwTransaction, dataStore, path, existenceChecks), path);
             }
 
             TransactionUtil.ensureParentsByMerge(path, schemaContext, rwTransaction);
@@ -275,7 +370,11 @@ public final class PatchDataTransactionUtil {
      */
     public static void checkItemExistsWithinTransaction(final DOMDataReadWriteTransaction rwTransaction,
                                                 final LogicalDatastoreType store, final YangInstanceIdentifier path) {
-        final CheckedFuture<Boolean, ReadFailedException> future = rwTransaction.exists(store, path);
+        checkItemExists(rwTransaction.exists(store, path), path);
+    }
+
+    private static void checkItemExists(final CheckedFuture<Boolean, ReadFailedException> future,
+            final YangInstanceIdentifier path) {
         final FutureDataFactory<Boolean> response = new FutureDataFactory<>();
 
         FutureCallbackTx.addCallback(future, PatchData.PATCH_TX_TYPE, response);
@@ -297,7 +396,11 @@ public final class PatchDataTransactionUtil {
      */
     public static void checkItemDoesNotExistsWithinTransaction(final DOMDataReadWriteTransaction rwTransaction,
                                                final LogicalDatastoreType store, final YangInstanceIdentifier path) {
-        final CheckedFuture<Boolean, ReadFailedException> future = rwTransaction.exists(store, path);
+        checkItemDoesNotExist(rwTransaction.exists(store, path), path);
+    }
+
+    private static void checkItemDoesNotExist(final CheckedFuture<Boolean, ReadFailedException> future,
+            final YangInstanceIdentifier path) {
         final FutureDataFactory<Boolean> response = new FutureDataFactory<>();
 
         FutureCallbackTx.addCallback(future, PatchData.PATCH_TX_TYPE, response);
@@ -10,6 +10,9 @@ package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 import com.google.common.base.Optional;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import javax.ws.rs.core.Response;
@@ -18,27 +21,28 @@ import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFaile
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
-import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
+import org.opendaylight.netconf.util.OrderedWriteTransaction.Position;
 import org.opendaylight.restconf.common.context.NormalizedNodeContext;
 import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
 import org.opendaylight.restconf.common.errors.RestconfError.ErrorTag;
 import org.opendaylight.restconf.common.errors.RestconfError.ErrorType;
 import org.opendaylight.restconf.common.validation.RestconfValidationUtils;
 import org.opendaylight.restconf.nb.rfc8040.references.SchemaContextRef;
-import org.opendaylight.restconf.nb.rfc8040.rests.transactions.TransactionVarsWrapper;
 import org.opendaylight.restconf.nb.rfc8040.utils.parser.ParserIdentifier;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
-import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
-import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
 import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
-import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
@@ -187,200 +191,149 @@ public final class PutDataTransactionUtil {
         final DOMDataReadWriteTransaction newReadWriteTransaction = domTransactionChain.newReadWriteTransaction();
         if (insert == null) {
             return makePut(path, schemaContext, newReadWriteTransaction, data);
-        } else {
-            final DataSchemaNode schemaNode = checkListAndOrderedType(schemaContext, path);
-            switch (insert) {
-                case "first":
-                    if (schemaNode instanceof ListSchemaNode) {
-                        final NormalizedNode<?, ?> readData =
-                                readList(path, schemaContext, domTransactionChain, schemaNode);
-                        final OrderedMapNode readList = (OrderedMapNode) readData;
-                        if ((readList == null) || readList.getValue().isEmpty()) {
-                            return makePut(path, schemaContext, newReadWriteTransaction, data);
-                        } else {
-                            newReadWriteTransaction.delete(LogicalDatastoreType.CONFIGURATION, path.getParent());
-                            simplePut(LogicalDatastoreType.CONFIGURATION, path, newReadWriteTransaction,
-                                    schemaContext, data);
-                            listPut(LogicalDatastoreType.CONFIGURATION, path.getParent(), newReadWriteTransaction,
-                                    schemaContext, readList);
-                            return newReadWriteTransaction.submit();
-                        }
-                    } else {
-                        final NormalizedNode<?, ?> readData =
-                                readList(path, schemaContext, domTransactionChain, schemaNode);
-
-                        final OrderedLeafSetNode<?> readLeafList = (OrderedLeafSetNode<?>) readData;
-                        if ((readLeafList == null) || readLeafList.getValue().isEmpty()) {
-                            return makePut(path, schemaContext, newReadWriteTransaction, data);
-                        } else {
-                            newReadWriteTransaction.delete(LogicalDatastoreType.CONFIGURATION, path.getParent());
-                            simplePut(LogicalDatastoreType.CONFIGURATION, path, newReadWriteTransaction,
-                                    schemaContext, data);
-                            listPut(LogicalDatastoreType.CONFIGURATION, path.getParent(), newReadWriteTransaction,
-                                    schemaContext, readLeafList);
-                            return newReadWriteTransaction.submit();
-                        }
-                    }
-                case "last":
-                    return makePut(path, schemaContext, newReadWriteTransaction, data);
-                case "before":
-                    if (schemaNode instanceof ListSchemaNode) {
-                        final NormalizedNode<?, ?> readData =
-                                readList(path, schemaContext, domTransactionChain, schemaNode);
-                        final OrderedMapNode readList = (OrderedMapNode) readData;
-                        if ((readList == null) || readList.getValue().isEmpty()) {
-                            return makePut(path, schemaContext, newReadWriteTransaction, data);
-                        } else {
-                            insertWithPointListPut(newReadWriteTransaction, LogicalDatastoreType.CONFIGURATION, path,
-                                    data, schemaContext, point, readList, true);
-                            return newReadWriteTransaction.submit();
-                        }
-                    } else {
-                        final NormalizedNode<?, ?> readData =
-                                readList(path, schemaContext, domTransactionChain, schemaNode);
-
-                        final OrderedLeafSetNode<?> readLeafList = (OrderedLeafSetNode<?>) readData;
-                        if ((readLeafList == null) || readLeafList.getValue().isEmpty()) {
-                            return makePut(path, schemaContext, newReadWriteTransaction, data);
-                        } else {
-                            insertWithPointLeafListPut(newReadWriteTransaction, LogicalDatastoreType.CONFIGURATION,
-                                    path, data, schemaContext, point, readLeafList, true);
-                            return newReadWriteTransaction.submit();
-                        }
-                    }
-                case "after":
-                    if (schemaNode instanceof ListSchemaNode) {
-                        final NormalizedNode<?, ?> readData =
-                                readList(path, schemaContext, domTransactionChain, schemaNode);
-                        final OrderedMapNode readList = (OrderedMapNode) readData;
-                        if ((readList == null) || readList.getValue().isEmpty()) {
-                            return makePut(path, schemaContext, newReadWriteTransaction, data);
-                        } else {
-                            insertWithPointListPut(newReadWriteTransaction, LogicalDatastoreType.CONFIGURATION,
-                                    path, data, schemaContext, point, readList, false);
-                            return newReadWriteTransaction.submit();
-                        }
-                    } else {
-                        final NormalizedNode<?, ?> readData =
-                                readList(path, schemaContext, domTransactionChain, schemaNode);
-
-                        final OrderedLeafSetNode<?> readLeafList = (OrderedLeafSetNode<?>) readData;
-                        if ((readLeafList == null) || readLeafList.getValue().isEmpty()) {
-                            return makePut(path, schemaContext, newReadWriteTransaction, data);
-                        } else {
-                            insertWithPointLeafListPut(newReadWriteTransaction, LogicalDatastoreType.CONFIGURATION,
-                                    path, data, schemaContext, point, readLeafList, true);
-                            return newReadWriteTransaction.submit();
-                        }
-                    }
-                default:
-                    throw new RestconfDocumentedException(
-                            "Used bad value of insert parameter. Possible values are first, last, before or after, "
-                                    + "but was: " + insert);
-            }
         }
-    }
 
-    public static NormalizedNode<?, ?> readList(final YangInstanceIdentifier path, final SchemaContext schemaContext,
-            final DOMTransactionChain domTransactionChain, final DataSchemaNode schemaNode) {
-        final InstanceIdentifierContext<?> iid = new InstanceIdentifierContext<SchemaNode>(
-                path.getParent(), schemaNode, null, schemaContext);
-        final TransactionVarsWrapper transactionNode =
-                new TransactionVarsWrapper(iid, null, domTransactionChain);
-        final NormalizedNode<?, ?> readData = ReadDataTransactionUtil
-                .readData(RestconfDataServiceConstant.ReadData.CONFIG, transactionNode, schemaContext);
-        return readData;
+        checkListAndOrderedType(schemaContext, path);
+        insertData(newReadWriteTransaction, path, data, schemaContext, insert, point,
+                RestconfDataServiceConstant.PutData.PUT_TX_TYPE);
+        return newReadWriteTransaction.submit();
     }
 
-    private static void insertWithPointLeafListPut(final DOMDataReadWriteTransaction rwTransaction,
-            final LogicalDatastoreType datastore, final YangInstanceIdentifier path,
-            final NormalizedNode<?, ?> data, final SchemaContext schemaContext, final String point,
-            final OrderedLeafSetNode<?> readLeafList, final boolean before) {
-        rwTransaction.delete(datastore, path.getParent());
-        final InstanceIdentifierContext<?> instanceIdentifier =
-                ParserIdentifier.toInstanceIdentifier(point, schemaContext, Optional.absent());
-        int lastItemPosition = 0;
-        for (final LeafSetEntryNode<?> nodeChild : readLeafList.getValue()) {
-            if (nodeChild.getIdentifier().equals(instanceIdentifier.getInstanceIdentifier().getLastPathArgument())) {
-                break;
+    /**
+     * Put entry of ordered-by user list or leaf-list at position given by insert and point query parameters.
+     *
+     * <p>
+     * Transactions able to position the entry on their own, e.g. transactions of NETCONF mount points, are asked to do
+     * so and no other entries are touched. Otherwise the list is read once and, unless the entry ends up last, written
+     * back by a single put with the entry at its position. Existing entries are reused, not copied.
+     *
+     * @param rwTransaction
+     *             read-write transaction
+     * @param path
+     *             path of entry
+     * @param data
+     *             entry
+     * @param schemaContext
+     *             {@link SchemaContext}
+     * @param insert
+     *             insert query parameter
+     * @param point
+     *             point query parameter
+     * @param operationType
+     *             type of operation (PUT, POST)
+     */
+    public static void insertData(final DOMDataReadWriteTransaction rwTransaction, final YangInstanceIdentifier path,
+            final NormalizedNode<?, ?> data, final SchemaContext schemaContext, final String insert,
+            final String point, final String operationType) {
+        final Position position = toPosition(insert);
+        final Optional<PathArgument> pointArg;
+        if (position == Position.BEFORE || position == Position.AFTER) {
+            if (point == null) {
+                throw new RestconfDocumentedException("Point parameter has to be used with insert before or after.",
+                        ErrorType.PROTOCOL, ErrorTag.MISSING_ATTRIBUTE);
             }
-            lastItemPosition++;
+            pointArg = Optional.of(ParserIdentifier.toInstanceIdentifier(point, schemaContext, Optional.absent())
+                    .getInstanceIdentifier().getLastPathArgument());
+        } else {
+            pointArg = Optional.absent();
         }
-        if (!before) {
-            lastItemPosition++;
+
+        TransactionUtil.ensureParentsByMerge(path, schemaContext, rwTransaction);
+        if (rwTransaction instanceof OrderedWriteTransaction) {
+            ((OrderedWriteTransaction) rwTransaction).insert(path, data, position, pointArg);
+            return;
         }
-        int lastInsertedPosition = 0;
-        final NormalizedNode<?, ?> emptySubtree = ImmutableNodes.fromInstanceId(schemaContext, path.getParent());
-        rwTransaction.merge(datastore, YangInstanceIdentifier.create(emptySubtree.getIdentifier()), emptySubtree);
-        for (final LeafSetEntryNode<?> nodeChild : readLeafList.getValue()) {
-            if (lastInsertedPosition == lastItemPosition) {
-                simplePut(datastore, path, rwTransaction, schemaContext, data);
-            }
-            final YangInstanceIdentifier childPath = path.getParent().node(nodeChild.getIdentifier());
-            rwTransaction.put(datastore, childPath, nodeChild);
-            lastInsertedPosition++;
+        if (position == Position.LAST) {
+            rwTransaction.put(LogicalDatastoreType.CONFIGURATION, path, data);
+            return;
         }
-    }
 
-    private static void insertWithPointListPut(final DOMDataReadWriteTransaction writeTx,
-            final LogicalDatastoreType datastore, final YangInstanceIdentifier path,
-            final NormalizedNode<?, ?> data, final SchemaContext schemaContext, final String point,
-            final OrderedMapNode readList, final boolean before) {
-        writeTx.delete(datastore, path.getParent());
-        final InstanceIdentifierContext<?> instanceIdentifier =
-                ParserIdentifier.toInstanceIdentifier(point, schemaContext, Optional.absent());
-        int lastItemPosition = 0;
-        for (final MapEntryNode mapEntryNode : readList.getValue()) {
-            if (mapEntryNode.getIdentifier().equals(instanceIdentifier.getInstanceIdentifier().getLastPathArgument())) {
-                break;
-            }
-            lastItemPosition++;
+        final YangInstanceIdentifier listPath = path.getParent();
+        final FutureDataFactory<Optional<NormalizedNode<?, ?>>> response = new FutureDataFactory<>();
+        FutureCallbackTx.addCallback(rwTransaction.read(LogicalDatastoreType.CONFIGURATION, listPath), operationType,
+                response);
+        final NormalizedNode<?, ?> list = response.result.orNull();
+        final Collection<? extends NormalizedNode<?, ?>> entries;
+        if (list instanceof OrderedMapNode) {
+            entries = ((OrderedMapNode) list).getValue();
+        } else if (list instanceof OrderedLeafSetNode) {
+            entries = ((OrderedLeafSetNode<?>) list).getValue();
+        } else {
+            entries = Collections.emptyList();
         }
-        if (!before) {
-            lastItemPosition++;
+
+        final List<NormalizedNode<?, ?>> ordered = new ArrayList<>(entries.size() + 1);
+        if (position == Position.FIRST) {
+            ordered.add(data);
         }
-        int lastInsertedPosition = 0;
-        final NormalizedNode<?, ?> emptySubtree = ImmutableNodes.fromInstanceId(schemaContext, path.getParent());
-        writeTx.merge(datastore, YangInstanceIdentifier.create(emptySubtree.getIdentifier()), emptySubtree);
-        for (final MapEntryNode mapEntryNode : readList.getValue()) {
-            if (lastInsertedPosition == lastItemPosition) {
-                simplePut(datastore, path, writeTx, schemaContext, data);
+        boolean exists = false;
+        boolean pointFound = !pointArg.isPresent();
+        for (final NormalizedNode<?, ?> entry : entries) {
+            if (entry.getIdentifier().equals(data.getIdentifier())) {
+                // replaced by inserted entry
+                exists = true;
+            } else if (pointArg.isPresent() && entry.getIdentifier().equals(pointArg.get())) {
+                pointFound = true;
+                if (position == Position.BEFORE) {
+                    ordered.add(data);
+                    ordered.add(entry);
+                } else {
+                    ordered.add(entry);
+                    ordered.add(data);
+                }
+            } else {
+                ordered.add(entry);
             }
-            final YangInstanceIdentifier childPath = path.getParent().node(mapEntryNode.getIdentifier());
-            writeTx.put(datastore, childPath, mapEntryNode);
-            lastInsertedPosition++;
         }
-    }
+        if (!pointFound) {
+            throw new RestconfDocumentedException("Point " + point + " does not exist.", ErrorType.PROTOCOL,
+                    ErrorTag.INVALID_VALUE);
+        }
 
-    private static void listPut(final LogicalDatastoreType datastore, final YangInstanceIdentifier path,
-            final DOMDataReadWriteTransaction writeTx, final SchemaContext schemaContext,
-            final OrderedLeafSetNode<?> payload) {
-        final NormalizedNode<?, ?> emptySubtree = ImmutableNodes.fromInstanceId(schemaContext, path);
-        writeTx.merge(datastore, YangInstanceIdentifier.create(emptySubtree.getIdentifier()), emptySubtree);
-        TransactionUtil.ensureParentsByMerge(path, schemaContext, writeTx);
-        for (final LeafSetEntryNode<?> child : ((LeafSetNode<?>) payload).getValue()) {
-            final YangInstanceIdentifier childPath = path.node(child.getIdentifier());
-            writeTx.put(datastore, childPath, child);
+        if (!exists && ordered.get(ordered.size() - 1) == data) {
+            // new entry is appended, other entries stay where they are
+            rwTransaction.put(LogicalDatastoreType.CONFIGURATION, path, data);
+        } else {
+            rwTransaction.put(LogicalDatastoreType.CONFIGURATION, listPath,
+                    buildOrderedList((NodeIdentifier) listPath.getLastPathArgument(), ordered));
         }
     }
 
-    private static void listPut(final LogicalDatastoreType datastore, final YangInstanceIdentifier path,
-            final DOMDataReadWriteTransaction writeTx, final SchemaContext schemaContext,
-            final OrderedMapNode payload) {
-        final NormalizedNode<?, ?> emptySubtree = ImmutableNodes.fromInstanceId(schemaContext, path);
-        writeTx.merge(datastore, YangInstanceIdentifier.create(emptySubtree.getIdentifier()), emptySubtree);
-        TransactionUtil.ensureParentsByMerge(path, schemaContext, writeTx);
-        for (final MapEntryNode child : ((MapNode) payload).getValue()) {
-            final YangInstanceIdentifier childPath = path.node(child.getIdentifier());
-            writeTx.put(datastore, childPath, child);
+    private static Position toPosition(final String insert) {
+        switch (insert) {
+            case "first":
+                return Position.FIRST;
+            case "last":
+                return Position.LAST;
+            case "before":
+                return Position.BEFORE;
+            case "after":
+                return Position.AFTER;
+            default:
+                throw new RestconfDocumentedException(
+                        "Used bad value of insert parameter. Possible values are first, last, before or after, "
+                                + "but was: " + insert);
         }
     }
 
-    private static void simplePut(final LogicalDatastoreType configuration, final YangInstanceIdentifier path,
-            final DOMDataReadWriteTransaction writeTx, final SchemaContext schemaContext,
-            final NormalizedNode<?, ?> data) {
-        TransactionUtil.ensureParentsByMerge(path, schemaContext, writeTx);
-        writeTx.put(LogicalDatastoreType.CONFIGURATION, path, data);
+    @SuppressWarnings("unchecked")
+    private static NormalizedNode<?, ?> buildOrderedList(final NodeIdentifier identifier,
+            final List<NormalizedNode<?, ?>> entries) {
+        if (entries.get(0) instanceof MapEntryNode) {
+            final CollectionNodeBuilder<MapEntryNode, OrderedMapNode> builder =
+                    Builders.orderedMapBuilder().withNodeIdentifier(identifier);
+            for (final NormalizedNode<?, ?> entry : entries) {
+                builder.withChild((MapEntryNode) entry);
+            }
+            return builder.build();
+        }
+
+        final ListNodeBuilder<Object, LeafSetEntryNode<Object>> builder = Builders.orderedLeafSetBuilder();
+        builder.withNodeIdentifier(identifier);
+        for (final NormalizedNode<?, ?> entry : entries) {
+            builder.withChild((LeafSetEntryNode<Object>) entry);
+        }
+        return builder.build();
     }
 
     private static CheckedFuture<Void, TransactionCommitFailedException> makePut(final YangInstanceIdentifier path,
@@ -14,13 +14,16 @@ import com.google.common.base.Optional;
 import com.google.common.collect.Iterables;
 import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.UriInfo;
@@ -28,6 +31,7 @@ import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.netconf.util.FieldsAwareReadTransaction;
 import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
 import org.opendaylight.restconf.common.context.WriterParameters;
 import org.opendaylight.restconf.common.context.WriterParameters.WriterParametersBuilder;
@@ -224,21 +228,35 @@ public final class ReadDataTransactionUtil {
     @Nullable
     public static NormalizedNode<?, ?> readData(@Nonnull final String valueOfContent,
             @Nonnull final TransactionVarsWrapper transactionNode, final String withDefa, final SchemaContext ctx) {
+        return TransactionUtil.waitForResult(readDataAsync(valueOfContent, transactionNode, withDefa, ctx));
+    }
+
+    /**
+     * Read specific type of data from data store via transaction, without waiting for the read to complete.
+     *
+     * @param valueOfContent
+     *            type of data to read (config, state, all)
+     * @param transactionNode
+     *            {@link TransactionVarsWrapper} - wrapper for variables
+     * @param withDefa
+     *            vaule of with-defaults parameter
+     * @param ctx
+     *            schema context
+     * @return future of {@link NormalizedNode}, completed with null if data does not exist
+     */
+    @Nonnull
+    public static ListenableFuture<NormalizedNode<?, ?>> readDataAsync(@Nonnull final String valueOfContent,
+            @Nonnull final TransactionVarsWrapper transactionNode, final String withDefa, final SchemaContext ctx) {
         switch (valueOfContent) {
             case RestconfDataServiceConstant.ReadData.CONFIG:
                 transactionNode.setLogicalDatastoreType(LogicalDatastoreType.CONFIGURATION);
-                if (withDefa == null) {
-                    return readDataViaTransaction(transactionNode);
-                } else {
-                    return prepareDataByParamWithDef(readDataViaTransaction(transactionNode),
-                            transactionNode.getInstanceIdentifier().getInstanceIdentifier(), withDefa, ctx);
-                }
+                return readConfigDataAsync(transactionNode, withDefa, ctx);
             case RestconfDataServiceConstant.ReadData.NONCONFIG:
                 transactionNode.setLogicalDatastoreType(LogicalDatastoreType.OPERATIONAL);
-                return readDataViaTransaction(transactionNode);
+                return readDataViaTransactionAsync(transactionNode);
 
             case RestconfDataServiceConstant.ReadData.ALL:
-                return readAllData(transactionNode, withDefa, ctx);
+                return readAllDataAsync(transactionNode, withDefa, ctx);
 
             default:
                 throw new RestconfDocumentedException(
@@ -269,6 +287,31 @@ public final class ReadDataTransactionUtil {
     public static NormalizedNode<?, ?> readData(final String identifier, final String content,
                                                 final TransactionVarsWrapper transactionNode, final String withDefa,
                                                 final SchemaContextRef schemaContextRef, final UriInfo uriInfo) {
+        return TransactionUtil.waitForResult(readDataAsync(identifier, content, transactionNode, withDefa,
+                schemaContextRef, uriInfo));
+    }
+
+    /**
+     * Read specific type of data from data store via transaction, without waiting for the read to complete. If
+     * identifier reads data from streams, then streams from actual schema context are put to datastore first.
+     *
+     * @param identifier
+     *             identifier of data to read
+     * @param content
+     *             type of data to read (config, state, all)
+     * @param transactionNode
+     *             {@link TransactionVarsWrapper} - wrapper for variables
+     * @param withDefa
+     *             vaule of with-defaults parameter
+     * @param schemaContextRef
+     *             schema context
+     * @param uriInfo
+     *             uri info
+     * @return future of {@link NormalizedNode}, completed with null if data does not exist
+     */
+    public static ListenableFuture<NormalizedNode<?, ?>> readDataAsync(final String identifier, final String content,
+            final TransactionVarsWrapper transactionNode, final String withDefa,
+            final SchemaContextRef schemaContextRef, final UriInfo uriInfo) {
         final SchemaContext schemaContext = schemaContextRef.get();
         if (identifier.contains(STREAMS_PATH) && !identifier.contains(STREAM_PATH_PART)) {
             final DOMDataReadWriteTransaction wTx = transactionNode.getTransactionChain().newReadWriteTransaction();
@@ -295,7 +338,7 @@ public final class ReadDataTransactionUtil {
             }
             SubscribeToStreamUtil.submitData(wTx);
         }
-        return readData(content, transactionNode, withDefa, schemaContext);
+        return readDataAsync(content, transactionNode, withDefa, schemaContext);
     }
 
     private static NormalizedNode<?, ?> prepareDataByParamWithDef(final NormalizedNode<?, ?> result,
@@ -428,24 +471,97 @@ public final class ReadDataTransactionUtil {
      *
      * @param transactionNode
      *             {@link TransactionVarsWrapper} - wrapper for variables
-     * @return {@link NormalizedNode}
+     * @return future of {@link NormalizedNode}, completed with null if data does not exist
      */
-    @Nullable
-    private static NormalizedNode<?, ?> readDataViaTransaction(
+    @Nonnull
+    private static ListenableFuture<NormalizedNode<?, ?>> readDataViaTransactionAsync(
             @Nonnull final TransactionVarsWrapper transactionNode) {
-        final NormalizedNodeFactory dataFactory = new NormalizedNodeFactory();
-        try (DOMDataReadOnlyTransaction tx = transactionNode.getTransactionChain().newReadOnlyTransaction()) {
-            final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> listenableFuture = tx.read(
-                transactionNode.getLogicalDatastoreType(),
-                transactionNode.getInstanceIdentifier().getInstanceIdentifier());
-            FutureCallbackTx.addCallback(listenableFuture, RestconfDataServiceConstant.ReadData.READ_TYPE_TX,
-                dataFactory);
+        final DOMDataReadOnlyTransaction tx = transactionNode.getTransactionChain().newReadOnlyTransaction();
+        final ListenableFuture<NormalizedNode<?, ?>> data = readDataViaTransactionAsync(transactionNode, tx);
+        // Transaction is closed once the read completes, closing it earlier could abort the read
+        data.addListener(tx::close, MoreExecutors.directExecutor());
+        return data;
+    }
+
+    /**
+     * Read data of {@link LogicalDatastoreType} set in {@link TransactionVarsWrapper} within given transaction.
+     * The read is issued immediately, so other reads may be issued within the same transaction while it is
+     * in progress. If fields are set and transaction supports it, data read are limited to selected fields.
+     *
+     * @param transactionNode
+     *             {@link TransactionVarsWrapper} - wrapper for variables
+     * @param tx
+     *             read transaction, which has to be kept open until the read completes
+     * @return future of {@link NormalizedNode}, completed with null if data does not exist
+     */
+    @Nonnull
+    private static ListenableFuture<NormalizedNode<?, ?>> readDataViaTransactionAsync(
+            @Nonnull final TransactionVarsWrapper transactionNode, @Nonnull final DOMDataReadOnlyTransaction tx) {
+        final YangInstanceIdentifier path = transactionNode.getInstanceIdentifier().getInstanceIdentifier();
+        final List<Set<QName>> fields = transactionNode.getFields();
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> listenableFuture;
+        if (fields != null && tx instanceof FieldsAwareReadTransaction) {
+            final FieldsAwareReadTransaction fieldsTx = (FieldsAwareReadTransaction) tx;
+            listenableFuture = Futures.makeChecked(
+                transactionNode.getLogicalDatastoreType() == LogicalDatastoreType.CONFIGURATION
+                    ? fieldsTx.readConfigurationData(path, fields) : fieldsTx.readOperationalData(path, fields),
+                ReadFailedException.MAPPER);
+        } else {
+            listenableFuture = tx.read(transactionNode.getLogicalDatastoreType(), path);
+        }
+
+        return Futures.transform(
+            FutureCallbackTx.toRestconfFuture(listenableFuture, RestconfDataServiceConstant.ReadData.READ_TYPE_TX),
+            (final Optional<NormalizedNode<?, ?>> data) -> data.orNull(), MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Read config data and apply with-defaults parameter to them.
+     *
+     * @param transactionNode
+     *            {@link TransactionVarsWrapper} - wrapper for variables, with configuration datastore set
+     * @param withDefa
+     *            with-defaults parameter
+     * @param ctx
+     *            schema context
+     * @return future of {@link NormalizedNode}, completed with null if data does not exist
+     */
+    @Nonnull
+    private static ListenableFuture<NormalizedNode<?, ?>> readConfigDataAsync(
+            @Nonnull final TransactionVarsWrapper transactionNode, final String withDefa, final SchemaContext ctx) {
+        return applyWithDefaults(readDataViaTransactionAsync(transactionNode), transactionNode, withDefa, ctx);
+    }
+
+    /**
+     * Apply with-defaults parameter to config data once they are read.
+     *
+     * @param configData
+     *            future of config data
+     * @param transactionNode
+     *            {@link TransactionVarsWrapper} - wrapper for variables
+     * @param withDefa
+     *            with-defaults parameter
+     * @param ctx
+     *            schema context
+     * @return future of {@link NormalizedNode}, completed with null if data does not exist
+     */
+    @Nonnull
+    private static ListenableFuture<NormalizedNode<?, ?>> applyWithDefaults(
+            @Nonnull final ListenableFuture<NormalizedNode<?, ?>> configData,
+            @Nonnull final TransactionVarsWrapper transactionNode, final String withDefa, final SchemaContext ctx) {
+        if (withDefa == null) {
+            return configData;
         }
-        return dataFactory.build();
+
+        final YangInstanceIdentifier path = transactionNode.getInstanceIdentifier().getInstanceIdentifier();
+        return Futures.transform(configData,
+            (final NormalizedNode<?, ?> data) -> prepareDataByParamWithDef(data, path, withDefa, ctx),
+            MoreExecutors.directExecutor());
     }
 
     /**
-     * Read config and state data, then map them.
+     * Read config and state data, then map them. Both reads are issued at once within one transaction, so
+     * they are processed concurrently, e.g. as get and get-config requests of a mount point.
      *
      * @param transactionNode
      *            {@link TransactionVarsWrapper} - wrapper for variables
@@ -453,25 +569,44 @@ public final class ReadDataTransactionUtil {
      *            with-defaults parameter
      * @param ctx
      *            schema context
-     * @return {@link NormalizedNode}
+     * @return future of {@link NormalizedNode}, completed with null if data does not exist
      */
-    @Nullable
-    private static NormalizedNode<?, ?> readAllData(@Nonnull final TransactionVarsWrapper transactionNode,
-            final String withDefa, final SchemaContext ctx) {
+    @Nonnull
+    private static ListenableFuture<NormalizedNode<?, ?>> readAllDataAsync(
+            @Nonnull final TransactionVarsWrapper transactionNode, final String withDefa, final SchemaContext ctx) {
+        final DOMDataReadOnlyTransaction tx = transactionNode.getTransactionChain().newReadOnlyTransaction();
+
         // PREPARE STATE DATA NODE
         transactionNode.setLogicalDatastoreType(LogicalDatastoreType.OPERATIONAL);
-        final NormalizedNode<?, ?> stateDataNode = readDataViaTransaction(transactionNode);
+        final ListenableFuture<NormalizedNode<?, ?>> stateData = readDataViaTransactionAsync(transactionNode, tx);
 
         // PREPARE CONFIG DATA NODE
         transactionNode.setLogicalDatastoreType(LogicalDatastoreType.CONFIGURATION);
-        final NormalizedNode<?, ?> configDataNode;
-        if (withDefa == null) {
-            configDataNode = readDataViaTransaction(transactionNode);
-        } else {
-            configDataNode = prepareDataByParamWithDef(readDataViaTransaction(transactionNode),
-                    transactionNode.getInstanceIdentifier().getInstanceIdentifier(), withDefa, ctx);
-        }
+        final ListenableFuture<NormalizedNode<?, ?>> configData = applyWithDefaults(
+                readDataViaTransactionAsync(transactionNode, tx), transactionNode, withDefa, ctx);
+
+        // Transaction is closed once both reads complete, even if one of them failed
+        Futures.successfulAsList(stateData, configData).addListener(tx::close, MoreExecutors.directExecutor());
+
+        return Futures.whenAllSucceed(stateData, configData).call(
+            () -> mergeData(Futures.getDone(stateData), Futures.getDone(configData), transactionNode.getDepth()),
+            MoreExecutors.directExecutor());
+    }
 
+    /**
+     * Merge config and state data.
+     *
+     * @param stateDataNode
+     *            data node of state data, may be null
+     * @param configDataNode
+     *            data node of config data, may be null
+     * @param maxDepth
+     *            maximal depth of written data, null if not limited
+     * @return {@link NormalizedNode}
+     */
+    @Nullable
+    private static NormalizedNode<?, ?> mergeData(@Nullable final NormalizedNode<?, ?> stateDataNode,
+            @Nullable final NormalizedNode<?, ?> configDataNode, @Nullable final Integer maxDepth) {
         // if no data exists
         if ((stateDataNode == null) && (configDataNode == null)) {
             return null;
@@ -488,7 +623,7 @@ public final class ReadDataTransactionUtil {
         }
 
         // merge data from config and state
-        return mapNode(stateDataNode, configDataNode);
+        return mapNode(stateDataNode, configDataNode, maxDepth);
     }
 
     /**
@@ -498,16 +633,18 @@ public final class ReadDataTransactionUtil {
      *             data node of state data
      * @param configDataNode
      *             data node of config data
+     * @param maxDepth
+     *             maximal depth of written data, null if not limited
      * @return {@link NormalizedNode}
      */
     @Nonnull
     private static NormalizedNode<?, ?> mapNode(@Nonnull final NormalizedNode<?, ?> stateDataNode,
-                                                         @Nonnull final NormalizedNode<?, ?> configDataNode) {
+            @Nonnull final NormalizedNode<?, ?> configDataNode, @Nullable final Integer maxDepth) {
         validPossibilityOfMergeNodes(stateDataNode, configDataNode);
         if (configDataNode instanceof RpcDefinition) {
             return prepareRpcData(configDataNode, stateDataNode);
         } else {
-            return prepareData(configDataNode, stateDataNode);
+            return prepareData(configDataNode, stateDataNode, 0, maxDepth);
         }
     }
 
@@ -567,39 +704,52 @@ public final class ReadDataTransactionUtil {
     }
 
     /**
-     * Prepare and map all data from DS.
+     * Prepare and map all data from DS. Children of containers and list entries, which are too deep to be written,
+     * are not merged, so only the written part of data is copied. Depth is counted the same way as by
+     * {@link org.opendaylight.restconf.nb.rfc8040.jersey.providers.ParameterAwareNormalizedNodeWriter}.
      *
      * @param configDataNode
      *             data node of config data
      * @param stateDataNode
      *             data node of state data
+     * @param depth
+     *             depth of merged nodes
+     * @param maxDepth
+     *             maximal depth of written data, null if not limited
      * @return {@link NormalizedNode}
      */
     @Nonnull
     private static NormalizedNode<?, ?> prepareData(@Nonnull final NormalizedNode<?, ?> configDataNode,
-                                                             @Nonnull final NormalizedNode<?, ?> stateDataNode) {
+            @Nonnull final NormalizedNode<?, ?> stateDataNode, final int depth, @Nullable final Integer maxDepth) {
+        if ((configDataNode instanceof ContainerNode || configDataNode instanceof MapEntryNode)
+                && maxDepth != null && depth + 1 >= maxDepth) {
+            // children are not written, identifier of list entry is the same in config and state data
+            return configDataNode;
+        }
+
         if (configDataNode instanceof MapNode) {
             final CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes
                     .mapNodeBuilder().withNodeIdentifier(((MapNode) configDataNode).getIdentifier());
 
-            mapValueToBuilder(
-                    ((MapNode) configDataNode).getValue(), ((MapNode) stateDataNode).getValue(), builder);
+            // list is a mixin, its entries are at the same depth
+            mapValueToBuilder(((MapNode) configDataNode).getValue(), ((MapNode) stateDataNode).getValue(), builder,
+                    depth, maxDepth);
 
             return builder.build();
         } else if (configDataNode instanceof MapEntryNode) {
             final DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> builder = ImmutableNodes
                     .mapEntryBuilder().withNodeIdentifier(((MapEntryNode) configDataNode).getIdentifier());
 
-            mapValueToBuilder(
-                    ((MapEntryNode) configDataNode).getValue(), ((MapEntryNode) stateDataNode).getValue(), builder);
+            mapValueToBuilder(((MapEntryNode) configDataNode).getValue(),
+                    ((MapEntryNode) stateDataNode).getValue(), builder, depth + 1, maxDepth);
 
             return builder.build();
         } else if (configDataNode instanceof ContainerNode) {
             final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder = Builders
                     .containerBuilder().withNodeIdentifier(((ContainerNode) configDataNode).getIdentifier());
 
-            mapValueToBuilder(
-                    ((ContainerNode) configDataNode).getValue(), ((ContainerNode) stateDataNode).getValue(), builder);
+            mapValueToBuilder(((ContainerNode) configDataNode).getValue(),
+                    ((ContainerNode) stateDataNode).getValue(), builder, depth + 1, maxDepth);
 
             return builder.build();
         } else if (configDataNode instanceof AugmentationNode) {
@@ -607,26 +757,28 @@ public final class ReadDataTransactionUtil {
                     .augmentationBuilder().withNodeIdentifier(((AugmentationNode) configDataNode).getIdentifier());
 
             mapValueToBuilder(((AugmentationNode) configDataNode).getValue(),
-                    ((AugmentationNode) stateDataNode).getValue(), builder);
+                    ((AugmentationNode) stateDataNode).getValue(), builder, depth, maxDepth);
 
             return builder.build();
         } else if (configDataNode instanceof ChoiceNode) {
             final DataContainerNodeBuilder<NodeIdentifier, ChoiceNode> builder = Builders
                     .choiceBuilder().withNodeIdentifier(((ChoiceNode) configDataNode).getIdentifier());
 
-            mapValueToBuilder(
-                    ((ChoiceNode) configDataNode).getValue(), ((ChoiceNode) stateDataNode).getValue(), builder);
+            mapValueToBuilder(((ChoiceNode) configDataNode).getValue(),
+                    ((ChoiceNode) stateDataNode).getValue(), builder, depth, maxDepth);
 
             return builder.build();
         } else if (configDataNode instanceof LeafNode) {
-            return ImmutableNodes.leafNode(configDataNode.getNodeType(), configDataNode.getValue());
+            // leaf nodes are immutable, config data take precedence
+            return configDataNode;
         } else {
             throw new RestconfDocumentedException("Bad type of node.");
         }
     }
 
     /**
-     * Map value from container node to builder.
+     * Map value from container node to builder. Children present only in config or only in state data are
+     * added as they are, without being copied, only children present in both of them are merged.
      *
      * @param configData
      *             collection of config data nodes
@@ -634,62 +786,32 @@ public final class ReadDataTransactionUtil {
      *             collection of state data nodes
      * @param builder
      *             builder
+     * @param depth
+     *             depth of children
+     * @param maxDepth
+     *             maximal depth of written data, null if not limited
      */
+    @SuppressWarnings("unchecked")
     private static <T extends NormalizedNode<? extends PathArgument, ?>> void mapValueToBuilder(
             @Nonnull final Collection<T> configData,
             @Nonnull final Collection<T> stateData,
-            @Nonnull final NormalizedNodeContainerBuilder<?, PathArgument, T, ?> builder) {
-        final Map<PathArgument, T> configMap = configData.stream().collect(
-                Collectors.toMap(NormalizedNode::getIdentifier, Function.identity()));
-        final Map<PathArgument, T> stateMap = stateData.stream().collect(
-                Collectors.toMap(NormalizedNode::getIdentifier, Function.identity()));
-
-        // merge config and state data of children with different identifiers
-        mapDataToBuilder(configMap, stateMap, builder);
-
-        // merge config and state data of children with the same identifiers
-        mergeDataToBuilder(configMap, stateMap, builder);
-    }
-
-    /**
-     * Map data with different identifiers to builder. Data with different identifiers can be just added
-     * as childs to parent node.
-     *
-     * @param configMap
-     *             map of config data nodes
-     * @param stateMap
-     *             map of state data nodes
-     * @param builder
-     *           - builder
-     */
-    private static <T extends NormalizedNode<? extends PathArgument, ?>> void mapDataToBuilder(
-            @Nonnull final Map<PathArgument, T> configMap,
-            @Nonnull final Map<PathArgument, T> stateMap,
-            @Nonnull final NormalizedNodeContainerBuilder<?, PathArgument, T, ?> builder) {
-        configMap.entrySet().stream().filter(x -> !stateMap.containsKey(x.getKey())).forEach(
-            y -> builder.addChild(y.getValue()));
-        stateMap.entrySet().stream().filter(x -> !configMap.containsKey(x.getKey())).forEach(
-            y -> builder.addChild(y.getValue()));
-    }
+            @Nonnull final NormalizedNodeContainerBuilder<?, PathArgument, T, ?> builder,
+            final int depth, @Nullable final Integer maxDepth) {
+        final Map<PathArgument, T> stateMap = new LinkedHashMap<>(stateData.size());
+        stateData.forEach(stateChild -> stateMap.put(stateChild.getIdentifier(), stateChild));
+
+        // config data together with state data of children with the same identifiers, which cannot be just added
+        // but we need to go one level down with {@code prepareData} method
+        for (final T configChild : configData) {
+            final T stateChild = stateMap.remove(configChild.getIdentifier());
+            if (stateChild == null || stateChild == configChild) {
+                builder.addChild(configChild);
+            } else {
+                builder.addChild((T) prepareData(configChild, stateChild, depth, maxDepth));
+            }
+        }
 
-    /**
-     * Map data with the same identifiers to builder. Data with the same identifiers cannot be just added but we need to
-     * go one level down with {@code prepareData} method.
-     *
-     * @param configMap
-     *             immutable config data
-     * @param stateMap
-     *             immutable state data
-     * @param builder
-     *           - builder
-     */
-    @SuppressWarnings("unchecked")
-    private static <T extends NormalizedNode<? extends PathArgument, ?>> void mergeDataToBuilder(
-            @Nonnull final Map<PathArgument, T> configMap,
-            @Nonnull final Map<PathArgument, T> stateMap,
-            @Nonnull final NormalizedNodeContainerBuilder<?, PathArgument, T, ?> builder) {
-        // it is enough to process only config data because operational contains the same data
-        configMap.entrySet().stream().filter(x -> stateMap.containsKey(x.getKey())).forEach(
-            y -> builder.addChild((T) prepareData(y.getValue(), stateMap.get(y.getKey()))));
+        // state data of children with different identifiers
+        stateMap.values().forEach(builder::addChild);
     }
 }
@@ -10,9 +10,12 @@ package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
@@ -142,4 +145,26 @@ public final class TransactionUtil {
                     "Data already exists", ErrorType.PROTOCOL, ErrorTag.DATA_EXISTS, path);
         }
     }
+
+    /**
+     * Wait for the result of an operation composed of futures. Requests are served by blocking here only once,
+     * the operation itself does not block any thread while waiting for datastores, mount points or RPCs.
+     *
+     * @param future
+     *             future of the operation
+     * @return result of the operation
+     * @throws RestconfDocumentedException
+     *             if the operation failed
+     */
+    public static <T> T waitForResult(final ListenableFuture<T> future) {
+        try {
+            return Uninterruptibles.getUninterruptibly(future);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RestconfDocumentedException) {
+                throw (RestconfDocumentedException) cause;
+            }
+            throw new RestconfDocumentedException("Operation failed", cause);
+        }
+    }
 }
@@ -7,7 +7,9 @@
  */
 package org.opendaylight.restconf.nb.rfc8040.services.wrapper;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import javax.ws.rs.Path;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import org.opendaylight.mdsal.dom.api.DOMSchemaService;
@@ -29,6 +31,7 @@ import org.opendaylight.restconf.nb.rfc8040.rests.services.api.TransactionServic
 import org.opendaylight.restconf.nb.rfc8040.rests.services.impl.RestconfDataServiceImpl;
 import org.opendaylight.restconf.nb.rfc8040.rests.services.impl.RestconfInvokeOperationsServiceImpl;
 import org.opendaylight.restconf.nb.rfc8040.rests.services.impl.RestconfStreamsSubscriptionServiceImpl;
+import org.opendaylight.restconf.nb.rfc8040.rests.utils.EntityTagCache;
 import org.opendaylight.restconf.nb.rfc8040.services.simple.api.BaseServicesWrapper;
 import org.opendaylight.restconf.nb.rfc8040.services.simple.api.RestconfOperationsService;
 import org.opendaylight.restconf.nb.rfc8040.services.simple.api.RestconfSchemaService;
@@ -54,6 +57,7 @@ public class ServicesWrapperImpl implements BaseServicesWrapper, TransactionServ
     private RestconfOperationsService delegRestOpsService;
     private RestconfSchemaService delegRestSchService;
     private RestconfService delegRestService;
+    private EntityTagCache entityTagCache;
 
     private ServicesWrapperImpl() {
     }
@@ -86,11 +90,27 @@ public class ServicesWrapperImpl implements BaseServicesWrapper, TransactionServ
         return this.delegRestconfDataService.readData(uriInfo);
     }
 
+    @Override
+    public Response readData(final UriInfo uriInfo, final Request request) {
+        return this.delegRestconfDataService.readData(uriInfo, request);
+    }
+
     @Override
     public Response readData(final String identifier, final UriInfo uriInfo) {
         return this.delegRestconfDataService.readData(identifier, uriInfo);
     }
 
+    @Override
+    public Response readData(final String identifier, final UriInfo uriInfo, final Request request) {
+        return this.delegRestconfDataService.readData(identifier, uriInfo, request);
+    }
+
+    @Override
+    public ListenableFuture<Response> readDataAsync(final String identifier, final UriInfo uriInfo,
+            final Request request) {
+        return this.delegRestconfDataService.readDataAsync(identifier, uriInfo, request);
+    }
+
     @Override
     public Response putData(final String identifier, final NormalizedNodeContext payload, final UriInfo uriInfo) {
         return this.delegRestconfDataService.putData(identifier, payload, uriInfo);
@@ -121,12 +141,23 @@ public class ServicesWrapperImpl implements BaseServicesWrapper, TransactionServ
         return this.delegRestconfDataService.patchData(context, uriInfo);
     }
 
+    @Override
+    public ListenableFuture<PatchStatusContext> patchDataAsync(final PatchContext context, final UriInfo uriInfo) {
+        return this.delegRestconfDataService.patchDataAsync(context, uriInfo);
+    }
+
     @Override
     public NormalizedNodeContext invokeRpc(final String identifier, final NormalizedNodeContext payload,
             final UriInfo uriInfo) {
         return this.delegRestconfInvokeOpsService.invokeRpc(identifier, payload, uriInfo);
     }
 
+    @Override
+    public ListenableFuture<NormalizedNodeContext> invokeRpcAsync(final String identifier,
+            final NormalizedNodeContext payload, final UriInfo uriInfo) {
+        return this.delegRestconfInvokeOpsService.invokeRpcAsync(identifier, payload, uriInfo);
+    }
+
     @Override
     public NormalizedNodeContext subscribeToStream(final String identifier, final UriInfo uriInfo) {
         return this.delegRestconfSubscrService.subscribeToStream(identifier, uriInfo);
@@ -151,9 +182,13 @@ public class ServicesWrapperImpl implements BaseServicesWrapper, TransactionServ
                 yangTextSourceProvider);
         this.delegRestconfSubscrService = new RestconfStreamsSubscriptionServiceImpl(domDataBrokerHandler,
                 notificationServiceHandler, schemaCtxHandler, transactionChainHandler);
+        if (this.entityTagCache != null) {
+            this.entityTagCache.close();
+        }
+        this.entityTagCache = EntityTagCache.create(domDataBrokerHandler.get());
         this.delegRestconfDataService =
                 new RestconfDataServiceImpl(schemaCtxHandler, transactionChainHandler, domMountPointServiceHandler,
-                        this.delegRestconfSubscrService);
+                        this.delegRestconfSubscrService, this.entityTagCache);
         this.delegRestconfInvokeOpsService =
                 new RestconfInvokeOperationsServiceImpl(rpcServiceHandler, schemaCtxHandler);
         this.delegRestService = new RestconfImpl(schemaCtxHandler);
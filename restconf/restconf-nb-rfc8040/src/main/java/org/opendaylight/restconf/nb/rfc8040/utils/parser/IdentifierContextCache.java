@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.restconf.nb.rfc8040.utils.parser;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
+import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
+import org.opendaylight.controller.sal.core.api.mount.MountProvisionListener;
+import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of {@link InstanceIdentifierContext}s parsed from identifiers of requests.
+ *
+ * <p>
+ * Parsed contexts are keyed by identifier and identity of the schema context used to parse it, so contexts parsed
+ * with an outdated schema context are never returned. Identifiers of data behind mount points are additionally keyed
+ * by identity of mount point service, their contexts are invalidated once the mount point is removed. Identifiers,
+ * which failed to parse, are not cached.
+ */
+@ThreadSafe
+public final class IdentifierContextCache implements MountProvisionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdentifierContextCache.class);
+
+    // Least recently used contexts are evicted first
+    private static final int MAX_CONTEXTS = 10000;
+
+    private static final IdentifierContextCache INSTANCE = new IdentifierContextCache();
+
+    private final Cache<Key, InstanceIdentifierContext<?>> contexts =
+            CacheBuilder.newBuilder().maximumSize(MAX_CONTEXTS).build();
+
+    // Changes with each removed mount point, so contexts resolved concurrently with the removal are not cached
+    @GuardedBy("this")
+    private long mountGeneration;
+
+    private static final class Key {
+        private final String identifier;
+        private final SchemaContext schemaContext;
+        private final DOMMountPointService mountPointService;
+
+        Key(final String identifier, final SchemaContext schemaContext,
+                final DOMMountPointService mountPointService) {
+            this.identifier = identifier;
+            this.schemaContext = schemaContext;
+            this.mountPointService = mountPointService;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.schemaContext) + Objects.hashCode(this.identifier);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.schemaContext == other.schemaContext && this.mountPointService == other.mountPointService
+                    && Objects.equals(this.identifier, other.identifier);
+        }
+    }
+
+    private IdentifierContextCache() {
+        // Singleton, shared by all users of ParserIdentifier
+    }
+
+    public static IdentifierContextCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get context of identifier from cache, or parse and cache it if it is not cached.
+     *
+     * @param identifier
+     *             path identifier
+     * @param schemaContext
+     *             controller schema context
+     * @param mountPointService
+     *             mount point service used to resolve mount points, null if identifier is not behind a mount point
+     * @param parser
+     *             parser of identifier, invoked on cache miss
+     * @return {@link InstanceIdentifierContext}
+     */
+    InstanceIdentifierContext<?> get(final String identifier, final SchemaContext schemaContext,
+            final DOMMountPointService mountPointService, final Supplier<InstanceIdentifierContext<?>> parser) {
+        final Key key = new Key(identifier, schemaContext, mountPointService);
+        final InstanceIdentifierContext<?> cached = this.contexts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long generation = getMountGeneration();
+        final InstanceIdentifierContext<?> parsed = parser.get();
+        if (parsed.getMountPoint() == null) {
+            this.contexts.put(key, parsed);
+        } else {
+            synchronized (this) {
+                if (generation == this.mountGeneration) {
+                    this.contexts.put(key, parsed);
+                }
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Invalidate all cached contexts, e.g. after the schema context was updated.
+     */
+    public void invalidateAll() {
+        this.contexts.invalidateAll();
+    }
+
+    @Override
+    public void onMountPointCreated(final YangInstanceIdentifier path) {
+        // Nothing to do, identifiers are resolved on first use
+    }
+
+    @Override
+    public synchronized void onMountPointRemoved(final YangInstanceIdentifier path) {
+        LOG.debug("Invalidating identifiers of removed mount point {}", path);
+        this.mountGeneration++;
+        this.contexts.asMap().values().removeIf(context -> {
+            final DOMMountPoint mountPoint = context.getMountPoint();
+            return mountPoint != null && path.equals(mountPoint.getIdentifier());
+        });
+    }
+
+    private synchronized long getMountGeneration() {
+        return this.mountGeneration;
+    }
+}
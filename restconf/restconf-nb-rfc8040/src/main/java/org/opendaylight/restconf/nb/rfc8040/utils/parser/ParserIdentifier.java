@@ -57,6 +57,8 @@ public final class ParserIdentifier {
      * For identifiers of data behind mount points returned
      * {@link InstanceIdentifierContext} is prepared with reference of {@link DOMMountPoint} and its
      * own {@link SchemaContext}.
+     * <br>
+     * Parsed contexts are cached in {@link IdentifierContextCache}.
      *
      * @param identifier
      *           - path identifier
@@ -74,6 +76,18 @@ public final class ParserIdentifier {
             if (!mountPointService.isPresent()) {
                 throw new RestconfDocumentedException("Mount point service is not available");
             }
+            return IdentifierContextCache.getInstance().get(identifier, schemaContext, mountPointService.get(),
+                () -> parseInstanceIdentifier(identifier, schemaContext, mountPointService));
+        }
+        return IdentifierContextCache.getInstance().get(identifier, schemaContext, null,
+            () -> parseInstanceIdentifier(identifier, schemaContext, mountPointService));
+    }
+
+    private static InstanceIdentifierContext<?> parseInstanceIdentifier(
+            final String identifier,
+            final SchemaContext schemaContext,
+            final Optional<DOMMountPointService> mountPointService) {
+        if (identifier != null && identifier.contains(RestconfConstants.MOUNT)) {
 
             final Iterator<String> pathsIt = Splitter.on("/" + RestconfConstants.MOUNT).split(identifier).iterator();
 
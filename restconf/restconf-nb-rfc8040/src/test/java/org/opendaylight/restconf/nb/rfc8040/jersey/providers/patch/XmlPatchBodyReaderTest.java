@@ -14,12 +14,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.InputStream;
+import java.lang.reflect.Field;
 import javax.ws.rs.core.MediaType;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
+import org.opendaylight.restconf.common.errors.RestconfError.ErrorTag;
 import org.opendaylight.restconf.common.patch.PatchContext;
+import org.opendaylight.restconf.nb.rfc8040.RestConnectorProvider;
 import org.opendaylight.restconf.nb.rfc8040.handlers.SchemaContextHandler;
 import org.opendaylight.restconf.nb.rfc8040.jersey.providers.test.AbstractBodyReaderTest;
 import org.opendaylight.restconf.nb.rfc8040.jersey.providers.test.XmlBodyReaderTest;
@@ -148,4 +151,42 @@ public class XmlPatchBodyReaderTest extends AbstractBodyReaderTest {
                 .readFrom(null, null, null, mediaType, null, inputStream);
         checkPatchContext(returnValue);
     }
+
+    /**
+     * Test of Yang Patch with value using namespace prefix declared by root element, which has to be kept when edits
+     * are read one by one.
+     */
+    @Test
+    public void moduleDataInheritedNamespaceTest() throws Exception {
+        final String uri = "instance-identifier-patch-module:patch-cont/my-list1=leaf1";
+        mockBodyReader(uri, xmlToPatchBodyReader, false);
+        final InputStream inputStream = XmlBodyReaderTest.class
+                .getResourceAsStream("/instanceidentifier/xml/xmlPATCHdataInheritedNamespace.xml");
+        final PatchContext returnValue = xmlToPatchBodyReader
+                .readFrom(null, null, null, mediaType, null, inputStream);
+        checkPatchContext(returnValue);
+        assertEquals(1, returnValue.getData().size());
+    }
+
+    /**
+     * Test of Yang Patch larger than maximum allowed request size. Error code 413 should be returned.
+     */
+    @Test
+    public void moduleDataTooBigNegativeTest() throws Exception {
+        final String uri = "instance-identifier-patch-module:patch-cont/my-list1=leaf1";
+        mockBodyReader(uri, xmlToPatchBodyReader, false);
+        final InputStream inputStream = XmlBodyReaderTest.class
+                .getResourceAsStream("/instanceidentifier/xml/xmlPATCHdata.xml");
+        final Field maximumRequestSizeField = RestConnectorProvider.class.getDeclaredField("maximumRequestSize");
+        maximumRequestSizeField.setAccessible(true);
+        maximumRequestSizeField.set(RestConnectorProvider.class, 100L);
+        try {
+            xmlToPatchBodyReader.readFrom(null, null, null, mediaType, null, inputStream);
+            fail("Test should return error 413 due to request larger than maximum request size");
+        } catch (final RestconfDocumentedException e) {
+            assertEquals(ErrorTag.TOO_BIG, e.getErrors().get(0).getErrorTag());
+        } finally {
+            maximumRequestSizeField.set(RestConnectorProvider.class, 0L);
+        }
+    }
 }
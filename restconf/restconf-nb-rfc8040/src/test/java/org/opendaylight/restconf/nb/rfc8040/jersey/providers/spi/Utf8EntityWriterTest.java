@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.restconf.nb.rfc8040.jersey.providers.spi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.base.Strings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class Utf8EntityWriterTest {
+
+    // ASCII, two-byte, three-byte and four-byte (surrogate pair) characters
+    private static final String TEXT = "name \u00e9t\u00e9 \u20ac \ud83d\ude00 end";
+
+    @Test
+    public void writeLongTextTest() throws IOException {
+        final String text = Strings.repeat(TEXT, 1000);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Utf8EntityWriter writer = new Utf8EntityWriter(out)) {
+            writer.write(text);
+        }
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    public void writeSplitSurrogatePairTest() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Utf8EntityWriter writer = new Utf8EntityWriter(out)) {
+            writer.write('\ud83d');
+            writer.write(new char[] { '\ude00', 'a' }, 0, 2);
+        }
+
+        assertEquals("\ud83d\ude00a", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeUnpairedSurrogatesTest() throws IOException {
+        final String text = "a\ud83db\ude00c\ud83d";
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Utf8EntityWriter writer = new Utf8EntityWriter(out)) {
+            writer.write(text);
+        }
+
+        // same output as of standard writer
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (OutputStreamWriter writer = new OutputStreamWriter(expected, StandardCharsets.UTF_8)) {
+            writer.write(text);
+        }
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+
+    @Test
+    public void reuseBufferTest() throws IOException {
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        try (Utf8EntityWriter writer = new Utf8EntityWriter(first)) {
+            writer.write(TEXT);
+        }
+
+        // second writer of the thread writes to the returned buffer, nothing of the first response may leak
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        try (Utf8EntityWriter writer = new Utf8EntityWriter(second)) {
+            writer.write("x");
+            writer.flush();
+            assertEquals("x", new String(second.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void writeAfterCloseTest() throws IOException {
+        final Utf8EntityWriter writer = new Utf8EntityWriter(new ByteArrayOutputStream());
+        writer.close();
+        writer.write("a");
+    }
+}
@@ -12,16 +12,20 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.opendaylight.restconf.common.patch.PatchEditOperation.CREATE;
 import static org.opendaylight.restconf.common.patch.PatchEditOperation.DELETE;
 import static org.opendaylight.restconf.common.patch.PatchEditOperation.REMOVE;
 import static org.opendaylight.restconf.common.patch.PatchEditOperation.REPLACE;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import java.lang.reflect.Field;
@@ -29,8 +33,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -45,6 +51,9 @@ import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFaile
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
@@ -62,6 +71,8 @@ import org.opendaylight.restconf.nb.rfc8040.handlers.SchemaContextHandler;
 import org.opendaylight.restconf.nb.rfc8040.handlers.TransactionChainHandler;
 import org.opendaylight.restconf.nb.rfc8040.references.SchemaContextRef;
 import org.opendaylight.restconf.nb.rfc8040.rests.services.api.RestconfStreamsSubscriptionService;
+import org.opendaylight.restconf.nb.rfc8040.rests.utils.EntityTagCache;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
@@ -117,6 +128,12 @@ public class RestconfDataServiceImplTest {
     private DOMTransactionChain transactionChain;
     @Mock
     private RestconfStreamsSubscriptionService delegRestconfSubscrService;
+    @Mock
+    private DOMDataBroker domDataBroker;
+    @Mock
+    private DOMDataTreeChangeService changeService;
+    @Mock
+    private Request request;
 
     @Before
     public void setUp() throws Exception {
@@ -189,8 +206,13 @@ public class RestconfDataServiceImplTest {
         final SchemaContextHandler schemaContextHandler = new SchemaContextHandler(txHandler);
 
         schemaContextHandler.onGlobalContextUpdated(this.contextRef.get());
+        doReturn(ImmutableMap.of(DOMDataTreeChangeService.class, this.changeService)).when(this.domDataBroker)
+                .getSupportedExtensions();
+        doReturn(mock(ListenerRegistration.class)).when(this.changeService).registerDataTreeChangeListener(
+                any(DOMDataTreeIdentifier.class), any(DOMDataTreeChangeListener.class));
         this.dataService = new RestconfDataServiceImpl(schemaContextHandler, this.transactionChainHandler,
-                this.mountPointServiceHandler, this.delegRestconfSubscrService);
+                this.mountPointServiceHandler, this.delegRestconfSubscrService,
+                EntityTagCache.create(this.domDataBroker));
         doReturn(this.domTransactionChain).when(this.transactionChainHandler).get();
         doReturn(this.read).when(this.domTransactionChain).newReadOnlyTransaction();
         doReturn(this.readWrite).when(this.domTransactionChain).newReadWriteTransaction();
@@ -219,6 +241,102 @@ public class RestconfDataServiceImplTest {
         assertEquals(this.buildBaseCont, ((NormalizedNodeContext) response.getEntity()).getData());
     }
 
+    @Test
+    public void testReadDataNotModified() {
+        doReturn(new MultivaluedHashMap<String, String>()).when(this.uriInfo).getQueryParameters();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(this.buildBaseCont))).when(this.read)
+                .read(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent()))
+                .when(this.read).read(LogicalDatastoreType.OPERATIONAL, this.iidBase);
+
+        final Response response = this.dataService.readData("example-jukebox:jukebox", this.uriInfo, this.request);
+        assertEquals(200, response.getStatus());
+        final EntityTag tag = response.getEntityTag();
+        assertNotNull(tag);
+        // same data serialized to JSON and XML share the tag
+        assertTrue(tag.isWeak());
+
+        // client sends the tag back in If-None-Match, data are neither read nor serialized again
+        doReturn(Response.notModified(tag)).when(this.request).evaluatePreconditions(tag);
+        final Response notModified = this.dataService.readData("example-jukebox:jukebox", this.uriInfo,
+                this.request);
+        assertEquals(304, notModified.getStatus());
+        assertNull(notModified.getEntity());
+        Mockito.verify(this.read, times(1)).read(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+    }
+
+    @Test
+    public void testReadDataAfterDelete() {
+        doReturn(new MultivaluedHashMap<String, String>()).when(this.uriInfo).getQueryParameters();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(this.buildBaseCont))).when(this.read)
+                .read(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent()))
+                .when(this.read).read(LogicalDatastoreType.OPERATIONAL, this.iidBase);
+        final EntityTag tag = this.dataService.readData("example-jukebox:jukebox", this.uriInfo, this.request)
+                .getEntityTag();
+        doReturn(Response.notModified(tag)).when(this.request).evaluatePreconditions(tag);
+
+        doNothing().when(this.readWrite).delete(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+        doReturn(Futures.immediateCheckedFuture(null)).when(this.readWrite).submit();
+        doReturn(Futures.immediateCheckedFuture(true))
+                .when(this.readWrite).exists(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+        this.dataService.deleteData("example-jukebox:jukebox");
+
+        // change notification of the delete was not delivered, still the cached tag must not be used
+        this.dataService.readData("example-jukebox:jukebox", this.uriInfo, this.request);
+        Mockito.verify(this.read, times(2)).read(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+    }
+
+    @Test
+    public void testReadDataAfterFailedPatch() {
+        final EntityTag tag = readTaggedJukebox();
+        doReturn(Response.notModified(tag)).when(this.request).evaluatePreconditions(tag);
+
+        doReturn(Futures.immediateFailedCheckedFuture(new TransactionCommitFailedException("Commit failed")))
+                .when(this.readWrite).submit();
+        final PatchStatusContext status = this.dataService.patchData(replaceJukeboxPatch(), this.uriInfo);
+        assertFalse(status.isOk());
+        assertNotNull(status.getGlobalErrors());
+
+        // a failed patch may have been partially applied by the datastore, the cached tag must not be used
+        this.dataService.readData("example-jukebox:jukebox", this.uriInfo, this.request);
+        Mockito.verify(this.read, times(2)).read(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+    }
+
+    @Test
+    public void testReadDataAfterPatchException() {
+        final EntityTag tag = readTaggedJukebox();
+        doReturn(Response.notModified(tag)).when(this.request).evaluatePreconditions(tag);
+
+        doThrow(new IllegalStateException("Transaction chain closed")).when(this.readWrite).submit();
+        try {
+            this.dataService.patchData(replaceJukeboxPatch(), this.uriInfo);
+            fail("Expected IllegalStateException");
+        } catch (final IllegalStateException e) {
+            assertEquals("Transaction chain closed", e.getMessage());
+        }
+
+        this.dataService.readData("example-jukebox:jukebox", this.uriInfo, this.request);
+        Mockito.verify(this.read, times(2)).read(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+    }
+
+    private EntityTag readTaggedJukebox() {
+        doReturn(new MultivaluedHashMap<String, String>()).when(this.uriInfo).getQueryParameters();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(this.buildBaseCont))).when(this.read)
+                .read(LogicalDatastoreType.CONFIGURATION, this.iidBase);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent()))
+                .when(this.read).read(LogicalDatastoreType.OPERATIONAL, this.iidBase);
+        return this.dataService.readData("example-jukebox:jukebox", this.uriInfo, this.request).getEntityTag();
+    }
+
+    private PatchContext replaceJukeboxPatch() {
+        final InstanceIdentifierContext<? extends SchemaNode> iidContext =
+                new InstanceIdentifierContext<>(this.iidBase, this.schemaNode, null, this.contextRef.get());
+        return new PatchContext(iidContext,
+                Collections.singletonList(new PatchEntity("replace data", REPLACE, this.iidBase, this.buildBaseCont)),
+                "test patch id");
+    }
+
     /**
      * Test read data from mount point when both {@link LogicalDatastoreType#CONFIGURATION} and
      * {@link LogicalDatastoreType#OPERATIONAL} contains the same data and some additional data to be merged.
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.restconf.nb.rfc8040.rests.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.Date;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.restconf.nb.rfc8040.rests.utils.EntityTagCache.CachedTag;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class EntityTagCacheTest {
+
+    private static final QName CONT_QNAME = QName.create("ns", "2016-02-28", "cont");
+    private static final QName LEAF_QNAME = QName.create("ns", "2016-02-28", "leaf");
+    private static final QName OTHER_QNAME = QName.create("ns", "2016-02-28", "other");
+    private static final YangInstanceIdentifier LEAF_PATH = YangInstanceIdentifier.create(
+            new NodeIdentifier(CONT_QNAME), new NodeIdentifier(LEAF_QNAME));
+    private static final YangInstanceIdentifier OTHER_PATH = YangInstanceIdentifier.create(
+            new NodeIdentifier(CONT_QNAME), new NodeIdentifier(OTHER_QNAME));
+    private static final String KEY = "{}";
+
+    @Mock
+    private DOMDataBroker dataBroker;
+    @Mock
+    private DOMDataTreeChangeService changeService;
+
+    private EntityTagCache cache;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(ImmutableMap.of(DOMDataTreeChangeService.class, this.changeService)).when(this.dataBroker)
+                .getSupportedExtensions();
+        doReturn(mock(ListenerRegistration.class)).when(this.changeService).registerDataTreeChangeListener(
+                any(DOMDataTreeIdentifier.class), any(DOMDataTreeChangeListener.class));
+        this.cache = EntityTagCache.create(this.dataBroker);
+    }
+
+    @Test
+    public void computeTagTest() {
+        assertEquals(EntityTagCache.computeTag(ImmutableNodes.leafNode(LEAF_QNAME, "a")),
+                EntityTagCache.computeTag(ImmutableNodes.leafNode(LEAF_QNAME, "a")));
+        assertNotEquals(EntityTagCache.computeTag(ImmutableNodes.leafNode(LEAF_QNAME, "a")),
+                EntityTagCache.computeTag(ImmutableNodes.leafNode(LEAF_QNAME, "b")));
+    }
+
+    @Test
+    public void invalidateModifiedPathTest() {
+        final CachedTag leafTag = newTag("a");
+        final CachedTag otherTag = newTag("b");
+        this.cache.put(LEAF_PATH, KEY, leafTag, this.cache.getGeneration());
+        this.cache.put(OTHER_PATH, KEY, otherTag, this.cache.getGeneration());
+        assertSame(leafTag, this.cache.get(LEAF_PATH, KEY));
+
+        // other leaf is written, leaf is not modified
+        final DataTreeCandidateNode otherNode = mockNode(ModificationType.WRITE);
+        final DataTreeCandidateNode contNode = mockNode(ModificationType.SUBTREE_MODIFIED);
+        doReturn(otherNode).when(contNode).getModifiedChild(new NodeIdentifier(OTHER_QNAME));
+        final DataTreeCandidateNode rootNode = mockNode(ModificationType.SUBTREE_MODIFIED);
+        doReturn(contNode).when(rootNode).getModifiedChild(new NodeIdentifier(CONT_QNAME));
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        doReturn(YangInstanceIdentifier.EMPTY).when(candidate).getRootPath();
+        doReturn(rootNode).when(candidate).getRootNode();
+        this.cache.onDataTreeChanged(Collections.singletonList(candidate));
+
+        assertSame(leafTag, this.cache.get(LEAF_PATH, KEY));
+        assertNull(this.cache.get(OTHER_PATH, KEY));
+    }
+
+    @Test
+    public void invalidateWrittenPathTest() {
+        final YangInstanceIdentifier contPath = YangInstanceIdentifier.create(new NodeIdentifier(CONT_QNAME));
+        final CachedTag otherTag = newTag("b");
+        this.cache.put(contPath, KEY, newTag("c"), this.cache.getGeneration());
+        this.cache.put(LEAF_PATH, KEY, newTag("a"), this.cache.getGeneration());
+        this.cache.put(OTHER_PATH, KEY, otherTag, this.cache.getGeneration());
+        final long generation = this.cache.getGeneration();
+
+        // leaf and its ancestors are invalidated right away, without waiting for the change notification
+        this.cache.invalidate(LEAF_PATH);
+        assertNull(this.cache.get(LEAF_PATH, KEY));
+        assertNull(this.cache.get(contPath, KEY));
+        assertSame(otherTag, this.cache.get(OTHER_PATH, KEY));
+
+        // data read before the write are not cached
+        this.cache.put(LEAF_PATH, KEY, newTag("a"), generation);
+        assertNull(this.cache.get(LEAF_PATH, KEY));
+    }
+
+    @Test
+    public void stalePutIgnoredTest() {
+        final long generation = this.cache.getGeneration();
+        this.cache.onDataTreeChanged(Collections.emptyList());
+
+        // data were read before the change was notified, their tag may be outdated
+        this.cache.put(LEAF_PATH, KEY, newTag("a"), generation);
+        assertNull(this.cache.get(LEAF_PATH, KEY));
+    }
+
+    private static CachedTag newTag(final String value) {
+        return new CachedTag(EntityTagCache.computeTag(ImmutableNodes.leafNode(LEAF_QNAME, value)), new Date());
+    }
+
+    private static DataTreeCandidateNode mockNode(final ModificationType type) {
+        final DataTreeCandidateNode node = mock(DataTreeCandidateNode.class);
+        doReturn(type).when(node).getModificationType();
+        return node;
+    }
+}
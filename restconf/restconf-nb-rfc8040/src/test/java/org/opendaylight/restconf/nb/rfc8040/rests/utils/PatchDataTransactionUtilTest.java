@@ -12,6 +12,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.opendaylight.restconf.common.patch.PatchEditOperation.CREATE;
@@ -26,6 +27,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
@@ -272,4 +274,43 @@ public class PatchDataTransactionUtilTest {
         }
         assertTrue(patchStatusContext.isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPatchDataIndependentChecksReadAhead() throws Exception {
+        doReturn(Futures.immediateCheckedFuture(false))
+                .when(this.rwTransaction).exists(LogicalDatastoreType.CONFIGURATION, this.instanceIdCreateAndDelete);
+        doReturn(Futures.immediateCheckedFuture(false)).doReturn(Futures.immediateCheckedFuture(true))
+                .when(this.rwTransaction).exists(LogicalDatastoreType.CONFIGURATION, this.targetNodeMerge);
+
+        final PatchEntity entityCreate =
+                new PatchEntity("edit1", CREATE, this.instanceIdCreateAndDelete, this.buildBaseContainerForTests);
+        final PatchEntity entityCreate2 =
+                new PatchEntity("edit2", CREATE, this.targetNodeMerge, this.buildBaseContainerForTests);
+        final PatchEntity entityDelete = new PatchEntity("edit3", DELETE, this.targetNodeMerge);
+        final List<PatchEntity> entities = new ArrayList<>();
+
+        entities.add(entityCreate);
+        entities.add(entityCreate2);
+        entities.add(entityDelete);
+
+        final InstanceIdentifierContext<? extends SchemaNode> iidContext =
+                new InstanceIdentifierContext<>(this.instanceIdCreateAndDelete, null, null, this.refSchemaCtx.get());
+        final PatchContext patchContext = new PatchContext(iidContext, entities, "patchCCD");
+        final TransactionVarsWrapper wrapper = new TransactionVarsWrapper(iidContext, null, this.transactionChain);
+        final PatchStatusContext patchStatusContext =
+                PatchDataTransactionUtil.patchData(patchContext, wrapper, this.refSchemaCtx);
+
+        assertTrue(patchStatusContext.isOk());
+
+        // checks of both creates are read before any edit is applied, delete is checked after create of same data
+        final InOrder inOrder = inOrder(this.rwTransaction);
+        inOrder.verify(this.rwTransaction).exists(LogicalDatastoreType.CONFIGURATION, this.instanceIdCreateAndDelete);
+        inOrder.verify(this.rwTransaction).exists(LogicalDatastoreType.CONFIGURATION, this.targetNodeMerge);
+        inOrder.verify(this.rwTransaction).put(LogicalDatastoreType.CONFIGURATION, this.instanceIdCreateAndDelete,
+                this.buildBaseContainerForTests);
+        inOrder.verify(this.rwTransaction).put(LogicalDatastoreType.CONFIGURATION, this.targetNodeMerge,
+                this.buildBaseContainerForTests);
+        inOrder.verify(this.rwTransaction).exists(LogicalDatastoreType.CONFIGURATION, this.targetNodeMerge);
+        inOrder.verify(this.rwTransaction).delete(LogicalDatastoreType.CONFIGURATION, this.targetNodeMerge);
+    }
+}
@@ -11,36 +11,64 @@ package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
+import com.google.common.base.Optional;
 import com.google.common.util.concurrent.Futures;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.netconf.util.OrderedWriteTransaction;
+import org.opendaylight.netconf.util.OrderedWriteTransaction.Position;
 import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
 import org.opendaylight.restconf.common.context.NormalizedNodeContext;
 import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
+import org.opendaylight.restconf.common.errors.RestconfError.ErrorTag;
+import org.opendaylight.restconf.nb.rfc8040.RestConnectorProvider;
 import org.opendaylight.restconf.nb.rfc8040.TestRestconfUtils;
+import org.opendaylight.restconf.nb.rfc8040.handlers.TransactionChainHandler;
 import org.opendaylight.restconf.nb.rfc8040.references.SchemaContextRef;
 import org.opendaylight.restconf.nb.rfc8040.rests.transactions.TransactionVarsWrapper;
 import org.opendaylight.yangtools.util.SingletonSet;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
@@ -50,6 +78,11 @@ import org.w3c.dom.DOMException;
 public class PostDataTransactionUtilTest {
 
     private static final String PATH_FOR_NEW_SCHEMA_CONTEXT = "/jukebox";
+    private static final String PATH_FOR_ORDERED_BY_USER_SCHEMA_CONTEXT = "/ordered-by-user";
+
+    // Fields used when the post operation fails to reset transaction chain
+    private static Field handler;
+    private static Field broker;
 
     @Mock
     private DOMTransactionChain transactionChain;
@@ -69,6 +102,38 @@ public class PostDataTransactionUtilTest {
     private SchemaContext schema;
     private YangInstanceIdentifier iid2;
     private MapNode buildList;
+    private YangInstanceIdentifier songPath;
+    private MapEntryNode song1;
+    private MapEntryNode song2;
+    private MapEntryNode newSong;
+    private OrderedMapNode songs;
+    private SchemaContextRef refOrderedSchemaCtx;
+    private YangInstanceIdentifier leafSetEntryPath;
+    private LeafSetEntryNode<Object> leafSetEntryA;
+    private LeafSetEntryNode<Object> leafSetEntryB;
+    private LeafSetEntryNode<Object> newLeafSetEntry;
+    private LeafSetNode<Object> leafSet;
+
+    @BeforeClass
+    public static void setupClass() throws Exception {
+        handler = RestConnectorProvider.class.getDeclaredField("transactionChainHandler");
+        broker = RestConnectorProvider.class.getDeclaredField("dataBroker");
+
+        handler.setAccessible(true);
+        handler.set(RestConnectorProvider.class, mock(TransactionChainHandler.class));
+
+        broker.setAccessible(true);
+        broker.set(RestConnectorProvider.class, mock(DOMDataBroker.class));
+    }
+
+    @AfterClass
+    public static void cleanClass() throws Exception {
+        handler.set(RestConnectorProvider.class, null);
+        handler.setAccessible(false);
+
+        broker.set(RestConnectorProvider.class, null);
+        broker.setAccessible(false);
+    }
 
     @Before
     public void setUp() throws Exception {
@@ -119,6 +184,42 @@ public class PostDataTransactionUtilTest {
                 .withChild(mapEntryNode)
                 .build();
 
+        final QName songQname = QName.create(baseQName, "song");
+        final QName songKeyQname = QName.create(baseQName, "index");
+        final YangInstanceIdentifier songListPath = YangInstanceIdentifier.builder()
+                .node(baseQName)
+                .node(listQname)
+                .node(nodeWithKey)
+                .node(songQname)
+                .build();
+        this.songPath = songListPath.node(new NodeIdentifierWithPredicates(songQname, songKeyQname, 3L));
+        this.song1 = buildSong(songQname, songKeyQname, 1L);
+        this.song2 = buildSong(songQname, songKeyQname, 2L);
+        this.newSong = buildSong(songQname, songKeyQname, 3L);
+        this.songs = Builders.orderedMapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(songQname))
+                .withChild(this.song1)
+                .withChild(this.song2)
+                .build();
+
+        this.refOrderedSchemaCtx = new SchemaContextRef(YangParserTestUtils.parseYangSources(
+                TestRestconfUtils.loadFiles(PATH_FOR_ORDERED_BY_USER_SCHEMA_CONTEXT)));
+        final QName topQname = QName.create("urn:opendaylight:test:ordered-by-user", "2018-03-01", "top");
+        final QName leafListQname = QName.create(topQname, "ordered-leaf-list");
+        this.leafSetEntryPath = YangInstanceIdentifier.builder()
+                .node(topQname)
+                .node(leafListQname)
+                .node(new NodeWithValue<>(leafListQname, "c"))
+                .build();
+        this.leafSetEntryA = buildLeafSetEntry(leafListQname, "a");
+        this.leafSetEntryB = buildLeafSetEntry(leafListQname, "b");
+        this.newLeafSetEntry = buildLeafSetEntry(leafListQname, "c");
+        this.leafSet = Builders.<Object>orderedLeafSetBuilder()
+                .withNodeIdentifier(new NodeIdentifier(leafListQname))
+                .withChild(this.leafSetEntryA)
+                .withChild(this.leafSetEntryB)
+                .build();
+
         doReturn(UriBuilder.fromUri("http://localhost:8181/restconf/16/")).when(this.uriInfo).getBaseUriBuilder();
         doReturn(this.readWrite).when(this.transactionChain).newReadWriteTransaction();
         doReturn(this.read).when(this.transactionChain).newReadOnlyTransaction();
@@ -208,4 +309,157 @@ public class PostDataTransactionUtilTest {
                 payload.getInstanceIdentifierContext().getInstanceIdentifier(), payload.getData());
     }
 
+    @Test
+    public void testPostInsertFirstListData() {
+        final List<?> entries = postInsert(this.refSchemaCtx, this.songPath, this.newSong, this.songs, "first", null);
+        assertEquals(Arrays.asList(this.newSong, this.song1, this.song2), entries);
+    }
+
+    @Test
+    public void testPostInsertBeforeListData() {
+        final List<?> entries = postInsert(this.refSchemaCtx, this.songPath, this.newSong, this.songs, "before",
+                "example-jukebox:jukebox/playlist=name%20of%20band/song=2");
+        assertEquals(Arrays.asList(this.song1, this.newSong, this.song2), entries);
+    }
+
+    @Test
+    public void testPostInsertAfterListData() {
+        final List<?> entries = postInsert(this.refSchemaCtx, this.songPath, this.newSong, this.songs, "after",
+                "example-jukebox:jukebox/playlist=name%20of%20band/song=1");
+        assertEquals(Arrays.asList(this.song1, this.newSong, this.song2), entries);
+    }
+
+    @Test
+    public void testPostInsertFirstLeafListData() {
+        final List<?> entries = postInsert(this.refOrderedSchemaCtx, this.leafSetEntryPath, this.newLeafSetEntry,
+                this.leafSet, "first", null);
+        assertEquals(Arrays.asList(this.newLeafSetEntry, this.leafSetEntryA, this.leafSetEntryB), entries);
+    }
+
+    @Test
+    public void testPostInsertBeforeLeafListData() {
+        final List<?> entries = postInsert(this.refOrderedSchemaCtx, this.leafSetEntryPath, this.newLeafSetEntry,
+                this.leafSet, "before", "ordered-by-user-test:top/ordered-leaf-list=b");
+        assertEquals(Arrays.asList(this.leafSetEntryA, this.newLeafSetEntry, this.leafSetEntryB), entries);
+    }
+
+    @Test
+    public void testPostInsertAfterLeafListData() {
+        final List<?> entries = postInsert(this.refOrderedSchemaCtx, this.leafSetEntryPath, this.newLeafSetEntry,
+                this.leafSet, "after", "ordered-by-user-test:top/ordered-leaf-list=a");
+        assertEquals(Arrays.asList(this.leafSetEntryA, this.newLeafSetEntry, this.leafSetEntryB), entries);
+    }
+
+    @Test
+    public void testPostInsertNonexistentPoint() {
+        doReturn(Futures.immediateCheckedFuture(false))
+                .when(this.readWrite).exists(LogicalDatastoreType.CONFIGURATION, this.songPath);
+        doReturn(Futures.immediateCheckedFuture(Optional.of(this.songs)))
+                .when(this.readWrite).read(LogicalDatastoreType.CONFIGURATION, this.songPath.getParent());
+        final NormalizedNodeContext payload = new NormalizedNodeContext(
+                new InstanceIdentifierContext<>(this.songPath, null, null, this.schema), this.newSong);
+        final TransactionVarsWrapper wrapper =
+                new TransactionVarsWrapper(payload.getInstanceIdentifierContext(), null, this.transactionChain);
+
+        try {
+            PostDataTransactionUtil.postData(null, payload, wrapper, this.refSchemaCtx, "before",
+                    "example-jukebox:jukebox/playlist=name%20of%20band/song=9");
+            fail("Expected RestconfDocumentedException");
+        } catch (final RestconfDocumentedException e) {
+            assertEquals(ErrorTag.INVALID_VALUE, e.getErrors().get(0).getErrorTag());
+        }
+
+        verify(this.readWrite, never()).put(eq(LogicalDatastoreType.CONFIGURATION), any(YangInstanceIdentifier.class),
+                any(NormalizedNode.class));
+        verify(this.readWrite, never()).submit();
+    }
+
+    @Test
+    public void testPostInsertExistingEntry() {
+        doReturn(Futures.immediateCheckedFuture(true))
+                .when(this.readWrite).exists(LogicalDatastoreType.CONFIGURATION, this.songPath);
+        final NormalizedNodeContext payload = new NormalizedNodeContext(
+                new InstanceIdentifierContext<>(this.songPath, null, null, this.schema), this.newSong);
+        final TransactionVarsWrapper wrapper =
+                new TransactionVarsWrapper(payload.getInstanceIdentifierContext(), null, this.transactionChain);
+
+        // unlike PUT, an existing entry is not overwritten
+        try {
+            PostDataTransactionUtil.postData(null, payload, wrapper, this.refSchemaCtx, "first", null);
+            fail("Expected RestconfDocumentedException");
+        } catch (final RestconfDocumentedException e) {
+            assertEquals(ErrorTag.DATA_EXISTS, e.getErrors().get(0).getErrorTag());
+        }
+
+        verify(this.readWrite).cancel();
+        verify(this.readWrite, never()).put(eq(LogicalDatastoreType.CONFIGURATION), any(YangInstanceIdentifier.class),
+                any(NormalizedNode.class));
+        verify(this.readWrite, never()).submit();
+    }
+
+    @Test
+    public void testPostInsertOrderedWriteTransaction() {
+        final DOMDataReadWriteTransaction orderedWrite = mock(DOMDataReadWriteTransaction.class,
+                withSettings().extraInterfaces(OrderedWriteTransaction.class));
+        doReturn(orderedWrite).when(this.transactionChain).newReadWriteTransaction();
+        doReturn(Futures.immediateCheckedFuture(false))
+                .when(orderedWrite).exists(LogicalDatastoreType.CONFIGURATION, this.songPath);
+        doReturn(Futures.immediateCheckedFuture(null)).when(orderedWrite).submit();
+        final NormalizedNodeContext payload = new NormalizedNodeContext(
+                new InstanceIdentifierContext<>(this.songPath, null, null, this.schema), this.newSong);
+        final TransactionVarsWrapper wrapper =
+                new TransactionVarsWrapper(payload.getInstanceIdentifierContext(), null, this.transactionChain);
+
+        final Response response = PostDataTransactionUtil.postData(null, payload, wrapper, this.refSchemaCtx,
+                "before", "example-jukebox:jukebox/playlist=name%20of%20band/song=2");
+        assertEquals(201, response.getStatus());
+
+        // the transaction positions the entry itself, the list is neither read nor rewritten
+        verify((OrderedWriteTransaction) orderedWrite).insert(this.songPath, this.newSong, Position.BEFORE,
+                Optional.<PathArgument>of(this.song2.getIdentifier()));
+        verify(orderedWrite, never()).read(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+        verify(orderedWrite, never()).put(eq(LogicalDatastoreType.CONFIGURATION), any(YangInstanceIdentifier.class),
+                any(NormalizedNode.class));
+    }
+
+    private List<?> postInsert(final SchemaContextRef schemaContextRef, final YangInstanceIdentifier path,
+            final NormalizedNode<?, ?> entry, final NormalizedNode<?, ?> existing, final String insert,
+            final String point) {
+        final YangInstanceIdentifier listPath = path.getParent();
+        doReturn(Futures.immediateCheckedFuture(false))
+                .when(this.readWrite).exists(LogicalDatastoreType.CONFIGURATION, path);
+        doReturn(Futures.immediateCheckedFuture(Optional.of(existing)))
+                .when(this.readWrite).read(LogicalDatastoreType.CONFIGURATION, listPath);
+        doReturn(Futures.immediateCheckedFuture(null)).when(this.readWrite).submit();
+        final NormalizedNodeContext payload = new NormalizedNodeContext(
+                new InstanceIdentifierContext<>(path, null, null, schemaContextRef.get()), entry);
+        final TransactionVarsWrapper wrapper =
+                new TransactionVarsWrapper(payload.getInstanceIdentifierContext(), null, this.transactionChain);
+
+        final Response response =
+                PostDataTransactionUtil.postData(null, payload, wrapper, schemaContextRef, insert, point);
+        assertEquals(201, response.getStatus());
+        verify(this.readWrite).exists(LogicalDatastoreType.CONFIGURATION, path);
+
+        final ArgumentCaptor<NormalizedNode> captor = ArgumentCaptor.forClass(NormalizedNode.class);
+        verify(this.readWrite).put(eq(LogicalDatastoreType.CONFIGURATION), eq(listPath), captor.capture());
+        return new ArrayList<>((Collection<?>) captor.getValue().getValue());
+    }
+
+    private static MapEntryNode buildSong(final QName songQname, final QName songKeyQname, final long index) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(songQname, songKeyQname, index))
+                .withChild(Builders.leafBuilder()
+                        .withNodeIdentifier(new NodeIdentifier(songKeyQname))
+                        .withValue(index)
+                        .build())
+                .build();
+    }
+
+    private static LeafSetEntryNode<Object> buildLeafSetEntry(final QName leafListQname, final String value) {
+        return Builders.leafSetEntryBuilder()
+                .withNodeIdentifier(new NodeWithValue<>(leafListQname, value))
+                .withValue(value)
+                .build();
+    }
 }
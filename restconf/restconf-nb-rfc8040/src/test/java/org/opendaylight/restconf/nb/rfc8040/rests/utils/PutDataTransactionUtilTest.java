@@ -8,14 +8,22 @@
 
 package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
@@ -31,10 +39,13 @@ import org.opendaylight.restconf.nb.rfc8040.references.SchemaContextRef;
 import org.opendaylight.restconf.nb.rfc8040.rests.transactions.TransactionVarsWrapper;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
@@ -60,6 +71,7 @@ public class PutDataTransactionUtilTest {
     private ContainerNode buildBaseCont;
     private ContainerNode buildBaseContWithList;
     private MapEntryNode buildListEntry;
+    private MapEntryNode buildListEntry2;
     private SchemaContext schema;
     private DataSchemaNode schemaNode;
     private YangInstanceIdentifier iid;
@@ -138,7 +150,7 @@ public class PutDataTransactionUtilTest {
                 .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create(baseQName, "description")))
                 .withValue("band description 2")
                 .build();
-        final MapEntryNode buildListEntry2 = Builders.mapEntryBuilder()
+        this.buildListEntry2 = Builders.mapEntryBuilder()
                 .withNodeIdentifier(nodeWithKey2)
                 .withChild(content3)
                 .withChild(content4)
@@ -146,7 +158,7 @@ public class PutDataTransactionUtilTest {
         final MapNode buildList = Builders.mapBuilder()
                 .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(listQname))
                 .withChild(this.buildListEntry)
-                .withChild(buildListEntry2)
+                .withChild(this.buildListEntry2)
                 .build();
         this.buildBaseContWithList = Builders.containerBuilder()
                 .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(baseQName))
@@ -268,5 +280,45 @@ public class PutDataTransactionUtilTest {
         verify(this.readWrite).put(LogicalDatastoreType.CONFIGURATION, this.iid2, payload.getData());
     }
 
-}
+    @Test
+    public void testInsertFirstListData() throws Exception {
+        final YangInstanceIdentifier listPath = this.iid3.getParent();
+        final NodeIdentifier listIdentifier = (NodeIdentifier) listPath.getLastPathArgument();
+        final OrderedMapNode existing = Builders.orderedMapBuilder()
+                .withNodeIdentifier(listIdentifier)
+                .withChild(this.buildListEntry2)
+                .build();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(existing)))
+                .when(this.readWrite).read(LogicalDatastoreType.CONFIGURATION, listPath);
+
+        PutDataTransactionUtil.insertData(this.readWrite, this.iid3, this.buildListEntry, this.schema, "first", null,
+                RestconfDataServiceConstant.PutData.PUT_TX_TYPE);
+
+        // whole list is written once, existing entries are not deleted and re-put one by one
+        final ArgumentCaptor<NormalizedNode> captor = ArgumentCaptor.forClass(NormalizedNode.class);
+        verify(this.readWrite).put(eq(LogicalDatastoreType.CONFIGURATION), eq(listPath), captor.capture());
+        verify(this.readWrite, never()).delete(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+        final List<MapEntryNode> entries = new ArrayList<>(((OrderedMapNode) captor.getValue()).getValue());
+        assertEquals(Arrays.asList(this.buildListEntry, this.buildListEntry2), entries);
+    }
+
+    @Test
+    public void testInsertAfterLastListData() throws Exception {
+        final YangInstanceIdentifier listPath = this.iid3.getParent();
+        final OrderedMapNode existing = Builders.orderedMapBuilder()
+                .withNodeIdentifier((NodeIdentifier) listPath.getLastPathArgument())
+                .withChild(this.buildListEntry2)
+                .build();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(existing)))
+                .when(this.readWrite).read(LogicalDatastoreType.CONFIGURATION, listPath);
+
+        PutDataTransactionUtil.insertData(this.readWrite, this.iid3, this.buildListEntry, this.schema, "after",
+                "example-jukebox:jukebox/playlist=name%20of%20band%202",
+                RestconfDataServiceConstant.PutData.PUT_TX_TYPE);
 
+        // new entry is appended, so only the entry itself is written
+        verify(this.readWrite).put(LogicalDatastoreType.CONFIGURATION, this.iid3, this.buildListEntry);
+        verify(this.readWrite, never()).put(eq(LogicalDatastoreType.CONFIGURATION), eq(listPath),
+                any(NormalizedNode.class));
+    }
+}
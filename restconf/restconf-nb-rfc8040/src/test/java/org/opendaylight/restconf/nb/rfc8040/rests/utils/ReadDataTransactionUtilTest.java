@@ -9,15 +9,22 @@
 package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.UriInfo;
 import org.junit.Before;
@@ -26,8 +33,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.netconf.util.FieldsAwareReadTransaction;
 import org.opendaylight.restconf.common.context.InstanceIdentifierContext;
 import org.opendaylight.restconf.common.context.WriterParameters;
 import org.opendaylight.restconf.common.errors.RestconfDocumentedException;
@@ -148,6 +157,22 @@ public class ReadDataTransactionUtilTest {
         assertEquals(checkingData, normalizedNode);
     }
 
+    @Test
+    public void readContainerDataAllWithDepthTest() {
+        doReturn(Futures.immediateCheckedFuture(Optional.of(DATA.data3))).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, DATA.path);
+        doReturn(Futures.immediateCheckedFuture(Optional.of(DATA.data4))).when(read)
+                .read(LogicalDatastoreType.OPERATIONAL, DATA.path);
+        doReturn(DATA.path).when(context).getInstanceIdentifier();
+        wrapper.setDepth(1);
+        final String valueOfContent = RestconfDataServiceConstant.ReadData.ALL;
+        final NormalizedNode<?, ?> normalizedNode =
+                ReadDataTransactionUtil.readData(valueOfContent, wrapper, schemaContext);
+
+        // children of container are not written with depth 1, so they are not merged
+        assertSame(DATA.data3, normalizedNode);
+    }
+
     @Test
     public void readContainerDataConfigNoValueOfContentTest() {
         doReturn(Futures.immediateCheckedFuture(Optional.of(DATA.data3))).when(read)
@@ -166,6 +191,38 @@ public class ReadDataTransactionUtilTest {
         assertEquals(checkingData, normalizedNode);
     }
 
+    @Test
+    public void readAllDataConcurrentlyTest() throws Exception {
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> configFuture = SettableFuture.create();
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> stateFuture = SettableFuture.create();
+        doReturn(Futures.makeChecked(configFuture, ReadFailedException.MAPPER)).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, DATA.path);
+        doReturn(Futures.makeChecked(stateFuture, ReadFailedException.MAPPER)).when(read)
+                .read(LogicalDatastoreType.OPERATIONAL, DATA.path);
+        doReturn(DATA.path).when(context).getInstanceIdentifier();
+        final ListenableFuture<NormalizedNode<?, ?>> normalizedNode = ReadDataTransactionUtil.readDataAsync(
+                RestconfDataServiceConstant.ReadData.ALL, wrapper, null, schemaContext);
+
+        // both reads are issued within one transaction before any of them completes
+        Mockito.verify(read).read(LogicalDatastoreType.CONFIGURATION, DATA.path);
+        Mockito.verify(read).read(LogicalDatastoreType.OPERATIONAL, DATA.path);
+        Mockito.verify(transactionChain).newReadOnlyTransaction();
+
+        configFuture.set(Optional.of(DATA.data3));
+        assertFalse(normalizedNode.isDone());
+        Mockito.verify(read, Mockito.never()).close();
+
+        stateFuture.set(Optional.of(DATA.data4));
+        final ContainerNode checkingData = Builders
+                .containerBuilder()
+                .withNodeIdentifier(NODE_IDENTIFIER)
+                .withChild(DATA.contentLeaf)
+                .withChild(DATA.contentLeaf2)
+                .build();
+        assertEquals(checkingData, normalizedNode.get());
+        Mockito.verify(read).close();
+    }
+
     @Test
     public void readListDataAllTest() {
         doReturn(Futures.immediateCheckedFuture(Optional.of(DATA.listData))).when(read)
@@ -195,6 +252,46 @@ public class ReadDataTransactionUtilTest {
         assertNull(normalizedNode);
     }
 
+    @Test
+    public void readDataAsyncTest() throws Exception {
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> readFuture = SettableFuture.create();
+        doReturn(Futures.makeChecked(readFuture, ReadFailedException.MAPPER)).when(read)
+                .read(LogicalDatastoreType.OPERATIONAL, DATA.path2);
+        doReturn(DATA.path2).when(context).getInstanceIdentifier();
+        final ListenableFuture<NormalizedNode<?, ?>> normalizedNode = ReadDataTransactionUtil.readDataAsync(
+                RestconfDataServiceConstant.ReadData.NONCONFIG, wrapper, null, schemaContext);
+
+        // the caller is not blocked and the transaction is kept open until data are read
+        assertFalse(normalizedNode.isDone());
+        Mockito.verify(read, Mockito.never()).close();
+
+        readFuture.set(Optional.of(DATA.data2));
+        assertTrue(normalizedNode.isDone());
+        assertEquals(DATA.data2, normalizedNode.get());
+        Mockito.verify(read).close();
+    }
+
+    @Test
+    public void readDataWithFieldsTest() throws Exception {
+        final DOMDataReadOnlyTransaction fieldsRead = Mockito.mock(DOMDataReadOnlyTransaction.class,
+                Mockito.withSettings().extraInterfaces(FieldsAwareReadTransaction.class));
+        final List<Set<QName>> fields = Collections.singletonList(Collections.singleton(containerChildQName));
+        doReturn(fieldsRead).when(transactionChain).newReadOnlyTransaction();
+        doReturn(Futures.immediateFuture(Optional.of(DATA.data3))).when((FieldsAwareReadTransaction) fieldsRead)
+                .readConfigurationData(DATA.path, fields);
+        doReturn(DATA.path).when(context).getInstanceIdentifier();
+        wrapper.setFields(fields);
+
+        final ListenableFuture<NormalizedNode<?, ?>> normalizedNode = ReadDataTransactionUtil.readDataAsync(
+                RestconfDataServiceConstant.ReadData.CONFIG, wrapper, null, schemaContext);
+        assertEquals(DATA.data3, normalizedNode.get());
+
+        // selected fields are passed to the transaction instead of reading the whole subtree
+        Mockito.verify((FieldsAwareReadTransaction) fieldsRead).readConfigurationData(DATA.path, fields);
+        Mockito.verify(fieldsRead, Mockito.never()).read(LogicalDatastoreType.CONFIGURATION, DATA.path);
+        Mockito.verify(fieldsRead).close();
+    }
+
     @Test(expected = RestconfDocumentedException.class)
     public void readDataFailTest() {
         final String valueOfContent = RestconfDataServiceConstant.ReadData.READ_TYPE_TX;
@@ -10,7 +10,9 @@ package org.opendaylight.restconf.nb.rfc8040.utils.parser;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
@@ -182,6 +184,36 @@ public class ParserIdentifierTest {
                 this.schemaContextOnMountPoint, context.getSchemaContext());
     }
 
+    /**
+     * Test of caching parsed <code>InstanceIdentifierContext</code>, which is parsed again with a different
+     * <code>SchemaContext</code>.
+     */
+    @Test
+    public void toInstanceIdentifierCachedTest() {
+        final InstanceIdentifierContext<?> context = ParserIdentifier.toInstanceIdentifier(
+                TEST_IDENT, this.schemaContext, Optional.absent());
+
+        assertSame(context, ParserIdentifier.toInstanceIdentifier(TEST_IDENT, this.schemaContext, Optional.absent()));
+        assertNotSame(context, ParserIdentifier.toInstanceIdentifier(
+                TEST_IDENT, this.schemaContextOnMountPoint, Optional.absent()));
+    }
+
+    /**
+     * Test of invalidating cached <code>InstanceIdentifierContext</code> behind a mount point, when the mount point
+     * is removed.
+     */
+    @Test
+    public void toInstanceIdentifierMountPointRemovedTest() {
+        final InstanceIdentifierContext<?> context = ParserIdentifier.toInstanceIdentifier(
+                MOUNT_POINT_IDENT + "/" + TEST_IDENT, this.schemaContext, Optional.of(this.mountPointService));
+        assertSame(context, ParserIdentifier.toInstanceIdentifier(
+                MOUNT_POINT_IDENT + "/" + TEST_IDENT, this.schemaContext, Optional.of(this.mountPointService)));
+
+        IdentifierContextCache.getInstance().onMountPointRemoved(this.mountPoint.getIdentifier());
+        assertNotSame(context, ParserIdentifier.toInstanceIdentifier(
+                MOUNT_POINT_IDENT + "/" + TEST_IDENT, this.schemaContext, Optional.of(this.mountPointService)));
+    }
+
     /**
      * Test of creating <code>InstanceIdentifierContext</code> when identifier is <code>null</code>.
      * <code>{@link YangInstanceIdentifier#EMPTY}</code> should be returned.